@@ -49,6 +49,16 @@ android {
     kotlinOptions {
         jvmTarget = "11"
     }
+
+    // JVM benchmarks live in src/benchmark and join the local unit tests only on request:
+    //   ./gradlew testDebugUnitTest -Pbenchmarks --tests '*Benchmark'
+    // Benchmarks that need a device live in src/androidBenchmark and join the instrumented tests:
+    //   ./gradlew connectedDebugAndroidTest -Pbenchmarks \
+    //       -Pandroid.testInstrumentationRunnerArguments.class=com.mojahid2021.railnet.adapter.TicketPdfBenchmark
+    if (project.hasProperty("benchmarks")) {
+        sourceSets["test"].java.srcDir("src/benchmark/java")
+        sourceSets["androidTest"].java.srcDir("src/androidBenchmark/java")
+    }
 }
 
 dependencies {
@@ -60,12 +70,13 @@ dependencies {
     implementation(libs.play.services.maps)
     implementation(libs.play.services.location)
     implementation(libs.retrofit)
-    implementation(libs.converter.gson)
+    implementation(libs.gson)
     implementation(libs.okhttp)
     implementation(libs.core.ktx)
     // ZXing core for QR generation used by ticket print
     implementation("com.google.zxing:core:3.5.1")
     testImplementation(libs.junit)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.mojahid2021.railnet.adapter;
+
+import android.content.Context;
+import android.graphics.pdf.PdfDocument;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.mojahid2021.railnet.model.TicketPrintData;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Per-ticket PDF time of printing {@link #TICKETS} tickets one by one through
+ * {@link TicketPrintDocumentAdapter}, as before the batch export (a new adapter, field extraction
+ * and single-page document per ticket), against one {@link TicketPageRenderer} drawing every page
+ * of one document, as {@link TicketBatchPrintDocumentAdapter} does. startPage, draw and finishPage
+ * are timed separately. Logs its results under {@link #TAG}; TicketPdfTest covers the output.
+ *
+ * Run with: ./gradlew connectedDebugAndroidTest -Pbenchmarks
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.mojahid2021.railnet.adapter.TicketPdfBenchmark
+ */
+@RunWith(AndroidJUnit4.class)
+public class TicketPdfBenchmark {
+
+    private static final String TAG = "TicketPdfBenchmark";
+    private static final int WARMUP = 5;
+    private static final int TICKETS = 50;
+
+    private static final String DETAIL_JSON = "{"
+            + "\"ticket\":{\"ticketId\":\"EXPR-20241205-1-042\",\"status\":\"confirmed\","
+            + "\"paymentStatus\":\"paid\",\"expiresAt\":\"2025-11-29T10:10:00.000Z\"},"
+            + "\"passenger\":{\"name\":\"Rahim\",\"age\":34,\"gender\":\"Male\"},"
+            + "\"journey\":{\"train\":{\"name\":\"Express Train 101\",\"number\":\"EXP101\"},"
+            + "\"route\":{\"from\":\"Central Station\",\"to\":\"South Station\"},"
+            + "\"schedule\":{\"date\":\"2025-11-30\",\"departureTime\":\"08:00\"}},"
+            + "\"seat\":{\"number\":\"S1\",\"compartment\":\"First Class AC\",\"class\":\"AC\"},"
+            + "\"pricing\":{\"amount\":150.5,\"currency\":\"BDT\"}}";
+
+    // Nanoseconds spent in each step, summed over the tickets of one run
+    private static final class Phases {
+        long setup;
+        long startPage;
+        long draw;
+        long finishPage;
+        long write;
+        long bytes;
+
+        String perTicket() {
+            return String.format("setup %.2f, startPage %.2f, draw %.2f, finishPage %.2f, write %.2f,"
+                            + " total %.2f ms per ticket, %d bytes per ticket",
+                    ms(setup), ms(startPage), ms(draw), ms(finishPage), ms(write),
+                    ms(setup + startPage + draw + finishPage + write), bytes / TICKETS);
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1e6 / TICKETS;
+        }
+    }
+
+    @Test
+    public void adapterPerTicketVersusBatch() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        JsonObject json = new Gson().fromJson(DETAIL_JSON, JsonObject.class);
+
+        for (int i = 0; i < WARMUP; i++) {
+            perTicket(context, json);
+            batch(context, json);
+        }
+
+        Log.d(TAG, "Adapter per ticket (" + TICKETS + " tickets): " + perTicket(context, json).perTicket());
+        Log.d(TAG, "Batch renderer (" + TICKETS + " tickets): " + batch(context, json).perTicket());
+    }
+
+    // Same steps as TicketPrintDocumentAdapter.onWrite once per ticket, into memory instead of a print job
+    private static Phases perTicket(Context context, JsonObject json) throws Exception {
+        Phases phases = new Phases();
+        for (int i = 0; i < TICKETS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            TicketPrintDocumentAdapter adapter = new TicketPrintDocumentAdapter(context, json);
+            PdfDocument document = new PdfDocument();
+            phases.setup += SystemClock.elapsedRealtimeNanos() - start;
+            try {
+                start = SystemClock.elapsedRealtimeNanos();
+                PdfDocument.Page page = document.startPage(new PdfDocument.PageInfo.Builder(
+                        (int) TicketPageRenderer.PAGE_WIDTH, (int) TicketPageRenderer.PAGE_HEIGHT, 1).create());
+                phases.startPage += SystemClock.elapsedRealtimeNanos() - start;
+
+                start = SystemClock.elapsedRealtimeNanos();
+                adapter.drawTicket(page.getCanvas());
+                phases.draw += SystemClock.elapsedRealtimeNanos() - start;
+
+                start = SystemClock.elapsedRealtimeNanos();
+                document.finishPage(page);
+                phases.finishPage += SystemClock.elapsedRealtimeNanos() - start;
+
+                start = SystemClock.elapsedRealtimeNanos();
+                phases.bytes += write(document);
+                phases.write += SystemClock.elapsedRealtimeNanos() - start;
+            } finally {
+                document.close();
+            }
+        }
+        return phases;
+    }
+
+    // Same steps as TicketBatchPrintDocumentAdapter.onWrite, with every ticket already fetched
+    private static Phases batch(Context context, JsonObject json) throws Exception {
+        Phases phases = new Phases();
+        long start = SystemClock.elapsedRealtimeNanos();
+        TicketPageRenderer renderer = new TicketPageRenderer(context);
+        PdfDocument document = new PdfDocument();
+        phases.setup += SystemClock.elapsedRealtimeNanos() - start;
+        try {
+            for (int i = 0; i < TICKETS; i++) {
+                start = SystemClock.elapsedRealtimeNanos();
+                TicketPrintData data = TicketPrintData.from(json); // Each ticket arrives as its own response
+                phases.setup += SystemClock.elapsedRealtimeNanos() - start;
+
+                start = SystemClock.elapsedRealtimeNanos();
+                PdfDocument.Page page = document.startPage(new PdfDocument.PageInfo.Builder(
+                        (int) TicketPageRenderer.PAGE_WIDTH, (int) TicketPageRenderer.PAGE_HEIGHT, i + 1).create());
+                phases.startPage += SystemClock.elapsedRealtimeNanos() - start;
+
+                start = SystemClock.elapsedRealtimeNanos();
+                renderer.draw(page.getCanvas(), data);
+                phases.draw += SystemClock.elapsedRealtimeNanos() - start;
+
+                start = SystemClock.elapsedRealtimeNanos();
+                document.finishPage(page);
+                phases.finishPage += SystemClock.elapsedRealtimeNanos() - start;
+            }
+
+            start = SystemClock.elapsedRealtimeNanos();
+            phases.bytes = write(document);
+            phases.write += SystemClock.elapsedRealtimeNanos() - start;
+        } finally {
+            document.close();
+        }
+        return phases;
+    }
+
+    private static long write(PdfDocument document) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.writeTo(out);
+        return out.size();
+    }
+}
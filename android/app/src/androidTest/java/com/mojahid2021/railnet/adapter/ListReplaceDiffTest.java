@@ -0,0 +1,228 @@
+package com.mojahid2021.railnet.adapter;
+
+import android.content.Context;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replaces a 500-item list in a {@link DiffingListAdapter} and checks that the diff runs off the
+ * main thread and is dispatched as item range updates rather than a full data set change.
+ *
+ * Frame intervals are recorded across the replace and logged under the test's tag. Only a frozen
+ * frame (700 ms, as Android vitals counts them) fails the test, so slow emulators stay green.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ListReplaceDiffTest {
+
+    private static final String TAG = "ListReplaceDiffTest";
+    private static final int ITEM_COUNT = 500;
+    private static final int SHIFT = ITEM_COUNT / 2;
+    private static final long FROZEN_FRAME_MILLIS = 700;
+
+    @Test
+    public void replacing500Items_diffsOffMainThread() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        AtomicBoolean diffedOnMain = new AtomicBoolean(false);
+        NumberAdapter adapter = new NumberAdapter(diffedOnMain);
+        UpdateCounter updates = new UpdateCounter();
+
+        // Initial list
+        CountDownLatch first = new CountDownLatch(1);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            RecyclerView rv = new RecyclerView(context);
+            rv.setLayoutManager(new LinearLayoutManager(context));
+            rv.setAdapter(adapter);
+            rv.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+            rv.layout(0, 0, 1080, 1920);
+            adapter.setItems(numbers(0), first::countDown);
+        });
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        // Shift the list by half: the first half goes away, a new half is appended
+        CountDownLatch second = new CountDownLatch(1);
+        AtomicInteger headAfterSubmit = new AtomicInteger();
+        FrameRecorder frames = new FrameRecorder();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            frames.start();
+            adapter.registerAdapterDataObserver(updates);
+            adapter.setItems(numbers(SHIFT), second::countDown);
+            headAfterSubmit.set(adapter.getItemAt(0));
+        });
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(frames::stop);
+
+        long[] intervals = frames.intervalsMillis();
+        Log.d(TAG, "Replaced " + ITEM_COUNT + " items over " + intervals.length + " frames; median "
+                + percentile(intervals, 50) + " ms, p90 " + percentile(intervals, 90) + " ms, longest "
+                + percentile(intervals, 100) + " ms");
+
+        assertFalse("DiffUtil callbacks ran on the main thread", diffedOnMain.get());
+        assertEquals("setItems committed the new list synchronously", 0, headAfterSubmit.get());
+        assertEquals(0, updates.fullChanges.get());
+        assertEquals(SHIFT, updates.removed.get());
+        assertEquals(SHIFT, updates.inserted.get());
+        assertEquals(0, updates.changed.get());
+        assertEquals(0, updates.moved.get());
+        assertEquals(SHIFT, (int) adapter.getItemAt(0));
+        assertTrue("Frozen frame of " + percentile(intervals, 100) + " ms",
+                percentile(intervals, 100) < FROZEN_FRAME_MILLIS);
+    }
+
+    // Nearest-rank percentile of the given values; 0 when there are none
+    private static long percentile(long[] values, int percent) {
+        if (values.length == 0) return 0;
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static List<Integer> numbers(int offset) {
+        List<Integer> list = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) list.add(offset + i);
+        return list;
+    }
+
+    /**
+     * Records the interval between consecutive frames while running.
+     */
+    private static final class FrameRecorder implements Choreographer.FrameCallback {
+        private final List<Long> intervalsNanos = new ArrayList<>();
+        private long lastFrameNanos;
+        private boolean running;
+
+        void start() {
+            running = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void stop() {
+            running = false;
+        }
+
+        long[] intervalsMillis() {
+            long[] millis = new long[intervalsNanos.size()];
+            for (int i = 0; i < millis.length; i++) millis[i] = TimeUnit.NANOSECONDS.toMillis(intervalsNanos.get(i));
+            return millis;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) return;
+            if (lastFrameNanos != 0) intervalsNanos.add(frameTimeNanos - lastFrameNanos);
+            lastFrameNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Sums the item ranges the adapter dispatches, and counts full data set changes.
+     */
+    private static final class UpdateCounter extends RecyclerView.AdapterDataObserver {
+        final AtomicInteger fullChanges = new AtomicInteger();
+        final AtomicInteger changed = new AtomicInteger();
+        final AtomicInteger inserted = new AtomicInteger();
+        final AtomicInteger removed = new AtomicInteger();
+        final AtomicInteger moved = new AtomicInteger();
+
+        @Override
+        public void onChanged() {
+            fullChanges.incrementAndGet();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            changed.addAndGet(itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            changed.addAndGet(itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            inserted.addAndGet(itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            removed.addAndGet(itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            moved.addAndGet(itemCount);
+        }
+    }
+
+    /**
+     * Minimal adapter over integers that flags any diff callback invoked on the main thread.
+     */
+    private static final class NumberAdapter extends DiffingListAdapter<Integer, RecyclerView.ViewHolder> {
+
+        NumberAdapter(AtomicBoolean diffedOnMain) {
+            super(new DiffUtil.ItemCallback<Integer>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull Integer oldItem, @NonNull Integer newItem) {
+                    check();
+                    return oldItem.equals(newItem);
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull Integer oldItem, @NonNull Integer newItem) {
+                    check();
+                    return oldItem.equals(newItem);
+                }
+
+                private void check() {
+                    if (Looper.myLooper() == Looper.getMainLooper()) diffedOnMain.set(true);
+                }
+            });
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new TextView(parent.getContext())) {
+            };
+        }
+
+        @Override
+        protected long getStableId(Integer item) {
+            return item;
+        }
+
+        @Override
+        protected void onBindItem(@NonNull RecyclerView.ViewHolder holder, Integer item) {
+            ((TextView) holder.itemView).setText(String.valueOf(item));
+        }
+    }
+}
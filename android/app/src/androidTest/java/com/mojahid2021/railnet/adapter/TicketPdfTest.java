@@ -0,0 +1,101 @@
+package com.mojahid2021.railnet.adapter;
+
+import android.content.Context;
+import android.graphics.pdf.PdfDocument;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.mojahid2021.railnet.model.TicketPrintData;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Writes tickets to in-memory PDFs the way {@link TicketPrintDocumentAdapter} and the batch export
+ * do, and checks the resulting documents: one A4 page per ticket, each a valid PDF. The local
+ * TicketPrintDataTest covers the extracted fields themselves.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TicketPdfTest {
+
+    private static final int TICKETS = 5;
+
+    private static final String DETAIL_JSON = "{"
+            + "\"ticket\":{\"ticketId\":\"EXPR-20241205-1-042\",\"status\":\"confirmed\","
+            + "\"paymentStatus\":\"paid\",\"expiresAt\":\"2025-11-29T10:10:00.000Z\"},"
+            + "\"passenger\":{\"name\":\"Rahim\",\"age\":34,\"gender\":\"Male\"},"
+            + "\"journey\":{\"train\":{\"name\":\"Express Train 101\",\"number\":\"EXP101\"},"
+            + "\"route\":{\"from\":\"Central Station\",\"to\":\"South Station\"},"
+            + "\"schedule\":{\"date\":\"2025-11-30\",\"departureTime\":\"08:00\"}},"
+            + "\"seat\":{\"number\":\"S1\",\"compartment\":\"First Class AC\",\"class\":\"AC\"},"
+            + "\"pricing\":{\"amount\":150.5,\"currency\":\"BDT\"}}";
+
+    @Test
+    public void singleTicket_writesOneA4Page() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        TicketPrintDocumentAdapter adapter =
+                new TicketPrintDocumentAdapter(context, new Gson().fromJson(DETAIL_JSON, JsonObject.class));
+
+        // Same steps as TicketPrintDocumentAdapter.onWrite, into memory instead of a print job
+        PdfDocument document = new PdfDocument();
+        try {
+            PdfDocument.Page page = document.startPage(new PdfDocument.PageInfo.Builder(
+                    (int) TicketPageRenderer.PAGE_WIDTH, (int) TicketPageRenderer.PAGE_HEIGHT, 1).create());
+            adapter.drawTicket(page.getCanvas());
+            document.finishPage(page);
+
+            assertEquals(1, document.getPages().size());
+            assertPdf(write(document));
+        } finally {
+            document.close();
+        }
+    }
+
+    @Test
+    public void batch_writesOnePagePerTicket() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        TicketPrintData data = TicketPrintData.from(new Gson().fromJson(DETAIL_JSON, JsonObject.class));
+        TicketPageRenderer renderer = new TicketPageRenderer(context);
+
+        PdfDocument document = new PdfDocument();
+        try {
+            for (int i = 0; i < TICKETS; i++) {
+                PdfDocument.Page page = document.startPage(new PdfDocument.PageInfo.Builder(
+                        (int) TicketPageRenderer.PAGE_WIDTH, (int) TicketPageRenderer.PAGE_HEIGHT, i + 1).create());
+                renderer.draw(page.getCanvas(), data);
+                document.finishPage(page);
+            }
+
+            assertEquals(TICKETS, document.getPages().size());
+            for (int i = 0; i < TICKETS; i++) {
+                PdfDocument.PageInfo info = document.getPages().get(i);
+                assertEquals(i + 1, info.getPageNumber());
+                assertEquals((int) TicketPageRenderer.PAGE_WIDTH, info.getPageWidth());
+                assertEquals((int) TicketPageRenderer.PAGE_HEIGHT, info.getPageHeight());
+            }
+            assertPdf(write(document));
+        } finally {
+            document.close();
+        }
+    }
+
+    private static byte[] write(PdfDocument document) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static void assertPdf(byte[] bytes) {
+        assertTrue(bytes.length > 0);
+        assertEquals("%PDF-", new String(bytes, 0, 5, StandardCharsets.US_ASCII));
+    }
+}
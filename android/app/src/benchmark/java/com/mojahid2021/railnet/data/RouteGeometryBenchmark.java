@@ -0,0 +1,63 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.RouteLine;
+import com.mojahid2021.railnet.model.Station;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Build time and points per level of {@link RouteGeometry} for a synthetic national network.
+ * Prints its results; behavior is covered by RouteGeometryTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*RouteGeometryBenchmark'
+ */
+public class RouteGeometryBenchmark {
+
+    @Test
+    public void nationalNetwork() {
+        // Roughly a large national network: 3,000 routes of 20 to 120 stops, about 210,000 points.
+        // Each route wanders across the country in steps of a few kilometres, like a real line.
+        Random random = new Random(42);
+        Map<Integer, Station> stations = new HashMap<>();
+        List<RouteLine> routes = new ArrayList<>();
+        int nextId = 0;
+        for (int r = 0; r < 3_000; r++) {
+            int stops = 20 + random.nextInt(101);
+            double lat = 8 + random.nextDouble() * 26;
+            double lon = 68 + random.nextDouble() * 29;
+            double heading = random.nextDouble() * 2 * Math.PI;
+            List<Integer> ids = new ArrayList<>(stops);
+            for (int s = 0; s < stops; s++) {
+                stations.put(nextId, RouteGeometryTest.station(nextId, lat, lon));
+                ids.add(nextId++);
+                heading += random.nextGaussian() * 0.3;
+                double step = 0.02 + random.nextDouble() * 0.08;
+                lat += Math.cos(heading) * step;
+                lon += Math.sin(heading) * step;
+            }
+            RouteLine route = RouteGeometryTest.route(r);
+            route.stationIds = ids;
+            routes.add(route);
+        }
+
+        RouteGeometry.build(routes, stations); // warm-up
+        long start = System.nanoTime();
+        RouteGeometry geometry = RouteGeometry.build(routes, stations);
+        long buildNanos = System.nanoTime() - start;
+
+        StringBuilder levels = new StringBuilder();
+        for (int level = 0; level < RouteGeometry.LEVEL_COUNT; level++) {
+            if (level > 0) levels.append(", ");
+            levels.append(level < RouteGeometry.LEVEL_ZOOMS.length ? "z" + RouteGeometry.LEVEL_ZOOMS[level] : "full")
+                    .append('=').append(geometry.pointCount(level));
+        }
+        System.out.println("Route geometry for " + routes.size() + " routes: built all "
+                + RouteGeometry.LEVEL_COUNT + " levels in " + buildNanos / 1_000_000 + " ms; points " + levels);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mojahid2021.railnet.data;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link SeatInventory} against a boolean-per-segment model on the same stream of free-seat
+ * counts, holds and releases (20 compartments x 80 seats x 40 stops, 100k operations). Prints its
+ * results; behavior is covered by SeatInventoryTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*SeatInventoryBenchmark'
+ */
+public class SeatInventoryBenchmark {
+
+    @Test
+    public void mixedQueries() {
+        int compartments = 20;
+        int seats = 80;
+        int stops = 40;
+        int queries = 100_000;
+
+        int[] ids = new int[stops];
+        for (int i = 0; i < stops; i++) ids[i] = i + 1;
+        SeatInventory[] inventories = new SeatInventory[compartments];
+        boolean[][][] naive = new boolean[compartments][seats][stops - 1];
+        for (int c = 0; c < compartments; c++) inventories[c] = new SeatInventory(ids, seats);
+
+        // Same operation stream for both implementations
+        int[][] ops = new int[queries][];
+        Random random = new Random(42);
+        for (int q = 0; q < queries; q++) {
+            int a = random.nextInt(stops - 1);
+            int b = a + 1 + random.nextInt(stops - 1 - a);
+            ops[q] = new int[]{random.nextInt(10), random.nextInt(compartments), random.nextInt(seats), a, b};
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int[] op : ops) {
+            boolean[][] compartment = naive[op[1]];
+            if (op[0] < 6) {
+                int free = 0;
+                for (boolean[] seat : compartment) if (naiveFree(seat, op[3], op[4])) free++;
+                sink += free;
+            } else if (op[0] < 9) {
+                if (naiveFree(compartment[op[2]], op[3], op[4])) {
+                    for (int k = op[3]; k < op[4]; k++) compartment[op[2]][k] = true;
+                    sink++;
+                }
+            } else {
+                for (int k = op[3]; k < op[4]; k++) compartment[op[2]][k] = false;
+            }
+        }
+        long naiveNanos = System.nanoTime() - start;
+
+        long bitsetSink = 0;
+        start = System.nanoTime();
+        for (int[] op : ops) {
+            SeatInventory inventory = inventories[op[1]];
+            if (op[0] < 6) {
+                bitsetSink += inventory.countFreeBetweenStops(op[3], op[4]);
+            } else if (op[0] < 9) {
+                if (inventory.holdBetweenStops(op[2], op[3], op[4])) bitsetSink++;
+            } else {
+                inventory.releaseBetweenStops(op[2], op[3], op[4]);
+            }
+        }
+        long bitsetNanos = System.nanoTime() - start;
+
+        assertEquals(sink, bitsetSink);
+        System.out.println("SeatInventory " + compartments + "x" + seats + " seats, " + stops + " stops, "
+                + queries + " ops: naive " + naiveNanos / 1_000_000 + " ms, bitset "
+                + bitsetNanos / 1_000_000 + " ms");
+    }
+
+    private static boolean naiveFree(boolean[] segments, int from, int to) {
+        for (int k = from; k < to; k++) {
+            if (segments[k]) return false;
+        }
+        return true;
+    }
+}
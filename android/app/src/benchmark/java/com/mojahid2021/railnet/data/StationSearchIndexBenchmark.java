@@ -0,0 +1,64 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.Station;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Build and query time of {@link StationSearchIndex} over a synthetic catalog. Prints its results;
+ * behavior is covered by StationSearchIndexTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*StationSearchIndexBenchmark'
+ */
+public class StationSearchIndexBenchmark {
+
+    private static final int SYNTHETIC_CATALOG_SIZE = 5000;
+    private static final int QUERIES = 20000;
+
+    @Test
+    public void syntheticCatalogQueries() {
+        Random random = new Random(42);
+        List<Station> catalog = new ArrayList<>(SYNTHETIC_CATALOG_SIZE);
+        for (int i = 0; i < SYNTHETIC_CATALOG_SIZE; i++) {
+            Station s = new Station();
+            s.id = i;
+            s.name = randomWord(random) + " " + randomWord(random);
+            s.city = randomWord(random);
+            catalog.add(s);
+        }
+
+        long buildStart = System.nanoTime();
+        StationSearchIndex index = StationSearchIndex.build(catalog);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < queries.length; i++) {
+            String name = catalog.get(random.nextInt(catalog.size())).name;
+            queries[i] = name.substring(0, 1 + random.nextInt(Math.min(6, name.length())));
+        }
+
+        // Warm up, then measure
+        for (int i = 0; i < 2000; i++) index.search(queries[i], 10);
+        long start = System.nanoTime();
+        int hits = 0;
+        for (String q : queries) hits += index.search(q, 10).size();
+        long perQueryMicros = (System.nanoTime() - start) / 1000 / queries.length;
+
+        System.out.println("StationSearchIndex: build=" + buildNanos / 1_000_000 + "ms, avg query="
+                + perQueryMicros + "us over " + SYNTHETIC_CATALOG_SIZE + " stations, hits=" + hits);
+    }
+
+    private static String randomWord(Random random) {
+        String syllables = "ka,kha,ga,cha,ja,ta,da,na,pa,ba,ma,ra,la,sha,sa,ha,pur,gram,ganj,bari,nagar,hat";
+        String[] parts = syllables.split(",");
+        StringBuilder sb = new StringBuilder();
+        int n = 2 + random.nextInt(3);
+        for (int i = 0; i < n; i++) sb.append(parts[random.nextInt(parts.length)]);
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+}
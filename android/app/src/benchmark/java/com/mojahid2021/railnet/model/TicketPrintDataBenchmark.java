@@ -0,0 +1,106 @@
+package com.mojahid2021.railnet.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * {@link TicketPrintData} extraction against the reflective and JSON path lookups
+ * TicketPrintDocumentAdapter made per printed page before it. Prints its results; behavior is
+ * covered by TicketPrintDataTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*TicketPrintDataBenchmark'
+ */
+public class TicketPrintDataBenchmark {
+
+    @Test
+    public void extractionVersusPathLookup() {
+        int tickets = 20_000;
+        JsonObject json = new Gson().fromJson(TicketPrintDataTest.DETAIL_JSON, JsonObject.class);
+        UserTicket ut = TicketPrintDataTest.userTicket();
+
+        // The lookups the adapter used to make per printed page
+        String[][] paths = {
+                {"ticket", "ticketId"}, {"ticket", "status"}, {"ticket", "expiresAt"},
+                {"journey", "train", "name"}, {"journey", "train", "number"},
+                {"journey", "route", "from"}, {"journey", "route", "to"},
+                {"journey", "schedule", "date"}, {"journey", "schedule", "departureTime"},
+                {"ticket", "status"}, {"passenger", "name"}, {"passenger", "age"}, {"passenger", "gender"},
+                {"seat", "compartment"}, {"seat", "number"}, {"seat", "class"},
+                {"ticket", "paymentStatus"}, {"pricing", "amount"}, {"pricing", "currency"},
+                {"ticket", "ticketId"}, {"ticket", "ticketId"}
+        };
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < tickets; i++) {
+            for (String[] path : paths) {
+                String a = legacyFromObject(ut, path);
+                String b = legacyFromJson(json, path);
+                sink += (a != null ? a.length() : 0) + (b != null ? b.length() : 0);
+            }
+        }
+        long legacyNanos = System.nanoTime() - start;
+
+        long extractedSink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < tickets; i++) {
+            TicketPrintData a = TicketPrintData.from(ut);
+            TicketPrintData b = TicketPrintData.from(json);
+            extractedSink += a.ticketId.length() + b.ticketId.length();
+        }
+        long extractedNanos = System.nanoTime() - start;
+
+        System.out.println("Ticket print fields for " + tickets + " tickets (list + JSON): path lookup "
+                + legacyNanos / 1_000_000 + " ms, TicketPrintData " + extractedNanos / 1_000_000 + " ms"
+                + " (" + (sink + extractedSink > 0 ? "ok" : "empty") + ")");
+    }
+
+    // The reflective lookup TicketPrintDocumentAdapter used before TicketPrintData, kept for comparison
+    private static String legacyFromObject(Object obj, String... path) {
+        Object current = obj;
+        for (String segment : path) {
+            if (current == null) return null;
+            current = legacyFieldOrGetter(current, segment);
+        }
+        return current != null ? String.valueOf(current) : null;
+    }
+
+    private static Object legacyFieldOrGetter(Object obj, String name) {
+        Class<?> clazz = obj.getClass();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String methodName : new String[]{"get" + capitalized, "is" + capitalized, name}) {
+            try {
+                Method method = clazz.getMethod(methodName);
+                return method.invoke(obj);
+            } catch (Exception ignored) {}
+        }
+        try {
+            Field field = clazz.getField(name);
+            return field.get(obj);
+        } catch (Exception ignored) {}
+        try {
+            Field field = clazz.getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(obj);
+        } catch (Exception ignored) {}
+        return null;
+    }
+
+    private static String legacyFromJson(JsonObject json, String... path) {
+        JsonElement current = json;
+        for (String key : path) {
+            if (!(current instanceof JsonObject)) return null;
+            JsonObject obj = current.getAsJsonObject();
+            if (!obj.has(key)) return null;
+            current = obj.get(key);
+        }
+        if (current == null || current.isJsonNull()) return null;
+        return current.isJsonPrimitive() ? current.getAsJsonPrimitive().getAsString() : current.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mojahid2021.railnet.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Latency of the shared network stack against MockWebServer: a stations request that goes to the
+ * server versus the repeats the HTTP cache answers. Prints its results; behavior is covered by
+ * ApiClientTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*ApiClientBenchmark'
+ */
+public class ApiClientBenchmark {
+
+    private static final int REPEATS = 200;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ApiService api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        File cacheDir = Files.createTempDirectory("http_cache").toFile();
+        client = ApiClient.buildClient(cacheDir);
+        api = ApiClient.buildRetrofit(client, server.url("/").toString()).create(ApiService.class);
+        TokenStore.setInMemory("test-token");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TokenStore.setInMemory(null);
+        client.cache().delete();
+        server.shutdown();
+    }
+
+    @Test
+    public void stationsNetworkVersusCache() throws Exception {
+        String body = ModelAdaptersTest.stationsPayload(300);
+        server.enqueue(new MockResponse().setBody(body));
+
+        long start = System.nanoTime();
+        api.getStations().execute();
+        long networkNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) api.getStations().execute();
+        long cachedNanos = System.nanoTime() - start;
+
+        System.out.println("stations (300): network " + networkNanos / 1_000 + " us, cached "
+                + cachedNanos / REPEATS / 1_000 + " us per request; requests=" + server.getRequestCount()
+                + " hits=" + client.cache().hitCount());
+    }
+}
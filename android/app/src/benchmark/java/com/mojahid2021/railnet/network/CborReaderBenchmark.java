@@ -0,0 +1,58 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Size and decode time of the recorded payloads in ModelAdaptersTest as JSON and as CBOR, both
+ * through {@link ResponseDecoder}. Prints its results; behavior is covered by CborReaderTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*CborReaderBenchmark'
+ */
+public class CborReaderBenchmark {
+
+    private final Gson gson = ModelAdapters.gson();
+
+    @Test
+    public void jsonVersusCbor() throws IOException {
+        String[] names = {"search (50 schedules)", "summary search (50)", "tickets (40)", "stations (300)"};
+        String[] bodies = {ModelAdaptersTest.searchPayload(50), ModelAdaptersTest.summaryPayload(50),
+                ModelAdaptersTest.ticketsPayload(40), ModelAdaptersTest.stationsPayload(300)};
+        Type[] types = {CborReaderTest.SCHEDULES, CborReaderTest.SUMMARIES, CborReaderTest.TICKETS,
+                CborReaderTest.STATIONS};
+        int iterations = 300;
+
+        for (int p = 0; p < bodies.length; p++) {
+            ResponseDecoder<?> decoder = ResponseDecoder.of(gson, types[p]);
+            byte[] json = bodies[p].getBytes(StandardCharsets.UTF_8);
+            byte[] cbor = CborReaderTest.encode(new JsonParser().parse(bodies[p]));
+
+            for (int i = 0; i < 200; i++) {
+                decoder.decode(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+                decoder.decode(new CborReader(new ByteArrayInputStream(cbor)));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                decoder.decode(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+            }
+            long jsonNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) decoder.decode(new CborReader(new ByteArrayInputStream(cbor)));
+            long cborNanos = System.nanoTime() - start;
+
+            System.out.println(names[p] + ": JSON " + json.length + " bytes, " + jsonNanos / iterations / 1_000
+                    + " us per decode; CBOR " + cbor.length + " bytes, " + cborNanos / iterations / 1_000
+                    + " us per decode");
+        }
+    }
+}
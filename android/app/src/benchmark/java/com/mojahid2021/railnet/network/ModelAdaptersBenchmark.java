@@ -0,0 +1,84 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Decode time of the recorded payloads in ModelAdaptersTest with {@link ModelAdapters} against
+ * reflective Gson, and of the full search against the summary view. Prints its results; behavior
+ * is covered by ModelAdaptersTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*ModelAdaptersBenchmark'
+ */
+public class ModelAdaptersBenchmark {
+
+    private final Gson reflective = new Gson();
+    private final Gson adapters = ModelAdapters.gson();
+
+    @Test
+    public void searchPayload() {
+        String body = ModelAdaptersTest.searchPayload(50);
+        Type schedules = new TypeToken<List<TrainSchedule>>() {}.getType();
+        int iterations = 300;
+
+        for (int i = 0; i < 200; i++) {
+            new Gson().fromJson(body, schedules);
+            reflective.fromJson(body, schedules);
+            adapters.fromJson(body, schedules);
+        }
+
+        // Old parse sites: a new Gson per call, reflective binding and a cold adapter cache
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) new Gson().fromJson(body, schedules);
+        long perCallNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) reflective.fromJson(body, schedules);
+        long sharedReflectiveNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) adapters.fromJson(body, schedules);
+        long adapterNanos = System.nanoTime() - start;
+
+        System.out.println("Search payload (50 schedules, " + body.length() / 1024 + " KB) x" + iterations
+                + ": new Gson per call=" + perCallNanos / 1_000_000 + " ms"
+                + ", shared reflective=" + sharedReflectiveNanos / 1_000_000 + " ms"
+                + ", model adapters=" + adapterNanos / 1_000_000 + " ms");
+    }
+
+    @Test
+    public void summaryVersusFullSearch() {
+        String full = ModelAdaptersTest.searchPayload(50);
+        String summary = ModelAdaptersTest.summaryPayload(50);
+        Type schedules = new TypeToken<List<TrainSchedule>>() {}.getType();
+        Type summaries = new TypeToken<List<TrainScheduleSummary>>() {}.getType();
+        int iterations = 300;
+
+        for (int i = 0; i < 200; i++) {
+            adapters.fromJson(full, schedules);
+            adapters.fromJson(summary, summaries);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) adapters.fromJson(full, schedules);
+        long fullNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) adapters.fromJson(summary, summaries);
+        long summaryNanos = System.nanoTime() - start;
+
+        int fullBytes = full.getBytes(StandardCharsets.UTF_8).length;
+        int summaryBytes = summary.getBytes(StandardCharsets.UTF_8).length;
+        System.out.println("Search of 50 schedules: full=" + fullBytes / 1024 + " KB, "
+                + fullNanos / iterations / 1_000 + " us per decode; summary=" + summaryBytes / 1024 + " KB, "
+                + summaryNanos / iterations / 1_000 + " us per decode");
+    }
+}
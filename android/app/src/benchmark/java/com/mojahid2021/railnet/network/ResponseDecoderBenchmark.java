@@ -0,0 +1,78 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.mojahid2021.railnet.model.TrainSchedule;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+/**
+ * Decode time of a 50-schedule search response read by {@link ResponseDecoder} straight from the
+ * body stream, against the path it replaced: ResponseBody.string(), a JsonParser tree, then Gson
+ * over the array. Both the bare array and the {"data": [...]} envelope are timed, with the same
+ * Gson on both sides. Prints its results; behavior is covered by ResponseDecoderTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*ResponseDecoderBenchmark'
+ */
+public class ResponseDecoderBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+    private final Gson gson = ModelAdapters.gson();
+    private final ResponseDecoder<List<TrainSchedule>> decoder =
+            ResponseDecoder.of(gson, CborReaderTest.SCHEDULES, true);
+
+    @Test
+    public void streamingVersusTree() throws IOException {
+        String bare = ModelAdaptersTest.searchPayload(50);
+        String[] names = {"bare array", "data envelope"};
+        String[] bodies = {bare, "{\"" + ResponseDecoder.DATA_KEY + "\":" + bare + "}"};
+        int iterations = 300;
+
+        for (String body : bodies) {
+            for (int i = 0; i < 200; i++) {
+                streaming(body);
+                tree(body);
+            }
+        }
+
+        for (int p = 0; p < bodies.length; p++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) streaming(bodies[p]);
+            long streamingNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) tree(bodies[p]);
+            long treeNanos = System.nanoTime() - start;
+
+            System.out.println("Search, " + names[p] + " (50 schedules, " + bodies[p].length() / 1024 + " KB): "
+                    + "streaming " + streamingNanos / iterations / 1_000 + " us per decode, "
+                    + "string + tree " + treeNanos / iterations / 1_000 + " us per decode");
+        }
+    }
+
+    private List<TrainSchedule> streaming(String body) throws IOException {
+        try (ResponseBody b = ResponseBody.create(body, JSON)) {
+            return decoder.decode(b.charStream());
+        }
+    }
+
+    // The removed TrainsActivity path: whole body as a String, a tree, then Gson over the array
+    private List<TrainSchedule> tree(String body) throws IOException {
+        try (ResponseBody b = ResponseBody.create(body, JSON)) {
+            JsonElement root = new JsonParser().parse(b.string());
+            JsonArray array = root.isJsonArray()
+                    ? root.getAsJsonArray()
+                    : root.getAsJsonObject().getAsJsonArray(ResponseDecoder.DATA_KEY);
+            return gson.fromJson(array, CborReaderTest.SCHEDULES);
+        }
+    }
+}
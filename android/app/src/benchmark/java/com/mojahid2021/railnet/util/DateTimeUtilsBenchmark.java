@@ -0,0 +1,51 @@
+package com.mojahid2021.railnet.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Time of the cached DateTimeUtils against the original per-call SimpleDateFormat implementation
+ * (DateTimeUtilsTest.Legacy) on canonical ISO and time strings. Prints its results; behavior is
+ * covered by DateTimeUtilsTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*DateTimeUtilsBenchmark'
+ */
+public class DateTimeUtilsBenchmark {
+
+    @Test
+    public void cachedVersusLegacy() {
+        List<String> inputs = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            inputs.add(random.nextBoolean()
+                    ? DateTimeUtilsTest.randomCanonicalIso(random)
+                    : DateTimeUtilsTest.randomCanonicalTime(random));
+        }
+
+        // Warm up both paths before measuring
+        int sink = run(inputs, false) + run(inputs, true);
+        long start = System.nanoTime();
+        sink += run(inputs, true);
+        long legacyNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        sink += run(inputs, false);
+        long cachedNanos = System.nanoTime() - start;
+
+        System.out.println("DateTimeUtils over " + inputs.size() + " strings: legacy "
+                + legacyNanos / 1000 + " µs, cached " + cachedNanos / 1000 + " µs (" + sink + ")");
+    }
+
+    private static int run(List<String> inputs, boolean legacy) {
+        int total = 0;
+        for (String s : inputs) {
+            String out = s.indexOf('T') >= 0
+                    ? (legacy ? DateTimeUtilsTest.Legacy.formatTimeFromIso(s) : DateTimeUtils.formatTimeFromIso(s))
+                    : (legacy ? DateTimeUtilsTest.Legacy.formatTimeForDisplay(s) : DateTimeUtils.formatTimeForDisplay(s));
+            total += out.length();
+        }
+        return total;
+    }
+}
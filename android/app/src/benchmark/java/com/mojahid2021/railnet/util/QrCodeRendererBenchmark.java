@@ -0,0 +1,38 @@
+package com.mojahid2021.railnet.util;
+
+import com.google.zxing.common.BitMatrix;
+
+import org.junit.Test;
+
+/**
+ * {@link QrCodeRenderer#toPixels} row copies against one module lookup per output pixel, like the
+ * old Bitmap.setPixel loop. Prints its results; behavior is covered by QrCodeRendererTest.
+ *
+ * Run with: ./gradlew testDebugUnitTest -Pbenchmarks --tests '*QrCodeRendererBenchmark'
+ */
+public class QrCodeRendererBenchmark {
+
+    @Test
+    public void rowCopyVersusPerPixel() {
+        BitMatrix modules = QrCodeRendererTest.pattern(29);
+        int size = 304;
+        int rounds = 500;
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += QrCodeRendererTest.perPixel(modules, size)[size * size / 2];
+        }
+        long perPixelNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            int[] pixels = QrCodeRenderer.toPixels(modules, size, QrCodeRendererTest.DARK, QrCodeRendererTest.LIGHT);
+            sink += pixels[size * size / 2];
+        }
+        long rowCopyNanos = System.nanoTime() - start;
+
+        System.out.println("QR " + size + "px x " + rounds + ": per pixel " + perPixelNanos / 1_000_000
+                + " ms, row copy " + rowCopyNanos / 1_000_000 + " ms (" + (sink != 0 ? "ok" : "empty") + ")");
+    }
+}
@@ -3,7 +3,6 @@ package com.mojahid2021.railnet;
 import static android.content.ContentValues.TAG;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Build;
 import android.os.Bundle;
 import android.util.Log;
@@ -25,6 +24,7 @@ import androidx.fragment.app.Fragment;
 import com.mojahid2021.railnet.auth.LoginActivity;
 import com.mojahid2021.railnet.home.HomeFragment;
 import com.mojahid2021.railnet.map.MapFragment;
+import com.mojahid2021.railnet.network.TokenStore;
 import com.mojahid2021.railnet.profile.ProfileFragment;
 import com.mojahid2021.railnet.train.TrainFragment;
 
@@ -41,8 +41,7 @@ public class MainActivity extends AppCompatActivity {
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
 
-        SharedPreferences sharedPreferences = getSharedPreferences("UserPreferences", MODE_PRIVATE);
-        String token = sharedPreferences.getString("token", null);
+        String token = TokenStore.getToken(this);
         if (token == null) {
             Intent intent = new Intent(MainActivity.this, LoginActivity.class);
             startActivity(intent);
@@ -15,19 +15,20 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import com.mojahid2021.railnet.R;
+import com.mojahid2021.railnet.data.FareEngine;
+import com.mojahid2021.railnet.data.ScheduleStore;
+import com.mojahid2021.railnet.data.SeatMapRepository;
+import com.mojahid2021.railnet.model.TrainSchedule;
 import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiError;
 import com.mojahid2021.railnet.network.ApiService;
+import com.mojahid2021.railnet.network.BookingResponse;
+import com.mojahid2021.railnet.network.TicketRequest;
 
 import java.util.HashMap;
 import java.util.Map;
 
-import okhttp3.MediaType;
-import okhttp3.RequestBody;
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -41,7 +42,6 @@ public class BookingSummaryActivity extends AppCompatActivity {
     // Constants
     private static final String TAG = "BookingSummaryActivity";
     private static final String[] GENDERS = {"Male", "Female", "Other"};
-    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json");
 
     // UI Components
     private EditText etName;
@@ -176,7 +176,37 @@ public class BookingSummaryActivity extends AppCompatActivity {
      * Updates initial UI state
      */
     private void updateUI() {
-        tvPrice.setText(getString(R.string.amount_placeholder));
+        double fare = computeLocalFare();
+        if (fare > 0) {
+            tvPrice.setText(getString(R.string.amount_estimate, fare));
+        } else {
+            tvPrice.setText(getString(R.string.amount_placeholder));
+        }
+    }
+
+    /**
+     * Fare for the selected compartment and segment from the cached schedule, or -1 if unknown
+     */
+    private double computeLocalFare() {
+        TrainSchedule schedule = ScheduleStore.getInstance().get(trainScheduleId);
+        if (schedule == null || fromStationId <= 0 || toStationId <= 0) {
+            return -1;
+        }
+        return FareEngine.getInstance().quote(schedule, fromStationId, toStationId).fareFor(compartmentId);
+    }
+
+    /**
+     * Logs when the server charged a different amount than the local fare engine predicted
+     */
+    private void verifyLocalFare(double serverAmount) {
+        TrainSchedule schedule = ScheduleStore.getInstance().get(trainScheduleId);
+        if (schedule == null) {
+            return;
+        }
+        double localFare = computeLocalFare();
+        if (!FareEngine.getInstance().verifyQuote(schedule.trainRoute, fromStationId, toStationId, localFare, serverAmount)) {
+            Log.w(TAG, "Local fare " + localFare + " differs from server amount " + serverAmount);
+        }
     }
 
     /**
@@ -243,21 +273,17 @@ public class BookingSummaryActivity extends AppCompatActivity {
         TicketRequest request = new TicketRequest(trainScheduleId, fromStationId, toStationId,
                 compartmentId, seatNumber, data.name, data.age, data.gender);
 
-        Gson gson = new Gson();
-        String jsonRequest = gson.toJson(request);
-        RequestBody body = RequestBody.create(jsonRequest, JSON_MEDIA_TYPE);
-
         ApiService api = ApiClient.getRetrofit(this).create(ApiService.class);
-        Call<ResponseBody> call = api.bookTicket(body);
+        Call<BookingResponse> call = api.bookTicket(request);
 
-        call.enqueue(new Callback<ResponseBody>() {
+        call.enqueue(new Callback<BookingResponse>() {
             @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+            public void onResponse(Call<BookingResponse> call, Response<BookingResponse> response) {
                 handleBookingResponse(response);
             }
 
             @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            public void onFailure(Call<BookingResponse> call, Throwable t) {
                 handleBookingFailure(t);
             }
         });
@@ -266,7 +292,7 @@ public class BookingSummaryActivity extends AppCompatActivity {
     /**
      * Handles booking API response
      */
-    private void handleBookingResponse(Response<ResponseBody> response) {
+    private void handleBookingResponse(Response<BookingResponse> response) {
         showProgress(false);
         btnConfirm.setEnabled(true);
         tvError.setVisibility(View.GONE);
@@ -281,43 +307,33 @@ public class BookingSummaryActivity extends AppCompatActivity {
     /**
      * Processes successful booking response
      */
-    private void processSuccessfulBooking(Response<ResponseBody> response) {
-        try {
-            String responseBody = response.body().string();
-            Log.d(TAG, "Booking response: " + responseBody);
-
-            Gson gson = new Gson();
-            JsonParser parser = new JsonParser();
-            JsonElement jsonElement = parser.parse(responseBody);
-            BookingResponse bookingResponse = gson.fromJson(jsonElement, BookingResponse.class);
-
-            updateBookingUI(bookingResponse);
-            showBookingSuccess(bookingResponse);
-
-        } catch (Exception e) {
-            Log.e(TAG, "Parse error", e);
+    private void processSuccessfulBooking(Response<BookingResponse> response) {
+        BookingResponse bookingResponse = response.body();
+        if (bookingResponse == null) {
+            Log.e(TAG, "Empty booking response");
             tvError.setText(getString(R.string.booking_response_error));
             tvError.setVisibility(View.VISIBLE);
+            return;
+        }
+
+        TrainSchedule schedule = ScheduleStore.getInstance().get(trainScheduleId);
+        if (schedule != null) {
+            SeatMapRepository.getInstance().recordBooking(schedule, compartmentId, fromStationId, toStationId, seatNumber);
         }
+
+        updateBookingUI(bookingResponse);
+        showBookingSuccess(bookingResponse);
     }
 
     /**
      * Handles booking API error
      */
-    private void handleBookingError(Response<ResponseBody> response) {
+    private void handleBookingError(Response<BookingResponse> response) {
         Log.d(TAG, "Booking failed with code: " + response.code());
         String errorMessage = getString(R.string.booking_failed_code, response.code());
-
-        try {
-            if (response.errorBody() != null) {
-                String errorBody = response.errorBody().string();
-                Log.d(TAG, "Error body: " + errorBody);
-                if (!errorBody.isEmpty()) {
-                    errorMessage = "Booking failed: " + errorBody;
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to read error body", e);
+        String serverMessage = ApiError.message(response, null);
+        if (serverMessage != null) {
+            errorMessage = "Booking failed: " + serverMessage;
         }
 
         tvError.setText(errorMessage);
@@ -343,6 +359,7 @@ public class BookingSummaryActivity extends AppCompatActivity {
             String currency = response.pricing.currency != null ? response.pricing.currency : "৳";
             String priceText = currency + " " + String.format("%.0f", response.pricing.amount);
             tvPrice.setText(priceText);
+            verifyLocalFare(response.pricing.amount);
         }
 
         if (response.ticket != null) {
@@ -399,12 +416,8 @@ public class BookingSummaryActivity extends AppCompatActivity {
         Map<String, String> requestMap = new HashMap<>();
         requestMap.put("ticketId", ticketId);
 
-        Gson gson = new Gson();
-        String jsonRequest = gson.toJson(requestMap);
-        RequestBody body = RequestBody.create(jsonRequest, JSON_MEDIA_TYPE);
-
         ApiService api = ApiClient.getRetrofit(this).create(ApiService.class);
-        Log.d(TAG, "Payment request: " + jsonRequest);
+        Log.d(TAG, "Payment request for ticket " + ticketId);
 
         Call<com.mojahid2021.railnet.network.PaymentInitiateResponse> call = api.initiatePayment(requestMap);
         call.enqueue(new Callback<com.mojahid2021.railnet.network.PaymentInitiateResponse>() {
@@ -451,16 +464,9 @@ public class BookingSummaryActivity extends AppCompatActivity {
      */
     private void handlePaymentError(Response<com.mojahid2021.railnet.network.PaymentInitiateResponse> response) {
         String errorMessage = "Payment initiation failed: " + response.code();
-        try {
-            if (response.errorBody() != null) {
-                String errorBody = response.errorBody().string();
-                Log.w(TAG, "Payment error body: " + errorBody);
-                if (errorBody != null && !errorBody.isEmpty()) {
-                    errorMessage = "Payment failed: " + errorBody;
-                }
-            }
-        } catch (Exception e) {
-            Log.w(TAG, "Failed to read payment error body", e);
+        String serverMessage = ApiError.message(response, null);
+        if (serverMessage != null) {
+            errorMessage = "Payment failed: " + serverMessage;
         }
         Log.e(TAG, "Payment failed: " + errorMessage);
         tvError.setText(errorMessage);
@@ -583,83 +589,4 @@ public class BookingSummaryActivity extends AppCompatActivity {
             this.gender = gender;
         }
     }
-
-    // API Request/Response Models
-    static class TicketRequest {
-        int trainScheduleId;
-        int fromStationId;
-        int toStationId;
-        int compartmentId;
-        String seatNumber;
-        String passengerName;
-        int passengerAge;
-        String passengerGender;
-
-        TicketRequest(int trainScheduleId, int fromStationId, int toStationId, int compartmentId,
-                      String seatNumber, String passengerName, int passengerAge, String passengerGender) {
-            this.trainScheduleId = trainScheduleId;
-            this.fromStationId = fromStationId;
-            this.toStationId = toStationId;
-            this.compartmentId = compartmentId;
-            this.seatNumber = seatNumber;
-            this.passengerName = passengerName;
-            this.passengerAge = passengerAge;
-            this.passengerGender = passengerGender;
-        }
-    }
-
-    static class BookingResponse {
-        Ticket ticket;
-        Passenger passenger;
-        Journey journey;
-        Seat seat;
-        Pricing pricing;
-    }
-
-    static class Ticket {
-        public int id;
-        public String ticketId;
-        public String status;
-        public String paymentStatus;
-        public String expiresAt;
-        public String createdAt;
-    }
-
-    static class Passenger {
-        public String name;
-        public int age;
-        public String gender;
-    }
-
-    static class Journey {
-        public TrainShort train;
-        public RouteShort route;
-        public Schedule schedule;
-    }
-
-    static class TrainShort {
-        public String name;
-        public String number;
-    }
-
-    static class RouteShort {
-        public String from;
-        public String to;
-    }
-
-    static class Schedule {
-        public String date;
-        public String departureTime;
-    }
-
-    static class Seat {
-        public String number;
-        public String compartment;
-        public String clazz;
-    }
-
-    static class Pricing {
-        public double amount;
-        public String currency;
-    }
 }
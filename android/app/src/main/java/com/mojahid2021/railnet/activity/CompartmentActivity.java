@@ -1,7 +1,11 @@
 package com.mojahid2021.railnet.activity;
 
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
 import android.view.View;
+import android.view.ViewTreeObserver;
+import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
@@ -10,9 +14,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
-import com.google.gson.Gson;
 import com.mojahid2021.railnet.R;
 import com.mojahid2021.railnet.adapter.SeatAdapter;
+import com.mojahid2021.railnet.data.FareEngine;
+import com.mojahid2021.railnet.data.ScheduleStore;
+import com.mojahid2021.railnet.data.SeatMapRepository;
+import com.mojahid2021.railnet.model.SeatAvailability;
 import com.mojahid2021.railnet.model.TrainSchedule;
 
 import java.util.ArrayList;
@@ -21,10 +28,15 @@ import java.util.List;
 /**
  * CompartmentActivity allows users to select a train compartment and seat.
  * Displays available compartments as chips and seats in a grid layout.
+ * Occupied and held seats for the chosen journey segment come from {@link SeatMapRepository}
+ * and are refreshed whenever the screen resumes.
  */
 public class CompartmentActivity extends AppCompatActivity {
 
     // Constants
+    private static final String TAG = "CompartmentActivity";
+    private static final String EXTRA_TRAIN_SCHEDULE_ID = "trainScheduleId";
+    private static final String EXTRA_TAP_UPTIME = "tapUptimeMillis";
     private static final int GRID_SPAN_COUNT = 4;
     private static final int DEFAULT_SEAT_COUNT = 24;
 
@@ -34,6 +46,7 @@ public class CompartmentActivity extends AppCompatActivity {
     private View btnNext;
 
     // Data
+    private int trainScheduleId = -1;
     private TrainSchedule trainSchedule;
     private String fromStationId;
     private String toStationId;
@@ -49,14 +62,57 @@ public class CompartmentActivity extends AppCompatActivity {
         initializeViews();
         extractIntentData();
 
-        if (trainSchedule == null) {
-            finish(); // Exit if no schedule data
+        if (trainScheduleId <= 0) {
+            finish(); // Exit if no schedule was passed
             return;
         }
 
         setupSeatRecyclerView();
-        setupCompartmentChips();
         setupNextButton();
+        if (savedInstanceState == null) {
+            logTapToFirstFrame();
+        }
+
+        // Usually an in-memory hit; refetched after process death
+        ScheduleStore.getInstance().load(this, trainScheduleId, this::onScheduleLoaded);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Seats may have been booked while we were away; a no-op fetch if nothing changed
+        loadSeatMap();
+    }
+
+    /**
+     * Shows the compartments once the schedule is available
+     */
+    private void onScheduleLoaded(@Nullable TrainSchedule schedule) {
+        if (isFinishing() || isDestroyed()) return;
+        if (schedule == null) {
+            Toast.makeText(this, "Failed to load train schedule", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+        trainSchedule = schedule;
+        setupCompartmentChips();
+    }
+
+    /**
+     * Logs the time from the tap on the schedule list to this screen's first frame
+     */
+    private void logTapToFirstFrame() {
+        long tapUptime = getIntent().getLongExtra(EXTRA_TAP_UPTIME, -1);
+        if (tapUptime < 0) return;
+        View decorView = getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+                Log.d(TAG, "Tap to first frame: " + (SystemClock.uptimeMillis() - tapUptime) + " ms");
+                return true;
+            }
+        });
     }
 
     /**
@@ -72,14 +128,9 @@ public class CompartmentActivity extends AppCompatActivity {
      * Extracts data from intent extras
      */
     private void extractIntentData() {
-        String json = getIntent().getStringExtra("scheduleJson");
+        trainScheduleId = getIntent().getIntExtra(EXTRA_TRAIN_SCHEDULE_ID, -1);
         fromStationId = getIntent().getStringExtra("fromStationId");
         toStationId = getIntent().getStringExtra("toStationId");
-
-        if (json != null) {
-            Gson gson = new Gson();
-            trainSchedule = gson.fromJson(json, TrainSchedule.class);
-        }
     }
 
     /**
@@ -99,6 +150,9 @@ public class CompartmentActivity extends AppCompatActivity {
      * Handles seat selection from the adapter
      */
     private void handleSeatSelection(String seat) {
+        if (!seatAdapter.isSelectable(seat)) {
+            return;
+        }
         selectedSeat = seat;
         seatAdapter.setSelectedSeat(seat);
         btnNext.setVisibility(View.VISIBLE);
@@ -112,23 +166,28 @@ public class CompartmentActivity extends AppCompatActivity {
             return;
         }
 
+        FareEngine.SegmentFares fares = FareEngine.getInstance()
+                .quote(trainSchedule, parseStationId(fromStationId), parseStationId(toStationId));
         for (TrainSchedule.CompartmentAssignment compartmentAssignment : trainSchedule.train.compartments) {
             if (compartmentAssignment == null || compartmentAssignment.compartment == null) {
                 continue;
             }
 
-            Chip chip = createCompartmentChip(compartmentAssignment);
+            Chip chip = createCompartmentChip(compartmentAssignment, fares.fareFor(compartmentAssignment.compartment.id));
             chipGroupCompartments.addView(chip);
         }
     }
 
     /**
-     * Creates a chip for a compartment
+     * Creates a chip for a compartment, with its fare for the journey when known
      */
-    private Chip createCompartmentChip(TrainSchedule.CompartmentAssignment compartmentAssignment) {
+    private Chip createCompartmentChip(TrainSchedule.CompartmentAssignment compartmentAssignment, double fare) {
         Chip chip = new Chip(this);
-        String compartmentText = String.format(getString(R.string.compartment_label),
-            compartmentAssignment.compartment.name, compartmentAssignment.compartment.clazz);
+        String compartmentText = fare > 0
+            ? getString(R.string.compartment_label_with_fare,
+                compartmentAssignment.compartment.name, compartmentAssignment.compartment.clazz, fare)
+            : String.format(getString(R.string.compartment_label),
+                compartmentAssignment.compartment.name, compartmentAssignment.compartment.clazz);
         chip.setText(compartmentText);
         chip.setCheckable(true);
         chip.setOnClickListener(v -> handleCompartmentSelection(compartmentAssignment));
@@ -146,6 +205,47 @@ public class CompartmentActivity extends AppCompatActivity {
         // Reset seat selection
         selectedSeat = null;
         btnNext.setVisibility(View.GONE);
+
+        loadSeatMap();
+    }
+
+    /**
+     * Fetches (or refreshes) occupied and held seats for the selected compartment and segment
+     */
+    private void loadSeatMap() {
+        if (selectedCompartmentId <= 0 || fromStationId == null || toStationId == null) {
+            return;
+        }
+        int compartmentId = selectedCompartmentId;
+        SeatMapRepository.getInstance().load(this, trainScheduleId, compartmentId, fromStationId, toStationId,
+                availability -> onSeatMapLoaded(compartmentId, availability));
+    }
+
+    /**
+     * Applies a seat map; drops the current selection if that seat was taken meanwhile
+     */
+    private void onSeatMapLoaded(int compartmentId, SeatAvailability availability) {
+        if (isFinishing() || isDestroyed() || compartmentId != selectedCompartmentId) {
+            return; // Stale response for a compartment that is no longer shown
+        }
+        String previousSeat = selectedSeat;
+        seatAdapter.setAvailability(availability);
+        if (previousSeat != null && !availability.isFree(previousSeat)) {
+            selectedSeat = null;
+            btnNext.setVisibility(View.GONE);
+            Toast.makeText(this, getString(R.string.seat_no_longer_available, previousSeat), Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    /**
+     * Station id from an extra, or 0 (price the whole route) if it is not numeric
+     */
+    private static int parseStationId(String value) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
@@ -155,7 +255,7 @@ public class CompartmentActivity extends AppCompatActivity {
         List<String> seats = new ArrayList<>();
         int seatCount = totalSeats > 0 ? totalSeats : DEFAULT_SEAT_COUNT;
         for (int i = 1; i <= seatCount; i++) {
-            seats.add("S" + i);
+            seats.add(SeatAvailability.seatLabel(i - 1));
         }
         return seats;
     }
@@ -176,7 +276,7 @@ public class CompartmentActivity extends AppCompatActivity {
         }
 
         android.content.Intent intent = new android.content.Intent(this, BookingSummaryActivity.class);
-        intent.putExtra("trainScheduleId", trainSchedule.id);
+        intent.putExtra(EXTRA_TRAIN_SCHEDULE_ID, trainScheduleId);
         if (fromStationId != null) {
             intent.putExtra("fromStationId", fromStationId);
         }
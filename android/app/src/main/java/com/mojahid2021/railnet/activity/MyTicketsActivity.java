@@ -1,10 +1,11 @@
 package com.mojahid2021.railnet.activity;
 
 import android.os.Bundle;
-import android.util.Log;
 import android.view.View;
+import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
@@ -14,26 +15,17 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.mojahid2021.railnet.R;
 import com.mojahid2021.railnet.adapter.TicketsAdapter;
+import com.mojahid2021.railnet.data.TicketHistoryLoader;
+import com.mojahid2021.railnet.data.TicketRepository;
 import com.mojahid2021.railnet.model.UserTicket;
-import com.mojahid2021.railnet.network.ApiClient;
-import com.mojahid2021.railnet.network.ApiService;
 
-import java.io.IOException;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
-import okhttp3.ResponseBody;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * MyTicketsActivity displays the user's booked tickets.
  * Shows ticket list, statistics, and handles loading/error states.
@@ -43,6 +35,7 @@ public class MyTicketsActivity extends AppCompatActivity {
     // Constants
     private static final String TAG = "MyTicketsActivity";
     private static final int VERTICAL_SPACING_DP = 16;
+    private static final int LOAD_MORE_DISTANCE = 5; // rows from either end of the window
     private static final String DATE_FORMAT = "yyyy-MM-dd";
 
     // UI Components
@@ -50,7 +43,10 @@ public class MyTicketsActivity extends AppCompatActivity {
     private View progressContainer;
     private TextView tvEmpty;
     private TextView tvError;
+    private Button btnExport;
     private TicketsAdapter adapter;
+    private TicketRepository repository;
+    private TicketHistoryLoader historyLoader;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -60,8 +56,17 @@ public class MyTicketsActivity extends AppCompatActivity {
 
         setupWindowInsets();
         initializeViews();
+        repository = TicketRepository.getInstance(this);
+        historyLoader = new TicketHistoryLoader(this, historyListener);
         setupRecyclerView();
-        fetchTickets();
+        loadTickets();
+    }
+
+    @Override
+    protected void onDestroy() {
+        repository.removeListener(ticketsListener);
+        historyLoader.cancel();
+        super.onDestroy();
     }
 
     /**
@@ -83,7 +88,8 @@ public class MyTicketsActivity extends AppCompatActivity {
         progressContainer = findViewById(R.id.progressContainer);
         tvEmpty = findViewById(R.id.tvEmpty);
         tvError = findViewById(R.id.tvError);
-
+        btnExport = findViewById(R.id.btnExportTickets);
+        btnExport.setOnClickListener(v -> exportSelectedTickets());
     }
 
     /**
@@ -107,7 +113,23 @@ public class MyTicketsActivity extends AppCompatActivity {
         });
 
         adapter = new TicketsAdapter();
+        adapter.setSelectionListener(count -> {
+            btnExport.setVisibility(count > 0 ? View.VISIBLE : View.GONE);
+            btnExport.setText(getResources().getQuantityString(R.plurals.export_tickets_pdf, count, count));
+        });
         rvTickets.setAdapter(adapter);
+
+        // Page through the history as the list nears either end of the loaded window
+        rvTickets.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - LOAD_MORE_DISTANCE) {
+                    historyLoader.loadOlder();
+                } else if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= LOAD_MORE_DISTANCE) {
+                    historyLoader.loadNewer();
+                }
+            }
+        });
     }
 
     /**
@@ -142,94 +164,68 @@ public class MyTicketsActivity extends AppCompatActivity {
     }
 
     /**
-     * Fetches tickets from the API
-     */
-    private void fetchTickets() {
-        showLoading(true);
-        ApiService api = ApiClient.getRetrofit(this).create(ApiService.class);
-        Call<ResponseBody> call = api.getTickets();
-
-        call.enqueue(new Callback<ResponseBody>() {
-            @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-                handleTicketsResponse(response);
-            }
-
-            @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
-                handleTicketsFailure(t);
-            }
-        });
-    }
-
-    /**
-     * Handles successful tickets API response
+     * Shows the saved tickets right away and revalidates them in the background
      */
-    private void handleTicketsResponse(Response<ResponseBody> response) {
-        showLoading(false);
-
-        if (!response.isSuccessful() || response.body() == null) {
-            handleTicketsError(response);
-            return;
+    private void loadTickets() {
+        if (!repository.isLoaded() || repository.getTickets().isEmpty()) {
+            showLoading(true);
         }
+        repository.addListener(ticketsListener);
+        repository.refresh();
+    }
 
-        try (ResponseBody responseBody = response.body()) {
-            String body = responseBody.string();
-            Log.d(TAG, "Tickets response: " + body);
-
-            List<UserTicket> tickets = parseTickets(body);
-            if (tickets.isEmpty()) {
+    private final TicketRepository.Listener ticketsListener = new TicketRepository.Listener() {
+        @Override
+        public void onTicketsChanged(List<UserTicket> tickets, boolean synced) {
+            if (!tickets.isEmpty()) {
+                showLoading(false);
+                historyLoader.onFirstPage(tickets, repository.getNextCursor());
+            } else if (synced) {
+                historyLoader.onFirstPage(tickets, null);
                 showEmpty();
-            } else {
-                adapter.setItems(tickets);
             }
-
-        } catch (IOException | JsonSyntaxException e) {
-            Log.e(TAG, "Failed to parse tickets: " + e.getMessage(), e);
-            showError("Failed to load tickets. Please try again.");
+            // Nothing saved yet: keep the spinner until the sync answers
         }
-    }
 
-    /**
-     * Parses JSON response into UserTicket list
-     */
-    private List<UserTicket> parseTickets(String json) throws JsonSyntaxException {
-        Gson gson = new Gson();
-        UserTicket[] ticketsArray = gson.fromJson(json, UserTicket[].class);
-        return Arrays.asList(ticketsArray != null ? ticketsArray : new UserTicket[0]);
-    }
-
-    /**
-     * Handles tickets API error response
-     */
-    private void handleTicketsError(Response<ResponseBody> response) {
-        Log.e(TAG, "Tickets request failed: code=" + response.code());
-        String errorMessage = "Failed to load tickets";
-
-        try {
-            if (response.errorBody() != null) {
-                String errorBody = response.errorBody().string();
-                if (!errorBody.isEmpty()) {
-                    errorMessage = "Error: " + errorBody;
+        @Override
+        public void onSyncFailed(boolean networkError) {
+            if (adapter.getItemCount() > 0 || !repository.getTickets().isEmpty()) {
+                // Stale tickets stay on screen
+                if (networkError) {
+                    Toast.makeText(MyTicketsActivity.this, R.string.tickets_offline, Toast.LENGTH_SHORT).show();
                 }
+                return;
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to read error body", e);
+            showError(networkError
+                    ? "Network error. Please check your connection and try again."
+                    : "Failed to load tickets. Please try again.");
         }
+    };
 
-        showError(errorMessage);
-    }
+    private final TicketHistoryLoader.Listener historyListener = new TicketHistoryLoader.Listener() {
+        @Override
+        public void onWindowChanged(List<UserTicket> tickets) {
+            adapter.setItems(tickets);
+        }
+
+        @Override
+        public void onPageFailed(boolean networkError) {
+            Toast.makeText(MyTicketsActivity.this,
+                    networkError ? R.string.tickets_offline : R.string.tickets_load_more_failed,
+                    Toast.LENGTH_SHORT).show();
+        }
+    };
 
     /**
-     * Handles tickets API network failure
+     * Prints the selected tickets as one PDF and leaves selection mode
      */
-    private void handleTicketsFailure(Throwable t) {
-        showLoading(false);
-        Log.e(TAG, "Tickets request error: " + t.getMessage(), t);
-        showError("Network error. Please check your connection and try again.");
+    private void exportSelectedTickets() {
+        List<UserTicket> selected = adapter.getSelectedTickets();
+        if (selected.isEmpty()) return;
+        TicketsAdapter.printTickets(this, selected);
+        adapter.clearSelection();
     }
 
-
     /**
      * Converts dp to pixels
      */
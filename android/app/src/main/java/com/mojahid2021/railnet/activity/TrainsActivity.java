@@ -2,6 +2,7 @@ package com.mojahid2021.railnet.activity;
 
 import android.os.Build;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.Log;
 import android.view.View;
 import android.widget.TextView;
@@ -14,23 +15,18 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.reflect.TypeToken;
 import com.mojahid2021.railnet.R;
 import com.mojahid2021.railnet.adapter.TrainScheduleAdapter;
-import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.data.SearchPrefetcher;
+import com.mojahid2021.railnet.model.ScheduleRowModel;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
 import com.mojahid2021.railnet.network.ApiClient;
 import com.mojahid2021.railnet.network.ApiService;
 
-import java.io.IOException;
-import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -38,6 +34,10 @@ import retrofit2.Response;
 /**
  * TrainsActivity displays available train schedules for selected route and date.
  * Handles API calls, parsing responses, and navigation to compartment selection.
+ * The list is loaded from the summary projection of the search, which carries only what a row
+ * shows; CompartmentActivity fetches the full schedule by id when a row is opened.
+ * A result cached or prefetched by {@link SearchPrefetcher} is shown at once and revalidated;
+ * each successful search prefetches the previous and next day.
  */
 public class TrainsActivity extends AppCompatActivity {
 
@@ -48,7 +48,8 @@ public class TrainsActivity extends AppCompatActivity {
     private static final String EXTRA_DATE = "date";
     private static final String EXTRA_FROM_STATION_NAME = "fromStationName";
     private static final String EXTRA_TO_STATION_NAME = "toStationName";
-    private static final String EXTRA_SCHEDULE_JSON = "scheduleJson";
+    private static final String EXTRA_TRAIN_SCHEDULE_ID = "trainScheduleId";
+    private static final String EXTRA_TAP_UPTIME = "tapUptimeMillis";
 
     // UI Components
     private RecyclerView rvSchedules;
@@ -57,12 +58,19 @@ public class TrainsActivity extends AppCompatActivity {
     private TextView tvTrainCount;
     private TrainScheduleAdapter adapter;
 
+    // Builds row models off the main thread
+    private final ExecutorService parseExecutor = Executors.newSingleThreadExecutor();
+
+    // The search in flight, cancelled with the screen
+    private Call<List<TrainScheduleSummary>> searchCall;
+
     // Data
     private String fromId;
     private String toId;
     private String date;
     private String fromName;
     private String toName;
+    private boolean showingCached;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -80,9 +88,19 @@ public class TrainsActivity extends AppCompatActivity {
         }
 
         setupRecyclerView();
+        showCachedSchedules();
         fetchTrainSchedules();
     }
 
+    @Override
+    protected void onDestroy() {
+        if (searchCall != null) {
+            searchCall.cancel();
+        }
+        parseExecutor.shutdownNow();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display and status bar appearance
      */
@@ -137,8 +155,8 @@ public class TrainsActivity extends AppCompatActivity {
     private void setupRecyclerView() {
         rvSchedules.setLayoutManager(new LinearLayoutManager(this));
 
-        adapter = new TrainScheduleAdapter(schedule -> {
-            navigateToCompartmentActivity(schedule);
+        adapter = new TrainScheduleAdapter(scheduleId -> {
+            navigateToCompartmentActivity(scheduleId);
         });
 
         rvSchedules.setAdapter(adapter);
@@ -147,112 +165,107 @@ public class TrainsActivity extends AppCompatActivity {
     /**
      * Navigates to CompartmentActivity with selected schedule
      */
-    private void navigateToCompartmentActivity(TrainSchedule schedule) {
-        Gson gson = new Gson();
-        String json = gson.toJson(schedule);
-
+    private void navigateToCompartmentActivity(int scheduleId) {
+        // Only the id travels in the Intent; CompartmentActivity loads the full schedule through
+        // ScheduleStore, which fetches it unless an earlier visit left it in memory
         android.content.Intent intent = new android.content.Intent(this, CompartmentActivity.class);
-        intent.putExtra(EXTRA_SCHEDULE_JSON, json);
+        intent.putExtra(EXTRA_TRAIN_SCHEDULE_ID, scheduleId);
+        intent.putExtra(EXTRA_TAP_UPTIME, SystemClock.uptimeMillis());
         intent.putExtra(EXTRA_FROM_STATION_ID, fromId);
         intent.putExtra(EXTRA_TO_STATION_ID, toId);
         startActivity(intent);
     }
 
+    /**
+     * Shows a cached or prefetched result for this search right away, if there is one
+     */
+    private void showCachedSchedules() {
+        List<TrainScheduleSummary> cached = SearchPrefetcher.getInstance().get(fromId, toId, date);
+        if (cached == null) {
+            return;
+        }
+        showingCached = true;
+        parseExecutor.execute(() -> {
+            List<ScheduleRowModel> rows = ScheduleRowModel.fromSummaries(cached);
+            runOnUiThread(() -> {
+                if (isFinishing() || isDestroyed()) return;
+                if (rows.isEmpty()) {
+                    showEmptyState();
+                } else {
+                    showSchedules(rows);
+                }
+            });
+        });
+    }
+
     /**
      * Fetches train schedules from the API
      */
     private void fetchTrainSchedules() {
-        showLoading(true);
+        // With a cached result on screen this is a silent revalidation
+        if (!showingCached) {
+            showLoading(true);
+        }
 
         ApiService apiService = ApiClient.getRetrofit(this).create(ApiService.class);
-        Call<ResponseBody> call = apiService.searchTrainSchedules(fromId, toId, date);
+        searchCall = apiService.searchTrainScheduleSummaries(fromId, toId, date);
 
-        call.enqueue(new Callback<ResponseBody>() {
+        searchCall.enqueue(new Callback<List<TrainScheduleSummary>>() {
             @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+            public void onResponse(Call<List<TrainScheduleSummary>> call, Response<List<TrainScheduleSummary>> response) {
+                // The screen is gone and parseExecutor is shut down
+                if (isFinishing() || isDestroyed()) return;
                 handleSchedulesResponse(response);
             }
 
             @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            public void onFailure(Call<List<TrainScheduleSummary>> call, Throwable t) {
+                if (call.isCanceled() || isFinishing() || isDestroyed()) return;
                 handleSchedulesFailure(t);
             }
         });
     }
 
     /**
-     * Handles successful schedules API response
+     * Handles successful schedules API response.
+     * Schedules arrive already decoded from the response stream; the row models are built on a
+     * background thread and posted back to the UI.
      */
-    private void handleSchedulesResponse(Response<ResponseBody> response) {
-        showLoading(false);
-
+    private void handleSchedulesResponse(Response<List<TrainScheduleSummary>> response) {
         if (!response.isSuccessful() || response.body() == null) {
+            if (showingCached) return; // Keep the cached result
+            showLoading(false);
             showEmptyState();
             return;
         }
 
-        try (ResponseBody responseBody = response.body()) {
-            String body = responseBody.string();
-            List<TrainSchedule> schedules = parseSchedulesResponse(body);
-
-            if (schedules == null || schedules.isEmpty()) {
-                showEmptyState();
-            } else {
-                showSchedules(schedules);
-            }
-
-        } catch (IOException e) {
-            Log.e(TAG, "Error reading response body", e);
-            showEmptyState();
-        }
-    }
-
-    /**
-     * Parses the JSON response into TrainSchedule list
-     */
-    private List<TrainSchedule> parseSchedulesResponse(String body) {
-        try {
-            JsonParser parser = new JsonParser();
-            JsonElement json = parser.parse(body);
-            JsonArray array = extractSchedulesArray(json);
-
-            if (array == null || array.size() == 0) {
-                return null;
-            }
-
-            Gson gson = new Gson();
-            Type listType = new TypeToken<List<TrainSchedule>>() {}.getType();
-            return gson.fromJson(array, listType);
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing schedules response", e);
-            return null;
-        }
-    }
-
-    /**
-     * Extracts the schedules array from JSON response
-     */
-    private JsonArray extractSchedulesArray(JsonElement json) {
-        if (json.isJsonArray()) {
-            return json.getAsJsonArray();
-        } else if (json.isJsonObject()) {
-            JsonObject obj = json.getAsJsonObject();
-            if (obj.has("data") && obj.get("data").isJsonArray()) {
-                return obj.getAsJsonArray("data");
-            }
-        }
-        return null;
+        List<TrainScheduleSummary> summaries = response.body();
+        parseExecutor.execute(() -> {
+            SearchPrefetcher prefetcher = SearchPrefetcher.getInstance();
+            prefetcher.put(fromId, toId, date, summaries);
+            prefetcher.prefetchAdjacent(this, fromId, toId, date);
+            // Precompute display rows here so binding and diffing stay cheap on the UI thread
+            List<ScheduleRowModel> rows = ScheduleRowModel.fromSummaries(summaries);
+            runOnUiThread(() -> {
+                if (isFinishing() || isDestroyed()) return;
+                showLoading(false);
+                if (rows.isEmpty()) {
+                    showEmptyState();
+                } else {
+                    showSchedules(rows);
+                }
+            });
+        });
     }
 
     /**
      * Shows the schedules in the RecyclerView
      */
-    private void showSchedules(List<TrainSchedule> schedules) {
+    private void showSchedules(List<ScheduleRowModel> rows) {
         rvSchedules.setVisibility(View.VISIBLE);
         emptyContainer.setVisibility(View.GONE);
-        tvTrainCount.setText(schedules.size() + " Trains");
-        adapter.setItems(schedules);
+        tvTrainCount.setText(rows.size() + " Trains");
+        adapter.setItems(rows);
     }
 
     /**
@@ -268,6 +281,10 @@ public class TrainsActivity extends AppCompatActivity {
      * Handles schedules API network failure
      */
     private void handleSchedulesFailure(Throwable t) {
+        if (showingCached) {
+            Log.w(TAG, "Revalidating cached schedules failed", t);
+            return;
+        }
         showLoading(false);
         showEmptyState();
         Log.e(TAG, "Network error fetching schedules", t);
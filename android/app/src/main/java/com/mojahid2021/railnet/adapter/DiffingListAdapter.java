@@ -0,0 +1,92 @@
+package com.mojahid2021.railnet.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base adapter for our lists: diffs on a background thread and binds partially via payloads.
+ *
+ * - {@link #setItems(List)} hands the new list to {@link ListAdapter}, which runs DiffUtil off the
+ *   main thread and only dispatches the resulting updates on it.
+ * - Items have stable IDs from {@link #getStableId(Object)}, so RecyclerView can keep views and
+ *   animations attached to the same item across refreshes.
+ * - When the item callback returns a change payload, {@link #onBindPayloads} gets a chance to update
+ *   just the affected views instead of rebinding the whole row.
+ *
+ * @param <T>  item type
+ * @param <VH> view holder type
+ */
+public abstract class DiffingListAdapter<T, VH extends RecyclerView.ViewHolder> extends ListAdapter<T, VH> {
+
+    protected DiffingListAdapter(@NonNull DiffUtil.ItemCallback<T> diffCallback) {
+        super(diffCallback);
+        setHasStableIds(true);
+    }
+
+    /**
+     * Replace the adapter's data. The diff runs in the background; the list is copied so later
+     * changes to the caller's list never reach the adapter.
+     *
+     * @param newItems new items (may be null)
+     */
+    public void setItems(@Nullable List<T> newItems) {
+        setItems(newItems, null);
+    }
+
+    /**
+     * Same as {@link #setItems(List)}, running {@code onCommitted} once the new list is displayed.
+     */
+    public void setItems(@Nullable List<T> newItems, @Nullable Runnable onCommitted) {
+        submitList(newItems == null ? new ArrayList<>() : new ArrayList<>(newItems), onCommitted);
+    }
+
+    /**
+     * Item at the given adapter position.
+     */
+    public T getItemAt(int position) {
+        return getItem(position);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getStableId(getItem(position));
+    }
+
+    @Override
+    public final void onBindViewHolder(@NonNull VH holder, int position) {
+        onBindItem(holder, getItem(position));
+    }
+
+    @Override
+    public final void onBindViewHolder(@NonNull VH holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindItem(holder, getItem(position));
+        } else {
+            onBindPayloads(holder, getItem(position), payloads);
+        }
+    }
+
+    /**
+     * Stable identifier for an item; must not change while the item is displayed.
+     */
+    protected abstract long getStableId(T item);
+
+    /**
+     * Fully bind an item to its view holder.
+     */
+    protected abstract void onBindItem(@NonNull VH holder, T item);
+
+    /**
+     * Partially bind an item given the payloads produced by the diff callback or by
+     * {@code notifyItemChanged(position, payload)}. Defaults to a full bind.
+     */
+    protected void onBindPayloads(@NonNull VH holder, T item, @NonNull List<Object> payloads) {
+        onBindItem(holder, item);
+    }
+}
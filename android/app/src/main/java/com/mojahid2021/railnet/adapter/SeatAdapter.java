@@ -6,26 +6,36 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.mojahid2021.railnet.R;
+import com.mojahid2021.railnet.model.SeatAvailability;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Adapter for displaying a list of seat identifiers (simple strings).
  *
  * This adapter provides efficient seat selection with visual feedback.
- * Only affected items are refreshed when selection changes for better performance.
+ * Only affected items are refreshed when selection changes for better performance:
+ * selection changes are dispatched as a payload that only toggles the selected state,
+ * and replacing the seat list is diffed on a background thread.
+ *
+ * Seats are rendered free, held or occupied from a {@link SeatAvailability}; only free seats
+ * can be selected. A new availability only rebinds the seats whose state changed.
  */
-public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
+public class SeatAdapter extends DiffingListAdapter<String, SeatAdapter.ViewHolder> {
 
     // Constants
     private static final String TAG = "SeatAdapter";
 
-    // Underlying list of seat labels (e.g. "A1", "B3")
-    private final List<String> items = new ArrayList<>();
+    // Payload for rebinding only the selected state of a seat
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    // Payload for rebinding only the availability state of a seat
+    private static final Object PAYLOAD_AVAILABILITY = new Object();
 
     // Listener for click events
     private final OnSeatClickListener listener;
@@ -33,6 +43,9 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
     // Track currently selected seat label (null = none selected)
     private String selectedSeat = null;
 
+    // Occupied/held seats of the current compartment (null = unknown, all shown as free)
+    private SeatAvailability availability;
+
     /**
      * Listener interface to notify when a seat is clicked.
      */
@@ -47,26 +60,64 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
      * @param listener click listener (can be null)
      */
     public SeatAdapter(List<String> items, OnSeatClickListener listener) {
-        if (items != null) {
-            this.items.addAll(items);
-        }
+        super(SEAT_DIFF);
         this.listener = listener;
+        if (items != null && !items.isEmpty()) {
+            setItems(items);
+        }
+    }
+
+    /**
+     * Replace the list of seats and clear any selection and availability.
+     * This is safe to call from the main thread; the diff runs in the background.
+     *
+     * @param newItems    new items (can be null)
+     * @param onCommitted run once the new list is displayed (can be null)
+     */
+    @Override
+    public void setItems(List<String> newItems, Runnable onCommitted) {
+        // Clear selection when data changes; unchanged rows are not rebound by the diff,
+        // so un-highlight the old selection explicitly
+        clearSelection();
+        if (availability != null) {
+            setAvailability(null);
+        }
+        super.setItems(newItems, onCommitted);
     }
 
     /**
-     * Replace the list of seats and clear any selection.
-     * This is safe to call from the main thread.
+     * Update which seats are occupied or held. Only rows whose state changed are rebound.
+     * A selected seat that is no longer free is deselected.
      *
-     * @param newItems new items (can be null)
+     * @param newAvailability availability for the displayed compartment (null = unknown)
      */
-    public void setItems(List<String> newItems) {
-        this.items.clear();
-        this.selectedSeat = null; // clear selection when data changes
-        if (newItems != null) {
-            this.items.addAll(newItems);
+    public void setAvailability(SeatAvailability newAvailability) {
+        SeatAvailability old = availability;
+        availability = newAvailability;
+
+        if (selectedSeat != null && !isSelectable(selectedSeat)) {
+            clearSelection();
+        }
+
+        List<String> seats = getCurrentList();
+        if (old == null || newAvailability == null) {
+            notifyItemRangeChanged(0, seats.size(), PAYLOAD_AVAILABILITY);
+            return;
+        }
+        BitSet changed = newAvailability.changedSince(old);
+        for (int position = 0; position < seats.size(); position++) {
+            int index = SeatAvailability.seatIndex(seats.get(position));
+            if (index < 0 || changed.get(index)) {
+                notifyItemChanged(position, PAYLOAD_AVAILABILITY);
+            }
         }
-        // Notify full change because the whole data set was replaced
-        notifyDataSetChanged();
+    }
+
+    /**
+     * Whether a seat can be selected (free, or availability not known yet).
+     */
+    public boolean isSelectable(String seat) {
+        return availability == null || availability.isFree(seat);
     }
 
     /**
@@ -76,8 +127,8 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
      * @param seat seat label to select (null to clear)
      */
     public void setSelectedSeat(String seat) {
-        if (seat != null && !items.contains(seat)) {
-            // If the requested seat doesn't exist, do nothing
+        if (seat != null && (!getCurrentList().contains(seat) || !isSelectable(seat))) {
+            // If the requested seat doesn't exist or is taken, do nothing
             return;
         }
 
@@ -88,12 +139,12 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
         // Update the model
         selectedSeat = seat;
 
-        // Refresh only the affected rows
+        // Refresh only the selected state of the affected rows
         if (oldPos != -1) {
-            notifyItemChanged(oldPos);
+            notifyItemChanged(oldPos, PAYLOAD_SELECTION);
         }
-        if (newPos != -1) {
-            notifyItemChanged(newPos);
+        if (newPos != -1 && newPos != oldPos) {
+            notifyItemChanged(newPos, PAYLOAD_SELECTION);
         }
     }
 
@@ -118,26 +169,61 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_seat, parent, false);
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+
+        // Click handling; the position is resolved at click time so it stays correct after diffs
+        view.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                onItemClicked(position);
+            }
+        });
+        return holder;
     }
 
     @Override
-    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        String seatLabel = items.get(position);
+    protected long getStableId(String seatLabel) {
+        return seatId(seatLabel);
+    }
 
+    @Override
+    protected void onBindItem(@NonNull ViewHolder holder, String seatLabel) {
         // Bind data to view
         holder.tvSeat.setText(seatLabel);
+        bindAvailability(holder, seatLabel);
 
         // Highlight view if this item is selected
         holder.itemView.setSelected(seatLabel.equals(selectedSeat));
-
-        // Click handling
-        holder.itemView.setOnClickListener(v -> onItemClicked(position));
     }
 
     @Override
-    public int getItemCount() {
-        return items.size();
+    protected void onBindPayloads(@NonNull ViewHolder holder, String seatLabel, @NonNull List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload == PAYLOAD_AVAILABILITY) {
+                bindAvailability(holder, seatLabel);
+            } else if (payload != PAYLOAD_SELECTION) {
+                onBindItem(holder, seatLabel);
+                return;
+            }
+        }
+        holder.itemView.setSelected(seatLabel.equals(selectedSeat));
+    }
+
+    // Background and enabled state for free, held and occupied seats
+    private void bindAvailability(@NonNull ViewHolder holder, String seatLabel) {
+        int state = availability != null ? availability.getState(seatLabel) : SeatAvailability.STATE_FREE;
+        switch (state) {
+            case SeatAvailability.STATE_OCCUPIED:
+                holder.tvSeat.setBackgroundResource(R.drawable.seat_booked_bg);
+                break;
+            case SeatAvailability.STATE_HELD:
+                holder.tvSeat.setBackgroundResource(R.drawable.seat_held_bg);
+                break;
+            default:
+                holder.tvSeat.setBackgroundResource(R.drawable.seat_bg);
+                break;
+        }
+        holder.itemView.setEnabled(state == SeatAvailability.STATE_FREE);
     }
 
     /**
@@ -150,7 +236,7 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
         if (seat == null) {
             return -1;
         }
-        return items.indexOf(seat);
+        return getCurrentList().indexOf(seat);
     }
 
     /**
@@ -159,7 +245,10 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
      * @param position clicked position
      */
     private void onItemClicked(int position) {
-        String seat = items.get(position);
+        String seat = getItemAt(position);
+        if (!isSelectable(seat)) {
+            return; // Occupied or held seats cannot be picked
+        }
         // Update selection efficiently
         setSelectedSeat(seat);
 
@@ -169,6 +258,32 @@ public class SeatAdapter extends RecyclerView.Adapter<SeatAdapter.ViewHolder> {
         }
     }
 
+    /**
+     * Stable ID for a seat label. Labels of up to four characters (e.g. "A1", "B12") are packed
+     * losslessly; longer labels fall back to their hash.
+     */
+    static long seatId(String seatLabel) {
+        if (seatLabel.length() > 4) return seatLabel.hashCode() & 0xFFFFFFFFL | (1L << 63);
+        long id = 0;
+        for (int i = 0; i < seatLabel.length(); i++) {
+            id = (id << 16) | seatLabel.charAt(i);
+        }
+        return id;
+    }
+
+    // Seat labels are their own identity; a label never changes content
+    private static final DiffUtil.ItemCallback<String> SEAT_DIFF = new DiffUtil.ItemCallback<String>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
     /**
      * ViewHolder class for seat items.
      */
@@ -0,0 +1,143 @@
+package com.mojahid2021.railnet.adapter;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.Filter;
+import android.widget.Filterable;
+import android.widget.TextView;
+
+import com.mojahid2021.railnet.data.StationSearchIndex;
+import com.mojahid2021.railnet.model.Station;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dropdown adapter for the From/To station fields.
+ *
+ * Filtering runs on the Filter's background thread against a {@link StationSearchIndex},
+ * which matches station names and cities with prefix, transliteration and typo tolerance.
+ * The index is rebuilt lazily on that same thread whenever the catalog changes.
+ */
+public class StationSuggestionAdapter extends BaseAdapter implements Filterable {
+
+    // Maximum suggestions shown for a non-empty query
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final LayoutInflater inflater;
+    private final Object indexLock = new Object();
+
+    // Catalog and its index; the index is built on first filter after a catalog change
+    private List<Station> catalog = Collections.emptyList();
+    private StationSearchIndex index;
+
+    // Currently displayed suggestions (main thread only)
+    private List<Station> items = new ArrayList<>();
+
+    private final Filter filter = new StationFilter();
+
+    public StationSuggestionAdapter(Context context) {
+        this.inflater = LayoutInflater.from(context);
+    }
+
+    /**
+     * Replace the station catalog. The full list is shown until the user types.
+     */
+    public void setStations(List<Station> stations) {
+        List<Station> copy = stations != null ? new ArrayList<>(stations) : new ArrayList<>();
+        synchronized (indexLock) {
+            catalog = copy;
+            index = null;
+        }
+        items = copy;
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public int getCount() {
+        return items.size();
+    }
+
+    @Override
+    public Station getItem(int position) {
+        return items.get(position);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return items.get(position).id;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        View view = convertView != null ? convertView
+                : inflater.inflate(android.R.layout.simple_dropdown_item_1line, parent, false);
+        TextView text = (TextView) view;
+        text.setText(formatLabel(getItem(position)));
+        return view;
+    }
+
+    @Override
+    public Filter getFilter() {
+        return filter;
+    }
+
+    // Show the city next to the station name when it adds information
+    private static String formatLabel(Station station) {
+        if (station.city == null || station.city.isEmpty() || station.city.equalsIgnoreCase(station.name)) {
+            return station.name;
+        }
+        return station.name + " · " + station.city;
+    }
+
+    private StationSearchIndex indexForFiltering() {
+        synchronized (indexLock) {
+            if (index == null) {
+                index = StationSearchIndex.build(catalog);
+            }
+            return index;
+        }
+    }
+
+    private class StationFilter extends Filter {
+
+        @Override
+        protected FilterResults performFiltering(CharSequence constraint) {
+            StationSearchIndex searchIndex = indexForFiltering();
+            List<Station> matches = constraint == null || constraint.length() == 0
+                    ? searchIndex.all()
+                    : searchIndex.search(constraint, MAX_SUGGESTIONS);
+
+            FilterResults results = new FilterResults();
+            results.values = matches;
+            results.count = matches.size();
+            return results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            items = results.values != null ? (List<Station>) results.values : new ArrayList<>();
+            if (results.count > 0) {
+                notifyDataSetChanged();
+            } else {
+                notifyDataSetInvalidated();
+            }
+        }
+
+        @Override
+        public CharSequence convertResultToString(Object resultValue) {
+            // Put only the station name into the text field
+            return resultValue instanceof Station ? ((Station) resultValue).name : super.convertResultToString(resultValue);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.mojahid2021.railnet.adapter;
+
+import android.content.Context;
+import android.graphics.pdf.PdfDocument;
+import android.os.Bundle;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
+import android.print.PageRange;
+import android.print.PrintAttributes;
+import android.print.PrintDocumentAdapter;
+import android.print.PrintDocumentInfo;
+import android.util.Log;
+
+import com.google.gson.JsonParseException;
+import com.mojahid2021.railnet.data.TicketRepository;
+import com.mojahid2021.railnet.model.TicketPrintData;
+import com.mojahid2021.railnet.model.UserTicket;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+import com.mojahid2021.railnet.network.BookingResponse;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Prints several tickets as one PDF with one page per ticket (e.g. a group booking).
+ *
+ * - Ticket details come from {@link TicketRepository} when stored, otherwise from GET /tickets/:id
+ *   with at most {@link #MAX_PARALLEL_FETCHES} requests at a time, falling back to the list data
+ * - Each JSON response is parsed once, straight into {@link TicketPrintData}
+ * - Pages are drawn in order as soon as their ticket is available, on a background thread, and
+ *   only the pages the print framework asks for are drawn
+ * - Cancelling the print job cancels the pending fetches and their running requests right away,
+ *   rather than after the ticket being waited for arrives
+ *
+ * {@link PdfDocument} keeps finished pages until {@code writeTo}, so the file is written in one
+ * go at the end; what is dropped early is each ticket's JSON and print data once its page is done.
+ */
+public class TicketBatchPrintDocumentAdapter extends PrintDocumentAdapter {
+
+    private static final String TAG = "TicketBatchPrint";
+    static final int MAX_PARALLEL_FETCHES = 4;
+
+    private final Context context;
+    private final List<UserTicket> tickets;
+    private final TicketRepository repository;
+    private final ApiService api;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_FETCHES);
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+
+    public TicketBatchPrintDocumentAdapter(Context context, List<UserTicket> tickets) {
+        this.context = context.getApplicationContext();
+        this.tickets = new ArrayList<>(tickets);
+        this.repository = TicketRepository.getInstance(context);
+        this.api = ApiClient.getRetrofit(context).create(ApiService.class);
+    }
+
+    @Override
+    public void onLayout(PrintAttributes oldAttributes, PrintAttributes newAttributes,
+                         CancellationSignal cancellationSignal, LayoutResultCallback callback,
+                         Bundle extras) {
+        if (cancellationSignal != null && cancellationSignal.isCanceled()) {
+            callback.onLayoutCancelled();
+            return;
+        }
+
+        PrintDocumentInfo info = new PrintDocumentInfo.Builder("RailNet_Tickets_" + tickets.size())
+                .setContentType(PrintDocumentInfo.CONTENT_TYPE_DOCUMENT)
+                .setPageCount(tickets.size())
+                .build();
+
+        // Pages are A4 whatever the printer's media, so only the first layout changes anything
+        callback.onLayoutFinished(info, oldAttributes == null);
+    }
+
+    @Override
+    public void onWrite(PageRange[] pages, ParcelFileDescriptor destination,
+                        CancellationSignal cancellationSignal, WriteResultCallback callback) {
+        writeExecutor.execute(() -> write(pages, destination, cancellationSignal, callback));
+    }
+
+    @Override
+    public void onFinish() {
+        fetchExecutor.shutdownNow();
+        writeExecutor.shutdownNow();
+    }
+
+    private void write(PageRange[] pages, ParcelFileDescriptor destination,
+                       CancellationSignal cancellationSignal, WriteResultCallback callback) {
+        List<Integer> indices = pageIndices(pages, tickets.size());
+
+        // Start every fetch now; the pool bounds how many run at once. Synchronized, as the cancel
+        // listener runs on the main thread
+        List<Future<TicketPrintData>> pending = Collections.synchronizedList(new ArrayList<>(indices.size()));
+        Set<Call<?>> calls = ConcurrentHashMap.newKeySet();
+        for (int index : indices) {
+            UserTicket ticket = tickets.get(index);
+            pending.add(fetchExecutor.submit(() -> resolve(ticket, calls)));
+        }
+        if (cancellationSignal != null) {
+            // Wakes the wait below with a CancellationException
+            cancellationSignal.setOnCancelListener(() -> cancelAll(pending, calls));
+        }
+
+        PdfDocument document = new PdfDocument();
+        try {
+            TicketPageRenderer renderer = new TicketPageRenderer(context);
+            for (int i = 0; i < indices.size(); i++) {
+                if (cancellationSignal != null && cancellationSignal.isCanceled()) {
+                    cancelAll(pending, calls);
+                    mainHandler.post(callback::onWriteCancelled);
+                    return;
+                }
+                TicketPrintData data = pending.get(i).get();
+                pending.set(i, null);
+
+                PdfDocument.PageInfo pageInfo = new PdfDocument.PageInfo.Builder(
+                        (int) TicketPageRenderer.PAGE_WIDTH, (int) TicketPageRenderer.PAGE_HEIGHT,
+                        indices.get(i) + 1).create();
+                PdfDocument.Page page = document.startPage(pageInfo);
+                renderer.draw(page.getCanvas(), data);
+                document.finishPage(page);
+            }
+
+            try (FileOutputStream out = new FileOutputStream(destination.getFileDescriptor())) {
+                document.writeTo(out);
+            }
+            PageRange[] written = toRanges(indices);
+            mainHandler.post(() -> callback.onWriteFinished(written));
+        } catch (IOException | ExecutionException e) {
+            Log.e(TAG, "Error writing batch PDF", e);
+            cancelAll(pending, calls);
+            mainHandler.post(() -> callback.onWriteFailed(e.getMessage()));
+        } catch (CancellationException e) {
+            mainHandler.post(callback::onWriteCancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(pending, calls);
+            mainHandler.post(callback::onWriteCancelled);
+        } finally {
+            if (cancellationSignal != null) cancellationSignal.setOnCancelListener(null);
+            document.close();
+        }
+    }
+
+    // Print data for one ticket: stored detail, then a fresh fetch, then the list data
+    // Requests in flight are kept in calls, so a cancelled print job can stop them
+    private TicketPrintData resolve(UserTicket ticket, Set<Call<?>> calls) {
+        String ticketId = ticket.ticket != null ? ticket.ticket.ticketId : null;
+        if (ticketId == null || ticketId.isEmpty()) {
+            return TicketPrintData.from(ticket);
+        }
+
+        BookingResponse detail = repository.getTicketDetail(ticketId);
+        if (detail == null) {
+            Call<BookingResponse> call = api.getTicketById(ticketId);
+            calls.add(call);
+            if (Thread.currentThread().isInterrupted()) call.cancel(); // Cancelled before it was added
+            try {
+                Response<BookingResponse> response = call.execute();
+                if (response.isSuccessful() && response.body() != null) {
+                    detail = response.body();
+                    repository.saveTicketDetail(ticketId, detail);
+                }
+            } catch (IOException | JsonParseException e) {
+                Log.w(TAG, "Using list data for " + ticketId + ": " + e.getMessage());
+            } finally {
+                calls.remove(call);
+            }
+        }
+        return detail != null ? TicketPrintData.from(detail) : TicketPrintData.from(ticket);
+    }
+
+    private static void cancelAll(List<Future<TicketPrintData>> pending, Set<Call<?>> calls) {
+        synchronized (pending) {
+            for (Future<TicketPrintData> future : pending) {
+                if (future != null) future.cancel(true);
+            }
+        }
+        // A blocking request does not notice the interrupt; cancelling the call closes its socket
+        for (Call<?> call : calls) call.cancel();
+    }
+
+    // Zero-based page indices covered by the requested ranges, in order
+    private static List<Integer> pageIndices(PageRange[] pages, int pageCount) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < pageCount; i++) {
+            if (contains(pages, i)) indices.add(i);
+        }
+        return indices;
+    }
+
+    private static boolean contains(PageRange[] pages, int index) {
+        for (PageRange range : pages) {
+            if (PageRange.ALL_PAGES.equals(range)) return true;
+            if (index >= range.getStart() && index <= range.getEnd()) return true;
+        }
+        return false;
+    }
+
+    // Collapses sorted page indices into ranges
+    private static PageRange[] toRanges(List<Integer> indices) {
+        List<PageRange> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < indices.size()) {
+            int start = indices.get(i);
+            int end = start;
+            while (i + 1 < indices.size() && indices.get(i + 1) == end + 1) {
+                end = indices.get(++i);
+            }
+            ranges.add(new PageRange(start, end));
+            i++;
+        }
+        return ranges.toArray(new PageRange[0]);
+    }
+}
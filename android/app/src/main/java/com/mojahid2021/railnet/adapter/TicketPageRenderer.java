@@ -0,0 +1,759 @@
+package com.mojahid2021.railnet.adapter;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.util.Log;
+
+import androidx.core.content.res.ResourcesCompat;
+
+import com.google.zxing.common.BitMatrix;
+import com.mojahid2021.railnet.data.TicketQrCache;
+import com.mojahid2021.railnet.model.TicketPrintData;
+import com.mojahid2021.railnet.util.QrCodeRenderer;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Draws one railway ticket onto an A4 page canvas.
+ *
+ * Shared by the single-ticket and batch print adapters. Created once per print job: the typeface
+ * and paints are set up once, the parts of the page that are the same for every ticket are
+ * recorded into {@link Picture}s and replayed on each page, and the QR code is drawn as vector
+ * rectangles. Not thread-safe; use one renderer per rendering thread.
+ */
+final class TicketPageRenderer {
+
+    private static final String TAG = "TicketPageRenderer";
+
+    // Page dimensions (A4 in points)
+    static final float PAGE_WIDTH = 595f;
+    static final float PAGE_HEIGHT = 842f;
+    private static final float MARGIN = 40f;
+
+    // Typography constants
+    private static final float FONT_SIZE_LOGO = 28f;
+    private static final float FONT_SIZE_SUBTITLE = 10f;
+    private static final float FONT_SIZE_BADGE = 12f;
+    private static final float FONT_SIZE_TICKET_ID = 16f;
+    private static final float FONT_SIZE_SECTION_TITLE = 14f;
+    private static final float FONT_SIZE_BODY_LARGE = 12f;
+    private static final float FONT_SIZE_BODY_MEDIUM = 11f;
+    private static final float FONT_SIZE_CAPTION = 9f;
+    private static final float FONT_SIZE_FINE_PRINT = 8f;
+
+    // Spacing constants
+    private static final float LINE_HEIGHT_BODY = 16f;
+    private static final float LINE_HEIGHT_CAPTION = 12f;
+    private static final float SECTION_SPACING = 18f;
+    private static final float BOX_PADDING = 12f;
+
+    // Layout constants
+    private static final float HEADER_HEIGHT = 90f;
+    private static final float JOURNEY_BOX_HEIGHT = 140f;
+    private static final float PASSENGER_BOX_HEIGHT = 160f;
+    private static final float FOOTER_HEIGHT = 110f;
+    private static final float QR_SIZE = 76f;
+    private static final float CORNER_RADIUS = 8f;
+
+    // Color constants
+    private static final int COLOR_PRIMARY = 0xFF0898D9;
+    private static final int COLOR_BACKGROUND_LIGHT = 0xFFFAFAFA;
+    private static final int COLOR_BACKGROUND_HEADER = 0xFFEAF6FF;
+    private static final int COLOR_WHITE = 0xFFFFFFFF;
+    private static final int COLOR_GRAY_LIGHT = 0xFFEEEEEE;
+    private static final int COLOR_GRAY_DARK = 0xFF424242;
+    private static final int COLOR_GRAY_MEDIUM = 0xFF757575;
+
+    // Status colors
+    private static final int COLOR_STATUS_CONFIRMED = 0xFF4CAF50;
+    private static final int COLOR_STATUS_PENDING = 0xFFFF9800;
+    private static final int COLOR_STATUS_CANCELLED = 0xFFF44336;
+    private static final int COLOR_STATUS_COMPLETED = 0xFF2196F3;
+    private static final int COLOR_STATUS_EXPIRED = 0xFF9E9E9E;
+
+    // Payment status colors
+    private static final int COLOR_PAYMENT_PAID = 0xFF4CAF50;
+    private static final int COLOR_PAYMENT_PENDING = 0xFFFF9800;
+    private static final int COLOR_PAYMENT_FAILED = 0xFFF44336;
+    private static final int COLOR_PAYMENT_REFUNDED = 0xFF2196F3;
+    private static final int COLOR_PAYMENT_EXPIRED = 0xFF9E9E9E;
+
+    private final Context context;
+    private final Typeface railNetTypeface;
+    private final TicketQrCache qrCache;
+
+    // Pooled per renderer (one per print job); each draw sets only colour and text size
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint fillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint strokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // No anti-aliasing so neighbouring QR modules meet without seams
+    private final Paint qrPaint = new Paint();
+    private final Path qrPath = new Path();
+
+    // Layout is the same on every page
+    private final RectF ticketBounds = new RectF(MARGIN, MARGIN, PAGE_WIDTH - MARGIN, PAGE_HEIGHT - MARGIN);
+    private final RectF headerBounds;
+    private final RectF journeyBox;
+    private final RectF passengerBox;
+    private final RectF qrBox;
+    private final RectF footerBounds;
+    private final float qrLeft;
+    private final float qrTop;
+
+    // Printed on every page of the job
+    private final String printedAt;
+    private final String printedAtShort;
+
+    // Everything that doesn't depend on the ticket, recorded once and replayed per page
+    private final Picture staticLayer;
+    private final Picture watermarkLayer;
+
+    private TicketPrintData data; // ticket being drawn
+
+    TicketPageRenderer(Context context) {
+        this.context = context;
+        this.railNetTypeface = loadRailNetTypeface();
+        this.qrCache = TicketQrCache.getInstance(context);
+
+        ensureNormalTypeface(textPaint);
+        textPaint.setStyle(Paint.Style.FILL);
+        fillPaint.setStyle(Paint.Style.FILL);
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeWidth(1);
+        qrPaint.setStyle(Paint.Style.FILL);
+        qrPaint.setColor(Color.BLACK);
+
+        float headerTop = ticketBounds.top + 8;
+        headerBounds = new RectF(ticketBounds.left + 12, headerTop,
+                ticketBounds.right - 12, headerTop + HEADER_HEIGHT);
+
+        float contentTop = headerBounds.bottom + 12;
+        float contentWidth = ticketBounds.width() - 30;
+        float leftSectionWidth = contentWidth * 0.58f;
+        float rightSectionWidth = contentWidth * 0.38f;
+        float leftX = ticketBounds.left + 15;
+        float rightX = leftX + leftSectionWidth + contentWidth * 0.04f;
+        journeyBox = new RectF(leftX, contentTop + 24, leftX + leftSectionWidth, contentTop + 24 + JOURNEY_BOX_HEIGHT);
+        passengerBox = new RectF(rightX, contentTop + 24, rightX + rightSectionWidth, contentTop + 24 + PASSENGER_BOX_HEIGHT);
+
+        float qrY = contentTop + Math.max(JOURNEY_BOX_HEIGHT, PASSENGER_BOX_HEIGHT) + 26 + SECTION_SPACING;
+        float qrX = ticketBounds.right - QR_SIZE - 28;
+        qrBox = new RectF(qrX - 5, qrY - 5, qrX + QR_SIZE + 5, qrY + QR_SIZE + 5);
+        qrLeft = qrBox.left + (qrBox.width() - QR_SIZE) / 2f;
+        qrTop = qrBox.top + (qrBox.height() - QR_SIZE) / 2f;
+
+        footerBounds = new RectF(ticketBounds.left + 12, ticketBounds.bottom - FOOTER_HEIGHT - 12,
+                ticketBounds.right - 12, ticketBounds.bottom - 12);
+
+        Date now = new Date();
+        printedAt = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, Locale.getDefault()).format(now);
+        printedAtShort = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault()).format(now);
+
+        staticLayer = new Picture();
+        drawStaticLayer(staticLayer.beginRecording((int) PAGE_WIDTH, (int) PAGE_HEIGHT));
+        staticLayer.endRecording();
+
+        watermarkLayer = new Picture();
+        drawWatermark(watermarkLayer.beginRecording((int) PAGE_WIDTH, (int) PAGE_HEIGHT));
+        watermarkLayer.endRecording();
+    }
+
+    /**
+     * Draws a ticket onto a page canvas of {@link #PAGE_WIDTH} x {@link #PAGE_HEIGHT} points.
+     */
+    void draw(Canvas canvas, TicketPrintData ticket) {
+        data = ticket;
+        try {
+            drawTicket(canvas);
+        } finally {
+            data = null;
+        }
+    }
+
+    /**
+     * Main method to draw the ticket on the canvas
+     */
+    private void drawTicket(Canvas canvas) {
+        canvas.drawPicture(staticLayer);
+
+        drawHeaderTicketInfo(canvas);
+        drawJourneyContent(canvas, journeyBox.left + BOX_PADDING, journeyBox.top + BOX_PADDING);
+        drawPassengerContent(canvas, passengerBox.left + BOX_PADDING, passengerBox.top + BOX_PADDING);
+        drawQrCode(canvas);
+
+        canvas.drawPicture(watermarkLayer);
+    }
+
+    /**
+     * Draws the parts of the page that are the same for every ticket: background, header, section
+     * titles and boxes, the QR frame and the footer
+     */
+    private void drawStaticLayer(Canvas canvas) {
+        // Ticket background
+        fillPaint.setColor(COLOR_WHITE);
+        canvas.drawRect(ticketBounds, fillPaint);
+
+        // Header background, logo and title
+        fillPaint.setColor(COLOR_BACKGROUND_HEADER);
+        canvas.drawRoundRect(headerBounds, CORNER_RADIUS, CORNER_RADIUS, fillPaint);
+        drawHeaderLogoAndTitle(canvas);
+
+        // Section titles and boxes
+        drawSectionFrame(canvas, "JOURNEY DETAILS", journeyBox);
+        drawSectionFrame(canvas, "PASSENGER DETAILS", passengerBox);
+
+        // QR box and label
+        fillPaint.setColor(COLOR_GRAY_LIGHT);
+        canvas.drawRoundRect(qrBox, CORNER_RADIUS, CORNER_RADIUS, fillPaint);
+        strokePaint.setColor(COLOR_GRAY_LIGHT);
+        canvas.drawRoundRect(qrBox, CORNER_RADIUS, CORNER_RADIUS, strokePaint);
+        textPaint.setColor(COLOR_GRAY_DARK);
+        textPaint.setTextSize(FONT_SIZE_FINE_PRINT);
+        drawTextCenter(canvas, "SCAN TO VERIFY", qrBox.centerX(), qrBox.top - 3);
+
+        // Footer
+        fillPaint.setColor(COLOR_GRAY_LIGHT);
+        canvas.drawRoundRect(footerBounds, CORNER_RADIUS, CORNER_RADIUS, fillPaint);
+        strokePaint.setColor(COLOR_GRAY_LIGHT);
+        canvas.drawRoundRect(footerBounds, CORNER_RADIUS, CORNER_RADIUS, strokePaint);
+        drawTermsAndConditions(canvas);
+    }
+
+    /**
+     * Draws the logo and title in the header
+     */
+    private void drawHeaderLogoAndTitle(Canvas canvas) {
+        float leftX = headerBounds.left + 18;
+        float y = headerBounds.top + 24;
+
+        // Logo
+        textPaint.setColor(COLOR_PRIMARY);
+        textPaint.setTextSize(FONT_SIZE_LOGO);
+        drawTextLeft(canvas, "RailNet", leftX, y);
+
+        // Subtitle
+        textPaint.setTextSize(FONT_SIZE_SUBTITLE);
+        textPaint.setColor(COLOR_GRAY_DARK);
+        drawTextLeft(canvas, "BANGLADESH RAILWAY NETWORK", leftX, y + 18);
+    }
+
+    /**
+     * Draws ticket information in the header
+     */
+    private void drawHeaderTicketInfo(Canvas canvas) {
+        float rightX = headerBounds.right - 18;
+
+        // Ticket ID
+        String ticketId = data.ticketId;
+        if (ticketId == null || ticketId.isEmpty()) ticketId = "TKT-XXXX";
+
+        textPaint.setTextSize(FONT_SIZE_TICKET_ID);
+        textPaint.setColor(Color.BLACK);
+        drawTextRight(canvas, "TICKET #" + ticketId, rightX, headerBounds.top + 22);
+
+        // Status badge
+        String status = data.status;
+        textPaint.setTextSize(FONT_SIZE_BADGE);
+        textPaint.setColor(getStatusColor(status));
+        drawTextRight(canvas, getStatusWithEmoji(status), rightX, headerBounds.top + 42);
+
+        // Expiry
+        textPaint.setTextSize(FONT_SIZE_SUBTITLE);
+        textPaint.setColor(COLOR_GRAY_MEDIUM);
+        String expiresAt = data.expiresAt;
+        if (expiresAt != null && !expiresAt.isEmpty()) {
+            drawTextRight(canvas, "Expires: " + formatExpiry(expiresAt),
+                    rightX, headerBounds.top + 56);
+        }
+
+        // Print timestamp
+        drawTextRight(canvas, printedAt, rightX, headerBounds.bottom - 10);
+    }
+
+    /**
+     * Draws a section title above its content box
+     */
+    private void drawSectionFrame(Canvas canvas, String title, RectF box) {
+        textPaint.setColor(COLOR_PRIMARY);
+        textPaint.setTextSize(FONT_SIZE_SECTION_TITLE);
+        drawTextLeft(canvas, title, box.left, box.top - 10);
+        drawContentBox(canvas, box);
+    }
+
+    /**
+     * Draws the journey content inside the box
+     */
+    private void drawJourneyContent(Canvas canvas, float x, float contentY) {
+        float lineHeight = LINE_HEIGHT_BODY;
+
+        // Train info
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTextSize(FONT_SIZE_BODY_MEDIUM);
+        String trainInfo = buildTrainInfo(data.trainName, data.trainNumber);
+        if (!trainInfo.isEmpty()) {
+            drawTextLeft(canvas, "🚂 Train: " + trainInfo, x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Route
+        textPaint.setColor(COLOR_PRIMARY);
+        textPaint.setTextSize(FONT_SIZE_BODY_LARGE);
+        String routeText = buildRouteText(data.from, data.to);
+        if (!routeText.isEmpty()) {
+            drawTextLeft(canvas, "📍 Route: " + routeText, x, contentY);
+            contentY += lineHeight + 6;
+        }
+
+        // Departure
+        textPaint.setColor(COLOR_GRAY_DARK);
+        textPaint.setTextSize(FONT_SIZE_CAPTION);
+        String departureText = buildDepartureText(data.date, data.departureTime);
+        if (!departureText.isEmpty()) {
+            drawTextLeft(canvas, "📅 Departure: " + departureText, x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Status
+        String ticketStatus = data.status;
+        if (ticketStatus != null && !ticketStatus.isEmpty()) {
+            textPaint.setColor(getStatusColor(ticketStatus));
+            textPaint.setTextSize(FONT_SIZE_BODY_MEDIUM);
+            drawTextLeft(canvas, "📋 Status: " + getStatusWithEmoji(ticketStatus), x, contentY);
+        }
+    }
+
+    /**
+     * Builds train information string
+     */
+    private String buildTrainInfo(String name, String number) {
+        StringBuilder info = new StringBuilder();
+        if (name != null && !name.isEmpty()) {
+            info.append(name);
+        }
+        if (number != null && !number.isEmpty()) {
+            if (info.length() > 0) info.append(" ");
+            info.append("(").append(number).append(")");
+        }
+        return info.toString();
+    }
+
+    /**
+     * Builds route text
+     */
+    private String buildRouteText(String from, String to) {
+        StringBuilder route = new StringBuilder();
+        if (from != null && !from.isEmpty()) {
+            route.append(from);
+        }
+        if (to != null && !to.isEmpty()) {
+            if (route.length() > 0) route.append(" → ");
+            else route.append("To: ");
+            route.append(to);
+        }
+        return route.toString();
+    }
+
+    /**
+     * Builds departure text
+     */
+    private String buildDepartureText(String date, String time) {
+        StringBuilder departure = new StringBuilder();
+        if (date != null && !date.isEmpty()) {
+            departure.append(formatDate(date));
+        }
+        if (time != null && !time.isEmpty()) {
+            if (departure.length() > 0) departure.append(" at ");
+            departure.append(time);
+        }
+        return departure.toString();
+    }
+
+    /**
+     * Draws the passenger content inside the box
+     */
+    private void drawPassengerContent(Canvas canvas, float x, float contentY) {
+        float lineHeight = LINE_HEIGHT_BODY;
+
+        // Name
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTextSize(FONT_SIZE_BODY_MEDIUM);
+        String passengerName = data.passengerName;
+        if (passengerName != null && !passengerName.isEmpty()) {
+            drawTextLeft(canvas, "👤 Name: " + passengerName, x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Age and Gender
+        String demographics = buildDemographicsText(data.passengerAge, data.passengerGender);
+        if (!demographics.isEmpty()) {
+            drawTextLeft(canvas, "📊 " + demographics, x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Seat
+        String seatInfo = buildSeatInfo(data.compartment, data.seatNumber);
+        if (!seatInfo.isEmpty()) {
+            drawTextLeft(canvas, "💺 Seat: " + seatInfo, x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Class
+        String seatClass = data.seatClass;
+        if (seatClass != null && !seatClass.isEmpty()) {
+            drawTextLeft(canvas, "🏷️ Class: " + seatClass, x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Payment status
+        String paymentStatus = data.paymentStatus;
+        if (paymentStatus != null && !paymentStatus.isEmpty()) {
+            textPaint.setColor(getPaymentStatusColor(paymentStatus));
+            drawTextLeft(canvas, "💳 Payment: " + getPaymentStatusText(paymentStatus), x, contentY);
+            contentY += lineHeight;
+        }
+
+        // Fare
+        textPaint.setColor(COLOR_PRIMARY);
+        textPaint.setTextSize(FONT_SIZE_BODY_LARGE);
+        String price = formatPrice(data.amount, data.currency);
+        if (price != null) {
+            drawTextLeft(canvas, "💰 Fare: " + price, x, contentY);
+        }
+    }
+
+    /**
+     * Builds demographics text (age and gender)
+     */
+    private String buildDemographicsText(String age, String gender) {
+        StringBuilder demographics = new StringBuilder();
+        if (age != null && !age.isEmpty()) {
+            demographics.append("Age: ").append(age);
+        }
+        if (gender != null && !gender.isEmpty()) {
+            if (demographics.length() > 0) demographics.append(" • ");
+            demographics.append(gender);
+        }
+        return demographics.toString();
+    }
+
+    /**
+     * Builds seat information text
+     */
+    private String buildSeatInfo(String compartment, String seatNumber) {
+        StringBuilder seatInfo = new StringBuilder();
+        if (compartment != null && !compartment.isEmpty()) {
+            seatInfo.append(compartment);
+        }
+        if (seatNumber != null && !seatNumber.isEmpty()) {
+            if (seatInfo.length() > 0) seatInfo.append(" - ");
+            seatInfo.append(seatNumber);
+        }
+        return seatInfo.toString();
+    }
+
+    /**
+     * Formats price with currency
+     */
+    private String formatPrice(Double amount, String currencyCode) {
+        if (amount == null) return null;
+        return formatCurrency(amount, currencyCode != null ? currencyCode : "BDT");
+    }
+
+    /**
+     * Draws the QR code as vector rectangles, one per horizontal run of dark modules, so it
+     * stays sharp at any print resolution
+     */
+    private void drawQrCode(Canvas canvas) {
+        String ticketId = data.ticketId;
+        if (ticketId == null || ticketId.isEmpty()) ticketId = "DEFAULT";
+        BitMatrix modules = qrCache.getModules(ticketId);
+        if (modules == null) return;
+
+        float module = QR_SIZE / modules.getWidth();
+        int[] runs = QrCodeRenderer.darkRuns(modules);
+        qrPath.rewind();
+        for (int i = 0; i < runs.length; i += 3) {
+            float left = qrLeft + runs[i] * module;
+            float top = qrTop + runs[i + 1] * module;
+            qrPath.addRect(left, top, left + runs[i + 2] * module, top + module, Path.Direction.CW);
+        }
+        // Light background first so the quiet zone is white, not the grey of the box
+        fillPaint.setColor(COLOR_WHITE);
+        canvas.drawRect(qrLeft, qrTop, qrLeft + QR_SIZE, qrTop + QR_SIZE, fillPaint);
+        canvas.drawPath(qrPath, qrPaint);
+    }
+
+    /**
+     * Draws terms and conditions in the footer
+     */
+    private void drawTermsAndConditions(Canvas canvas) {
+        textPaint.setColor(COLOR_GRAY_DARK);
+        textPaint.setTextSize(FONT_SIZE_FINE_PRINT);
+
+        float textX = footerBounds.left + BOX_PADDING;
+        float textY = footerBounds.top + BOX_PADDING;
+        float lineHeight = LINE_HEIGHT_CAPTION;
+
+        // Title
+        drawTextLeft(canvas, "TERMS & CONDITIONS:", textX, textY);
+        textY += lineHeight;
+
+        // Terms list
+        String[] terms = {
+                "• This ticket is non-transferable and valid only for the named passenger.",
+                "• Please arrive at the station at least 30 minutes before departure.",
+                "• Valid government-issued ID proof is required for verification.",
+                "• Cancellation charges apply as per railway regulations."
+        };
+
+        for (String term : terms) {
+            drawTextLeft(canvas, term, textX, textY);
+            textY += lineHeight - 2;
+        }
+
+        // Timestamp
+        textPaint.setColor(COLOR_GRAY_MEDIUM);
+        textPaint.setTextSize(7);
+        drawTextLeft(canvas, "Printed: " + printedAtShort, textX, footerBounds.bottom - BOX_PADDING);
+
+        // Official text
+        textPaint.setColor(COLOR_PRIMARY);
+        textPaint.setTextSize(9);
+        drawTextRight(canvas, "OFFICIAL RAILNET TICKET", footerBounds.right - BOX_PADDING, footerBounds.bottom - BOX_PADDING);
+    }
+
+    /**
+     * Draws the watermark
+     */
+    private void drawWatermark(Canvas canvas) {
+        textPaint.setColor(0xFFEAF6FF);
+        textPaint.setTextSize(36);
+        canvas.save();
+        canvas.rotate(-45, ticketBounds.centerX(), ticketBounds.centerY());
+        drawTextLeft(canvas, "RAILNET", ticketBounds.centerX() - 80, ticketBounds.centerY());
+        canvas.restore();
+    }
+
+    /**
+     * Draws content box with background and border
+     */
+    private void drawContentBox(Canvas canvas, RectF bounds) {
+        fillPaint.setColor(COLOR_BACKGROUND_LIGHT);
+        canvas.drawRoundRect(bounds, CORNER_RADIUS, CORNER_RADIUS, fillPaint);
+
+        strokePaint.setColor(Color.LTGRAY);
+        canvas.drawRoundRect(bounds, CORNER_RADIUS, CORNER_RADIUS, strokePaint);
+    }
+
+    /**
+     * Draws text aligned to the left
+     */
+    private void drawTextLeft(Canvas canvas, String text, float x, float y) {
+        canvas.drawText(text, x, y, textPaint);
+    }
+
+    /**
+     * Draws text aligned to the right
+     */
+    private void drawTextRight(Canvas canvas, String text, float rightX, float y) {
+        float textWidth = textPaint.measureText(text);
+        canvas.drawText(text, rightX - textWidth, y, textPaint);
+    }
+
+    /**
+     * Draws text centered horizontally
+     */
+    private void drawTextCenter(Canvas canvas, String text, float centerX, float y) {
+        float textWidth = textPaint.measureText(text);
+        canvas.drawText(text, centerX - textWidth / 2, y, textPaint);
+    }
+
+    /**
+     * Formats date for display
+     */
+    private String formatDate(String input) {
+        if (input == null || input.isEmpty()) return "";
+        try {
+            String datePart = input.length() >= 10 ? input.substring(0, 10) : input;
+            SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+            Date date = iso.parse(datePart);
+            if (date != null) {
+                return DateFormat.getDateInstance(DateFormat.MEDIUM, Locale.getDefault()).format(date);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to parse date: " + input, e);
+        }
+        return input;
+    }
+
+    /**
+     * Formats expiry date
+     */
+    private String formatExpiry(String iso) {
+        if (iso == null || iso.isEmpty()) return "Expiry not set";
+        try {
+            String datePart = iso;
+            String timePart = null;
+            if (iso.contains("T")) {
+                String[] parts = iso.split("T");
+                datePart = parts[0];
+                timePart = parts.length > 1 ? parts[1] : null;
+            }
+
+            Date date = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).parse(datePart);
+            String formattedDate = date != null ?
+                    DateFormat.getDateInstance(DateFormat.MEDIUM, Locale.getDefault()).format(date) : datePart;
+
+            if (timePart != null && timePart.length() >= 5) {
+                return formattedDate + " • " + timePart.substring(0, 5);
+            }
+            return formattedDate;
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to format expiry: " + iso, e);
+            return iso;
+        }
+    }
+
+    /**
+     * Formats currency amount
+     */
+    private String formatCurrency(double amount, String currencyCode) {
+        try {
+            Locale locale = Locale.getDefault();
+            if (context != null) {
+                Locale contextLocale = context.getResources().getConfiguration().getLocales().get(0);
+                if (contextLocale != null) locale = contextLocale;
+            }
+
+            NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+            if (currencyCode != null && !currencyCode.isEmpty()) {
+                try {
+                    Currency currency = Currency.getInstance(currencyCode);
+                    format.setCurrency(currency);
+                } catch (Exception e) {
+                    Log.w(TAG, "Invalid currency code: " + currencyCode, e);
+                }
+            }
+            return format.format(amount);
+        } catch (Exception e) {
+            Log.w(TAG, "Currency formatting failed", e);
+            return (currencyCode != null ? currencyCode : "BDT") + " " + String.format(Locale.getDefault(), "%.2f", amount);
+        }
+    }
+
+    /**
+     * Gets status text with emoji
+     */
+    private String getStatusWithEmoji(String status) {
+        if (status == null) return "Unknown";
+        switch (status.toLowerCase()) {
+            case "confirmed": return "✅ Confirmed";
+            case "pending": return "⏳ Pending";
+            case "cancelled": return "❌ Cancelled";
+            case "completed": return "🎉 Completed";
+            case "expired": return "⏰ Expired";
+            default: return status;
+        }
+    }
+
+    /**
+     * Gets status color
+     */
+    private int getStatusColor(String status) {
+        if (status == null) return COLOR_GRAY_MEDIUM;
+        switch (status.toLowerCase()) {
+            case "confirmed": return COLOR_STATUS_CONFIRMED;
+            case "pending": return COLOR_STATUS_PENDING;
+            case "cancelled": return COLOR_STATUS_CANCELLED;
+            case "completed": return COLOR_STATUS_COMPLETED;
+            case "expired": return COLOR_STATUS_EXPIRED;
+            default: return COLOR_GRAY_MEDIUM;
+        }
+    }
+
+    /**
+     * Gets payment status text
+     */
+    private String getPaymentStatusText(String paymentStatus) {
+        if (paymentStatus == null) return "Unknown";
+        switch (paymentStatus.toLowerCase()) {
+            case "paid": return "Paid";
+            case "pending": return "Pending";
+            case "failed": return "Failed";
+            case "refunded": return "Refunded";
+            case "expired": return "Expired";
+            default: return paymentStatus;
+        }
+    }
+
+    /**
+     * Gets payment status color
+     */
+    private int getPaymentStatusColor(String paymentStatus) {
+        if (paymentStatus == null) return COLOR_GRAY_MEDIUM;
+        switch (paymentStatus.toLowerCase()) {
+            case "paid": return COLOR_PAYMENT_PAID;
+            case "pending": return COLOR_PAYMENT_PENDING;
+            case "failed": return COLOR_PAYMENT_FAILED;
+            case "refunded": return COLOR_PAYMENT_REFUNDED;
+            case "expired": return COLOR_PAYMENT_EXPIRED;
+            default: return COLOR_GRAY_MEDIUM;
+        }
+    }
+
+    /**
+     * Ensures normal typeface is used
+     */
+    private void ensureNormalTypeface(Paint paint) {
+        if (paint == null) return;
+        try {
+            if (railNetTypeface != null) {
+                paint.setTypeface(railNetTypeface);
+            } else {
+                paint.setTypeface(Typeface.create("sans-serif", Typeface.NORMAL));
+            }
+        } catch (Exception e) {
+            paint.setTypeface(Typeface.create("sans-serif", Typeface.NORMAL));
+        }
+        paint.setFakeBoldText(false);
+        paint.setTextSkewX(0f);
+        paint.setTextScaleX(1f);
+        try {
+            paint.setSubpixelText(true);
+            paint.setLinearText(true);
+        } catch (Throwable ignored) {}
+        try {
+            paint.setLetterSpacing(0f);
+        } catch (Throwable ignored) {}
+    }
+
+    /**
+     * Loads RailNet typeface
+     */
+    private Typeface loadRailNetTypeface() {
+        try {
+            int resId = context.getResources().getIdentifier("railnet_regular", "font", context.getPackageName());
+            if (resId != 0) {
+                Typeface typeface = ResourcesCompat.getFont(context, resId);
+                if (typeface != null) {
+                    return Typeface.create(typeface, Typeface.NORMAL);
+                }
+            }
+            try {
+                return Typeface.createFromAsset(context.getAssets(), "fonts/RailNet-Regular.ttf");
+            } catch (Exception ignored) {}
+        } catch (Exception ignored) {}
+        return Typeface.create("sans-serif", Typeface.NORMAL);
+    }
+}
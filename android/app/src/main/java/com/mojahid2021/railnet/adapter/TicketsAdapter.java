@@ -1,7 +1,6 @@
 package com.mojahid2021.railnet.adapter;
 
-import static android.content.ContentValues.TAG;
-
+import android.app.AlertDialog;
 import android.content.Context;
 import android.print.PrintAttributes;
 import android.print.PrintDocumentAdapter;
@@ -11,24 +10,31 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
+import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.mojahid2021.railnet.R;
+import com.mojahid2021.railnet.data.TicketQrCache;
+import com.mojahid2021.railnet.data.TicketRepository;
+import com.mojahid2021.railnet.model.TicketPrintData;
 import com.mojahid2021.railnet.model.UserTicket;
 import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiError;
 import com.mojahid2021.railnet.network.ApiService;
+import com.mojahid2021.railnet.network.BookingResponse;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -36,49 +42,131 @@ import retrofit2.Response;
 /**
  * Simple adapter to show a user's tickets in a RecyclerView.
  * Designed to be easy to read for beginners.
+ *
+ * List refreshes are diffed in the background; when only a ticket's status or payment
+ * status changed, just those two labels are rebound.
+ *
+ * Tapping a ticket shows its QR code for the gate. Long-pressing starts a selection for batch
+ * export; while anything is selected, a tap toggles the ticket instead.
  */
-public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.VH> {
+public class TicketsAdapter extends DiffingListAdapter<UserTicket, TicketsAdapter.VH> {
+
+    // Payload for rebinding only the status labels of a ticket
+    private static final Object PAYLOAD_STATUS = new Object();
+    // Payload for rebinding only the selection highlight of a ticket
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    private static final int SELECTED_BACKGROUND = 0xFFE3F4FB;
+
+    public interface SelectionListener {
+        void onSelectionChanged(int count);
+    }
+
+    // Selected tickets by stable id, in the order they were picked
+    private final Map<Long, UserTicket> selected = new LinkedHashMap<>();
+    @Nullable private SelectionListener selectionListener;
+
+    public TicketsAdapter() {
+        super(new TicketDiffCallback());
+    }
+
+    public void setSelectionListener(@Nullable SelectionListener listener) {
+        this.selectionListener = listener;
+    }
+
+    public List<UserTicket> getSelectedTickets() {
+        return new ArrayList<>(selected.values());
+    }
+
+    public void clearSelection() {
+        if (selected.isEmpty()) return;
+        selected.clear();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        notifySelectionChanged();
+    }
+
+    private void toggleSelection(VH holder) {
+        int position = holder.getAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) return;
+        UserTicket ut = getItem(position);
+        long id = getStableId(ut);
+        if (selected.remove(id) == null) selected.put(id, ut);
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        notifySelectionChanged();
+    }
 
-    private final List<UserTicket> items = new ArrayList<>();
+    private void notifySelectionChanged() {
+        if (selectionListener != null) selectionListener.onSelectionChanged(selected.size());
+    }
 
-    public void setItems(List<UserTicket> list) {
-        items.clear();
-        if (list != null) items.addAll(list);
-        notifyDataSetChanged();
+    @Override
+    public void setItems(@Nullable List<UserTicket> list, @Nullable Runnable onCommitted) {
+        // Null entries have no identity to diff on; drop them
+        List<UserTicket> tickets = new ArrayList<>();
+        if (list != null) {
+            for (UserTicket ut : list) {
+                if (ut != null) tickets.add(ut);
+            }
+        }
+        super.setItems(tickets, onCommitted);
     }
 
     @NonNull
     @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_ticket, parent, false);
-        return new VH(v);
+        VH holder = new VH(v);
+
+        // Listeners are set once; the ticket is resolved at click time, so a status or selection
+        // rebind (which skips onBindItem) never leaves them holding a replaced instance
+        holder.btnPrint.setOnClickListener(view -> {
+            UserTicket ut = itemAt(holder);
+            if (ut != null) printTicket(holder.itemView.getContext(), ut);
+        });
+        holder.itemView.setOnLongClickListener(view -> {
+            toggleSelection(holder);
+            return true;
+        });
+        holder.itemView.setOnClickListener(view -> {
+            if (!selected.isEmpty()) {
+                toggleSelection(holder);
+                return;
+            }
+            UserTicket ut = itemAt(holder);
+            if (ut != null) showTicketQr(holder.itemView.getContext(), ut);
+        });
+        return holder;
+    }
+
+    @Nullable
+    private UserTicket itemAt(VH holder) {
+        int position = holder.getAdapterPosition();
+        return position == RecyclerView.NO_POSITION ? null : getItem(position);
     }
 
     @Override
-    public void onBindViewHolder(@NonNull VH holder, int position) {
-        UserTicket ut = items.get(position);
-        if (ut == null) return;
+    protected long getStableId(UserTicket ut) {
+        if (ut.ticket != null) return ut.ticket.id;
+        // No server id; keep tickets without one apart from real ids
+        return (1L << 32) | (System.identityHashCode(ut) & 0xFFFFFFFFL);
+    }
 
-        // Bind ticket ID and status with color coding
-        if (ut.ticket != null) {
-            holder.tvTicketId.setText(ut.ticket.ticketId != null ? ut.ticket.ticketId : "N/A");
-            String status = ut.ticket.status != null ? ut.ticket.status : "Unknown";
-            holder.tvStatus.setText(getStatusWithEmoji(status));
-            holder.tvStatus.setTextColor(getStatusColor(status));
-        } else {
-            holder.tvStatus.setText("Unknown");
-            holder.tvStatus.setTextColor(android.graphics.Color.GRAY);
+    @Override
+    protected void onBindPayloads(@NonNull VH holder, UserTicket ut, @NonNull List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_STATUS && payload != PAYLOAD_SELECTION) {
+                onBindItem(holder, ut);
+                return;
+            }
         }
+        if (payloads.contains(PAYLOAD_STATUS)) bindStatus(holder, ut);
+        bindSelection(holder, ut);
+    }
 
-        // Bind payment status with color coding
-        if (ut.ticket != null && ut.ticket.paymentStatus != null) {
-            String paymentStatus = ut.ticket.paymentStatus;
-            holder.tvPaymentStatus.setText(getPaymentStatusText(paymentStatus));
-            holder.tvPaymentStatus.setTextColor(getPaymentStatusColor(paymentStatus));
-        } else {
-            holder.tvPaymentStatus.setText("Unknown");
-            holder.tvPaymentStatus.setTextColor(android.graphics.Color.GRAY);
-        }
+    @Override
+    protected void onBindItem(@NonNull VH holder, UserTicket ut) {
+        bindStatus(holder, ut);
+        bindSelection(holder, ut);
 
         // Bind train and route information
         if (ut.journey != null) {
@@ -105,24 +193,95 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.VH> {
         if (ut.pricing != null) {
             holder.tvPrice.setText(String.format(java.util.Locale.getDefault(), "%s %.2f", (ut.pricing.currency != null ? ut.pricing.currency : "BDT"), ut.pricing.amount));
         }
+    }
 
-        // Set up print button click listener
-        holder.btnPrint.setOnClickListener(v -> {
-            printTicket(holder.itemView.getContext(), ut);
-        });
+    private void bindSelection(@NonNull VH holder, UserTicket ut) {
+        boolean isSelected = selected.containsKey(getStableId(ut));
+        holder.content.setBackgroundColor(isSelected ? SELECTED_BACKGROUND : android.graphics.Color.WHITE);
+        holder.itemView.setActivated(isSelected);
     }
 
-    @Override
-    public int getItemCount() {
-        return items.size();
+    // Bind ticket ID, status and payment status with color coding
+    private void bindStatus(@NonNull VH holder, UserTicket ut) {
+        if (ut.ticket != null) {
+            holder.tvTicketId.setText(ut.ticket.ticketId != null ? ut.ticket.ticketId : "N/A");
+            String status = ut.ticket.status != null ? ut.ticket.status : "Unknown";
+            holder.tvStatus.setText(getStatusWithEmoji(status));
+            holder.tvStatus.setTextColor(getStatusColor(status));
+        } else {
+            holder.tvStatus.setText("Unknown");
+            holder.tvStatus.setTextColor(android.graphics.Color.GRAY);
+        }
+
+        if (ut.ticket != null && ut.ticket.paymentStatus != null) {
+            String paymentStatus = ut.ticket.paymentStatus;
+            holder.tvPaymentStatus.setText(getPaymentStatusText(paymentStatus));
+            holder.tvPaymentStatus.setTextColor(getPaymentStatusColor(paymentStatus));
+        } else {
+            holder.tvPaymentStatus.setText("Unknown");
+            holder.tvPaymentStatus.setTextColor(android.graphics.Color.GRAY);
+        }
+    }
+
+    // Compares the values shown in a ticket row; runs on a background thread
+    private static class TicketDiffCallback extends DiffUtil.ItemCallback<UserTicket> {
+
+        @Override
+        public boolean areItemsTheSame(@NonNull UserTicket oldItem, @NonNull UserTicket newItem) {
+            if (oldItem.ticket == null || newItem.ticket == null) return oldItem == newItem;
+            return oldItem.ticket.id == newItem.ticket.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull UserTicket oldItem, @NonNull UserTicket newItem) {
+            // TicketRepository keeps the same instance for tickets that did not change
+            if (oldItem == newItem) return true;
+            return sameStatus(oldItem, newItem) && sameDetails(oldItem, newItem);
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull UserTicket oldItem, @NonNull UserTicket newItem) {
+            return sameDetails(oldItem, newItem) ? PAYLOAD_STATUS : null;
+        }
+
+        private static boolean sameStatus(UserTicket a, UserTicket b) {
+            if (a.ticket == null || b.ticket == null) return a.ticket == b.ticket;
+            return Objects.equals(a.ticket.ticketId, b.ticket.ticketId)
+                    && Objects.equals(a.ticket.status, b.ticket.status)
+                    && Objects.equals(a.ticket.paymentStatus, b.ticket.paymentStatus);
+        }
+
+        // Everything in the row except the status labels
+        private static boolean sameDetails(UserTicket a, UserTicket b) {
+            UserTicket.Journey ja = a.journey, jb = b.journey;
+            if ((ja == null) != (jb == null)) return false;
+            if (ja != null) {
+                if ((ja.train == null) != (jb.train == null)
+                        || (ja.route == null) != (jb.route == null)
+                        || (ja.schedule == null) != (jb.schedule == null)) return false;
+                if (ja.train != null && !(Objects.equals(ja.train.name, jb.train.name)
+                        && Objects.equals(ja.train.number, jb.train.number))) return false;
+                if (ja.route != null && !(Objects.equals(ja.route.from, jb.route.from)
+                        && Objects.equals(ja.route.to, jb.route.to))) return false;
+                if (ja.schedule != null && !(Objects.equals(ja.schedule.date, jb.schedule.date)
+                        && Objects.equals(ja.schedule.departureTime, jb.schedule.departureTime))) return false;
+            }
+            if ((a.seat == null) != (b.seat == null)) return false;
+            if (a.seat != null && !Objects.equals(a.seat.number, b.seat.number)) return false;
+            if ((a.pricing == null) != (b.pricing == null)) return false;
+            return a.pricing == null || (Double.compare(a.pricing.amount, b.pricing.amount) == 0
+                    && Objects.equals(a.pricing.currency, b.pricing.currency));
+        }
     }
 
     public static class VH extends RecyclerView.ViewHolder {
         final TextView tvTicketId, tvStatus, tvPaymentStatus, tvTrain, tvSeat, tvDate, tvPrice;
         final Button btnPrint;
+        final View content;
 
         VH(@NonNull View itemView) {
             super(itemView);
+            content = itemView.findViewById(R.id.ticketContent);
             tvTicketId = itemView.findViewById(R.id.tvTicketId);
             tvStatus = itemView.findViewById(R.id.tvStatus);
             tvPaymentStatus = itemView.findViewById(R.id.tvPaymentStatus);
@@ -134,75 +293,75 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.VH> {
         }
     }
 
+    // Large QR for gate scanning; the bitmap comes from the same cache the printed ticket uses
+    private void showTicketQr(Context context, UserTicket ut) {
+        if (ut.ticket == null || ut.ticket.ticketId == null || ut.ticket.ticketId.isEmpty()) return;
+        String ticketId = ut.ticket.ticketId;
+
+        View content = LayoutInflater.from(context).inflate(R.layout.dialog_ticket_qr, null);
+        ImageView ivQr = content.findViewById(R.id.ivTicketQr);
+        TextView tvId = content.findViewById(R.id.tvQrTicketId);
+        tvId.setText(ticketId);
+
+        AlertDialog dialog = new AlertDialog.Builder(context)
+                .setView(content)
+                .setPositiveButton("OK", null)
+                .show();
+
+        int sizePx = ivQr.getLayoutParams().width;
+        TicketQrCache.getInstance(context).load(ticketId, sizePx, qr -> {
+            if (qr != null && dialog.isShowing()) ivQr.setImageBitmap(qr);
+        });
+    }
+
     private void printTicket(Context context, UserTicket ut) {
-        // First, fetch fresh ticket data by ID
         if (ut.ticket == null || ut.ticket.ticketId == null || ut.ticket.ticketId.isEmpty()) {
             Toast.makeText(context, "Invalid ticket ID", Toast.LENGTH_SHORT).show();
             return;
         }
 
         String ticketId = ut.ticket.ticketId;
+        TicketRepository repository = TicketRepository.getInstance(context);
+
+        // A stored detail is dropped as soon as the ticket changes, so it can be printed without a fetch
+        BookingResponse stored = repository.getTicketDetail(ticketId);
+        if (stored != null) {
+            print(context, TicketPrintData.from(stored));
+            return;
+        }
 
         // Show loading message
         Toast.makeText(context, "Fetching ticket details...", Toast.LENGTH_SHORT).show();
 
-        // Fetch fresh ticket data
+        // Goes through the HTTP cache: a ticket fetched before is revalidated with its ETag, and an
+        // unchanged one comes back as a 304 without a body
         ApiService api = ApiClient.getRetrofit(context).create(ApiService.class);
-        Call<ResponseBody> call = api.getTicketById(ticketId);
-        call.enqueue(new Callback<ResponseBody>() {
+        Call<BookingResponse> call = api.getTicketById(ticketId);
+        call.enqueue(new Callback<BookingResponse>() {
             @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ResponseBody rb = response.body();
-                    try {
-                        String body = rb.string();
-                        Log.d(TAG, "Raw API response: " + body); // Log the raw response
-                        Gson gson = new Gson();
-                        UserTicket freshTicket = gson.fromJson(body, UserTicket.class);
-
-                        // Also parse as JsonObject to ensure perfect field matching (compat with older Gson)
-                        com.google.gson.JsonObject jsonObj = gson.fromJson(body, com.google.gson.JsonObject.class);
-
-                        if (jsonObj != null) {
-                            // Now proceed with printing using JSON-based adapter for accuracy
-                            proceedWithPrintingJson(context, jsonObj);
-                        } else if (freshTicket != null) {
-                            proceedWithPrinting(context, freshTicket);
-                        } else {
-                            Toast.makeText(context, "Failed to parse ticket data", Toast.LENGTH_SHORT).show();
-                        }
-                    } catch (IOException | JsonSyntaxException e) {
-                        Log.e("TicketsAdapter", "Failed to parse fresh ticket data: " + e.getMessage(), e);
-                        Toast.makeText(context, "Failed to load ticket details", Toast.LENGTH_SHORT).show();
-                    } finally {
-                        rb.close();
-                    }
+            public void onResponse(Call<BookingResponse> call, Response<BookingResponse> response) {
+                BookingResponse detail = response.body();
+                if (response.isSuccessful() && detail != null) {
+                    repository.saveTicketDetail(ticketId, detail);
+                    print(context, TicketPrintData.from(detail));
                 } else {
                     Log.e("TicketsAdapter", "Failed to fetch ticket by ID: code=" + response.code());
-                    String errorMessage = "Failed to load ticket details";
-                    try {
-                        if (response.errorBody() != null) {
-                            String errorBody = response.errorBody().string();
-                            if (!errorBody.isEmpty()) {
-                                errorMessage = "Error: " + errorBody;
-                            }
-                        }
-                    } catch (Exception e) {
-                        Log.e("TicketsAdapter", "Failed to read error body", e);
-                    }
+                    String errorMessage = ApiError.message(response, null);
+                    errorMessage = errorMessage != null ? "Error: " + errorMessage : "Failed to load ticket details";
                     Toast.makeText(context, errorMessage, Toast.LENGTH_LONG).show();
                 }
             }
 
             @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            public void onFailure(Call<BookingResponse> call, Throwable t) {
                 Log.e("TicketsAdapter", "Network error fetching ticket: " + t.getMessage(), t);
-                Toast.makeText(context, "Network error. Please check your connection.", Toast.LENGTH_LONG).show();
+                // Offline: print what the ticket list already has
+                print(context, TicketPrintData.from(ut));
             }
         });
     }
 
-    private void proceedWithPrinting(Context context, UserTicket ticket) {
+    private void print(Context context, TicketPrintData data) {
         try {
             // Show printing message
             Toast.makeText(context, context.getString(R.string.printing_ticket), Toast.LENGTH_SHORT).show();
@@ -214,14 +373,9 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.VH> {
                 return;
             }
 
-            PrintDocumentAdapter adapter = new TicketPrintDocumentAdapter(context, ticket);
-            PrintAttributes.Builder builder = new PrintAttributes.Builder();
-            builder.setMediaSize(PrintAttributes.MediaSize.ISO_A4);
-            builder.setResolution(new PrintAttributes.Resolution("pdf", "pdf", 600, 600));
-            builder.setMinMargins(PrintAttributes.Margins.NO_MARGINS);
-
-            String jobName = "RailNet_Ticket_" + (ticket.ticket != null && ticket.ticket.ticketId != null ? ticket.ticket.ticketId : "Unknown");
-            printManager.print(jobName, adapter, builder.build());
+            PrintDocumentAdapter adapter = new TicketPrintDocumentAdapter(context, data);
+            String jobName = "RailNet_Ticket_" + (data.ticketId != null ? data.ticketId : "Unknown");
+            printManager.print(jobName, adapter, printAttributes());
 
         } catch (Exception e) {
             Log.e("TicketsAdapter", "Error printing ticket", e);
@@ -229,33 +383,35 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.VH> {
         }
     }
 
-    private void proceedWithPrintingJson(Context context, com.google.gson.JsonObject jsonObj) {
+    /**
+     * Prints the given tickets as one multi-page PDF, one page per ticket.
+     */
+    public static void printTickets(Context context, List<UserTicket> tickets) {
+        if (tickets.isEmpty()) return;
         try {
-            // Show printing message
-            Toast.makeText(context, context.getString(R.string.printing_ticket), Toast.LENGTH_SHORT).show();
-
-            // Use Android's PrintManager to print the ticket
             PrintManager printManager = (PrintManager) context.getSystemService(Context.PRINT_SERVICE);
             if (printManager == null) {
                 Toast.makeText(context, "Print service not available", Toast.LENGTH_SHORT).show();
                 return;
             }
 
-            PrintDocumentAdapter adapter = new TicketPrintDocumentAdapter(context, jsonObj);
-            PrintAttributes.Builder builder = new PrintAttributes.Builder();
-            builder.setMediaSize(PrintAttributes.MediaSize.ISO_A4);
-            builder.setResolution(new PrintAttributes.Resolution("pdf", "pdf", 600, 600));
-            builder.setMinMargins(PrintAttributes.Margins.NO_MARGINS);
-
-            String jobName = "RailNet_Ticket_" + (jsonObj.has("ticketId") ? jsonObj.get("ticketId").getAsString() : "Unknown");
-            printManager.print(jobName, adapter, builder.build());
+            PrintDocumentAdapter adapter = new TicketBatchPrintDocumentAdapter(context, tickets);
+            printManager.print("RailNet_Tickets_" + tickets.size(), adapter, printAttributes());
 
         } catch (Exception e) {
-            Log.e("TicketsAdapter", "Error printing ticket", e);
-            Toast.makeText(context, "Error printing ticket: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            Log.e("TicketsAdapter", "Error printing tickets", e);
+            Toast.makeText(context, "Error printing tickets: " + e.getMessage(), Toast.LENGTH_SHORT).show();
         }
     }
 
+    private static PrintAttributes printAttributes() {
+        PrintAttributes.Builder builder = new PrintAttributes.Builder();
+        builder.setMediaSize(PrintAttributes.MediaSize.ISO_A4);
+        builder.setResolution(new PrintAttributes.Resolution("pdf", "pdf", 600, 600));
+        builder.setMinMargins(PrintAttributes.Margins.NO_MARGINS);
+        return builder.build();
+    }
+
     private String getStatusWithEmoji(String status) {
         if (status == null) return "Unknown";
         switch (status.toLowerCase()) {
@@ -1,7 +1,6 @@
 package com.mojahid2021.railnet.auth;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.LinearLayout;
@@ -17,15 +16,15 @@ import androidx.core.view.WindowInsetsCompat;
 import com.google.android.material.textfield.TextInputEditText;
 import com.mojahid2021.railnet.MainActivity;
 import com.mojahid2021.railnet.R;
+import com.mojahid2021.railnet.network.ApiError;
 import com.mojahid2021.railnet.network.ApiService;
 import com.mojahid2021.railnet.network.ApiClient;
-
-import org.json.JSONObject;
+import com.mojahid2021.railnet.network.AuthResponse;
+import com.mojahid2021.railnet.network.TokenStore;
 
 import java.util.HashMap;
 import java.util.Map;
 
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -34,7 +33,6 @@ public class LoginActivity extends AppCompatActivity {
     private TextInputEditText emailEditText, passwordEditText;
     private LinearLayout loginButton;
     private TextView registerLink;
-    private SharedPreferences sharedPreferences;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,7 +49,6 @@ public class LoginActivity extends AppCompatActivity {
         passwordEditText = findViewById(R.id.passwordEditText);
         loginButton = findViewById(R.id.loginButton);
         registerLink = findViewById(R.id.signUpButton);
-        sharedPreferences = getSharedPreferences("UserPreferences", MODE_PRIVATE);
 
         loginButton.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -82,32 +79,26 @@ public class LoginActivity extends AppCompatActivity {
         credentials.put("password", password);
 
         ApiService apiService = ApiClient.getRetrofit(LoginActivity.this).create(ApiService.class);
-        Call<ResponseBody> call = apiService.login(credentials);
-        call.enqueue(new Callback<ResponseBody>() {
+        Call<AuthResponse> call = apiService.login(credentials);
+        call.enqueue(new Callback<AuthResponse>() {
             @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-                if (response.isSuccessful()) {
-                    try {
-                        String responseBody = response.body().string();
-                        JSONObject jsonObject = new JSONObject(responseBody);
-                        String token = jsonObject.getString("token");
-                        SharedPreferences.Editor editor = sharedPreferences.edit();
-                        editor.putString("token", token);
-                        editor.apply();
-                        Toast.makeText(LoginActivity.this, token, Toast.LENGTH_SHORT).show();
-                        Intent intent = new Intent(LoginActivity.this, MainActivity.class);
-                        startActivity(intent);
-                        finish();
-                    } catch (Exception e) {
-                        Toast.makeText(LoginActivity.this, "Failed to parse response", Toast.LENGTH_SHORT).show();
-                    }
+            public void onResponse(Call<AuthResponse> call, Response<AuthResponse> response) {
+                AuthResponse auth = response.body();
+                if (response.isSuccessful() && auth != null && auth.token != null) {
+                    TokenStore.saveToken(LoginActivity.this, auth.token);
+                    Toast.makeText(LoginActivity.this, auth.token, Toast.LENGTH_SHORT).show();
+                    Intent intent = new Intent(LoginActivity.this, MainActivity.class);
+                    startActivity(intent);
+                    finish();
+                } else if (response.isSuccessful()) {
+                    Toast.makeText(LoginActivity.this, "Failed to parse response", Toast.LENGTH_SHORT).show();
                 } else {
-                    Toast.makeText(LoginActivity.this, "Login failed", Toast.LENGTH_SHORT).show();
+                    Toast.makeText(LoginActivity.this, ApiError.message(response, "Login failed"), Toast.LENGTH_SHORT).show();
                 }
             }
 
             @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            public void onFailure(Call<AuthResponse> call, Throwable t) {
                 Toast.makeText(LoginActivity.this, "Network error", Toast.LENGTH_SHORT).show();
             }
         });
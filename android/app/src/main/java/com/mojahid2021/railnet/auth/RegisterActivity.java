@@ -15,13 +15,14 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.mojahid2021.railnet.R;
+import com.mojahid2021.railnet.network.ApiError;
 import com.mojahid2021.railnet.network.ApiService;
 import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.AuthResponse;
 
 import java.util.HashMap;
 import java.util.Map;
 
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -93,21 +94,21 @@ public class RegisterActivity extends AppCompatActivity {
         userDetails.put("password", password);
 
         ApiService apiService = ApiClient.getRetrofit(RegisterActivity.this).create(ApiService.class);
-        Call<ResponseBody> call = apiService.register(userDetails);
+        Call<AuthResponse> call = apiService.register(userDetails);
 
-        call.enqueue(new Callback<ResponseBody>() {
+        call.enqueue(new Callback<AuthResponse>() {
             @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+            public void onResponse(Call<AuthResponse> call, Response<AuthResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     Toast.makeText(RegisterActivity.this, "Registration successful", Toast.LENGTH_SHORT).show();
                     finish(); // Close the activity after successful registration
                 } else {
-                    Toast.makeText(RegisterActivity.this, "Registration failed", Toast.LENGTH_SHORT).show();
+                    Toast.makeText(RegisterActivity.this, ApiError.message(response, "Registration failed"), Toast.LENGTH_SHORT).show();
                 }
             }
 
             @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            public void onFailure(Call<AuthResponse> call, Throwable t) {
                 Toast.makeText(RegisterActivity.this, "Network error", Toast.LENGTH_SHORT).show();
             }
         });
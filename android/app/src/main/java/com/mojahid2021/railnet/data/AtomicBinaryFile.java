@@ -0,0 +1,89 @@
+package com.mojahid2021.railnet.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Versioned binary file behind the local stores, replaced as a whole on every write.
+ *
+ * The file starts with a magic number and a format version; a reader only sees the body when
+ * both match. Writes go to a temp file that is renamed over the target, so a crash mid-write
+ * never leaves a half-written file behind. Each store defines the body layout itself.
+ */
+final class AtomicBinaryFile {
+
+    /** Reads the body that follows the header. */
+    interface BodyReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    /** Writes the body that follows the header. */
+    interface BodyWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private final File file;
+    private final int magic;
+    private final int version;
+
+    AtomicBinaryFile(File file, int magic, int version) {
+        this.file = file;
+        this.magic = magic;
+        this.version = version;
+    }
+
+    /**
+     * Reads the body, or returns {@code fallback} when the file is missing, was written with
+     * another magic or version, or is corrupt or truncated. The caller's next sync rebuilds it.
+     */
+    <T> T read(BodyReader<T> reader, T fallback) {
+        if (!file.exists()) return fallback;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != magic || in.readInt() != version) return fallback;
+            return reader.read(in);
+        } catch (IOException | RuntimeException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Replaces the file with the header and the given body.
+     */
+    void write(BodyWriter writer) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(magic);
+            out.writeInt(version);
+            writer.write(out);
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Cannot replace " + file);
+        }
+    }
+
+    void delete() {
+        file.delete();
+    }
+
+    static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+}
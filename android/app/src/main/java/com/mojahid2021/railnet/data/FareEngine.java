@@ -0,0 +1,155 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.TrainSchedule;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side fares, computed the same way the backend prices a ticket:
+ * {@code round2((to.distanceFromStart - from.distanceFromStart) * compartment.price)},
+ * where {@code Compartment.price} is a per-kilometre rate.
+ *
+ * Journey distances are cached per (route, from, to), so pricing every compartment of every
+ * schedule in a search result only walks each route once. {@link #verifyQuote} compares a local
+ * fare with the amount the server charged and drops the cached distance on a mismatch.
+ *
+ * Thread-safe; safe to call from background threads.
+ */
+public final class FareEngine {
+
+    private static final int MAX_DISTANCES = 256;
+    // Fares are rounded to 2 decimals on both sides; anything beyond a cent is a real mismatch
+    private static final double QUOTE_TOLERANCE = 0.01;
+
+    private static final FareEngine INSTANCE = new FareEngine();
+
+    /**
+     * Fares of every compartment of one schedule for one journey segment.
+     */
+    public static final class SegmentFares {
+        public final double distanceKm;
+        public final double minFare;                     // lowest compartment fare, -1 when none
+        private final Map<Integer, Double> byCompartmentId;
+
+        SegmentFares(double distanceKm, double minFare, Map<Integer, Double> byCompartmentId) {
+            this.distanceKm = distanceKm;
+            this.minFare = minFare;
+            this.byCompartmentId = byCompartmentId;
+        }
+
+        /**
+         * Fare for a compartment (by Compartment.id), or -1 when unknown.
+         */
+        public double fareFor(int compartmentId) {
+            Double fare = byCompartmentId.get(compartmentId);
+            return fare != null ? fare : -1;
+        }
+    }
+
+    private static final SegmentFares UNKNOWN = new SegmentFares(-1, -1, Collections.<Integer, Double>emptyMap());
+
+    // "routeId:from:to" -> journey distance in km
+    private final Map<String, Double> distances = new LinkedHashMap<String, Double>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+            return size() > MAX_DISTANCES;
+        }
+    };
+
+    private FareEngine() {
+    }
+
+    public static FareEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Fares of all compartments of a schedule between two stations. Pass station ids &lt;= 0 to
+     * price the whole route. Returns fares of -1 when the route does not serve the segment.
+     */
+    public SegmentFares quote(TrainSchedule schedule, int fromStationId, int toStationId) {
+        if (schedule == null || schedule.train == null || schedule.train.compartments == null) {
+            return UNKNOWN;
+        }
+        double distance = journeyDistanceKm(schedule.trainRoute, fromStationId, toStationId);
+        if (distance <= 0) return UNKNOWN;
+
+        Map<Integer, Double> fares = new HashMap<>();
+        double min = -1;
+        for (TrainSchedule.CompartmentAssignment ca : schedule.train.compartments) {
+            if (ca == null || ca.compartment == null) continue;
+            double fare = fare(ca.compartment.price, distance);
+            if (fare < 0) continue;
+            fares.put(ca.compartment.id, fare);
+            if (min < 0 || fare < min) min = fare;
+        }
+        return new SegmentFares(distance, min, fares);
+    }
+
+    /**
+     * Distance in km between two stations of a route, or -1 if either is not on it or the order is
+     * reversed. Station ids &lt;= 0 stand for the first and last stop of the route.
+     */
+    public double journeyDistanceKm(TrainSchedule.TrainRoute route, int fromStationId, int toStationId) {
+        if (route == null || route.routeStations == null || route.routeStations.isEmpty()) return -1;
+        String key = route.id + ":" + fromStationId + ":" + toStationId;
+        synchronized (distances) {
+            Double cached = distances.get(key);
+            if (cached != null) return cached;
+        }
+        double distance = computeDistance(route.routeStations, fromStationId, toStationId);
+        if (distance > 0) {
+            synchronized (distances) {
+                distances.put(key, distance);
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Compare a locally computed fare with the server's amount. On a mismatch the cached distance
+     * for the segment is dropped, so the next quote recomputes it from fresh route data.
+     *
+     * @return true if both agree to the cent
+     */
+    public boolean verifyQuote(TrainSchedule.TrainRoute route, int fromStationId, int toStationId,
+                               double localFare, double serverAmount) {
+        if (localFare >= 0 && Math.abs(localFare - serverAmount) <= QUOTE_TOLERANCE) return true;
+        if (route != null) {
+            synchronized (distances) {
+                distances.remove(route.id + ":" + fromStationId + ":" + toStationId);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fare for a per-km rate over a distance, rounded to 2 decimals like the backend; -1 if either is invalid.
+     */
+    public static double fare(double pricePerKm, double distanceKm) {
+        if (pricePerKm <= 0 || distanceKm <= 0) return -1;
+        return Math.round(distanceKm * pricePerKm * 100) / 100.0;
+    }
+
+    private static double computeDistance(List<TrainSchedule.RouteStation> stations, int fromStationId, int toStationId) {
+        double from = Double.NaN;
+        double to = Double.NaN;
+        double first = Double.POSITIVE_INFINITY;
+        double last = Double.NEGATIVE_INFINITY;
+        for (TrainSchedule.RouteStation rs : stations) {
+            if (rs == null) continue;
+            if (rs.currentStationId == fromStationId) from = rs.distanceFromStart;
+            if (rs.currentStationId == toStationId) to = rs.distanceFromStart;
+            first = Math.min(first, rs.distanceFromStart);
+            last = Math.max(last, rs.distanceFromStart);
+        }
+        if (fromStationId <= 0) from = first;
+        if (toStationId <= 0) to = last;
+        if (Double.isNaN(from) || Double.isNaN(to) || to <= from) return -1;
+        return to - from;
+    }
+}
@@ -0,0 +1,181 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.RouteLine;
+import com.mojahid2021.railnet.model.Station;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rail lines ready to draw: one polyline per train route, pre-simplified for a few zoom levels.
+ *
+ * Routes are joined with station coordinates and projected to Web Mercator pixels at zoom 0, the
+ * space the map renders in, so a tolerance of {@link #TOLERANCE_PX} screen pixels at zoom z is
+ * {@code TOLERANCE_PX / 2^z} there. Level i is simplified for zoom {@link #LEVEL_ZOOMS}[i] and is
+ * used for every zoom up to it; beyond the last level the full line is drawn.
+ *
+ * Immutable. {@link #signature} identifies the input, so unchanged routes and stations can
+ * skip a rebuild.
+ */
+public final class RouteGeometry {
+
+    /** Zoom each simplified level is built for */
+    public static final int[] LEVEL_ZOOMS = {5, 7, 9, 11};
+    /** Number of levels, including the full geometry */
+    public static final int LEVEL_COUNT = LEVEL_ZOOMS.length + 1;
+
+    static final double TOLERANCE_PX = 1.0;
+    private static final double WORLD_PX = 256.0;
+    // Bumped when the build changes, so cached geometry from an older build is rebuilt
+    private static final long BUILD_VERSION = 1;
+
+    public static final RouteGeometry EMPTY = new RouteGeometry(0, Collections.emptyList());
+
+    public final long signature;
+    public final List<Line> lines;
+
+    public RouteGeometry(long signature, List<Line> lines) {
+        this.signature = signature;
+        this.lines = Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * One route's polyline at every level.
+     */
+    public static final class Line {
+        public final int id;
+        public final String name;
+        // [level][point]
+        final double[][] latitudes;
+        final double[][] longitudes;
+
+        public Line(int id, String name, double[][] latitudes, double[][] longitudes) {
+            this.id = id;
+            this.name = name;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+        }
+
+        public double[] latitudes(int level) {
+            return latitudes[level];
+        }
+
+        public double[] longitudes(int level) {
+            return longitudes[level];
+        }
+    }
+
+    /**
+     * Level to draw at the given camera zoom.
+     */
+    public static int levelFor(float zoom) {
+        for (int i = 0; i < LEVEL_ZOOMS.length; i++) {
+            if (zoom <= LEVEL_ZOOMS[i]) return i;
+        }
+        return LEVEL_ZOOMS.length;
+    }
+
+    /**
+     * Total points drawn at a level, across all lines.
+     */
+    public int pointCount(int level) {
+        int count = 0;
+        for (Line line : lines) count += line.latitudes[level].length;
+        return count;
+    }
+
+    /**
+     * Joins routes with station coordinates and simplifies each line for every level. Stations
+     * missing from the catalog or without coordinates are skipped; routes left with fewer than
+     * two points are dropped.
+     */
+    public static RouteGeometry build(List<RouteLine> routes, Map<Integer, Station> stations) {
+        List<Line> lines = new ArrayList<>(routes.size());
+        for (RouteLine route : routes) {
+            Line line = buildLine(route, stations);
+            if (line != null) lines.add(line);
+        }
+        return new RouteGeometry(signatureOf(routes, stations), lines);
+    }
+
+    private static Line buildLine(RouteLine route, Map<Integer, Station> stations) {
+        if (route.stationIds == null) return null;
+        int n = route.stationIds.size();
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        int count = 0;
+        for (Integer stationId : route.stationIds) {
+            Station station = stationId != null ? stations.get(stationId) : null;
+            if (station == null || (station.latitude == 0 && station.longitude == 0)) continue;
+            // Consecutive duplicates add nothing and would make zero-length segments
+            if (count > 0 && lats[count - 1] == station.latitude && lons[count - 1] == station.longitude) continue;
+            lats[count] = station.latitude;
+            lons[count] = station.longitude;
+            count++;
+        }
+        if (count < 2) return null;
+
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = mercatorX(lons[i]);
+            ys[i] = mercatorY(lats[i]);
+        }
+
+        double[][] levelLats = new double[LEVEL_COUNT][];
+        double[][] levelLons = new double[LEVEL_COUNT][];
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            double tolerance = level < LEVEL_ZOOMS.length ? TOLERANCE_PX / (1 << LEVEL_ZOOMS[level]) : 0;
+            int[] keep = RouteSimplifier.simplify(xs, ys, tolerance);
+            double[] outLats = new double[keep.length];
+            double[] outLons = new double[keep.length];
+            for (int i = 0; i < keep.length; i++) {
+                outLats[i] = lats[keep[i]];
+                outLons[i] = lons[keep[i]];
+            }
+            levelLats[level] = outLats;
+            levelLons[level] = outLons;
+        }
+        return new Line(route.id, route.name, levelLats, levelLons);
+    }
+
+    /**
+     * Identifies the geometry {@link #build} would produce: route ids, names, station order and
+     * the coordinates of every referenced station.
+     */
+    public static long signatureOf(List<RouteLine> routes, Map<Integer, Station> stations) {
+        long h = 0xcbf29ce484222325L ^ BUILD_VERSION;
+        for (RouteLine route : routes) {
+            h = mix(h, route.id);
+            h = mix(h, route.name != null ? route.name.hashCode() : 0);
+            if (route.stationIds == null) continue;
+            for (Integer stationId : route.stationIds) {
+                Station station = stationId != null ? stations.get(stationId) : null;
+                h = mix(h, stationId != null ? stationId : -1);
+                if (station != null) {
+                    h = mix(h, Double.doubleToLongBits(station.latitude));
+                    h = mix(h, Double.doubleToLongBits(station.longitude));
+                }
+            }
+            h = mix(h, -2); // end of route
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001b3L;
+    }
+
+    static double mercatorX(double longitude) {
+        return (longitude + 180.0) / 360.0 * WORLD_PX;
+    }
+
+    static double mercatorY(double latitude) {
+        double sin = Math.sin(Math.toRadians(latitude));
+        // Clamp like the map does near the poles
+        sin = Math.max(-0.9999, Math.min(0.9999, sin));
+        return (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * WORLD_PX;
+    }
+}
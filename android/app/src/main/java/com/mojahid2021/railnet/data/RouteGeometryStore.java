@@ -0,0 +1,132 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.RouteLine;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mojahid2021.railnet.data.AtomicBinaryFile.readNullableString;
+import static com.mojahid2021.railnet.data.AtomicBinaryFile.writeNullableString;
+
+/**
+ * Binary file holding the route lines and the simplified geometry built from them.
+ *
+ * Layout after the {@link AtomicBinaryFile} header: route lines (id, name, updatedAt, station
+ * ids), then the geometry signature, the level count and every line's points per level. The raw
+ * routes are kept so the geometry can be rebuilt offline when station coordinates change.
+ */
+public class RouteGeometryStore {
+
+    private static final int MAGIC = 0x52524731; // "RRG1"
+    private static final int VERSION = 1;
+
+    private final AtomicBinaryFile file;
+
+    public RouteGeometryStore(File file) {
+        this.file = new AtomicBinaryFile(file, MAGIC, VERSION);
+    }
+
+    /**
+     * Snapshot of what is stored on disk.
+     */
+    public static class Snapshot {
+        public final List<RouteLine> routes;
+        public final RouteGeometry geometry;
+
+        public Snapshot(List<RouteLine> routes, RouteGeometry geometry) {
+            this.routes = routes;
+            this.geometry = geometry;
+        }
+    }
+
+    /**
+     * Reads the store. Returns an empty snapshot when the file is missing or unreadable, and the
+     * routes with {@link RouteGeometry#EMPTY} when the geometry was built with other levels.
+     */
+    public Snapshot read() {
+        return file.read(RouteGeometryStore::readSnapshot, new Snapshot(new ArrayList<>(), RouteGeometry.EMPTY));
+    }
+
+    /**
+     * Replaces the store on disk.
+     */
+    public void write(List<RouteLine> routes, RouteGeometry geometry) throws IOException {
+        file.write(out -> {
+            out.writeInt(routes.size());
+            for (RouteLine route : routes) {
+                out.writeInt(route.id);
+                writeNullableString(out, route.name);
+                writeNullableString(out, route.updatedAt);
+                List<Integer> stationIds = route.stationIds;
+                int stationCount = 0;
+                if (stationIds != null) {
+                    for (Integer stationId : stationIds) if (stationId != null) stationCount++;
+                }
+                out.writeInt(stationCount);
+                if (stationIds != null) {
+                    for (Integer stationId : stationIds) if (stationId != null) out.writeInt(stationId);
+                }
+            }
+
+            out.writeLong(geometry.signature);
+            out.writeInt(RouteGeometry.LEVEL_COUNT);
+            out.writeInt(geometry.lines.size());
+            for (RouteGeometry.Line line : geometry.lines) {
+                out.writeInt(line.id);
+                writeNullableString(out, line.name);
+                for (int level = 0; level < RouteGeometry.LEVEL_COUNT; level++) {
+                    double[] lats = line.latitudes(level);
+                    double[] lons = line.longitudes(level);
+                    out.writeInt(lats.length);
+                    for (int p = 0; p < lats.length; p++) {
+                        out.writeDouble(lats[p]);
+                        out.writeDouble(lons[p]);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Snapshot readSnapshot(DataInputStream in) throws IOException {
+        int routeCount = in.readInt();
+        List<RouteLine> routes = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            RouteLine route = new RouteLine();
+            route.id = in.readInt();
+            route.name = readNullableString(in);
+            route.updatedAt = readNullableString(in);
+            int stationCount = in.readInt();
+            route.stationIds = new ArrayList<>(stationCount);
+            for (int j = 0; j < stationCount; j++) route.stationIds.add(in.readInt());
+            routes.add(route);
+        }
+
+        long signature = in.readLong();
+        if (in.readInt() != RouteGeometry.LEVEL_COUNT) {
+            // Levels changed; keep the routes and let the caller rebuild
+            return new Snapshot(routes, RouteGeometry.EMPTY);
+        }
+        int lineCount = in.readInt();
+        List<RouteGeometry.Line> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            int id = in.readInt();
+            String name = readNullableString(in);
+            double[][] lats = new double[RouteGeometry.LEVEL_COUNT][];
+            double[][] lons = new double[RouteGeometry.LEVEL_COUNT][];
+            for (int level = 0; level < RouteGeometry.LEVEL_COUNT; level++) {
+                int n = in.readInt();
+                lats[level] = new double[n];
+                lons[level] = new double[n];
+                for (int p = 0; p < n; p++) {
+                    lats[level][p] = in.readDouble();
+                    lons[level][p] = in.readDouble();
+                }
+            }
+            lines.add(new RouteGeometry.Line(id, name, lats, lons));
+        }
+        return new Snapshot(routes, new RouteGeometry(signature, lines));
+    }
+}
@@ -0,0 +1,187 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.gson.JsonParseException;
+import com.mojahid2021.railnet.model.RouteLine;
+import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+
+/**
+ * Rail line geometry for the map.
+ *
+ * - Loads the last built {@link RouteGeometry} from disk on a background thread, so lines draw
+ *   right away and offline
+ * - Syncs route topology with GET /train-routes/lines and takes coordinates from
+ *   {@link StationRepository}
+ * - Rebuilds and persists the simplified geometry only when routes or coordinates change
+ * - Notifies listeners on the main thread whenever the geometry changes
+ */
+public final class RouteLineRepository {
+
+    private static final String TAG = "RouteLineRepository";
+    private static final String STORE_FILE = "route_lines.bin";
+    private static final long MIN_REFRESH_INTERVAL_MS = 30 * 60 * 1000L;
+
+    private static volatile RouteLineRepository instance;
+
+    /**
+     * Receives the geometry whenever it changes. Always called on the main thread.
+     */
+    public interface Listener {
+        void onGeometryChanged(RouteGeometry geometry);
+    }
+
+    private final Context appContext;
+    private final RouteGeometryStore store;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Published snapshot, replaced as a whole
+    private volatile RouteGeometry geometry = RouteGeometry.EMPTY;
+    private volatile boolean loaded = false;
+
+    // Confined to the executor thread
+    private List<RouteLine> routes = new ArrayList<>();
+    private Map<Integer, Station> stationsById = new HashMap<>();
+    private long lastRefreshAt = -1;
+
+    private RouteLineRepository(Context context) {
+        appContext = context.getApplicationContext();
+        store = new RouteGeometryStore(new File(appContext.getFilesDir(), STORE_FILE));
+        executor.execute(this::loadFromDisk);
+        StationRepository.getInstance(appContext).addListener(this::onStationsChanged);
+    }
+
+    public static RouteLineRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (RouteLineRepository.class) {
+                if (instance == null) {
+                    instance = new RouteLineRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a listener. If the geometry is already loaded the listener receives it right away.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        if (loaded) {
+            RouteGeometry snapshot = geometry;
+            mainHandler.post(() -> {
+                if (listeners.contains(listener)) listener.onGeometryChanged(snapshot);
+            });
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Current geometry (empty before the first load completes).
+     */
+    public RouteGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Syncs route lines with the backend unless a sync ran recently.
+     */
+    public void refresh() {
+        executor.execute(this::sync);
+    }
+
+    private void loadFromDisk() {
+        RouteGeometryStore.Snapshot snapshot = store.read();
+        routes = snapshot.routes;
+        publish(snapshot.geometry);
+        Log.d(TAG, "Loaded " + snapshot.geometry.lines.size() + " route lines from disk");
+    }
+
+    // Called on the main thread by StationRepository
+    private void onStationsChanged(List<Station> stations) {
+        executor.execute(() -> {
+            Map<Integer, Station> byId = new HashMap<>(stations.size() * 2);
+            for (Station station : stations) byId.put(station.id, station);
+            stationsById = byId;
+            rebuildIfChanged();
+        });
+    }
+
+    private void sync() {
+        long now = SystemClock.elapsedRealtime();
+        if (lastRefreshAt >= 0 && now - lastRefreshAt < MIN_REFRESH_INTERVAL_MS) {
+            return;
+        }
+
+        List<RouteLine> fetched;
+        try {
+            ApiService api = ApiClient.getRetrofit(appContext).create(ApiService.class);
+            Response<List<RouteLine>> response = api.getRouteLines().execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.d(TAG, "Route line sync failed, code: " + response.code());
+                return;
+            }
+            fetched = response.body();
+        } catch (IOException e) {
+            // Offline: keep serving the cached geometry
+            Log.w(TAG, "Route line sync error: " + e.getMessage());
+            return;
+        } catch (JsonParseException e) {
+            Log.e(TAG, "Failed to parse route lines: " + e.getMessage(), e);
+            return;
+        }
+
+        // Only a successful sync holds off the next one; failures are retried on the next refresh()
+        lastRefreshAt = now;
+        routes = new ArrayList<>(fetched);
+        rebuildIfChanged();
+    }
+
+    private void rebuildIfChanged() {
+        // Until both halves are known, the cached geometry is the best there is
+        if (routes.isEmpty() || stationsById.isEmpty()) return;
+        if (loaded && RouteGeometry.signatureOf(routes, stationsById) == geometry.signature) return;
+
+        long start = SystemClock.elapsedRealtime();
+        RouteGeometry built = RouteGeometry.build(routes, stationsById);
+        Log.d(TAG, "Built " + built.lines.size() + " route lines in "
+                + (SystemClock.elapsedRealtime() - start) + " ms");
+        try {
+            store.write(routes, built);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to persist route lines: " + e.getMessage());
+        }
+        publish(built);
+    }
+
+    private void publish(RouteGeometry newGeometry) {
+        geometry = newGeometry;
+        loaded = true;
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) listener.onGeometryChanged(newGeometry);
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.mojahid2021.railnet.data;
+
+import java.util.Arrays;
+
+/**
+ * Douglas–Peucker polyline simplification.
+ *
+ * Iterative (an explicit stack of index ranges), so long lines cannot overflow the call stack, and
+ * allocation-free apart from the result and the working arrays. Distances are to the segment
+ * between the range ends, not the infinite line, so spikes past an end point are kept.
+ */
+public final class RouteSimplifier {
+
+    private RouteSimplifier() {}
+
+    /**
+     * Indices of the points to keep, ascending. The first and last points are always kept; every
+     * dropped point lies within {@code tolerance} of the simplified line.
+     *
+     * @param xs        x coordinates, in the same unit as {@code tolerance}
+     * @param ys        y coordinates
+     * @param tolerance maximum distance of a dropped point from the result; 0 keeps every point
+     */
+    public static int[] simplify(double[] xs, double[] ys, double tolerance) {
+        int n = xs.length;
+        if (n <= 2 || tolerance <= 0) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        double toleranceSq = tolerance * tolerance;
+
+        // Each range needs at most one stack slot per level, bounded by n
+        int[] stack = new int[2 * n];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        int kept = 2;
+
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+
+            double maxSq = toleranceSq;
+            int farthest = -1;
+            for (int i = first + 1; i < last; i++) {
+                double d = segmentDistanceSq(xs[i], ys[i], xs[first], ys[first], xs[last], ys[last]);
+                if (d > maxSq) {
+                    maxSq = d;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) continue;
+
+            keep[farthest] = true;
+            kept++;
+            if (farthest - first > 1) {
+                stack[top++] = first;
+                stack[top++] = farthest;
+            }
+            if (last - farthest > 1) {
+                stack[top++] = farthest;
+                stack[top++] = last;
+            }
+        }
+
+        int[] result = new int[kept];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) result[k++] = i;
+        }
+        return k == kept ? result : Arrays.copyOf(result, k);
+    }
+
+    static double segmentDistanceSq(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+        if (t < 0) t = 0;
+        else if (t > 1) t = 1;
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+}
@@ -0,0 +1,103 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Process-wide, bounded cache of train schedules keyed by id.
+ *
+ * Screens pass only a trainScheduleId between each other and look the schedule up here instead of
+ * serializing it into Intent extras. The least recently used schedules are evicted once the store
+ * is full. After process death the store is empty, so {@link #load} refetches the schedule from
+ * GET /train-schedules/:id and caches it again.
+ */
+public final class ScheduleStore {
+
+    private static final String TAG = "ScheduleStore";
+    private static final int MAX_SCHEDULES = 64;
+
+    private static final ScheduleStore INSTANCE = new ScheduleStore();
+
+    /**
+     * Receives the requested schedule, or null if it could not be loaded. Called on the main thread.
+     */
+    public interface Callback {
+        void onScheduleLoaded(@Nullable TrainSchedule schedule);
+    }
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final Map<Integer, TrainSchedule> schedules =
+            new LinkedHashMap<Integer, TrainSchedule>(MAX_SCHEDULES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, TrainSchedule> eldest) {
+                    return size() > MAX_SCHEDULES;
+                }
+            };
+
+    private ScheduleStore() {
+    }
+
+    public static ScheduleStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Cache a schedule, replacing any older copy with the same id.
+     */
+    public synchronized void put(TrainSchedule schedule) {
+        if (schedule != null) schedules.put(schedule.id, schedule);
+    }
+
+    /**
+     * Cached schedule for the id, or null if it is not in memory.
+     */
+    @Nullable
+    public synchronized TrainSchedule get(int id) {
+        return schedules.get(id);
+    }
+
+    /**
+     * Deliver the schedule from memory if present, otherwise fetch it from the backend.
+     * A cache hit is delivered synchronously.
+     */
+    public void load(Context context, int id, Callback callback) {
+        TrainSchedule cached = get(id);
+        if (cached != null) {
+            callback.onScheduleLoaded(cached);
+            return;
+        }
+
+        Log.d(TAG, "Schedule " + id + " not in memory; fetching");
+        ApiService api = ApiClient.getRetrofit(context).create(ApiService.class);
+        api.getTrainScheduleById(id).enqueue(new retrofit2.Callback<TrainSchedule>() {
+            @Override
+            public void onResponse(Call<TrainSchedule> call, Response<TrainSchedule> response) {
+                TrainSchedule schedule = response.isSuccessful() ? response.body() : null;
+                if (schedule != null) {
+                    put(schedule);
+                } else {
+                    Log.e(TAG, "Failed to fetch schedule " + id + ": code=" + response.code());
+                }
+                callback.onScheduleLoaded(schedule);
+            }
+
+            @Override
+            public void onFailure(Call<TrainSchedule> call, Throwable t) {
+                Log.e(TAG, "Network error fetching schedule " + id, t);
+                callback.onScheduleLoaded(null);
+            }
+        });
+    }
+}
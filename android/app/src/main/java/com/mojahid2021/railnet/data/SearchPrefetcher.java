@@ -0,0 +1,205 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+import com.mojahid2021.railnet.util.DateTimeUtils;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+
+/**
+ * Bounded TTL cache of summary schedule search results keyed by (fromStationId, toStationId, date),
+ * plus a prefetcher for the previous and next day of a successful search.
+ *
+ * - TrainsActivity shows a cached result instantly and still revalidates it with a normal fetch
+ * - Prefetches run one at a time on a background-priority thread
+ * - Prefetching is skipped on metered networks unless {@link #setPrefetchOnMeteredNetworks} allows it
+ * - Hit, miss and prefetch counters show whether prefetching pays off
+ *
+ * Thread-safe.
+ */
+public final class SearchPrefetcher {
+
+    private static final String TAG = "SearchPrefetcher";
+    private static final int MAX_ENTRIES = 24;
+    private static final long TTL_MS = 5 * 60 * 1000L;
+
+    private static final SearchPrefetcher INSTANCE = new SearchPrefetcher();
+
+    private static final class CachedSearch {
+        final List<TrainScheduleSummary> schedules;
+        final long fetchedAtMillis;
+        final boolean prefetched;
+
+        CachedSearch(List<TrainScheduleSummary> schedules, long fetchedAtMillis, boolean prefetched) {
+            this.schedules = schedules;
+            this.fetchedAtMillis = fetchedAtMillis;
+            this.prefetched = prefetched;
+        }
+    }
+
+    private final Map<String, CachedSearch> entries = new LinkedHashMap<String, CachedSearch>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSearch> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Keys with a prefetch queued or running
+    private final Set<String> pending = new HashSet<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, TAG);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean prefetchOnMeteredNetworks = false;
+
+    private long hits;
+    private long prefetchHits;
+    private long misses;
+    private long prefetches;
+
+    private SearchPrefetcher() {
+    }
+
+    public static SearchPrefetcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Allow or forbid prefetching while on a metered network (off by default).
+     */
+    public void setPrefetchOnMeteredNetworks(boolean allowed) {
+        prefetchOnMeteredNetworks = allowed;
+    }
+
+    /**
+     * Cached result for a search, or null if there is none younger than the TTL.
+     * Counts a hit or a miss.
+     */
+    @Nullable
+    public synchronized List<TrainScheduleSummary> get(String fromStationId, String toStationId, String date) {
+        String key = key(fromStationId, toStationId, date);
+        CachedSearch entry = entries.get(key);
+        if (entry == null || System.currentTimeMillis() - entry.fetchedAtMillis > TTL_MS) {
+            if (entry != null) entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        if (entry.prefetched) prefetchHits++;
+        return entry.schedules;
+    }
+
+    /**
+     * Store the result of a search the user made.
+     */
+    public void put(String fromStationId, String toStationId, String date, List<TrainScheduleSummary> schedules) {
+        put(key(fromStationId, toStationId, date), schedules, false);
+    }
+
+    /**
+     * Fetch the day before and after a search in the background, unless they are cached already,
+     * a prefetch for them is pending, or the network is metered.
+     */
+    public void prefetchAdjacent(Context context, String fromStationId, String toStationId, String date) {
+        Context appContext = context.getApplicationContext();
+        if (!isPrefetchAllowed(appContext)) {
+            return;
+        }
+        for (int offset : new int[]{1, -1}) {
+            String adjacent = DateTimeUtils.addDaysToApiDate(date, offset);
+            if (adjacent == null) continue;
+            String key = key(fromStationId, toStationId, adjacent);
+            synchronized (this) {
+                CachedSearch entry = entries.get(key);
+                boolean fresh = entry != null && System.currentTimeMillis() - entry.fetchedAtMillis <= TTL_MS;
+                if (fresh || !pending.add(key)) continue;
+            }
+            executor.execute(() -> prefetch(appContext, key, fromStationId, toStationId, adjacent));
+        }
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Hits served by an entry that was prefetched rather than searched by the user.
+     */
+    public synchronized long getPrefetchHitCount() {
+        return prefetchHits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getPrefetchCount() {
+        return prefetches;
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private void prefetch(Context context, String key, String fromStationId, String toStationId, String date) {
+        try {
+            ApiService api = ApiClient.getRetrofit(context).create(ApiService.class);
+            Response<List<TrainScheduleSummary>> response = api.searchTrainScheduleSummaries(fromStationId, toStationId, date).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.d(TAG, "Prefetch of " + date + " failed: code=" + response.code());
+                return;
+            }
+            put(key, response.body(), true);
+            synchronized (this) {
+                prefetches++;
+            }
+        } catch (Exception e) {
+            Log.d(TAG, "Prefetch of " + date + " failed", e);
+        } finally {
+            synchronized (this) {
+                pending.remove(key);
+            }
+        }
+    }
+
+    private synchronized void put(String key, List<TrainScheduleSummary> schedules, boolean prefetched) {
+        if (schedules == null) return;
+        entries.put(key, new CachedSearch(schedules, System.currentTimeMillis(), prefetched));
+    }
+
+    @SuppressWarnings("deprecation")
+    private boolean isPrefetchAllowed(Context context) {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) return false;
+        NetworkInfo active = cm.getActiveNetworkInfo();
+        if (active == null || !active.isConnected()) return false;
+        return prefetchOnMeteredNetworks || !cm.isActiveNetworkMetered();
+    }
+
+    private static String key(String fromStationId, String toStationId, String date) {
+        return fromStationId + ":" + toStationId + ":" + date;
+    }
+}
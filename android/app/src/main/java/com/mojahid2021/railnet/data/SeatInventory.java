@@ -0,0 +1,270 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.TrainSchedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Segment-aware seat inventory for one compartment of one train schedule.
+ *
+ * A route with n stops has n - 1 segments; segment k runs from stop k to stop k + 1 (stops ordered
+ * by distanceFromStart). A ticket from stop a to stop b occupies segments [a, b), so a seat can be
+ * free on one leg and taken on another.
+ *
+ * Each seat keeps its occupancy as a bitset over segments, packed into longs. A query for [a, b)
+ * builds the matching word masks once and tests every seat with a single AND per word; routes with
+ * up to 64 segments need exactly one word per seat.
+ *
+ * All methods are thread-safe. {@link #hold} checks and claims a segment range atomically, so two
+ * callers can never hold overlapping ranges of the same seat.
+ */
+public final class SeatInventory {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_BITS = 1 << WORD_SHIFT;
+
+    // Station ids sorted ascending, and the stop index of each, for lookups without boxing
+    private final int[] sortedStationIds;
+    private final int[] stopIndexBySorted;
+
+    private final int seatCount;
+    private final int segmentCount;
+    private final int wordsPerSeat;
+    // Seat-major: the words of seat s are occupancy[s * wordsPerSeat .. (s + 1) * wordsPerSeat)
+    private final long[] occupancy;
+
+    /**
+     * Create an empty inventory.
+     *
+     * @param orderedStationIds station ids in route order (at least two, no duplicates)
+     * @param seatCount         number of seats in the compartment
+     */
+    public SeatInventory(int[] orderedStationIds, int seatCount) {
+        if (orderedStationIds == null || orderedStationIds.length < 2) {
+            throw new IllegalArgumentException("A route needs at least two stations");
+        }
+        if (seatCount < 0) {
+            throw new IllegalArgumentException("Negative seat count");
+        }
+        int stops = orderedStationIds.length;
+        this.seatCount = seatCount;
+        this.segmentCount = stops - 1;
+        this.wordsPerSeat = (segmentCount + WORD_BITS - 1) >>> WORD_SHIFT;
+        this.occupancy = new long[seatCount * wordsPerSeat];
+
+        // Sort (id, stop) pairs by id; the stop index sits in the low bits
+        long[] pairs = new long[stops];
+        for (int i = 0; i < stops; i++) {
+            pairs[i] = ((long) orderedStationIds[i] << 32) | i;
+        }
+        Arrays.sort(pairs);
+        sortedStationIds = new int[stops];
+        stopIndexBySorted = new int[stops];
+        for (int i = 0; i < stops; i++) {
+            sortedStationIds[i] = (int) (pairs[i] >> 32);
+            stopIndexBySorted[i] = (int) pairs[i];
+            if (i > 0 && sortedStationIds[i] == sortedStationIds[i - 1]) {
+                throw new IllegalArgumentException("Station " + sortedStationIds[i] + " appears twice on the route");
+            }
+        }
+    }
+
+    /**
+     * Create an empty inventory for a route, ordering its stations by distanceFromStart.
+     */
+    public static SeatInventory forRoute(List<TrainSchedule.RouteStation> routeStations, int seatCount) {
+        if (routeStations == null) {
+            throw new IllegalArgumentException("No route stations");
+        }
+        List<TrainSchedule.RouteStation> ordered = new ArrayList<>(routeStations);
+        Collections.sort(ordered, (a, b) -> Double.compare(a.distanceFromStart, b.distanceFromStart));
+        int[] ids = new int[ordered.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ordered.get(i).currentStationId;
+        }
+        return new SeatInventory(ids, seatCount);
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Stop index of a station on this route, or -1 if the route does not serve it.
+     */
+    public int stopIndex(int stationId) {
+        int i = Arrays.binarySearch(sortedStationIds, stationId);
+        return i >= 0 ? stopIndexBySorted[i] : -1;
+    }
+
+    /**
+     * Whether the seat is free on every segment between the two stations.
+     */
+    public boolean isFree(int seat, int fromStationId, int toStationId) {
+        return isFreeBetweenStops(seat, fromStop(fromStationId), toStop(fromStationId, toStationId));
+    }
+
+    /**
+     * Seats free on every segment between the two stations.
+     */
+    public BitSet freeSeats(int fromStationId, int toStationId) {
+        return freeSeatsBetweenStops(fromStop(fromStationId), toStop(fromStationId, toStationId));
+    }
+
+    /**
+     * Number of seats free on every segment between the two stations.
+     */
+    public int countFree(int fromStationId, int toStationId) {
+        return countFreeBetweenStops(fromStop(fromStationId), toStop(fromStationId, toStationId));
+    }
+
+    /**
+     * Claim the seat between the two stations if it is free on all of those segments.
+     *
+     * @return true if the seat was claimed, false if any segment was already taken
+     */
+    public boolean hold(int seat, int fromStationId, int toStationId) {
+        return holdBetweenStops(seat, fromStop(fromStationId), toStop(fromStationId, toStationId));
+    }
+
+    /**
+     * Free the seat between the two stations. Segments outside the range are left as they are.
+     */
+    public void release(int seat, int fromStationId, int toStationId) {
+        releaseBetweenStops(seat, fromStop(fromStationId), toStop(fromStationId, toStationId));
+    }
+
+    /**
+     * {@link #isFree} for stop indexes, with {@code fromStop < toStop}.
+     */
+    public synchronized boolean isFreeBetweenStops(int seat, int fromStop, int toStop) {
+        checkSeat(seat);
+        checkStops(fromStop, toStop);
+        return isFree(seat * wordsPerSeat, masks(fromStop, toStop), fromStop >>> WORD_SHIFT);
+    }
+
+    /**
+     * {@link #freeSeats} for stop indexes, with {@code fromStop < toStop}.
+     */
+    public synchronized BitSet freeSeatsBetweenStops(int fromStop, int toStop) {
+        checkStops(fromStop, toStop);
+        BitSet free = new BitSet(seatCount);
+        if (wordsPerSeat == 1) {
+            long mask = masks(fromStop, toStop)[0];
+            for (int seat = 0; seat < seatCount; seat++) {
+                if ((occupancy[seat] & mask) == 0) free.set(seat);
+            }
+            return free;
+        }
+        long[] masks = masks(fromStop, toStop);
+        int firstWord = fromStop >>> WORD_SHIFT;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (isFree(seat * wordsPerSeat, masks, firstWord)) free.set(seat);
+        }
+        return free;
+    }
+
+    /**
+     * {@link #countFree} for stop indexes, with {@code fromStop < toStop}.
+     */
+    public synchronized int countFreeBetweenStops(int fromStop, int toStop) {
+        checkStops(fromStop, toStop);
+        int count = 0;
+        if (wordsPerSeat == 1) {
+            long mask = masks(fromStop, toStop)[0];
+            for (int seat = 0; seat < seatCount; seat++) {
+                if ((occupancy[seat] & mask) == 0) count++;
+            }
+            return count;
+        }
+        long[] masks = masks(fromStop, toStop);
+        int firstWord = fromStop >>> WORD_SHIFT;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (isFree(seat * wordsPerSeat, masks, firstWord)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * {@link #hold} for stop indexes, with {@code fromStop < toStop}.
+     */
+    public synchronized boolean holdBetweenStops(int seat, int fromStop, int toStop) {
+        checkSeat(seat);
+        checkStops(fromStop, toStop);
+        long[] masks = masks(fromStop, toStop);
+        if (!isFree(seat * wordsPerSeat, masks, fromStop >>> WORD_SHIFT)) return false;
+        int base = seat * wordsPerSeat + (fromStop >>> WORD_SHIFT);
+        for (int w = 0; w < masks.length; w++) {
+            occupancy[base + w] |= masks[w];
+        }
+        return true;
+    }
+
+    /**
+     * {@link #release} for stop indexes, with {@code fromStop < toStop}.
+     */
+    public synchronized void releaseBetweenStops(int seat, int fromStop, int toStop) {
+        checkSeat(seat);
+        checkStops(fromStop, toStop);
+        long[] masks = masks(fromStop, toStop);
+        int base = seat * wordsPerSeat + (fromStop >>> WORD_SHIFT);
+        for (int w = 0; w < masks.length; w++) {
+            occupancy[base + w] &= ~masks[w];
+        }
+    }
+
+    // True if none of the masked bits are set in the seat's words, starting at firstWord
+    private boolean isFree(int seatBase, long[] masks, int firstWord) {
+        int base = seatBase + firstWord;
+        for (int w = 0; w < masks.length; w++) {
+            if ((occupancy[base + w] & masks[w]) != 0) return false;
+        }
+        return true;
+    }
+
+    // Word masks covering segments [fromStop, toStop), starting at word fromStop / 64
+    private static long[] masks(int fromStop, int toStop) {
+        int firstWord = fromStop >>> WORD_SHIFT;
+        int lastWord = (toStop - 1) >>> WORD_SHIFT;
+        long[] masks = new long[lastWord - firstWord + 1];
+        for (int w = firstWord; w <= lastWord; w++) {
+            int lo = w == firstWord ? fromStop & (WORD_BITS - 1) : 0;
+            int hi = w == lastWord ? ((toStop - 1) & (WORD_BITS - 1)) + 1 : WORD_BITS;
+            masks[w - firstWord] = (-1L >>> (WORD_BITS - (hi - lo))) << lo;
+        }
+        return masks;
+    }
+
+    private int fromStop(int fromStationId) {
+        int stop = stopIndex(fromStationId);
+        if (stop < 0) throw new IllegalArgumentException("Station " + fromStationId + " is not on this route");
+        return stop;
+    }
+
+    private int toStop(int fromStationId, int toStationId) {
+        int stop = stopIndex(toStationId);
+        if (stop < 0) throw new IllegalArgumentException("Station " + toStationId + " is not on this route");
+        if (stop <= stopIndex(fromStationId)) {
+            throw new IllegalArgumentException("Station " + toStationId + " does not come after " + fromStationId);
+        }
+        return stop;
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= seatCount) throw new IndexOutOfBoundsException("Seat " + seat);
+    }
+
+    private void checkStops(int fromStop, int toStop) {
+        if (fromStop < 0 || toStop > segmentCount || fromStop >= toStop) {
+            throw new IllegalArgumentException("Invalid stop range [" + fromStop + ", " + toStop + ")");
+        }
+    }
+}
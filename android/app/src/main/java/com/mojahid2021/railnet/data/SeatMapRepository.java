@@ -0,0 +1,195 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.mojahid2021.railnet.model.SeatAvailability;
+import com.mojahid2021.railnet.model.SeatMapResponse;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Seat availability per (trainScheduleId, compartmentId, from/to segment).
+ *
+ * - The first request for a segment fetches the full seat map
+ * - Later requests show the cached map immediately and refresh with "since", so the backend
+ *   only sends bitsets when a booking in that segment changed
+ * - Only one request per segment is in flight at a time; callers that ask meanwhile share its result
+ * - A booking made on this device marks its seat occupied in every cached segment it overlaps,
+ *   located on the route with a {@link SeatInventory}, until those segments are refreshed
+ *
+ * All methods must be called on the main thread; callbacks are delivered there too.
+ */
+public final class SeatMapRepository {
+
+    private static final String TAG = "SeatMapRepository";
+    private static final int MAX_ENTRIES = 32;
+
+    private static final SeatMapRepository INSTANCE = new SeatMapRepository();
+
+    /**
+     * Receives the seat availability of the requested segment. Called on the main thread.
+     */
+    public interface Callback {
+        void onSeatMap(SeatAvailability availability);
+    }
+
+    private static final class CachedSeatMap {
+        final SeatAvailability availability;
+        final String asOf;
+
+        CachedSeatMap(SeatAvailability availability, String asOf) {
+            this.availability = availability;
+            this.asOf = asOf;
+        }
+    }
+
+    private final Map<String, CachedSeatMap> entries = new LinkedHashMap<String, CachedSeatMap>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSeatMap> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Segments with a request in flight, and the callbacks waiting for it
+    private final Map<String, List<Callback>> inFlight = new HashMap<>();
+
+    private SeatMapRepository() {
+    }
+
+    public static SeatMapRepository getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Deliver the cached seat map right away (if any), then refresh it from the backend and
+     * deliver again only if it changed.
+     */
+    public void load(Context context, int trainScheduleId, int compartmentId,
+                     String fromStationId, String toStationId, Callback callback) {
+        String key = key(trainScheduleId, compartmentId, fromStationId, toStationId);
+        CachedSeatMap cached = entries.get(key);
+        if (cached != null) {
+            callback.onSeatMap(cached.availability);
+        }
+        List<Callback> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(callback);
+        inFlight.put(key, waiting);
+
+        ApiService api = ApiClient.getRetrofit(context).create(ApiService.class);
+        String since = cached != null ? cached.asOf : null;
+        api.getSeatMap(trainScheduleId, compartmentId, fromStationId, toStationId, since)
+                .enqueue(new retrofit2.Callback<SeatMapResponse>() {
+                    @Override
+                    public void onResponse(Call<SeatMapResponse> call, Response<SeatMapResponse> response) {
+                        List<Callback> callbacks = inFlight.remove(key);
+                        SeatMapResponse body = response.body();
+                        if (!response.isSuccessful() || body == null) {
+                            Log.e(TAG, "Seat map request failed: code=" + response.code());
+                            return;
+                        }
+                        SeatAvailability changed = handleResponse(key, body);
+                        if (changed != null && callbacks != null) {
+                            for (Callback cb : callbacks) cb.onSeatMap(changed);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Call<SeatMapResponse> call, Throwable t) {
+                        inFlight.remove(key);
+                        Log.e(TAG, "Network error fetching seat map", t);
+                    }
+                });
+    }
+
+    /**
+     * Cached seat map for a segment, or null if it was never fetched.
+     */
+    public SeatAvailability peek(int trainScheduleId, int compartmentId, String fromStationId, String toStationId) {
+        CachedSeatMap entry = entries.get(key(trainScheduleId, compartmentId, fromStationId, toStationId));
+        return entry != null ? entry.availability : null;
+    }
+
+    /**
+     * Mark a seat booked from this device as occupied in the cached seat maps of the same schedule
+     * and compartment whose segments overlap the booking, so they stop offering it before their next
+     * refresh. Entries keep their asOf, so that refresh still returns the server's view. Entries
+     * that cannot be placed on the route are dropped and fetched in full next time.
+     */
+    public void recordBooking(TrainSchedule schedule, int compartmentId,
+                              int fromStationId, int toStationId, String seatLabel) {
+        String prefix = schedule.id + ":" + compartmentId + ":";
+        int seat = SeatAvailability.seatIndex(seatLabel);
+        SeatInventory booked = null;
+        if (seat >= 0 && schedule.trainRoute != null) {
+            try {
+                booked = SeatInventory.forRoute(schedule.trainRoute.routeStations, seat + 1);
+                booked.hold(seat, fromStationId, toStationId);
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Booked segment is not on the route", e);
+                booked = null;
+            }
+        }
+
+        Iterator<Map.Entry<String, CachedSeatMap>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedSeatMap> cached = it.next();
+            if (!cached.getKey().startsWith(prefix)) continue;
+            if (booked == null) {
+                it.remove();
+                continue;
+            }
+            String[] segment = cached.getKey().substring(prefix.length()).split(":");
+            try {
+                int from = Integer.parseInt(segment[0].trim());
+                int to = Integer.parseInt(segment[1].trim());
+                if (!booked.isFree(seat, from, to)) {
+                    CachedSeatMap entry = cached.getValue();
+                    cached.setValue(new CachedSeatMap(entry.availability.withOccupied(seat), entry.asOf));
+                }
+            } catch (IllegalArgumentException e) {
+                // Station ids that are not numeric or not on the route
+                it.remove();
+            }
+        }
+    }
+
+    // Stores the response; returns the new availability, or null if nothing changed or it was malformed
+    private SeatAvailability handleResponse(String key, SeatMapResponse body) {
+        CachedSeatMap previous = entries.get(key);
+        if (body.unchanged) {
+            // Nothing changed; only move the cursor forward (unless the entry was evicted meanwhile)
+            if (previous != null) entries.put(key, new CachedSeatMap(previous.availability, body.asOf));
+            return null;
+        }
+
+        SeatAvailability availability;
+        try {
+            availability = SeatAvailability.fromHex(body.totalSeats, body.occupied, body.held);
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "Malformed seat map", e);
+            return null;
+        }
+        entries.put(key, new CachedSeatMap(availability, body.asOf));
+        return availability;
+    }
+
+    private static String key(int trainScheduleId, int compartmentId, String fromStationId, String toStationId) {
+        return trainScheduleId + ":" + compartmentId + ":" + fromStationId + ":" + toStationId;
+    }
+}
@@ -0,0 +1,92 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.Station;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mojahid2021.railnet.data.AtomicBinaryFile.readNullableString;
+import static com.mojahid2021.railnet.data.AtomicBinaryFile.writeNullableString;
+
+/**
+ * Compact binary file holding the local station catalog and its sync cursor.
+ *
+ * Layout after the {@link AtomicBinaryFile} header: cursor, full sync time, count, then one
+ * record per station.
+ */
+public class StationCatalogStore {
+
+    private static final int MAGIC = 0x52534331; // "RSC1"
+    private static final int VERSION = 2;
+
+    private final AtomicBinaryFile file;
+
+    public StationCatalogStore(File file) {
+        this.file = new AtomicBinaryFile(file, MAGIC, VERSION);
+    }
+
+    /**
+     * Snapshot of what is stored on disk.
+     */
+    public static class Snapshot {
+        public final List<Station> stations;
+        public final String cursor; // largest updatedAt seen, null if never synced
+        public final long fullSyncAt; // wall-clock millis of the last full fetch, 0 if never
+
+        public Snapshot(List<Station> stations, String cursor, long fullSyncAt) {
+            this.stations = stations;
+            this.cursor = cursor;
+            this.fullSyncAt = fullSyncAt;
+        }
+    }
+
+    /**
+     * Reads the catalog. With nothing usable on disk the snapshot has no stations and no cursor,
+     * so the repository starts with a full fetch.
+     */
+    public Snapshot read() {
+        return file.read(StationCatalogStore::readCatalog, new Snapshot(new ArrayList<>(), null, 0));
+    }
+
+    /**
+     * Replaces the catalog on disk.
+     */
+    public void write(List<Station> stations, String cursor, long fullSyncAt) throws IOException {
+        file.write(out -> {
+            writeNullableString(out, cursor);
+            out.writeLong(fullSyncAt);
+            out.writeInt(stations.size());
+            for (Station station : stations) {
+                out.writeInt(station.id);
+                writeNullableString(out, station.name);
+                writeNullableString(out, station.city);
+                out.writeDouble(station.latitude);
+                out.writeDouble(station.longitude);
+                writeNullableString(out, station.createdAt);
+                writeNullableString(out, station.updatedAt);
+            }
+        });
+    }
+
+    private static Snapshot readCatalog(DataInputStream in) throws IOException {
+        String cursor = readNullableString(in);
+        long fullSyncAt = in.readLong();
+        int count = in.readInt();
+        List<Station> stations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Station station = new Station();
+            station.id = in.readInt();
+            station.name = readNullableString(in);
+            station.city = readNullableString(in);
+            station.latitude = in.readDouble();
+            station.longitude = in.readDouble();
+            station.createdAt = readNullableString(in);
+            station.updatedAt = readNullableString(in);
+            stations.add(station);
+        }
+        return new Snapshot(stations, cursor, fullSyncAt);
+    }
+}
@@ -0,0 +1,217 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+
+/**
+ * Single source of station data for the app.
+ *
+ * - Loads the persisted catalog from disk on a background thread at startup
+ * - Syncs with GET /stations in the background, using the largest updatedAt as a delta cursor
+ * - Replaces the catalog with a full fetch at least once every {@link #FULL_RESYNC_INTERVAL_MS}:
+ *   the delta only carries changed stations, so one removed on the backend would otherwise stay
+ *   forever. An unchanged catalog costs a 304 (the full list is revalidated with its ETag)
+ * - Notifies listeners on the main thread whenever the catalog changes
+ *
+ * Screens should observe this repository instead of calling the stations endpoint directly.
+ */
+public final class StationRepository {
+
+    private static final String TAG = "StationRepository";
+    private static final String CATALOG_FILE = "stations.bin";
+    private static final long MIN_REFRESH_INTERVAL_MS = 5 * 60 * 1000L;
+    static final long FULL_RESYNC_INTERVAL_MS = 24 * 60 * 60 * 1000L;
+
+    private static volatile StationRepository instance;
+
+    /**
+     * Receives the full station list whenever it changes. Always called on the main thread.
+     */
+    public interface Listener {
+        void onStationsChanged(List<Station> stations);
+    }
+
+    private final Context appContext;
+    private final StationCatalogStore store;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Published snapshot, replaced as a whole
+    private volatile List<Station> stations = Collections.emptyList();
+    private volatile Map<Integer, Station> stationsById = Collections.emptyMap();
+    private volatile boolean loaded = false;
+
+    // Confined to the executor thread
+    private String cursor;
+    private long fullSyncAt;
+    private long lastRefreshAt = -1;
+
+    private StationRepository(Context context) {
+        appContext = context.getApplicationContext();
+        store = new StationCatalogStore(new File(appContext.getFilesDir(), CATALOG_FILE));
+        executor.execute(this::loadFromDisk);
+    }
+
+    public static StationRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (StationRepository.class) {
+                if (instance == null) {
+                    instance = new StationRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a listener. If the catalog is already loaded the listener receives it right away.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        if (loaded) {
+            List<Station> snapshot = stations;
+            mainHandler.post(() -> {
+                if (listeners.contains(listener)) listener.onStationsChanged(snapshot);
+            });
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Current station list (may be empty before the first load completes).
+     */
+    public List<Station> getStations() {
+        return stations;
+    }
+
+    /**
+     * Looks up a station by id, or null if unknown.
+     */
+    public Station getStation(int id) {
+        return stationsById.get(id);
+    }
+
+    /**
+     * Syncs with the backend unless a sync ran recently.
+     */
+    public void refresh() {
+        executor.execute(() -> sync(false));
+    }
+
+    /**
+     * Syncs with the backend regardless of when the last sync ran.
+     */
+    public void forceRefresh() {
+        executor.execute(() -> sync(true));
+    }
+
+    private void loadFromDisk() {
+        StationCatalogStore.Snapshot snapshot = store.read();
+        cursor = snapshot.cursor;
+        fullSyncAt = snapshot.fullSyncAt;
+        publish(snapshot.stations);
+        Log.d(TAG, "Loaded " + snapshot.stations.size() + " stations from disk");
+    }
+
+    private void sync(boolean force) {
+        long now = SystemClock.elapsedRealtime();
+        if (!force && lastRefreshAt >= 0 && now - lastRefreshAt < MIN_REFRESH_INTERVAL_MS) {
+            return;
+        }
+        lastRefreshAt = now;
+
+        try {
+            ApiService api = ApiClient.getRetrofit(appContext).create(ApiService.class);
+            long wallClock = System.currentTimeMillis();
+            boolean delta = cursor != null && !stations.isEmpty() && !fullResyncDue(fullSyncAt, wallClock);
+            Response<List<Station>> response = delta
+                    ? api.getStationsUpdatedSince(cursor).execute()
+                    : api.getStations().execute();
+
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.d(TAG, "Station sync failed, code: " + response.code());
+                return;
+            }
+
+            List<Station> fetched = response.body();
+            if (delta && fetched.isEmpty()) {
+                return; // nothing changed since the cursor
+            }
+
+            // A full fetch replaces the catalog, dropping stations the backend no longer has
+            List<Station> merged = delta ? merge(stations, fetched) : new ArrayList<>(fetched);
+            String newCursor = maxUpdatedAt(delta ? cursor : null, fetched);
+            long newFullSyncAt = delta ? fullSyncAt : wallClock;
+            store.write(merged, newCursor, newFullSyncAt);
+            cursor = newCursor;
+            fullSyncAt = newFullSyncAt;
+            publish(merged);
+            Log.d(TAG, "Station sync applied " + fetched.size() + " changes (delta=" + delta + ")");
+        } catch (IOException e) {
+            // Offline or write failure: keep serving the local catalog
+            Log.w(TAG, "Station sync error: " + e.getMessage());
+        }
+    }
+
+    // Also due when the clock moved backwards past the last full sync
+    static boolean fullResyncDue(long fullSyncAt, long now) {
+        return fullSyncAt <= 0 || now < fullSyncAt || now - fullSyncAt >= FULL_RESYNC_INTERVAL_MS;
+    }
+
+    private static List<Station> merge(List<Station> current, List<Station> changes) {
+        Map<Integer, Station> byId = new LinkedHashMap<>();
+        for (Station station : current) byId.put(station.id, station);
+        for (Station station : changes) byId.put(station.id, station);
+        return new ArrayList<>(byId.values());
+    }
+
+    private static String maxUpdatedAt(String start, List<Station> stations) {
+        // ISO-8601 UTC timestamps from the backend compare correctly as strings
+        String max = start;
+        for (Station station : stations) {
+            if (station.updatedAt != null && (max == null || station.updatedAt.compareTo(max) > 0)) {
+                max = station.updatedAt;
+            }
+        }
+        return max;
+    }
+
+    private void publish(List<Station> newStations) {
+        List<Station> snapshot = Collections.unmodifiableList(new ArrayList<>(newStations));
+        Map<Integer, Station> index = new HashMap<>(snapshot.size() * 2);
+        for (Station station : snapshot) index.put(station.id, station);
+
+        stationsById = index;
+        stations = snapshot;
+        loaded = true;
+
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) listener.onStationsChanged(snapshot);
+        });
+    }
+}
@@ -0,0 +1,324 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.Station;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable search index over station names and cities for the From/To autocomplete.
+ *
+ * Every word of a station's name and city (plus the full name) is folded into a phonetic key
+ * and stored in one sorted array, so a prefix lookup is a binary search followed by a short scan.
+ * Folding makes common romanisation variants match each other (e.g. "Chattogram"/"Chottogram",
+ * "Sylhet"/"Silhet"). When prefix matches are not enough to fill the result, keys within a small
+ * edit distance of the query are added, so typos and remaining spelling variants still match.
+ *
+ * Build once per catalog; instances are safe to query from any thread.
+ */
+public final class StationSearchIndex {
+
+    // Scores: lower is better
+    private static final int SCORE_EXACT_NAME = 0;
+    private static final int SCORE_NAME_PREFIX = 1;
+    private static final int SCORE_NAME_WORD_PREFIX = 2;
+    private static final int SCORE_CITY_PREFIX = 3;
+    private static final int SCORE_FUZZY = 4;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    // Entry kinds
+    private static final byte KIND_FULL_NAME = 0;
+    private static final byte KIND_NAME_WORD = 1;
+    private static final byte KIND_CITY_WORD = 2;
+
+    private final List<Station> stations;
+    private final String[] keys;   // sorted folded keys
+    private final int[] owners;    // station index per key
+    private final byte[] kinds;    // entry kind per key
+
+    private StationSearchIndex(List<Station> stations, String[] keys, int[] owners, byte[] kinds) {
+        this.stations = stations;
+        this.keys = keys;
+        this.owners = owners;
+        this.kinds = kinds;
+    }
+
+    /**
+     * Builds an index over the given stations. Null stations and names are skipped.
+     */
+    public static StationSearchIndex build(List<Station> source) {
+        List<Station> stations = new ArrayList<>(source.size());
+        for (Station station : source) {
+            if (station != null && station.name != null) stations.add(station);
+        }
+
+        List<Entry> entries = new ArrayList<>(stations.size() * 3);
+        for (int i = 0; i < stations.size(); i++) {
+            Station station = stations.get(i);
+            String fullName = fold(station.name);
+            if (!fullName.isEmpty()) entries.add(new Entry(fullName, i, KIND_FULL_NAME));
+            addWords(entries, station.name, i, KIND_NAME_WORD, fullName);
+            if (station.city != null) addWords(entries, station.city, i, KIND_CITY_WORD, null);
+        }
+        Collections.sort(entries);
+
+        int n = entries.size();
+        String[] keys = new String[n];
+        int[] owners = new int[n];
+        byte[] kinds = new byte[n];
+        for (int i = 0; i < n; i++) {
+            Entry e = entries.get(i);
+            keys[i] = e.key;
+            owners[i] = e.owner;
+            kinds[i] = e.kind;
+        }
+        return new StationSearchIndex(Collections.unmodifiableList(stations), keys, owners, kinds);
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    /**
+     * Returns all indexed stations in catalog order.
+     */
+    public List<Station> all() {
+        return stations;
+    }
+
+    /**
+     * Returns up to {@code limit} stations that best match the query.
+     * An empty query returns the first {@code limit} stations in catalog order.
+     */
+    public List<Station> search(CharSequence query, int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        String q = query == null ? "" : fold(query.toString());
+        if (q.isEmpty()) {
+            return new ArrayList<>(stations.subList(0, Math.min(limit, stations.size())));
+        }
+
+        int[] best = new int[stations.size()];
+        Arrays.fill(best, NO_MATCH);
+        int matched = collectPrefixMatches(q, best);
+        if (matched < limit) {
+            collectFuzzyMatches(q, best);
+        }
+        return topK(best, limit);
+    }
+
+    private int collectPrefixMatches(String q, int[] best) {
+        int matched = 0;
+        for (int i = lowerBound(q); i < keys.length && keys[i].startsWith(q); i++) {
+            int owner = owners[i];
+            int score = scoreFor(kinds[i], keys[i].length() == q.length());
+            if (best[owner] == NO_MATCH) matched++;
+            if (score < best[owner]) best[owner] = score;
+        }
+        return matched;
+    }
+
+    private void collectFuzzyMatches(String q, int[] best) {
+        // Too short to tell a typo from a different word
+        if (q.length() < 3) return;
+        int maxEdits = q.length() <= 5 ? 1 : 2;
+        int width = q.length() + maxEdits + 1;
+        int[][] rows = new int[3][width];
+        char first = q.charAt(0);
+        for (int i = 0; i < keys.length; i++) {
+            int owner = owners[i];
+            if (best[owner] <= SCORE_FUZZY) continue;
+            String key = keys[i];
+            // Typos in the first letter are rare; checking it skips most keys cheaply
+            if (key.charAt(0) != first && (key.length() < 2 || key.charAt(1) != first)) continue;
+            if (prefixDistance(q, key, maxEdits, rows) <= maxEdits) {
+                best[owner] = SCORE_FUZZY;
+            }
+        }
+    }
+
+    private List<Station> topK(int[] best, int limit) {
+        // Bucket by score, keep catalog order within a bucket, shorter names first
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < best.length; i++) {
+            if (best[i] != NO_MATCH) hits.add(i);
+        }
+        Collections.sort(hits, (a, b) -> {
+            if (best[a] != best[b]) return best[a] - best[b];
+            int la = stations.get(a).name.length();
+            int lb = stations.get(b).name.length();
+            if (la != lb) return la - lb;
+            return a - b;
+        });
+
+        int n = Math.min(limit, hits.size());
+        List<Station> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(stations.get(hits.get(i)));
+        return result;
+    }
+
+    private static int scoreFor(byte kind, boolean exact) {
+        switch (kind) {
+            case KIND_FULL_NAME:
+                return exact ? SCORE_EXACT_NAME : SCORE_NAME_PREFIX;
+            case KIND_NAME_WORD:
+                return SCORE_NAME_WORD_PREFIX;
+            default:
+                return SCORE_CITY_PREFIX;
+        }
+    }
+
+    private int lowerBound(String q) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Smallest edit distance between {@code q} and any prefix of {@code key}, with early exit
+     * once it exceeds {@code max}. Adjacent transpositions count as one edit.
+     * {@code rows} holds three scratch rows of at least {@code q.length() + max + 1} ints.
+     */
+    static int prefixDistance(String q, String key, int max, int[][] rows) {
+        int n = q.length();
+        int m = Math.min(key.length(), n + max);
+        if (m < n - max) return max + 1;
+
+        int[] prevPrev = rows[0];
+        int[] prev = rows[1];
+        int[] cur = rows[2];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            char qc = q.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char kc = key.charAt(j - 1);
+                int cost = qc == kc ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && qc == key.charAt(j - 2) && q.charAt(i - 2) == kc) {
+                    v = Math.min(v, prevPrev[j - 2] + 1);
+                }
+                cur[j] = v;
+                if (v < rowMin) rowMin = v;
+            }
+            if (rowMin > max) return max + 1;
+            int[] tmp = prevPrev;
+            prevPrev = prev;
+            prev = cur;
+            cur = tmp;
+        }
+
+        // Query fully consumed; best match ends anywhere in the key prefix
+        int result = max + 1;
+        for (int j = 0; j <= m; j++) result = Math.min(result, prev[j]);
+        return result;
+    }
+
+    /**
+     * Folds text into a search key: lowercase, no diacritics or punctuation, and common
+     * romanisation variants collapsed (aspirated consonants, doubled letters, a/o, i/y, etc.).
+     */
+    static String fold(String text) {
+        String s = isAscii(text) ? text.toLowerCase(Locale.ROOT)
+                : Normalizer.normalize(text, Normalizer.Form.NFD)
+                        .replaceAll("\\p{M}+", "")
+                        .toLowerCase(Locale.ROOT);
+
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                out.append(c);
+                continue;
+            }
+            if (c < 'a' || c > 'z') {
+                // Keep a single space between words; drop other punctuation
+                if (Character.isWhitespace(c) || c == '-' || c == '_') appendSpace(out);
+                continue;
+            }
+            char next = i + 1 < s.length() ? s.charAt(i + 1) : 0;
+
+            // Aspirated consonants: kh, gh, ch, jh, th, dh, ph, bh, sh -> base letter
+            if (next == 'h' && "kgcjtdpbs".indexOf(c) >= 0) {
+                i++;
+                if (c == 'p') c = 'f';
+            }
+
+            c = foldLetter(c);
+            int len = out.length();
+            // Collapse doubled letters ("jessore" == "jesore")
+            if (len > 0 && out.charAt(len - 1) == c) continue;
+            out.append(c);
+        }
+        int len = out.length();
+        if (len > 0 && out.charAt(len - 1) == ' ') out.setLength(len - 1);
+        return out.toString();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) return false;
+        }
+        return true;
+    }
+
+    private static char foldLetter(char c) {
+        switch (c) {
+            case 'o':
+                return 'a';     // Chottogram / Chattogram
+            case 'y':
+            case 'e':
+                return 'i';     // Sylhet / Silhet
+            case 'w':
+                return 'v';
+            case 'z':
+                return 'j';
+            case 'q':
+                return 'k';
+            default:
+                return c;
+        }
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        int len = out.length();
+        if (len > 0 && out.charAt(len - 1) != ' ') out.append(' ');
+    }
+
+    private static void addWords(List<Entry> entries, String text, int owner, byte kind, String skip) {
+        String folded = fold(text);
+        if (folded.isEmpty()) return;
+        String[] words = folded.split(" ");
+        // Single-word names are already covered by the full-name entry
+        if (words.length == 1 && folded.equals(skip)) return;
+        for (String word : words) {
+            if (!word.isEmpty()) entries.add(new Entry(word, owner, kind));
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final String key;
+        final int owner;
+        final byte kind;
+
+        Entry(String key, int owner, byte kind) {
+            this.key = key;
+            this.owner = owner;
+            this.kind = kind;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return key.compareTo(other.key);
+        }
+    }
+}
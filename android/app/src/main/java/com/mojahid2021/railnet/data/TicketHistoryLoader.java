@@ -0,0 +1,136 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.mojahid2021.railnet.model.TicketHistoryPage;
+import com.mojahid2021.railnet.model.UserTicket;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Loads the ticket history page by page as the list scrolls, keeping at most
+ * {@link #MAX_PAGES} pages in memory (see {@link TicketWindow}).
+ *
+ * The first page comes from {@link TicketRepository}, which keeps it on disk and revalidates it;
+ * pass it in with {@link #onFirstPage}. Every other page loaded is handed to the repository to
+ * keep, and when the backend cannot be reached the stored copy of a page is shown instead. One
+ * request runs at a time. Use from the main thread only.
+ */
+public final class TicketHistoryLoader {
+
+    private static final String TAG = "TicketHistoryLoader";
+    static final int MAX_PAGES = 8;
+
+    /**
+     * Receives the tickets in the window whenever it changes. Called on the main thread.
+     */
+    public interface Listener {
+        void onWindowChanged(List<UserTicket> tickets);
+
+        void onPageFailed(boolean networkError);
+    }
+
+    private final ApiService api;
+    private final TicketRepository repository;
+    private final Listener listener;
+    private final TicketWindow window = new TicketWindow(MAX_PAGES);
+    private Call<TicketHistoryPage> inFlight;
+
+    public TicketHistoryLoader(Context context, Listener listener) {
+        this.api = ApiClient.getRetrofit(context).create(ApiService.class);
+        this.repository = TicketRepository.getInstance(context);
+        this.listener = listener;
+    }
+
+    /**
+     * Applies the first page published by the repository. Ignored while the user is scrolled far
+     * enough down that the first page has left the window.
+     */
+    public void onFirstPage(List<UserTicket> tickets, String nextCursor) {
+        if (window.updateFirstPage(tickets, nextCursor)) {
+            listener.onWindowChanged(window.getItems());
+        }
+    }
+
+    public boolean hasNewer() {
+        return window.hasNewer();
+    }
+
+    public boolean hasOlder() {
+        return window.hasOlder();
+    }
+
+    /**
+     * Loads the page below the window, unless a request is running or there is none.
+     */
+    public void loadOlder() {
+        if (inFlight != null || !window.hasOlder()) return;
+        load(window.olderCursor(), true);
+    }
+
+    /**
+     * Loads the page above the window that was dropped earlier, unless a request is running.
+     */
+    public void loadNewer() {
+        if (inFlight != null || !window.hasNewer()) return;
+        load(window.newerCursor(), false);
+    }
+
+    /**
+     * Cancels a running request. Call from onDestroy.
+     */
+    public void cancel() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+
+    private void load(String cursor, boolean older) {
+        Call<TicketHistoryPage> call = api.getTicketHistory(TicketRepository.PAGE_SIZE, cursor);
+        inFlight = call;
+        call.enqueue(new Callback<TicketHistoryPage>() {
+            @Override
+            public void onResponse(Call<TicketHistoryPage> call, Response<TicketHistoryPage> response) {
+                if (call != inFlight) return;
+                inFlight = null;
+                TicketHistoryPage page = response.body();
+                if (!response.isSuccessful() || page == null) {
+                    Log.w(TAG, "Ticket page failed, code: " + response.code());
+                    listener.onPageFailed(false);
+                    return;
+                }
+                repository.savePage(cursor, page);
+                apply(cursor, older, page.items, page.nextCursor);
+            }
+
+            @Override
+            public void onFailure(Call<TicketHistoryPage> call, Throwable t) {
+                if (call != inFlight) return;
+                inFlight = null;
+                if (!call.isCanceled()) {
+                    Log.w(TAG, "Ticket page error: " + t.getMessage());
+                    TicketStore.Page stored = repository.getStoredPage(cursor);
+                    if (stored != null) apply(cursor, older, stored.tickets, stored.nextCursor);
+                    listener.onPageFailed(true);
+                }
+            }
+        });
+    }
+
+    private void apply(String cursor, boolean older, List<UserTicket> items, String nextCursor) {
+        boolean applied = older
+                ? window.appendOlder(cursor, items, nextCursor)
+                : window.prependNewer(cursor, items, nextCursor);
+        if (applied) {
+            listener.onWindowChanged(window.getItems());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.mojahid2021.railnet.util.QrCodeRenderer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * QR codes for tickets: module matrices keyed by ticketId, bitmaps keyed by ticketId and pixel size.
+ *
+ * - Memory: an LRU of recently used bitmaps, bounded by bytes, and one of encoded matrices
+ * - Disk: PNGs under the app cache directory, so reopening a ticket never re-encodes it
+ * - Misses are encoded once with {@link QrCodeRenderer} and written through to both
+ *
+ * Bitmaps handed out are shared; callers must not recycle or modify them.
+ */
+public final class TicketQrCache {
+
+    private static final String TAG = "TicketQrCache";
+    private static final String DIR = "ticket_qr";
+    private static final int MEMORY_BYTES = 4 * 1024 * 1024;
+    private static final int MAX_MATRICES = 64;
+
+    private static volatile TicketQrCache instance;
+
+    /**
+     * Receives a QR bitmap, or null if the code could not be generated. Called on the main thread.
+     */
+    public interface Callback {
+        void onQrReady(@Nullable Bitmap qr);
+    }
+
+    private final File dir;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, BitMatrix> matrices = new LruCache<>(MAX_MATRICES);
+    private final LruCache<String, Bitmap> memory = new LruCache<String, Bitmap>(MEMORY_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    private TicketQrCache(Context context) {
+        dir = new File(context.getApplicationContext().getCacheDir(), DIR);
+    }
+
+    public static TicketQrCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TicketQrCache.class) {
+                if (instance == null) {
+                    instance = new TicketQrCache(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * The bitmap if it is in memory, without touching the disk.
+     */
+    @Nullable
+    public Bitmap peek(String ticketId, int sizePx) {
+        return memory.get(key(ticketId, sizePx));
+    }
+
+    /**
+     * Looks up or generates the bitmap on a background thread.
+     */
+    public void load(String ticketId, int sizePx, Callback callback) {
+        Bitmap cached = peek(ticketId, sizePx);
+        if (cached != null) {
+            callback.onQrReady(cached);
+            return;
+        }
+        executor.execute(() -> {
+            Bitmap qr = get(ticketId, sizePx);
+            mainHandler.post(() -> callback.onQrReady(qr));
+        });
+    }
+
+    /**
+     * Looks up or generates the bitmap on the calling thread; may read, encode and write a file.
+     */
+    @Nullable
+    public Bitmap get(String ticketId, int sizePx) {
+        String key = key(ticketId, sizePx);
+        Bitmap qr = memory.get(key);
+        if (qr != null) return qr;
+
+        File file = new File(dir, fileName(key));
+        if (file.isFile()) {
+            qr = BitmapFactory.decodeFile(file.getPath());
+            if (qr == null) file.delete();
+        }
+        if (qr == null) {
+            qr = render(ticketId, sizePx);
+            if (qr == null) return null;
+            writeToDisk(file, qr);
+        }
+        memory.put(key, qr);
+        return qr;
+    }
+
+    /**
+     * The module matrix for a ticket, encoded at most once while it stays in memory. For vector
+     * drawing; callers must not modify it.
+     */
+    @Nullable
+    public BitMatrix getModules(String ticketId) {
+        BitMatrix modules = matrices.get(ticketId);
+        if (modules != null) return modules;
+        try {
+            modules = QrCodeRenderer.encode(ticketId);
+        } catch (WriterException | IllegalArgumentException e) {
+            Log.e(TAG, "QR encoding failed", e);
+            return null;
+        }
+        matrices.put(ticketId, modules);
+        return modules;
+    }
+
+    @Nullable
+    private Bitmap render(String ticketId, int sizePx) {
+        BitMatrix modules = getModules(ticketId);
+        if (modules == null) return null;
+        try {
+            int[] pixels = QrCodeRenderer.toPixels(modules, sizePx, Color.BLACK, Color.WHITE);
+            Bitmap bitmap = Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888);
+            bitmap.setPixels(pixels, 0, sizePx, 0, 0, sizePx, sizePx);
+            return bitmap;
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "QR generation failed", e);
+            return null;
+        }
+    }
+
+    // Write to a temp file and rename, so a crash never leaves a truncated PNG behind
+    private void writeToDisk(File file, Bitmap qr) {
+        if (!dir.isDirectory() && !dir.mkdirs()) return;
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            qr.compress(Bitmap.CompressFormat.PNG, 100, out);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to cache QR: " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) tmp.delete();
+    }
+
+    private static String key(String ticketId, int sizePx) {
+        return ticketId + '@' + sizePx;
+    }
+
+    // Ticket ids may contain characters that are not safe in file names
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2 + 4);
+            for (byte b : digest) sb.append(String.format("%02x", b));
+            return sb.append(".png").toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.mojahid2021.railnet.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonParseException;
+import com.mojahid2021.railnet.model.TicketHistoryPage;
+import com.mojahid2021.railnet.model.UserTicket;
+import com.mojahid2021.railnet.network.ApiClient;
+import com.mojahid2021.railnet.network.ApiService;
+import com.mojahid2021.railnet.network.BookingResponse;
+import com.mojahid2021.railnet.network.ModelAdapters;
+import com.mojahid2021.railnet.network.TokenStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Response;
+
+/**
+ * Local copy of the signed-in user's tickets, revalidated against the backend (stale-while-revalidate).
+ *
+ * - Loads the persisted tickets from disk on a background thread, so MyTicketsActivity can render
+ *   them before any network call
+ * - Syncs the newest {@link #PAGE_SIZE} tickets; {@link TicketHistoryLoader} pages through the rest
+ *   online and hands every page it loads to {@link #savePage}, which keeps the
+ *   {@link #MAX_STORED_PAGES} most recently loaded ones on disk for offline use
+ * - Syncs with GET /tickets/history in the background and keeps the previous instance of every ticket whose
+ *   status and updatedAt did not change, so the list adapter only rebinds rows that really changed
+ * - Keeps the GET /tickets/:id detail of every stored ticket for offline printing, dropping it when
+ *   the ticket changes and fetching missing ones after each sync or saved page,
+ *   {@link #DETAIL_FETCH_THREADS} at a time
+ * - Data is tied to the signed-in user's id, so a new token for the same user (login again) keeps
+ *   it; when another user signs in, what is on disk is discarded and replaced
+ *
+ * Listeners are called on the main thread.
+ */
+public final class TicketRepository {
+
+    private static final String TAG = "TicketRepository";
+    private static final String TICKETS_FILE = "tickets.bin";
+
+    /** Tickets per page of GET /tickets/history. */
+    public static final int PAGE_SIZE = 25;
+
+    /** Older history pages kept on disk besides the first; the least recently loaded go first. */
+    static final int MAX_STORED_PAGES = 20;
+
+    static final int DETAIL_FETCH_THREADS = 4;
+
+    private static volatile TicketRepository instance;
+
+    /**
+     * Receives ticket list changes and sync failures. Always called on the main thread.
+     */
+    public interface Listener {
+        /**
+         * @param tickets the full ticket list
+         * @param synced  true if the list was just confirmed by the backend, false if it came from disk
+         */
+        void onTicketsChanged(List<UserTicket> tickets, boolean synced);
+
+        /**
+         * @param networkError true if the backend could not be reached, false if it answered with an error
+         */
+        void onSyncFailed(boolean networkError);
+    }
+
+    private final Context appContext;
+    private final TicketStore store;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService detailExecutor = Executors.newFixedThreadPool(DETAIL_FETCH_THREADS);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Published snapshot, replaced as a whole
+    private volatile List<UserTicket> tickets = Collections.emptyList();
+    private volatile String nextCursor;
+    private volatile Map<String, TicketStore.Page> pages = Collections.emptyMap(); // by cursor, least recently loaded first
+    private volatile boolean loaded = false;
+    private final Map<String, BookingResponse> details = new ConcurrentHashMap<>();
+
+    // Tickets whose detail is being fetched, so a sync does not start the same fetch twice
+    private final Set<String> detailsInFlight = ConcurrentHashMap.newKeySet();
+
+    // Confined to the executor thread
+    private String owner;
+    private boolean persistQueued;
+
+    private TicketRepository(Context context) {
+        appContext = context.getApplicationContext();
+        store = new TicketStore(new File(appContext.getFilesDir(), TICKETS_FILE));
+        executor.execute(this::loadFromDisk);
+    }
+
+    public static TicketRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TicketRepository.class) {
+                if (instance == null) {
+                    instance = new TicketRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a listener. If tickets are already loaded the listener receives them right away.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        if (loaded) {
+            List<UserTicket> snapshot = tickets;
+            mainHandler.post(() -> {
+                if (listeners.contains(listener)) listener.onTicketsChanged(snapshot, false);
+            });
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * True once the local copy has been read from disk.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Newest tickets, the first page of the history (may be empty before the first load completes).
+     */
+    public List<UserTicket> getTickets() {
+        return tickets;
+    }
+
+    /**
+     * Cursor of the history page after {@link #getTickets()}, or null if there are no older tickets.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Stored copy of the history page fetched with {@code cursor}, the first page for a null cursor,
+     * or null if that page was never loaded. For showing the history while offline.
+     */
+    @Nullable
+    public TicketStore.Page getStoredPage(@Nullable String cursor) {
+        if (cursor == null) return loaded ? new TicketStore.Page(null, nextCursor, tickets) : null;
+        return pages.get(cursor);
+    }
+
+    /**
+     * Keeps a history page below the first, fetched with {@code cursor}, for offline use and
+     * fetches the details of its tickets.
+     */
+    public void savePage(String cursor, TicketHistoryPage page) {
+        if (cursor == null || page == null) return;
+        List<UserTicket> fetched = page.items != null ? page.items : Collections.emptyList();
+        executor.execute(() -> {
+            if (owner == null) return;
+            TicketStore.Page previous = pages.get(cursor);
+            List<UserTicket> merged = reconcile(
+                    previous != null ? previous.tickets : Collections.emptyList(), fetched, details);
+
+            Map<String, TicketStore.Page> updated = new LinkedHashMap<>(pages);
+            updated.remove(cursor); // Re-inserted last, as the most recently loaded
+            updated.put(cursor, new TicketStore.Page(cursor, page.nextCursor, Collections.unmodifiableList(merged)));
+            Iterator<String> eldest = updated.keySet().iterator();
+            while (updated.size() > MAX_STORED_PAGES) {
+                eldest.next();
+                eldest.remove();
+            }
+            pages = Collections.unmodifiableMap(updated);
+            retainDetails(details, tickets, pages.values());
+            persist();
+
+            fetchMissingDetails(merged);
+        });
+    }
+
+    /**
+     * Stored GET /tickets/:id response for a ticket, or null if there is none for its current version.
+     */
+    @Nullable
+    public BookingResponse getTicketDetail(String ticketId) {
+        return ticketId != null ? details.get(ticketId) : null;
+    }
+
+    /**
+     * Keeps a freshly fetched GET /tickets/:id response for offline use.
+     */
+    public void saveTicketDetail(String ticketId, BookingResponse detail) {
+        if (ticketId == null || detail == null || detail == details.get(ticketId)) return;
+        details.put(ticketId, detail);
+        executor.execute(this::persist);
+    }
+
+    /**
+     * Revalidates the local copy against the backend.
+     */
+    public void refresh() {
+        executor.execute(this::sync);
+    }
+
+    private void loadFromDisk() {
+        owner = currentOwner();
+        TicketStore.Snapshot snapshot = store.readFor(owner);
+        for (Map.Entry<String, String> entry : snapshot.details.entrySet()) {
+            try {
+                BookingResponse detail = ModelAdapters.gson().fromJson(entry.getValue(), BookingResponse.class);
+                if (detail != null) details.put(entry.getKey(), detail);
+            } catch (JsonParseException e) {
+                Log.w(TAG, "Dropping invalid ticket detail " + entry.getKey());
+            }
+        }
+        Map<String, TicketStore.Page> stored = new LinkedHashMap<>();
+        for (TicketStore.Page page : snapshot.pages) stored.put(page.cursor, page);
+        pages = Collections.unmodifiableMap(stored);
+        publish(snapshot.tickets, snapshot.nextCursor, false);
+        Log.d(TAG, "Loaded " + snapshot.tickets.size() + " tickets and " + stored.size() + " older pages from disk");
+    }
+
+    private void sync() {
+        String current = currentOwner();
+        if (!Objects.equals(current, owner)) {
+            // Someone else signed in, or the token is gone, since the local copy was loaded
+            owner = current;
+            details.clear();
+            pages = Collections.emptyMap();
+            store.delete();
+            publish(Collections.emptyList(), null, false);
+        }
+        if (current == null) {
+            return; // Not signed in; the tickets call would only fail
+        }
+
+        TicketHistoryPage page;
+        try {
+            ApiService api = ApiClient.getRetrofit(appContext).create(ApiService.class);
+            Response<TicketHistoryPage> response = api.getTicketHistory(PAGE_SIZE, null).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.w(TAG, "Ticket sync failed, code: " + response.code());
+                notifySyncFailed(false);
+                return;
+            }
+            page = response.body();
+        } catch (IOException e) {
+            Log.w(TAG, "Ticket sync error: " + e.getMessage());
+            notifySyncFailed(true);
+            return;
+        } catch (JsonParseException e) {
+            Log.e(TAG, "Failed to parse tickets: " + e.getMessage(), e);
+            notifySyncFailed(false);
+            return;
+        }
+
+        List<UserTicket> fetched = page.items != null ? page.items : Collections.emptyList();
+        List<UserTicket> merged = reconcile(tickets, fetched, details);
+        retainDetails(details, merged, pages.values());
+        persist(merged, page.nextCursor);
+        publish(merged, page.nextCursor, true);
+        Log.d(TAG, "Ticket sync: " + merged.size() + " tickets");
+
+        fetchMissingDetails(merged);
+    }
+
+    /**
+     * Keeps the old instance of every unchanged ticket and drops the details of changed ones from
+     * {@code details}. Details of tickets missing from {@code fetched} are left alone, as those may
+     * have moved to another page; see {@link #retainDetails}.
+     */
+    static List<UserTicket> reconcile(List<UserTicket> current, List<UserTicket> fetched,
+                                      Map<String, BookingResponse> details) {
+        Map<String, UserTicket> previous = new HashMap<>(current.size() * 2);
+        for (UserTicket ut : current) {
+            String id = ticketId(ut);
+            if (id != null) previous.put(id, ut);
+        }
+
+        List<UserTicket> merged = new ArrayList<>(fetched.size());
+        for (UserTicket ut : fetched) {
+            String id = ticketId(ut);
+            UserTicket old = id != null ? previous.get(id) : null;
+            if (old != null && sameVersion(old, ut)) {
+                merged.add(old);
+            } else {
+                merged.add(ut);
+                if (id != null) details.remove(id);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Drops from {@code details} every ticket that is neither on the first page nor on a stored page.
+     */
+    static void retainDetails(Map<String, BookingResponse> details, List<UserTicket> firstPage,
+                              Collection<TicketStore.Page> storedPages) {
+        Set<String> kept = new HashSet<>();
+        for (UserTicket ut : firstPage) kept.add(ticketId(ut));
+        for (TicketStore.Page page : storedPages) {
+            for (UserTicket ut : page.tickets) kept.add(ticketId(ut));
+        }
+        details.keySet().retainAll(kept);
+    }
+
+    private static boolean sameVersion(UserTicket a, UserTicket b) {
+        // updatedAt moves with every write on the backend; status is compared as well for
+        // backends that predate updatedAt in the list response
+        return a.ticket != null && b.ticket != null
+                && Objects.equals(a.ticket.updatedAt, b.ticket.updatedAt)
+                && Objects.equals(a.ticket.status, b.ticket.status)
+                && Objects.equals(a.ticket.paymentStatus, b.ticket.paymentStatus);
+    }
+
+    // Fetches GET /tickets/:id for tickets without a stored detail, so they can be printed offline.
+    // Runs on detailExecutor; results are applied on the executor thread, where they cannot race a sync
+    private void fetchMissingDetails(List<UserTicket> list) {
+        ApiService api = ApiClient.getRetrofit(appContext).create(ApiService.class);
+        AtomicBoolean offline = new AtomicBoolean();
+        for (UserTicket ut : list) {
+            String id = ticketId(ut);
+            if (id == null || details.containsKey(id) || !detailsInFlight.add(id)) continue;
+            detailExecutor.execute(() -> {
+                try {
+                    if (offline.get()) return; // Try again on the next sync
+                    Response<BookingResponse> response = api.getTicketById(id).execute();
+                    BookingResponse detail = response.body();
+                    if (!response.isSuccessful() || detail == null) return;
+                    executor.execute(() -> applyDetail(ut, id, detail));
+                } catch (IOException e) {
+                    if (!offline.getAndSet(true)) Log.w(TAG, "Ticket detail fetch stopped: " + e.getMessage());
+                } catch (JsonParseException e) {
+                    Log.w(TAG, "Invalid ticket detail " + id + ": " + e.getMessage());
+                } finally {
+                    detailsInFlight.remove(id);
+                }
+            });
+        }
+    }
+
+    // Keeps a fetched detail if its ticket is still the published or stored version; reconcile()
+    // replaces the instance of every ticket that changed
+    private void applyDetail(UserTicket ut, String id, BookingResponse detail) {
+        if (containsInstance(tickets, ut)) {
+            details.put(id, detail);
+            schedulePersist();
+            return;
+        }
+        for (TicketStore.Page page : pages.values()) {
+            if (containsInstance(page.tickets, ut)) {
+                details.put(id, detail);
+                schedulePersist();
+                return;
+            }
+        }
+    }
+
+    private static boolean containsInstance(List<UserTicket> list, UserTicket ut) {
+        for (UserTicket current : list) {
+            if (current == ut) return true;
+        }
+        return false;
+    }
+
+    // Writes once for all details applied before the write runs. Call on the executor thread
+    private void schedulePersist() {
+        if (persistQueued) return;
+        persistQueued = true;
+        executor.execute(() -> {
+            persistQueued = false;
+            persist();
+        });
+    }
+
+    private void persist() {
+        persist(tickets, nextCursor);
+    }
+
+    private void persist(List<UserTicket> list, String cursor) {
+        if (owner == null) return;
+        try {
+            // Stored as JSON so the file format does not depend on the model classes
+            Map<String, String> json = new HashMap<>(details.size() * 2);
+            for (Map.Entry<String, BookingResponse> entry : details.entrySet()) {
+                json.put(entry.getKey(), ModelAdapters.gson().toJson(entry.getValue()));
+            }
+            store.write(owner, cursor, list, new ArrayList<>(pages.values()), json);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to store tickets: " + e.getMessage());
+        }
+    }
+
+    private void publish(List<UserTicket> newTickets, String newNextCursor, boolean synced) {
+        List<UserTicket> snapshot = Collections.unmodifiableList(new ArrayList<>(newTickets));
+        nextCursor = newNextCursor;
+        tickets = snapshot;
+        loaded = true;
+
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) listener.onTicketsChanged(snapshot, synced);
+        });
+    }
+
+    private void notifySyncFailed(boolean networkError) {
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) listener.onSyncFailed(networkError);
+        });
+    }
+
+    // Identifies the signed-in user without keeping the token itself on disk. Tokens without a
+    // readable user id fall back to a digest of the token, i.e. the data is tied to that session
+    @Nullable
+    private String currentOwner() {
+        String token = TokenStore.getToken(appContext);
+        if (token == null) return null;
+        String userId = TokenStore.getUserId(appContext);
+        if (userId != null) return "user:" + userId;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) hex.append(String.format("%02x", b & 0xff));
+            return "token:" + hex;
+        } catch (NoSuchAlgorithmException e) {
+            return "token:" + Integer.toHexString(token.hashCode());
+        }
+    }
+
+    @Nullable
+    private static String ticketId(UserTicket ut) {
+        return ut != null && ut.ticket != null ? ut.ticket.ticketId : null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.UserTicket;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mojahid2021.railnet.data.AtomicBinaryFile.readNullableString;
+import static com.mojahid2021.railnet.data.AtomicBinaryFile.writeNullableString;
+
+/**
+ * Compact binary file holding the signed-in user's tickets and the detail JSON of
+ * GET /tickets/:id per ticket, so tickets can be shown and printed offline.
+ *
+ * Holds the first page of the ticket history and the older pages the user has scrolled to, each
+ * under the cursor it was fetched with.
+ *
+ * Layout after the {@link AtomicBinaryFile} header: owner, next page cursor, ticket count, one
+ * record per ticket, page count, one (cursor, next cursor, tickets) record per older page, detail
+ * count, then (ticketId, JSON) pairs. The owner identifies the user the data belongs to;
+ * {@link #readFor(String)} discards a file written for anyone else.
+ */
+public class TicketStore {
+
+    private static final int MAGIC = 0x52544B31; // "RTK1"
+    private static final int VERSION = 3;
+
+    private final AtomicBinaryFile file;
+
+    public TicketStore(File file) {
+        this.file = new AtomicBinaryFile(file, MAGIC, VERSION);
+    }
+
+    /**
+     * One page of the ticket history below the first.
+     */
+    public static class Page {
+        public final String cursor;     // cursor the page was fetched with
+        public final String nextCursor; // cursor of the following page; null on the last page
+        public final List<UserTicket> tickets;
+
+        public Page(String cursor, String nextCursor, List<UserTicket> tickets) {
+            this.cursor = cursor;
+            this.nextCursor = nextCursor;
+            this.tickets = tickets;
+        }
+    }
+
+    /**
+     * Snapshot of what is stored on disk.
+     */
+    public static class Snapshot {
+        public final String owner;
+        public final String nextCursor; // cursor of the page after the first page
+        public final List<UserTicket> tickets; // first page
+        public final List<Page> pages; // older pages, least recently loaded first
+        public final Map<String, String> details; // ticketId -> GET /tickets/:id JSON
+
+        public Snapshot(String owner, String nextCursor, List<UserTicket> tickets, List<Page> pages,
+                        Map<String, String> details) {
+            this.owner = owner;
+            this.nextCursor = nextCursor;
+            this.tickets = tickets;
+            this.pages = pages;
+            this.details = details;
+        }
+    }
+
+    /**
+     * Reads whatever is on disk, for any owner. Empty when there is nothing usable.
+     */
+    public Snapshot read() {
+        return file.read(TicketStore::readTickets, new Snapshot(null, null, new ArrayList<>(), new ArrayList<>(), new HashMap<>()));
+    }
+
+    /**
+     * Reads the tickets stored for {@code owner}. A file written for another user, or read while
+     * nobody is signed in, is deleted and an empty snapshot returned, so one user's tickets never
+     * show up for the next.
+     */
+    public Snapshot readFor(String owner) {
+        Snapshot snapshot = read();
+        if (owner != null && owner.equals(snapshot.owner)) return snapshot;
+        if (snapshot.owner != null) delete();
+        return new Snapshot(owner, null, new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+    }
+
+    /**
+     * Replaces the store on disk.
+     */
+    public void write(String owner, String nextCursor, List<UserTicket> tickets, List<Page> pages,
+                      Map<String, String> details) throws IOException {
+        file.write(out -> {
+            writeNullableString(out, owner);
+            writeNullableString(out, nextCursor);
+            writeTickets(out, tickets);
+            out.writeInt(pages.size());
+            for (Page page : pages) {
+                out.writeUTF(page.cursor);
+                writeNullableString(out, page.nextCursor);
+                writeTickets(out, page.tickets);
+            }
+            out.writeInt(details.size());
+            for (Map.Entry<String, String> entry : details.entrySet()) {
+                out.writeUTF(entry.getKey());
+                byte[] json = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(json.length);
+                out.write(json);
+            }
+        });
+    }
+
+    /**
+     * Deletes the store, e.g. when another user signs in.
+     */
+    public void delete() {
+        file.delete();
+    }
+
+    private static Snapshot readTickets(DataInputStream in) throws IOException {
+        String owner = readNullableString(in);
+        String nextCursor = readNullableString(in);
+        List<UserTicket> tickets = readTicketList(in);
+        int pageCount = in.readInt();
+        List<Page> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            String cursor = in.readUTF();
+            pages.add(new Page(cursor, readNullableString(in), readTicketList(in)));
+        }
+        int detailCount = in.readInt();
+        Map<String, String> details = new HashMap<>(detailCount * 2);
+        for (int i = 0; i < detailCount; i++) {
+            String ticketId = in.readUTF();
+            byte[] json = new byte[in.readInt()];
+            in.readFully(json);
+            details.put(ticketId, new String(json, StandardCharsets.UTF_8));
+        }
+        return new Snapshot(owner, nextCursor, tickets, pages, details);
+    }
+
+    private static List<UserTicket> readTicketList(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<UserTicket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(readTicket(in));
+        }
+        return tickets;
+    }
+
+    private static void writeTickets(DataOutputStream out, List<UserTicket> tickets) throws IOException {
+        out.writeInt(tickets.size());
+        for (UserTicket ticket : tickets) {
+            writeTicket(out, ticket);
+        }
+    }
+
+    private static UserTicket readTicket(DataInputStream in) throws IOException {
+        UserTicket ut = new UserTicket();
+        if (in.readBoolean()) {
+            ut.ticket = new UserTicket.Ticket();
+            ut.ticket.id = in.readInt();
+            ut.ticket.ticketId = readNullableString(in);
+            ut.ticket.status = readNullableString(in);
+            ut.ticket.paymentStatus = readNullableString(in);
+            ut.ticket.createdAt = readNullableString(in);
+            ut.ticket.updatedAt = readNullableString(in);
+        }
+        if (in.readBoolean()) {
+            ut.journey = new UserTicket.Journey();
+            if (in.readBoolean()) {
+                ut.journey.train = new UserTicket.Journey.Train();
+                ut.journey.train.name = readNullableString(in);
+                ut.journey.train.number = readNullableString(in);
+            }
+            if (in.readBoolean()) {
+                ut.journey.route = new UserTicket.Journey.Route();
+                ut.journey.route.from = readNullableString(in);
+                ut.journey.route.to = readNullableString(in);
+            }
+            if (in.readBoolean()) {
+                ut.journey.schedule = new UserTicket.Journey.Schedule();
+                ut.journey.schedule.date = readNullableString(in);
+                ut.journey.schedule.departureTime = readNullableString(in);
+            }
+        }
+        if (in.readBoolean()) {
+            ut.seat = new UserTicket.Seat();
+            ut.seat.number = readNullableString(in);
+            ut.seat.compartment = readNullableString(in);
+        }
+        if (in.readBoolean()) {
+            ut.pricing = new UserTicket.Pricing();
+            ut.pricing.amount = in.readDouble();
+            ut.pricing.currency = readNullableString(in);
+        }
+        return ut;
+    }
+
+    private static void writeTicket(DataOutputStream out, UserTicket ut) throws IOException {
+        out.writeBoolean(ut.ticket != null);
+        if (ut.ticket != null) {
+            out.writeInt(ut.ticket.id);
+            writeNullableString(out, ut.ticket.ticketId);
+            writeNullableString(out, ut.ticket.status);
+            writeNullableString(out, ut.ticket.paymentStatus);
+            writeNullableString(out, ut.ticket.createdAt);
+            writeNullableString(out, ut.ticket.updatedAt);
+        }
+        out.writeBoolean(ut.journey != null);
+        if (ut.journey != null) {
+            out.writeBoolean(ut.journey.train != null);
+            if (ut.journey.train != null) {
+                writeNullableString(out, ut.journey.train.name);
+                writeNullableString(out, ut.journey.train.number);
+            }
+            out.writeBoolean(ut.journey.route != null);
+            if (ut.journey.route != null) {
+                writeNullableString(out, ut.journey.route.from);
+                writeNullableString(out, ut.journey.route.to);
+            }
+            out.writeBoolean(ut.journey.schedule != null);
+            if (ut.journey.schedule != null) {
+                writeNullableString(out, ut.journey.schedule.date);
+                writeNullableString(out, ut.journey.schedule.departureTime);
+            }
+        }
+        out.writeBoolean(ut.seat != null);
+        if (ut.seat != null) {
+            writeNullableString(out, ut.seat.number);
+            writeNullableString(out, ut.seat.compartment);
+        }
+        out.writeBoolean(ut.pricing != null);
+        if (ut.pricing != null) {
+            out.writeDouble(ut.pricing.amount);
+            writeNullableString(out, ut.pricing.currency);
+        }
+    }
+}
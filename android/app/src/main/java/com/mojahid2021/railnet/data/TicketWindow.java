@@ -0,0 +1,155 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.UserTicket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Memory-bounded window over the cursor-paginated ticket history (GET /tickets/history).
+ *
+ * The window holds at most {@code maxPages} consecutive pages. Loading an older page past the
+ * limit drops the newest page and remembers the cursor it was fetched with, so it can be fetched
+ * again when the user scrolls back up; loading a newer page drops the oldest one, which is simply
+ * fetched again from the cursor of the page before it.
+ *
+ * Results are matched against the cursor they were requested with and ignored when the window
+ * moved in the meantime. Not thread-safe; use it from one thread.
+ */
+public final class TicketWindow {
+
+    private static final class Page {
+        final String cursor;      // cursor this page was fetched with; null for the first page
+        final String nextCursor;  // cursor of the following page; null on the last page
+        final List<UserTicket> items;
+
+        Page(String cursor, String nextCursor, List<UserTicket> items) {
+            this.cursor = cursor;
+            this.nextCursor = nextCursor;
+            this.items = items != null ? items : Collections.emptyList();
+        }
+    }
+
+    private final int maxPages;
+    private final List<Page> pages = new ArrayList<>();
+    // Cursors of pages dropped from the top, most recently dropped last
+    private final List<String> droppedNewer = new ArrayList<>();
+    private List<UserTicket> flattened = Collections.emptyList();
+
+    public TicketWindow(int maxPages) {
+        if (maxPages < 2) throw new IllegalArgumentException("maxPages must be at least 2");
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Replaces the whole window with the first page of the history.
+     */
+    public void setFirstPage(List<UserTicket> items, String nextCursor) {
+        pages.clear();
+        droppedNewer.clear();
+        pages.add(new Page(null, nextCursor, items));
+        flatten();
+    }
+
+    /**
+     * Updates the first page (e.g. after a background sync) while the window still starts there.
+     * Older pages are kept only if the first page still ends at the same cursor; otherwise they
+     * could skip or repeat tickets and are dropped, to be fetched again.
+     *
+     * @return false if the window has scrolled past the first page and was left unchanged
+     */
+    public boolean updateFirstPage(List<UserTicket> items, String nextCursor) {
+        if (!droppedNewer.isEmpty()) return false;
+        if (pages.isEmpty() || !Objects.equals(pages.get(0).nextCursor, nextCursor)) {
+            setFirstPage(items, nextCursor);
+            return true;
+        }
+        pages.set(0, new Page(null, nextCursor, items));
+        flatten();
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return pages.isEmpty();
+    }
+
+    /**
+     * True if older tickets exist below the window.
+     */
+    public boolean hasOlder() {
+        return !pages.isEmpty() && pages.get(pages.size() - 1).nextCursor != null;
+    }
+
+    /**
+     * True if newer tickets were dropped from the top of the window.
+     */
+    public boolean hasNewer() {
+        return !droppedNewer.isEmpty();
+    }
+
+    /**
+     * Cursor to request the page below the window with, or null if there is none.
+     */
+    public String olderCursor() {
+        return hasOlder() ? pages.get(pages.size() - 1).nextCursor : null;
+    }
+
+    /**
+     * Cursor to request the page above the window with. Only meaningful when {@link #hasNewer()};
+     * null then stands for the first page.
+     */
+    public String newerCursor() {
+        return hasNewer() ? droppedNewer.get(droppedNewer.size() - 1) : null;
+    }
+
+    /**
+     * Adds a page fetched with {@code requestedCursor} below the window.
+     *
+     * @return false if the result is stale and was ignored
+     */
+    public boolean appendOlder(String requestedCursor, List<UserTicket> items, String nextCursor) {
+        if (!hasOlder() || !requestedCursor.equals(olderCursor())) return false;
+        pages.add(new Page(requestedCursor, nextCursor, items));
+        if (pages.size() > maxPages) {
+            droppedNewer.add(pages.remove(0).cursor);
+        }
+        flatten();
+        return true;
+    }
+
+    /**
+     * Adds a page fetched with {@code requestedCursor} above the window.
+     *
+     * @return false if the result is stale and was ignored
+     */
+    public boolean prependNewer(String requestedCursor, List<UserTicket> items, String nextCursor) {
+        if (!hasNewer() || !Objects.equals(requestedCursor, newerCursor())) return false;
+        droppedNewer.remove(droppedNewer.size() - 1);
+        Page page = new Page(requestedCursor, nextCursor, items);
+        if (!Objects.equals(nextCursor, pages.get(0).cursor)) {
+            // The history changed above the window; the pages below no longer line up
+            pages.clear();
+        }
+        pages.add(0, page);
+        if (pages.size() > maxPages) {
+            pages.remove(pages.size() - 1);
+        }
+        flatten();
+        return true;
+    }
+
+    /**
+     * Tickets currently in the window, newest first. The list is replaced, not modified, on change.
+     */
+    public List<UserTicket> getItems() {
+        return flattened;
+    }
+
+    private void flatten() {
+        List<UserTicket> items = new ArrayList<>();
+        for (Page page : pages) items.addAll(page.items);
+        flattened = Collections.unmodifiableList(items);
+    }
+}
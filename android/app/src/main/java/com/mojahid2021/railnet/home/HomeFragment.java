@@ -13,7 +13,6 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.Button;
 import android.widget.RelativeLayout;
@@ -21,9 +20,9 @@ import android.widget.TextView;
 
 import com.mojahid2021.railnet.R;
 import com.mojahid2021.railnet.activity.TrainsActivity;
+import com.mojahid2021.railnet.adapter.StationSuggestionAdapter;
+import com.mojahid2021.railnet.data.StationRepository;
 import com.mojahid2021.railnet.model.Station;
-import com.mojahid2021.railnet.network.ApiClient;
-import com.mojahid2021.railnet.network.ApiService;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -33,10 +32,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * HomeFragment handles the main screen for selecting travel details: from/to stations, date, and searching trains.
  * It follows OOP by encapsulating UI elements, data, and behaviors within the class.
@@ -61,12 +56,19 @@ public class HomeFragment extends Fragment {
 
     // Data models (encapsulated)
     private List<Station> stations = new ArrayList<>();
-    private final Map<String, Station> stationByName = new HashMap<>();
     private final Map<Integer, Station> stationById = new HashMap<>();
     private Station selectedFrom;
     private Station selectedTo;
     private Calendar selectedDate;
 
+    // Indexed, off-main-thread suggestion adapters for the From/To fields
+    private StationSuggestionAdapter fromAdapter;
+    private StationSuggestionAdapter toAdapter;
+
+    // Station catalog (persisted locally, synced in the background)
+    private StationRepository stationRepository;
+    private final StationRepository.Listener stationsListener = this::processStations;
+
     // Date formatters (utility objects)
     private final SimpleDateFormat displayDateFormat = new SimpleDateFormat("EEE, MMM d, yyyy", Locale.getDefault());
     private final SimpleDateFormat apiDateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
@@ -85,8 +87,8 @@ public class HomeFragment extends Fragment {
         // Initialize date to today
         initializeDate();
 
-        // Fetch stations from API
-        fetchStations();
+        // Load stations from the local catalog and sync in the background
+        observeStations();
 
         // Set up search button
         setupSearchButton();
@@ -105,6 +107,11 @@ public class HomeFragment extends Fragment {
         dateSelectLayout = view.findViewById(R.id.dateSelectLayout);
         tvSelectedDate = view.findViewById(R.id.tvSelectedDate);
         btnSearchTrains = view.findViewById(R.id.btnSearchTrains);
+
+        fromAdapter = new StationSuggestionAdapter(requireContext());
+        toAdapter = new StationSuggestionAdapter(requireContext());
+        actvFrom.setAdapter(fromAdapter);
+        actvTo.setAdapter(toAdapter);
     }
 
     /**
@@ -152,8 +159,7 @@ public class HomeFragment extends Fragment {
      * Handles station selection from dropdown.
      */
     private void onStationSelected(android.widget.AdapterView<?> parent, int position, boolean isFrom) {
-        String name = (String) parent.getItemAtPosition(position);
-        Station station = stationByName.get(name);
+        Station station = (Station) parent.getItemAtPosition(position);
         if (isFrom) {
             selectedFrom = station;
             saveStationToPreferences(KEY_FROM_ID, KEY_FROM_NAME, station);
@@ -265,49 +271,37 @@ public class HomeFragment extends Fragment {
                 .show();
     }
 
+    @Override
+    public void onDestroyView() {
+        if (stationRepository != null) {
+            stationRepository.removeListener(stationsListener);
+        }
+        super.onDestroyView();
+    }
+
     /**
-     * Fetches stations from the API and sets up the dropdowns.
+     * Subscribes to the station catalog and triggers a background sync.
      */
-    private void fetchStations() {
-        ApiService apiService = ApiClient.getRetrofit(requireActivity()).create(ApiService.class);
-        Call<List<Station>> call = apiService.getStations();
-        call.enqueue(new Callback<List<Station>>() {
-            @Override
-            public void onResponse(Call<List<Station>> call, Response<List<Station>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    processStations(response.body());
-                } else {
-                    Log.d(TAG, "Request failed, code: " + response.code());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<Station>> call, Throwable t) {
-                Log.e(TAG, "onFailure: " + t.getMessage(), t);
-            }
-        });
+    private void observeStations() {
+        stationRepository = StationRepository.getInstance(requireContext());
+        stationRepository.addListener(stationsListener);
+        stationRepository.refresh();
     }
 
     /**
-     * Processes the fetched stations and sets up UI.
+     * Processes the station catalog and sets up UI.
      */
     private void processStations(List<Station> fetchedStations) {
         stations = fetchedStations;
-        stationByName.clear();
         stationById.clear();
-        List<String> names = new ArrayList<>(stations.size());
         for (Station station : stations) {
-            stationByName.put(station.name, station);
             stationById.put(station.id, station);
-            names.add(station.name);
         }
 
-        // Update UI on main thread
+        // Update UI on main thread; the search index is built lazily off the main thread
         if (getActivity() != null) {
-            ArrayAdapter<String> adapter = new ArrayAdapter<>(requireContext(),
-                    android.R.layout.simple_dropdown_item_1line, names);
-            actvFrom.setAdapter(adapter);
-            actvTo.setAdapter(adapter);
+            fromAdapter.setStations(stations);
+            toAdapter.setStations(stations);
 
             // Restore selections
             restoreSelectionsFromPreferences();
@@ -44,6 +44,8 @@ import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.android.gms.maps.model.MapStyleOptions;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
 
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
@@ -51,8 +53,14 @@ import android.util.Log;
 import java.nio.charset.StandardCharsets;
 
 import com.mojahid2021.railnet.R;
+import com.mojahid2021.railnet.data.RouteGeometry;
+import com.mojahid2021.railnet.data.RouteLineRepository;
+import com.mojahid2021.railnet.data.StationRepository;
+import com.mojahid2021.railnet.model.Station;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MapFragment extends Fragment {
@@ -83,6 +91,22 @@ public class MapFragment extends Fragment {
 
     private ImageButton btnMyLocation;
 
+    // station markers fed by the shared station catalog
+    private static final float STATION_DOT_DP_SIZE = 10f;
+    private StationRepository stationRepository;
+    private final StationRepository.Listener stationsListener = this::showStationMarkers;
+    private final List<Marker> stationMarkers = new ArrayList<>();
+    private BitmapDescriptor stationDotDescriptor;
+
+    // Rail lines, redrawn from the pre-simplified level matching the zoom
+    private static final float RAIL_LINE_WIDTH_DP = 3f;
+    private static final int RAIL_LINE_COLOR = 0xCC0D47A1;
+    private RouteLineRepository routeLineRepository;
+    private final RouteLineRepository.Listener routeLinesListener = this::showRouteLines;
+    private final List<Polyline> routePolylines = new ArrayList<>();
+    private RouteGeometry routeGeometry = RouteGeometry.EMPTY;
+    private int routeLevel = -1;
+
     private final ActivityResultLauncher<String> requestPermissionLauncher =
             registerForActivityResult(new ActivityResultContracts.RequestPermission(), isGranted -> {
                 if (Boolean.TRUE.equals(isGranted)) {
@@ -202,7 +226,9 @@ public class MapFragment extends Fragment {
 
             // update marker size on camera idle so the icon scales nicely with zoom
             googleMap.setOnCameraIdleListener(() -> {
-                if (currentLocationMarker == null || googleMap == null) return;
+                if (googleMap == null) return;
+                updateRouteLevel(googleMap.getCameraPosition().zoom);
+                if (currentLocationMarker == null) return;
                 float zoom = googleMap.getCameraPosition().zoom;
                 int dp = getScaledDpForZoom(zoom);
                 if (dp != lastMarkerDp) {
@@ -212,6 +238,16 @@ public class MapFragment extends Fragment {
                 }
             });
 
+            // Draw stations from the local catalog (available offline)
+            stationRepository = StationRepository.getInstance(requireContext());
+            stationRepository.addListener(stationsListener);
+            stationRepository.refresh();
+
+            // Rail lines come from a disk cache first, so they draw offline too
+            routeLineRepository = RouteLineRepository.getInstance(requireContext());
+            routeLineRepository.addListener(routeLinesListener);
+            routeLineRepository.refresh();
+
             // Always follow user's live location; ask permission if needed
             if (ContextCompat.checkSelfPermission(requireContext(), Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED) {
                 enableLocationOnMap();
@@ -351,6 +387,82 @@ public class MapFragment extends Fragment {
         return BitmapDescriptorFactory.fromBitmap(bitmap);
     }
 
+    // Replace station markers with the given catalog
+    private void showStationMarkers(List<Station> stations) {
+        if (googleMap == null || !isAdded()) return;
+        for (Marker marker : stationMarkers) marker.remove();
+        stationMarkers.clear();
+
+        if (stationDotDescriptor == null) {
+            stationDotDescriptor = createStationDotDescriptor(requireContext());
+        }
+        for (Station station : stations) {
+            if (station.latitude == 0 && station.longitude == 0) continue;
+            Marker marker = googleMap.addMarker(new MarkerOptions()
+                    .position(new LatLng(station.latitude, station.longitude))
+                    .anchor(0.5f, 0.5f)
+                    .icon(stationDotDescriptor)
+                    .title(station.name)
+                    .snippet(station.city));
+            if (marker != null) stationMarkers.add(marker);
+        }
+    }
+
+    // Replace rail lines with the given geometry
+    private void showRouteLines(RouteGeometry geometry) {
+        if (googleMap == null || !isAdded()) return;
+        for (Polyline polyline : routePolylines) polyline.remove();
+        routePolylines.clear();
+
+        routeGeometry = geometry;
+        routeLevel = RouteGeometry.levelFor(googleMap.getCameraPosition().zoom);
+        float width = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, RAIL_LINE_WIDTH_DP, getResources().getDisplayMetrics());
+        for (RouteGeometry.Line line : geometry.lines) {
+            routePolylines.add(googleMap.addPolyline(new PolylineOptions()
+                    .addAll(routePoints(line, routeLevel))
+                    .color(RAIL_LINE_COLOR)
+                    .width(width)
+                    .geodesic(false)
+                    .zIndex(-1f)));
+        }
+    }
+
+    // Swap the rail lines' points when the zoom crosses into another simplification level
+    private void updateRouteLevel(float zoom) {
+        int level = RouteGeometry.levelFor(zoom);
+        if (level == routeLevel || routePolylines.size() != routeGeometry.lines.size()) return;
+        routeLevel = level;
+        for (int i = 0; i < routePolylines.size(); i++) {
+            routePolylines.get(i).setPoints(routePoints(routeGeometry.lines.get(i), level));
+        }
+    }
+
+    private static List<LatLng> routePoints(RouteGeometry.Line line, int level) {
+        double[] lats = line.latitudes(level);
+        double[] lons = line.longitudes(level);
+        List<LatLng> points = new ArrayList<>(lats.length);
+        for (int i = 0; i < lats.length; i++) points.add(new LatLng(lats[i], lons[i]));
+        return points;
+    }
+
+    // Small filled circle with a white ring used for station markers
+    private BitmapDescriptor createStationDotDescriptor(Context context) {
+        int px = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, STATION_DOT_DP_SIZE, context.getResources().getDisplayMetrics());
+        Bitmap bitmap = Bitmap.createBitmap(px, px, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        float r = px / 2f;
+
+        Paint ring = new Paint(Paint.ANTI_ALIAS_FLAG);
+        ring.setColor(0xFFFFFFFF);
+        canvas.drawCircle(r, r, r, ring);
+
+        Paint fill = new Paint(Paint.ANTI_ALIAS_FLAG);
+        fill.setColor(0xFF0D47A1);
+        canvas.drawCircle(r, r, r * 0.7f, fill);
+
+        return BitmapDescriptorFactory.fromBitmap(bitmap);
+    }
+
     // compute bearing in degrees from 'from' to 'to' (0..360, clockwise from north)
     private float bearingBetween(LatLng from, LatLng to) {
         double lat1 = Math.toRadians(from.latitude);
@@ -592,6 +704,11 @@ public class MapFragment extends Fragment {
 
     @Override
     public void onDestroyView() {
+        if (stationRepository != null) stationRepository.removeListener(stationsListener);
+        stationMarkers.clear();
+        if (routeLineRepository != null) routeLineRepository.removeListener(routeLinesListener);
+        routePolylines.clear();
+        routeLevel = -1;
         if (mapView != null) mapView.onDestroy();
         stopLocationUpdates();
         // clear cached pointer descriptors to free memory
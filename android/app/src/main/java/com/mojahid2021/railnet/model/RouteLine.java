@@ -0,0 +1,13 @@
+package com.mojahid2021.railnet.model;
+
+import java.util.List;
+
+/**
+ * A train route as its stations in travel order, from GET /train-routes/lines.
+ */
+public class RouteLine {
+    public int id;
+    public String name;
+    public List<Integer> stationIds;
+    public String updatedAt;
+}
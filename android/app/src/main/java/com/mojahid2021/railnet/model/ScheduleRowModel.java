@@ -0,0 +1,129 @@
+package com.mojahid2021.railnet.model;
+
+import com.mojahid2021.railnet.util.DateTimeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Display-ready values for one row of the train schedule list.
+ *
+ * Built once per schedule off the main thread, so binding a row and diffing two lists only
+ * compares a few precomputed strings. Built from a {@link TrainScheduleSummary}, whose fare and
+ * duration the backend computed for the searched from/to segment. Rows only carry the schedule
+ * id; the full schedule is looked up when opened.
+ */
+public final class ScheduleRowModel {
+
+    private static final String UNKNOWN = "-";
+
+    public final int scheduleId;
+    public final String trainLabel;      // "Name (Number)" or "-"
+    public final String departure;       // e.g. "08:00 AM" or "-"
+    public final String arrival;         // e.g. "02:30 PM" or "-"
+    public final String routeLabel;      // "Start → End" or "-"
+    public final double minFare;         // lowest compartment fare for the segment, -1 when unknown
+    public final String priceLabel;      // e.g. "৳350.00" or "৳-"
+    public final int durationMinutes;    // first departure to last arrival, -1 when unknown
+    public final String timesLabel;      // "dep → arr  (route)" with duration when known
+
+    private final int hash;
+
+    private ScheduleRowModel(int scheduleId, String trainLabel, String rawDeparture, String rawArrival,
+                             String routeLabel, int durationMinutes, double minFare) {
+        this.scheduleId = scheduleId;
+        this.trainLabel = trainLabel;
+        this.departure = formatTimeSmart(rawDeparture);
+        this.arrival = formatTimeSmart(rawArrival);
+        this.routeLabel = routeLabel;
+        this.durationMinutes = durationMinutes;
+        this.timesLabel = formatTimes(departure, arrival, durationMinutes, routeLabel);
+
+        this.minFare = minFare < 0 ? -1 : minFare;
+        this.priceLabel = this.minFare < 0 ? "৳-" : String.format(Locale.getDefault(), "৳%.2f", this.minFare);
+
+        int h = scheduleId;
+        h = 31 * h + trainLabel.hashCode();
+        h = 31 * h + timesLabel.hashCode();
+        h = 31 * h + priceLabel.hashCode();
+        this.hash = h;
+    }
+
+    /**
+     * Build the row model for one summary; its fare already covers the searched segment.
+     */
+    public static ScheduleRowModel from(TrainScheduleSummary summary) {
+        return new ScheduleRowModel(
+                summary.id,
+                formatTrainName(summary.trainName, summary.trainNumber),
+                summary.departureTime,
+                summary.arrivalTime,
+                formatRoute(summary.startStationName, summary.endStationName),
+                summary.durationMinutes,
+                summary.minFare);
+    }
+
+    /**
+     * Build row models for a summary search result, skipping null entries.
+     */
+    public static List<ScheduleRowModel> fromSummaries(List<TrainScheduleSummary> summaries) {
+        if (summaries == null) return new ArrayList<>();
+        List<ScheduleRowModel> rows = new ArrayList<>(summaries.size());
+        for (TrainScheduleSummary summary : summaries) {
+            if (summary != null) rows.add(from(summary));
+        }
+        return rows;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ScheduleRowModel)) return false;
+        ScheduleRowModel other = (ScheduleRowModel) o;
+        return hash == other.hash
+                && scheduleId == other.scheduleId
+                && trainLabel.equals(other.trainLabel)
+                && timesLabel.equals(other.timesLabel)
+                && priceLabel.equals(other.priceLabel);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static String formatTrainName(String name, String number) {
+        String combined = ((name != null ? name : "") + (number != null ? " (" + number + ")" : "")).trim();
+        return combined.isEmpty() ? UNKNOWN : combined;
+    }
+
+    // Helper: "dep → arr · 6h 30m  (route)"; duration is omitted when unknown
+    private static String formatTimes(String dep, String arr, int durationMinutes, String route) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(dep).append(" → ").append(arr);
+        if (durationMinutes >= 0) {
+            sb.append(" · ").append(durationMinutes / 60).append("h ").append(durationMinutes % 60).append('m');
+        }
+        sb.append("  (").append(route).append(')');
+        return sb.toString();
+    }
+
+    // Helper: format a raw time string ("08:00" or ISO); unparseable values are shown as-is
+    private static String formatTimeSmart(String raw) {
+        if (raw == null) return UNKNOWN;
+        String trimmed = raw.trim();
+        if (trimmed.isEmpty()) return UNKNOWN;
+        int minuteOfDay = DateTimeUtils.parseMinuteOfDay(trimmed);
+        if (minuteOfDay >= 0) return DateTimeUtils.formatMinuteOfDay(minuteOfDay);
+        String fromPlain = DateTimeUtils.formatTimeForDisplay(trimmed);
+        return fromPlain.isEmpty() ? trimmed : fromPlain;
+    }
+
+    private static String formatRoute(String s, String e) {
+        if (s != null && e != null) return s + " → " + e;
+        if (s != null) return s;
+        if (e != null) return e;
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,142 @@
+package com.mojahid2021.railnet.model;
+
+import java.util.BitSet;
+
+/**
+ * Immutable availability of every seat in one compartment for one journey segment.
+ *
+ * Seats are addressed by index: seat label "S{i+1}" is index i. Occupied and held seats are kept
+ * in two bitsets, so a 100-seat compartment costs a few dozen bytes and a state lookup is a bit test.
+ */
+public final class SeatAvailability {
+
+    public static final int STATE_FREE = 0;
+    public static final int STATE_HELD = 1;       // pending booking that has not expired yet
+    public static final int STATE_OCCUPIED = 2;   // confirmed booking
+
+    private static final String SEAT_PREFIX = "S";
+
+    private final int totalSeats;
+    private final BitSet occupied;
+    private final BitSet held;
+
+    private SeatAvailability(int totalSeats, BitSet occupied, BitSet held) {
+        this.totalSeats = totalSeats;
+        this.occupied = occupied;
+        this.held = held;
+    }
+
+    /**
+     * Availability where every seat is free.
+     */
+    public static SeatAvailability allFree(int totalSeats) {
+        return new SeatAvailability(Math.max(0, totalSeats), new BitSet(), new BitSet());
+    }
+
+    /**
+     * Decode the hex bitsets of GET /train-schedules/:id/seat-map (least significant bit first).
+     * Bits beyond {@code totalSeats} are ignored; a seat that is both occupied and held is occupied.
+     *
+     * @throws IllegalArgumentException if a bitset is not valid hex
+     */
+    public static SeatAvailability fromHex(int totalSeats, String occupiedHex, String heldHex) {
+        int total = Math.max(0, totalSeats);
+        BitSet occupied = decodeHex(occupiedHex, total);
+        BitSet held = decodeHex(heldHex, total);
+        held.andNot(occupied);
+        return new SeatAvailability(total, occupied, held);
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    /**
+     * State of the seat at the given index; indexes outside the compartment are reported occupied.
+     */
+    public int getState(int index) {
+        if (index < 0 || index >= totalSeats) return STATE_OCCUPIED;
+        if (occupied.get(index)) return STATE_OCCUPIED;
+        if (held.get(index)) return STATE_HELD;
+        return STATE_FREE;
+    }
+
+    /**
+     * State of the seat with the given label ("S1", "S2", ...).
+     */
+    public int getState(String seatLabel) {
+        return getState(seatIndex(seatLabel));
+    }
+
+    public boolean isFree(String seatLabel) {
+        return getState(seatLabel) == STATE_FREE;
+    }
+
+    public int getFreeCount() {
+        return totalSeats - occupied.cardinality() - held.cardinality();
+    }
+
+    /**
+     * Copy with the seat at an index occupied. Indexes outside the compartment are ignored.
+     */
+    public SeatAvailability withOccupied(int index) {
+        if (index < 0 || index >= totalSeats || occupied.get(index)) return this;
+        BitSet newOccupied = (BitSet) occupied.clone();
+        newOccupied.set(index);
+        BitSet newHeld = (BitSet) held.clone();
+        newHeld.clear(index);
+        return new SeatAvailability(totalSeats, newOccupied, newHeld);
+    }
+
+    /**
+     * Indexes whose state differs from {@code other}. Seats beyond either compartment size count as changed.
+     */
+    public BitSet changedSince(SeatAvailability other) {
+        BitSet changed = (BitSet) occupied.clone();
+        changed.xor(other.occupied);
+        BitSet heldChanged = (BitSet) held.clone();
+        heldChanged.xor(other.held);
+        changed.or(heldChanged);
+        int min = Math.min(totalSeats, other.totalSeats);
+        int max = Math.max(totalSeats, other.totalSeats);
+        if (max > min) changed.set(min, max);
+        return changed;
+    }
+
+    /**
+     * Label for the seat at an index ("S1" for 0).
+     */
+    public static String seatLabel(int index) {
+        return SEAT_PREFIX + (index + 1);
+    }
+
+    /**
+     * Index for a seat label ("S1" -> 0), or -1 if the label has another format.
+     */
+    public static int seatIndex(String seatLabel) {
+        if (seatLabel == null || seatLabel.length() < 2 || !seatLabel.startsWith(SEAT_PREFIX)) return -1;
+        int n = 0;
+        for (int i = SEAT_PREFIX.length(); i < seatLabel.length(); i++) {
+            int d = seatLabel.charAt(i) - '0';
+            if (d < 0 || d > 9 || n > 100_000) return -1;
+            n = n * 10 + d;
+        }
+        return n >= 1 ? n - 1 : -1;
+    }
+
+    private static BitSet decodeHex(String hex, int limit) {
+        BitSet bits = new BitSet(limit);
+        if (hex == null || hex.isEmpty()) return bits;
+        if (hex.length() % 2 != 0) throw new IllegalArgumentException("Odd-length bitset");
+        for (int b = 0; b < hex.length() / 2; b++) {
+            int value = (Character.digit(hex.charAt(2 * b), 16) << 4) | Character.digit(hex.charAt(2 * b + 1), 16);
+            if (value < 0) throw new IllegalArgumentException("Invalid hex in bitset");
+            for (int bit = 0; bit < 8; bit++) {
+                int index = b * 8 + bit;
+                if (index >= limit) return bits;
+                if ((value & (1 << bit)) != 0) bits.set(index);
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mojahid2021.railnet.model;
+
+/**
+ * Response of GET /train-schedules/:id/seat-map.
+ * Bitsets are hex strings; when {@code unchanged} is true they are omitted.
+ */
+public class SeatMapResponse {
+    public int scheduleId;
+    public int compartmentId;
+    public int totalSeats;
+    public String occupied;
+    public String held;
+    public boolean unchanged;
+    public String asOf; // pass back as "since" on the next refresh
+}
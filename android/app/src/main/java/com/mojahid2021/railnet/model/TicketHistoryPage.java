@@ -0,0 +1,12 @@
+package com.mojahid2021.railnet.model;
+
+import java.util.List;
+
+/**
+ * Response of GET /tickets/history: one page of the user's tickets, newest first.
+ * {@code nextCursor} fetches the following page and is null on the last one.
+ */
+public class TicketHistoryPage {
+    public List<UserTicket> items;
+    public String nextCursor;
+}
@@ -0,0 +1,225 @@
+package com.mojahid2021.railnet.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojahid2021.railnet.network.BookingResponse;
+
+/**
+ * Flat, immutable snapshot of everything printed on a ticket.
+ *
+ * Built once per print job from either a {@link UserTicket} (list data) or the GET /tickets/:id
+ * response, so the PDF drawing code reads plain fields instead of looking values up by path.
+ * Missing values are null.
+ */
+public final class TicketPrintData {
+
+    public final String ticketId;
+    public final String status;
+    public final String paymentStatus;
+    public final String expiresAt;
+
+    public final String trainName;
+    public final String trainNumber;
+    public final String from;
+    public final String to;
+    public final String date;
+    public final String departureTime;
+
+    public final String passengerName;
+    public final String passengerAge;
+    public final String passengerGender;
+
+    public final String seatNumber;
+    public final String compartment;
+    public final String seatClass;
+
+    public final Double amount;
+    public final String currency;
+
+    private TicketPrintData(Builder b) {
+        ticketId = b.ticketId;
+        status = b.status;
+        paymentStatus = b.paymentStatus;
+        expiresAt = b.expiresAt;
+        trainName = b.trainName;
+        trainNumber = b.trainNumber;
+        from = b.from;
+        to = b.to;
+        date = b.date;
+        departureTime = b.departureTime;
+        passengerName = b.passengerName;
+        passengerAge = b.passengerAge;
+        passengerGender = b.passengerGender;
+        seatNumber = b.seatNumber;
+        compartment = b.compartment;
+        seatClass = b.seatClass;
+        amount = b.amount;
+        currency = b.currency;
+    }
+
+    /**
+     * Extracts the printed fields from list data. Passenger details, expiry and class are not
+     * part of the list response and stay null.
+     */
+    public static TicketPrintData from(UserTicket ut) {
+        Builder b = new Builder();
+        if (ut == null) return b.build();
+        if (ut.ticket != null) {
+            b.ticketId = ut.ticket.ticketId;
+            b.status = ut.ticket.status;
+            b.paymentStatus = ut.ticket.paymentStatus;
+        }
+        if (ut.journey != null) {
+            if (ut.journey.train != null) {
+                b.trainName = ut.journey.train.name;
+                b.trainNumber = ut.journey.train.number;
+            }
+            if (ut.journey.route != null) {
+                b.from = ut.journey.route.from;
+                b.to = ut.journey.route.to;
+            }
+            if (ut.journey.schedule != null) {
+                b.date = ut.journey.schedule.date;
+                b.departureTime = ut.journey.schedule.departureTime;
+            }
+        }
+        if (ut.seat != null) {
+            b.seatNumber = ut.seat.number;
+            b.compartment = ut.seat.compartment;
+        }
+        if (ut.pricing != null) {
+            b.amount = ut.pricing.amount;
+            b.currency = ut.pricing.currency;
+        }
+        return b.build();
+    }
+
+    /**
+     * Extracts the printed fields from a decoded GET /tickets/:id response.
+     */
+    public static TicketPrintData from(BookingResponse r) {
+        Builder b = new Builder();
+        if (r == null) return b.build();
+        if (r.ticket != null) {
+            b.ticketId = r.ticket.ticketId;
+            b.status = r.ticket.status;
+            b.paymentStatus = r.ticket.paymentStatus;
+            b.expiresAt = r.ticket.expiresAt;
+        }
+        if (r.passenger != null) {
+            b.passengerName = r.passenger.name;
+            b.passengerAge = String.valueOf(r.passenger.age);
+            b.passengerGender = r.passenger.gender;
+        }
+        if (r.journey != null) {
+            if (r.journey.train != null) {
+                b.trainName = r.journey.train.name;
+                b.trainNumber = r.journey.train.number;
+            }
+            if (r.journey.route != null) {
+                b.from = r.journey.route.from;
+                b.to = r.journey.route.to;
+            }
+            if (r.journey.schedule != null) {
+                b.date = r.journey.schedule.date;
+                b.departureTime = r.journey.schedule.departureTime;
+            }
+        }
+        if (r.seat != null) {
+            b.seatNumber = r.seat.number;
+            b.compartment = r.seat.compartment;
+            b.seatClass = r.seat.clazz;
+        }
+        if (r.pricing != null) {
+            b.amount = r.pricing.amount;
+            b.currency = r.pricing.currency;
+        }
+        return b.build();
+    }
+
+    /**
+     * Extracts the printed fields from a GET /tickets/:id response in one walk over the object.
+     */
+    public static TicketPrintData from(JsonObject json) {
+        Builder b = new Builder();
+        if (json == null) return b.build();
+
+        JsonObject ticket = child(json, "ticket");
+        if (ticket != null) {
+            b.ticketId = string(ticket, "ticketId");
+            b.status = string(ticket, "status");
+            b.paymentStatus = string(ticket, "paymentStatus");
+            b.expiresAt = string(ticket, "expiresAt");
+        }
+        JsonObject passenger = child(json, "passenger");
+        if (passenger != null) {
+            b.passengerName = string(passenger, "name");
+            b.passengerAge = string(passenger, "age");
+            b.passengerGender = string(passenger, "gender");
+        }
+        JsonObject journey = child(json, "journey");
+        if (journey != null) {
+            JsonObject train = child(journey, "train");
+            if (train != null) {
+                b.trainName = string(train, "name");
+                b.trainNumber = string(train, "number");
+            }
+            JsonObject route = child(journey, "route");
+            if (route != null) {
+                b.from = string(route, "from");
+                b.to = string(route, "to");
+            }
+            JsonObject schedule = child(journey, "schedule");
+            if (schedule != null) {
+                b.date = string(schedule, "date");
+                b.departureTime = string(schedule, "departureTime");
+            }
+        }
+        JsonObject seat = child(json, "seat");
+        if (seat != null) {
+            b.seatNumber = string(seat, "number");
+            b.compartment = string(seat, "compartment");
+            b.seatClass = string(seat, "class");
+        }
+        JsonObject pricing = child(json, "pricing");
+        if (pricing != null) {
+            b.amount = parseAmount(string(pricing, "amount"));
+            b.currency = string(pricing, "currency");
+        }
+        return b.build();
+    }
+
+    private static JsonObject child(JsonObject parent, String key) {
+        JsonElement element = parent.get(key);
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    // Primitives as their string form, objects and arrays as JSON, null for missing or JSON null
+    private static String string(JsonObject parent, String key) {
+        JsonElement element = parent.get(key);
+        if (element == null || element.isJsonNull()) return null;
+        return element.isJsonPrimitive() ? element.getAsString() : element.toString();
+    }
+
+    private static Double parseAmount(String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Builder {
+        String ticketId, status, paymentStatus, expiresAt;
+        String trainName, trainNumber, from, to, date, departureTime;
+        String passengerName, passengerAge, passengerGender;
+        String seatNumber, compartment, seatClass;
+        Double amount;
+        String currency;
+
+        TicketPrintData build() {
+            return new TicketPrintData(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mojahid2021.railnet.model;
+
+/**
+ * One schedule of GET /train-schedules/search?view=summary: only what a row of the schedule list
+ * shows. The full {@link TrainSchedule} is fetched by id when the row is opened.
+ */
+public class TrainScheduleSummary {
+    public int id;
+    public int trainId;
+    public int trainRouteId;
+    public String date;
+    public String time;
+    public String trainName;
+    public String trainNumber;
+    public String startStationName;
+    public String endStationName;
+    public String departureTime;       // first stop, "HH:MM"
+    public String arrivalTime;         // last stop, "HH:MM"
+    public int durationMinutes = -1;   // -1 when unknown
+    public double minFare = -1;        // lowest compartment fare for the searched segment, -1 when unknown
+}
@@ -0,0 +1,16 @@
+package com.mojahid2021.railnet.model;
+
+/**
+ * The signed-in user, from GET /profile and the login/register responses.
+ */
+public class User {
+    public int id;
+    public String email;
+    public String firstName;
+    public String lastName;
+    public String phone;
+    public String address;
+    public String role;
+    public String createdAt;
+    public String updatedAt;
+}
@@ -17,6 +17,7 @@ public class UserTicket {
         public String status;
         public String paymentStatus;
         public String createdAt;
+        public String updatedAt; // changes with status/paymentStatus; null from older backends
     }
 
     public static class Journey {
@@ -2,55 +2,130 @@
 package com.mojahid2021.railnet.network;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.util.Log;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
+import okhttp3.Protocol;
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * Single shared network stack for the app.
+ *
+ * - One OkHttpClient/Retrofit pair per process, built from the application context
+ * - On-disk HTTP response cache; stored responses with an ETag or Last-Modified are revalidated
+ *   with conditional GETs, and 304s are answered from the cache ({@link RevalidationInterceptor})
+ * - Explicit connection pool and dispatcher limits
+ * - HTTP/2 preferred, HTTP/1.1 as fallback
+ * - Auth header from the in-memory {@link TokenStore}
+ * - Identical in-flight GETs collapsed into one round-trip ({@link RequestCoalescingInterceptor})
+ * - Bodies decoded on the network thread by the reflection-free adapters in {@link ModelAdapters}
+ */
 public class ApiClient {
-    private static Retrofit secureRetrofit = null;
     private static final String TAG = "ApiClient";
-    private static final String PREFS_NAME = "UserPreferences";
-    private static final String TOKEN_KEY = "token";
+    private static final String BASE_URL = "https://rail-net.vercel.app/";
+
+    // HTTP cache
+    private static final String CACHE_DIR_NAME = "http_cache";
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024; // 10 MB
+
+    // Connection pool: all calls go to a single host, so a few warm connections are enough
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    // Dispatcher limits
+    private static final int MAX_REQUESTS = 32;
+    private static final int MAX_REQUESTS_PER_HOST = 6;
+
+    // Timeouts
+    private static final long CONNECT_TIMEOUT_SECONDS = 15;
+    private static final long READ_TIMEOUT_SECONDS = 30;
+
+    private static volatile Retrofit secureRetrofit = null;
+    private static volatile OkHttpClient httpClient = null;
 
     public static Retrofit getRetrofit(Context context) {
         if (secureRetrofit == null) {
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(chain -> {
-                        SharedPreferences sp = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-                        String accessToken = sp.getString(TOKEN_KEY, null);
-
-                        // Debug log to confirm what is being read
-                        Log.d(TAG, "Interceptor: retrieved token = " + (accessToken == null ? "null" : "[REDACTED]"));
-
-                        Request original = chain.request();
-                        Request.Builder builder = original.newBuilder();
-
-                        if (accessToken != null && !accessToken.isEmpty()) {
-                            // Use Authorization header if your server expects "Bearer <token>"
-                            builder.header("Authorization", "Bearer " + accessToken);
-                        } else {
-                            // Do not call builder.header with a null value - that causes the NPE
-                        }
-
-                        Request request = builder.method(original.method(), original.body()).build();
-                        return chain.proceed(request);
-                    })
-                    .build();
-
-            secureRetrofit = new Retrofit.Builder()
-                    .baseUrl("https://rail-net.vercel.app/")
-                    .client(client)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
+            synchronized (ApiClient.class) {
+                if (secureRetrofit == null) {
+                    Context appContext = context.getApplicationContext();
+                    // Warm the token holder once so the interceptor never touches prefs
+                    TokenStore.getToken(appContext);
+                    File cacheDir = new File(appContext.getCacheDir(), CACHE_DIR_NAME);
+                    httpClient = buildClient(cacheDir);
+                    secureRetrofit = buildRetrofit(httpClient, BASE_URL);
+                }
+            }
         }
         return secureRetrofit;
     }
+
+    /**
+     * Returns the shared OkHttpClient, creating the stack if needed.
+     */
+    public static OkHttpClient getHttpClient(Context context) {
+        getRetrofit(context);
+        return httpClient;
+    }
+
+    /**
+     * Drops all cached responses. Called when the signed-in user changes.
+     */
+    static void evictCache() {
+        OkHttpClient client = httpClient;
+        if (client == null) return;
+        for (Interceptor interceptor : client.interceptors()) {
+            if (interceptor instanceof RequestCoalescingInterceptor) {
+                ((RequestCoalescingInterceptor) interceptor).clearRecent();
+            }
+        }
+        if (client.cache() == null) return;
+        try {
+            client.cache().evictAll();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to evict HTTP cache", e);
+        }
+    }
+
+    /**
+     * Builds the tuned OkHttpClient. Package-private so local tests can point it at a temp cache dir.
+     */
+    static OkHttpClient buildClient(File cacheDir) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(new AuthInterceptor())
+                .addInterceptor(new RequestCoalescingInterceptor())
+                .addNetworkInterceptor(new CacheControlInterceptor())
+                .addNetworkInterceptor(new RevalidationInterceptor());
+
+        if (cacheDir != null) {
+            builder.cache(new Cache(cacheDir, CACHE_SIZE_BYTES));
+        }
+        return builder.build();
+    }
+
+    static Retrofit buildRetrofit(OkHttpClient client, String baseUrl) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(new ApiConverterFactory(ModelAdapters.gson()))
+                .build();
+    }
 }
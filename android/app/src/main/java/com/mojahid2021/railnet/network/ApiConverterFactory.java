@@ -0,0 +1,86 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * JSON converters for every {@link ApiService} endpoint.
+ *
+ * Response bodies are decoded by {@link ResponseDecoder} straight from the response stream, on the
+ * OkHttp thread that runs the call, so callbacks receive parsed objects. "data" envelopes are
+ * unwrapped only for endpoints marked {@link Enveloped}. Request bodies are written with the same
+ * shared Gson.
+ *
+ * Endpoints annotated with {@link #ACCEPT_CBOR} ask for CBOR. A response that comes back as
+ * {@code application/cbor} is read through {@link CborReader} by the same adapters; anything else,
+ * such as a backend that ignores the Accept header, is decoded as JSON.
+ *
+ * Endpoints declaring {@link ResponseBody} keep the raw body (Retrofit's built-in converter runs
+ * before this one).
+ */
+final class ApiConverterFactory extends Converter.Factory {
+
+    /** Header for {@code @Headers}: prefer CBOR, accept JSON. */
+    static final String ACCEPT_CBOR = "Accept: application/cbor, application/json;q=0.5";
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+    private final Gson gson;
+
+    ApiConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        ResponseDecoder<?> decoder = ResponseDecoder.of(gson, type, isEnveloped(annotations));
+        return body -> {
+            try (ResponseBody b = body) {
+                if (isCbor(b.contentType())) return decoder.decode(new CborReader(b.byteStream()));
+                return decoder.decode(b.charStream());
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        return value -> write(adapter, value);
+    }
+
+    private static boolean isEnveloped(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Enveloped) return true;
+        }
+        return false;
+    }
+
+    static boolean isCbor(MediaType type) {
+        return type != null && "application".equals(type.type()) && "cbor".equals(type.subtype());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RequestBody write(TypeAdapter<T> adapter, Object value) throws IOException {
+        Buffer buffer = new Buffer();
+        JsonWriter writer = gson.newJsonWriter(new OutputStreamWriter(buffer.outputStream(), StandardCharsets.UTF_8));
+        adapter.write(writer, (T) value);
+        writer.close();
+        return RequestBody.create(buffer.readByteString(), JSON);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * Reads the message out of a failed call's error body, so screens don't each parse it.
+ *
+ * Retrofit buffers error bodies on the network thread; only the small error object is decoded here.
+ */
+public final class ApiError {
+
+    private static final ResponseDecoder<ErrorResponse> DECODER =
+            ResponseDecoder.of(ModelAdapters.gson(), ErrorResponse.class);
+
+    private ApiError() {
+    }
+
+    /**
+     * The backend's error message for an unsuccessful response, or {@code fallback} if the body
+     * has none. Consumes the error body.
+     */
+    public static String message(Response<?> response, String fallback) {
+        ResponseBody body = response.errorBody();
+        if (body == null) return fallback;
+        try (ResponseBody b = body) {
+            ErrorResponse error = DECODER.decode(b.charStream());
+            if (error != null && error.error != null && !error.error.isEmpty()) return error.error;
+            if (error != null && error.message != null && !error.message.isEmpty()) return error.message;
+        } catch (IOException | JsonParseException e) {
+            // Not JSON (e.g. a proxy's HTML page); the fallback says enough
+        }
+        return fallback;
+    }
+}
@@ -1,53 +1,108 @@
 package com.mojahid2021.railnet.network;
 
+import com.mojahid2021.railnet.model.RouteLine;
+import com.mojahid2021.railnet.model.SeatMapResponse;
 import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.model.TicketHistoryPage;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+import com.mojahid2021.railnet.model.User;
+import com.mojahid2021.railnet.model.UserTicket;
 
 import java.util.List;
 import java.util.Map;
 
-import okhttp3.RequestBody;
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Body;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
 
+/**
+ * Backend endpoints. Every call is typed: bodies are decoded on the network thread by
+ * {@link ApiConverterFactory}, and error bodies are read with {@link ApiError}.
+ * The large lists (stations, schedule search, tickets) ask for CBOR and fall back to JSON.
+ */
 public interface ApiService {
 
     @GET("trains")
-    Call<String> getTrains();
+    Call<List<TrainSchedule.Train>> getTrains();
 
-    @GET("train/{id}")
-    Call<String> getTrainById(@Path("id") int id);
+    @GET("trains/{id}")
+    Call<TrainSchedule.Train> getTrainById(@Path("id") int id);
 
     @POST("login")
-    Call<ResponseBody> login(@Body Map<String, String> credentials);
+    Call<AuthResponse> login(@Body Map<String, String> credentials);
 
     @POST("register")
-    Call<ResponseBody> register(@Body Map<String, String> userDetails);
+    Call<AuthResponse> register(@Body Map<String, String> userDetails);
+
+    // Kept in the HTTP cache and revalidated with its ETag; an unchanged profile costs a 304
     @GET("profile")
-    Call<ResponseBody> getProfile();
+    Call<User> getProfile();
+
+    // Fresh for 5 minutes (CacheControlInterceptor), then revalidated with its ETag
     @GET("stations")
+    @Headers(ApiConverterFactory.ACCEPT_CBOR)
     Call<List<Station>> getStations();
 
-    // Search train schedules between two stations for a specific date
-    @GET("train-schedules/search")
-    Call<ResponseBody> searchTrainSchedules(
+    // Delta sync: only stations whose updatedAt is after the given ISO timestamp
+    @GET("stations")
+    @Headers(ApiConverterFactory.ACCEPT_CBOR)
+    Call<List<Station>> getStationsUpdatedSince(@Query("updatedSince") String updatedSince);
+
+    // Every route as station ids in travel order, for the map's rail lines
+    @GET("train-routes/lines")
+    Call<List<RouteLine>> getRouteLines();
+
+    // Search train schedules between two stations for a specific date, with only the fields a
+    // schedule list row shows and the fare priced for the segment. Decoded schedule by schedule
+    // from the response stream; older backends wrap the list in "data".
+    // The full schedule is fetched with getTrainScheduleById when a row is opened.
+    @GET("train-schedules/search?view=summary")
+    @Headers(ApiConverterFactory.ACCEPT_CBOR)
+    @Enveloped
+    Call<List<TrainScheduleSummary>> searchTrainScheduleSummaries(
             @Query("fromStationId") String fromStationId,
             @Query("toStationId") String toStationId,
             @Query("date") String date
     );
 
+    // Single schedule, used when a schedule list row is opened and to restore a screen when the
+    // schedule is no longer in memory.
+    // Screens recreated together after process death share one fetch.
+    @GET("train-schedules/{id}")
+    @Headers(RequestCoalescingInterceptor.HEADER_REPLAY_WINDOW_MS + ": 5000")
+    Call<TrainSchedule> getTrainScheduleById(@Path("id") int id);
+
+    // Occupied/held seats of one compartment for a journey segment; "since" makes it a cheap refresh
+    @GET("train-schedules/{id}/seat-map")
+    Call<SeatMapResponse> getSeatMap(
+            @Path("id") int trainScheduleId,
+            @Query("compartmentId") int compartmentId,
+            @Query("fromStationId") String fromStationId,
+            @Query("toStationId") String toStationId,
+            @Query("since") String since
+    );
+
     @POST("tickets")
-    Call<ResponseBody> bookTicket(@Body RequestBody body);
+    Call<BookingResponse> bookTicket(@Body TicketRequest request);
+
     @GET("tickets")
-    Call<ResponseBody> getTickets();
+    @Headers(ApiConverterFactory.ACCEPT_CBOR)
+    Call<List<UserTicket>> getTickets();
+
+    // One page of the ticket history, newest first; pass null as cursor for the first page
+    @GET("tickets/history")
+    @Headers(ApiConverterFactory.ACCEPT_CBOR)
+    Call<TicketHistoryPage> getTicketHistory(@Query("limit") int limit, @Query("cursor") String cursor);
 
     @POST("payments/initiate")
     Call<PaymentInitiateResponse> initiatePayment(@Body Map<String, String> body);
 
+    // Same shape as the booking response. Revalidated with its ETag like getProfile
     @GET("tickets/{id}")
-    Call<ResponseBody> getTicketById(@Path("id") String id);
+    Call<BookingResponse> getTicketById(@Path("id") String id);
 }
@@ -4,26 +4,23 @@ import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
 import java.io.IOException;
-import android.content.Context;
-import android.content.SharedPreferences;
 
+/**
+ * Adds the "Authorization: Bearer <token>" header using the in-memory {@link TokenStore}.
+ * No SharedPreferences lookup happens per request.
+ */
 public class AuthInterceptor implements Interceptor {
-    private Context context;
-
-    public AuthInterceptor(Context context) {
-        this.context = context;
-    }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        SharedPreferences sharedPreferences = context.getSharedPreferences("MyPrefs", Context.MODE_PRIVATE);
-        String authToken = sharedPreferences.getString("auth_token", null);
+        String authToken = TokenStore.peek();
         Request original = chain.request();
-        Request.Builder builder = original.newBuilder();
-        if (authToken != null) {
-            builder.header("Authorization", "Bearer " + authToken);
+        if (authToken == null || authToken.isEmpty()) {
+            return chain.proceed(original);
         }
-        Request request = builder.build();
+        Request request = original.newBuilder()
+                .header("Authorization", "Bearer " + authToken)
+                .build();
         return chain.proceed(request);
     }
 }
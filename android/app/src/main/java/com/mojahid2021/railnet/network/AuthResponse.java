@@ -0,0 +1,11 @@
+package com.mojahid2021.railnet.network;
+
+import com.mojahid2021.railnet.model.User;
+
+/**
+ * Response of POST /login and POST /register.
+ */
+public class AuthResponse {
+    public User user;
+    public String token;
+}
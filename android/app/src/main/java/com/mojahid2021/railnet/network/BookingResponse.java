@@ -0,0 +1,62 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Response of POST /tickets: the booked ticket, still pending payment.
+ */
+public class BookingResponse {
+    public Ticket ticket;
+    public Passenger passenger;
+    public Journey journey;
+    public Seat seat;
+    public Pricing pricing;
+
+    public static class Ticket {
+        public int id;
+        public String ticketId;
+        public String status;
+        public String paymentStatus;
+        public String expiresAt;
+        public String createdAt;
+    }
+
+    public static class Passenger {
+        public String name;
+        public int age;
+        public String gender;
+    }
+
+    public static class Journey {
+        public TrainShort train;
+        public RouteShort route;
+        public Schedule schedule;
+    }
+
+    public static class TrainShort {
+        public String name;
+        public String number;
+    }
+
+    public static class RouteShort {
+        public String from;
+        public String to;
+    }
+
+    public static class Schedule {
+        public String date;
+        public String departureTime;
+    }
+
+    public static class Seat {
+        public String number;
+        public String compartment;
+        @SerializedName("class")
+        public String clazz; // 'class' is reserved, map to clazz
+    }
+
+    public static class Pricing {
+        public double amount;
+        public String currency;
+    }
+}
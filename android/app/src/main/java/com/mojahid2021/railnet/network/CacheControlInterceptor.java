@@ -0,0 +1,45 @@
+package com.mojahid2021.railnet.network;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that gives short freshness lifetimes to read-mostly GET endpoints
+ * when the backend does not send its own Cache-Control header, so the on-disk HTTP cache
+ * can serve repeated requests without a round-trip.
+ */
+public class CacheControlInterceptor implements Interceptor {
+
+    private static final int STATIONS_MAX_AGE_SECONDS = 5 * 60;
+    private static final int SEARCH_MAX_AGE_SECONDS = 60;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || !response.isSuccessful()
+                || response.header("Cache-Control") != null) {
+            return response;
+        }
+
+        int maxAge = maxAgeFor(request.url().encodedPath());
+        if (maxAge <= 0) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "private, max-age=" + maxAge)
+                .build();
+    }
+
+    private static int maxAgeFor(String path) {
+        if (path.endsWith("/stations")) return STATIONS_MAX_AGE_SECONDS;
+        if (path.endsWith("/train-schedules/search")) return SEARCH_MAX_AGE_SECONDS;
+        return 0;
+    }
+}
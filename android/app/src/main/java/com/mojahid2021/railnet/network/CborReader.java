@@ -0,0 +1,467 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonReader} over a CBOR (RFC 8949) stream, so every Gson adapter, including the ones in
+ * {@link ModelAdapters}, decodes binary responses unchanged.
+ *
+ * Covers the JSON data model: integers, floats (half, single, double), text strings, arrays,
+ * maps with text keys, true/false/null. Definite and indefinite length arrays and maps are read;
+ * tags are skipped. Byte strings, indefinite length strings and non-text map keys are rejected.
+ * Conversions follow JsonReader: numbers can be read as strings and numeric strings as numbers.
+ *
+ * Not thread-safe; one instance per response.
+ */
+final class CborReader extends JsonReader {
+
+    private static final Reader UNREADABLE = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private static final int INDEFINITE = -1;
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+    private static final int BREAK = 0xff;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int pos;
+    private int limit;
+
+    // Open containers; level 0 is the document, which holds exactly one value.
+    // Items left counts names and values separately for maps, INDEFINITE until a break.
+    private int depth;
+    private long[] remaining = new long[32];
+    private boolean[] isMap = new boolean[32];
+    private boolean[] expectName = new boolean[32];
+
+    // Head of the next item, read by peek() and consumed by the next* methods
+    private JsonToken peeked;
+    private int major;
+    private int info;
+    private long argument; // value, length or float bits
+
+    CborReader(InputStream in) {
+        super(UNREADABLE);
+        this.in = in;
+        remaining[0] = 1;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        if (peeked != null) return peeked;
+        if (remaining[depth] == 0) {
+            return peeked = depth == 0 ? JsonToken.END_DOCUMENT : endToken();
+        }
+        int initial = readByte();
+        if (initial == BREAK) {
+            if (remaining[depth] != INDEFINITE) throw syntaxError("Unexpected break");
+            return peeked = endToken();
+        }
+        major = initial >>> 5;
+        info = initial & 0x1f;
+        while (major == MAJOR_TAG) {
+            readArgument();
+            initial = readByte();
+            major = initial >>> 5;
+            info = initial & 0x1f;
+        }
+        if (major == MAJOR_SIMPLE) {
+            argument = readArgument();
+            peeked = simpleToken();
+        } else {
+            if (info == 31) {
+                if (major != MAJOR_ARRAY && major != MAJOR_MAP) throw syntaxError("Indefinite length string");
+                argument = INDEFINITE;
+            } else {
+                argument = readArgument();
+            }
+            peeked = token();
+        }
+        if (isMap[depth] && expectName[depth]) {
+            if (peeked != JsonToken.STRING) throw syntaxError("Map key is not a text string");
+            peeked = JsonToken.NAME;
+        }
+        return peeked;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        push(argument, false);
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        push(argument == INDEFINITE ? INDEFINITE : argument * 2, true);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        depth--;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        return readText();
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            consume();
+            return readText();
+        }
+        if (token == JsonToken.NUMBER) {
+            consume();
+            return isInteger() ? integerString() : Double.toString(floatValue());
+        }
+        throw unexpected("a string", token);
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        return argument == 21;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.NUMBER) {
+            consume();
+            return isInteger() ? integerDouble() : floatValue();
+        }
+        if (token == JsonToken.STRING) {
+            consume();
+            return Double.parseDouble(readText());
+        }
+        throw unexpected("a double", token);
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.NUMBER) {
+            consume();
+            if (isInteger()) {
+                if (argument < 0) throw new NumberFormatException("Expected a long but was " + integerString());
+                return major == MAJOR_UNSIGNED ? argument : -1 - argument;
+            }
+            double value = floatValue();
+            long result = (long) value;
+            if (result != value) throw new NumberFormatException("Expected a long but was " + value);
+            return result;
+        }
+        if (token == JsonToken.STRING) {
+            consume();
+            return parseLong(readText());
+        }
+        throw unexpected("a long", token);
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) throw unexpected("an int", token);
+        long value = nextLong();
+        if ((int) value != value) throw new NumberFormatException("Expected an int but was " + value);
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        int startDepth = depth;
+        do {
+            JsonToken token = peek();
+            switch (token) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    break;
+                case NAME:
+                case STRING:
+                    consume();
+                    skipBytes(argument);
+                    break;
+                case END_DOCUMENT:
+                    return;
+                default:
+                    consume();
+                    break;
+            }
+        } while (depth > startDepth);
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        depth = 0;
+        remaining[0] = 0;
+        in.close();
+    }
+
+    @Override
+    public String toString() {
+        return "CborReader";
+    }
+
+    // ---- Items ----
+
+    private JsonToken token() throws IOException {
+        switch (major) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                return JsonToken.NUMBER;
+            case MAJOR_TEXT:
+                return JsonToken.STRING;
+            case MAJOR_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case MAJOR_MAP:
+                return JsonToken.BEGIN_OBJECT;
+            case MAJOR_BYTES:
+            default:
+                throw syntaxError("Unsupported major type " + major);
+        }
+    }
+
+    private JsonToken simpleToken() throws IOException {
+        switch (info) {
+            case 20:
+            case 21:
+                argument = info;
+                return JsonToken.BOOLEAN;
+            case 22: // null
+            case 23: // undefined
+                return JsonToken.NULL;
+            case 25:
+            case 26:
+            case 27:
+                return JsonToken.NUMBER;
+            default:
+                throw syntaxError("Unsupported simple value " + info);
+        }
+    }
+
+    private JsonToken endToken() {
+        return isMap[depth] ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) throw unexpected(expected.name(), token);
+        consume();
+    }
+
+    // Marks the peeked item as read; values and names count against the enclosing container
+    private void consume() {
+        JsonToken token = peeked;
+        peeked = null;
+        if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT || token == JsonToken.END_DOCUMENT) return;
+        if (remaining[depth] != INDEFINITE) remaining[depth]--;
+        if (isMap[depth]) expectName[depth] = !expectName[depth];
+    }
+
+    private void push(long items, boolean map) {
+        depth++;
+        if (depth == remaining.length) {
+            remaining = Arrays.copyOf(remaining, depth * 2);
+            isMap = Arrays.copyOf(isMap, depth * 2);
+            expectName = Arrays.copyOf(expectName, depth * 2);
+        }
+        remaining[depth] = items;
+        isMap[depth] = map;
+        expectName[depth] = map;
+    }
+
+    private boolean isInteger() {
+        return major == MAJOR_UNSIGNED || major == MAJOR_NEGATIVE;
+    }
+
+    // Integers are unsigned 64-bit on the wire; arguments beyond Long.MAX_VALUE are negative here
+    private String integerString() {
+        if (argument >= 0) return Long.toString(major == MAJOR_UNSIGNED ? argument : -1 - argument);
+        BigInteger unsigned = new BigInteger(Long.toHexString(argument), 16);
+        return (major == MAJOR_UNSIGNED ? unsigned : unsigned.add(BigInteger.ONE).negate()).toString();
+    }
+
+    private double integerDouble() {
+        return argument >= 0 ? (major == MAJOR_UNSIGNED ? argument : -1.0 - argument) : Double.parseDouble(integerString());
+    }
+
+    private double floatValue() {
+        switch (info) {
+            case 25:
+                return halfToDouble((int) argument);
+            case 26:
+                return Float.intBitsToFloat((int) argument);
+            default:
+                return Double.longBitsToDouble(argument);
+        }
+    }
+
+    private static double halfToDouble(int bits) {
+        int exponent = (bits >>> 10) & 0x1f;
+        int mantissa = bits & 0x3ff;
+        double value;
+        if (exponent == 0) {
+            value = Math.scalb((double) mantissa, -24);
+        } else if (exponent == 31) {
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        } else {
+            value = Math.scalb((double) (mantissa + 1024), exponent - 25);
+        }
+        return (bits & 0x8000) != 0 ? -value : value;
+    }
+
+    private static long parseLong(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            double value = Double.parseDouble(text);
+            long result = (long) value;
+            if (result != value) throw new NumberFormatException("Expected a long but was " + text);
+            return result;
+        }
+    }
+
+    // ---- Bytes ----
+
+    private long readArgument() throws IOException {
+        if (info < 24) return info;
+        switch (info) {
+            case 24:
+                return readByte();
+            case 25:
+                return (readByte() << 8) | readByte();
+            case 26:
+                return ((long) readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+            case 27:
+                return (readArgumentHalf() << 32) | readArgumentHalf();
+            default:
+                throw syntaxError("Invalid additional information " + info);
+        }
+    }
+
+    private long readArgumentHalf() throws IOException {
+        return ((long) readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private String readText() throws IOException {
+        if (argument < 0 || argument > Integer.MAX_VALUE) throw syntaxError("String too long");
+        int length = (int) argument;
+        if (length <= buffer.length) {
+            require(length);
+            String text = new String(buffer, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return text;
+        }
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            if (pos == limit) fill();
+            int n = Math.min(limit - pos, length - copied);
+            System.arraycopy(buffer, pos, bytes, copied, n);
+            pos += n;
+            copied += n;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void skipBytes(long count) throws IOException {
+        while (count > 0) {
+            if (pos == limit) fill();
+            int n = (int) Math.min(limit - pos, count);
+            pos += n;
+            count -= n;
+        }
+    }
+
+    private int readByte() throws IOException {
+        if (pos == limit) fill();
+        return buffer[pos++] & 0xff;
+    }
+
+    // Makes the next count bytes (at most the buffer size) available from pos
+    private void require(int count) throws IOException {
+        if (limit - pos >= count) return;
+        System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+        limit -= pos;
+        pos = 0;
+        while (limit < count) {
+            int n = in.read(buffer, limit, buffer.length - limit);
+            if (n < 0) throw new EOFException("End of input");
+            limit += n;
+        }
+    }
+
+    private void fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n < 0) throw new EOFException("End of input");
+        pos = 0;
+        limit = n;
+    }
+
+    private IOException syntaxError(String message) {
+        return new MalformedJsonException(message + " in CBOR input");
+    }
+
+    private static IllegalStateException unexpected(String expected, JsonToken actual) {
+        return new IllegalStateException("Expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mojahid2021.railnet.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link ApiService} endpoint whose response may wrap its value in an object envelope,
+ * {"data": ...}, as the schedule search once did. {@link ApiConverterFactory} then takes the value
+ * under "data" wherever it appears among the keys, and still accepts the bare value.
+ *
+ * Responses of endpoints without it are decoded as the value itself.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@interface Enveloped {
+}
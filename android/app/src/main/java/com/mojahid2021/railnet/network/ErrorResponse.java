@@ -0,0 +1,10 @@
+package com.mojahid2021.railnet.network;
+
+/**
+ * Error body of a failed call. The backend sends "error"; "message" comes from plugin errors
+ * such as the rate limiter.
+ */
+public class ErrorResponse {
+    public String error;
+    public String message;
+}
@@ -0,0 +1,1227 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mojahid2021.railnet.model.RouteLine;
+import com.mojahid2021.railnet.model.SeatMapResponse;
+import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.model.TicketHistoryPage;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+import com.mojahid2021.railnet.model.User;
+import com.mojahid2021.railnet.model.UserTicket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field-by-field Gson adapters for every JSON-bound model and DTO.
+ *
+ * Each adapter reads and writes exactly what Gson's reflective binding would (same JSON names,
+ * same null handling, unknown names skipped, fields written in declaration order), but with plain
+ * field access, so decoding does no reflection and needs no per-type adapter discovery.
+ * Nested models call each other's adapters directly.
+ *
+ * A field added to a model must be added here too; ModelAdaptersTest compares every adapter
+ * against the reflective result.
+ */
+public final class ModelAdapters implements TypeAdapterFactory {
+
+    static final Map<Class<?>, TypeAdapter<?>> ADAPTERS = new HashMap<>();
+
+    private ModelAdapters() {
+    }
+
+    /**
+     * Shared Gson with every model adapter registered. Thread-safe.
+     */
+    public static Gson gson() {
+        return Holder.GSON;
+    }
+
+    private static final class Holder {
+        static final Gson GSON = new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelAdapters())
+                .create();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        return (TypeAdapter<T>) ADAPTERS.get(type.getRawType());
+    }
+
+    // ---- Base ----
+
+    abstract static class ObjectAdapter<T> extends TypeAdapter<T> {
+
+        ObjectAdapter(Class<T> type) {
+            ADAPTERS.put(type, this);
+        }
+
+        abstract T newInstance();
+
+        /** Reads the value of one name into {@code target}; returns false for unknown names. */
+        abstract boolean readField(JsonReader in, String name, T target) throws IOException;
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        @Override
+        public final T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            in.beginObject();
+            return readRemaining(in, null);
+        }
+
+        /**
+         * Finishes an object whose opening brace, and optionally first name, were already consumed.
+         */
+        final T readRemaining(JsonReader in, String pendingName) throws IOException {
+            T target = newInstance();
+            if (pendingName != null && !readField(in, pendingName, target)) in.skipValue();
+            while (in.hasNext()) {
+                if (!readField(in, in.nextName(), target)) in.skipValue();
+            }
+            in.endObject();
+            return target;
+        }
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+    }
+
+    // ---- Stations and routes ----
+
+    static final ObjectAdapter<Station> STATION = new ObjectAdapter<Station>(Station.class) {
+        @Override
+        Station newInstance() {
+            return new Station();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, Station t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "name": t.name = readString(in); return true;
+                case "city": t.city = readString(in); return true;
+                case "latitude": t.latitude = readDouble(in, t.latitude); return true;
+                case "longitude": t.longitude = readDouble(in, t.longitude); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, Station v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("name").value(v.name);
+            out.name("city").value(v.city);
+            out.name("latitude").value(v.latitude);
+            out.name("longitude").value(v.longitude);
+            out.name("createdAt").value(v.createdAt);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<RouteLine> ROUTE_LINE = new ObjectAdapter<RouteLine>(RouteLine.class) {
+        @Override
+        RouteLine newInstance() {
+            return new RouteLine();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, RouteLine t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "name": t.name = readString(in); return true;
+                case "stationIds": t.stationIds = readIntegerList(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, RouteLine v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("name").value(v.name);
+            out.name("stationIds");
+            writeIntegerList(out, v.stationIds);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<SeatMapResponse> SEAT_MAP = new ObjectAdapter<SeatMapResponse>(SeatMapResponse.class) {
+        @Override
+        SeatMapResponse newInstance() {
+            return new SeatMapResponse();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, SeatMapResponse t) throws IOException {
+            switch (name) {
+                case "scheduleId": t.scheduleId = readInt(in, t.scheduleId); return true;
+                case "compartmentId": t.compartmentId = readInt(in, t.compartmentId); return true;
+                case "totalSeats": t.totalSeats = readInt(in, t.totalSeats); return true;
+                case "occupied": t.occupied = readString(in); return true;
+                case "held": t.held = readString(in); return true;
+                case "unchanged": t.unchanged = readBoolean(in, t.unchanged); return true;
+                case "asOf": t.asOf = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, SeatMapResponse v) throws IOException {
+            out.name("scheduleId").value(v.scheduleId);
+            out.name("compartmentId").value(v.compartmentId);
+            out.name("totalSeats").value(v.totalSeats);
+            out.name("occupied").value(v.occupied);
+            out.name("held").value(v.held);
+            out.name("unchanged").value(v.unchanged);
+            out.name("asOf").value(v.asOf);
+        }
+    };
+
+    // ---- Train schedules ----
+
+    static final ObjectAdapter<TrainSchedule.SimpleStation> SIMPLE_STATION =
+            new ObjectAdapter<TrainSchedule.SimpleStation>(TrainSchedule.SimpleStation.class) {
+        @Override
+        TrainSchedule.SimpleStation newInstance() {
+            return new TrainSchedule.SimpleStation();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.SimpleStation t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "name": t.name = readString(in); return true;
+                case "city": t.city = readString(in); return true;
+                case "latitude": t.latitude = readDouble(in, t.latitude); return true;
+                case "longitude": t.longitude = readDouble(in, t.longitude); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.SimpleStation v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("name").value(v.name);
+            out.name("city").value(v.city);
+            out.name("latitude").value(v.latitude);
+            out.name("longitude").value(v.longitude);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule.RouteStation> ROUTE_STATION =
+            new ObjectAdapter<TrainSchedule.RouteStation>(TrainSchedule.RouteStation.class) {
+        @Override
+        TrainSchedule.RouteStation newInstance() {
+            return new TrainSchedule.RouteStation();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.RouteStation t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "previousStationId": t.previousStationId = readInt(in, t.previousStationId); return true;
+                case "currentStationId": t.currentStationId = readInt(in, t.currentStationId); return true;
+                case "nextStationId": t.nextStationId = readInt(in, t.nextStationId); return true;
+                case "distance": t.distance = readDouble(in, t.distance); return true;
+                case "distanceFromStart": t.distanceFromStart = readDouble(in, t.distanceFromStart); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.RouteStation v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("previousStationId").value(v.previousStationId);
+            out.name("currentStationId").value(v.currentStationId);
+            out.name("nextStationId").value(v.nextStationId);
+            out.name("distance").value(v.distance);
+            out.name("distanceFromStart").value(v.distanceFromStart);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule.TrainRoute> TRAIN_ROUTE =
+            new ObjectAdapter<TrainSchedule.TrainRoute>(TrainSchedule.TrainRoute.class) {
+        @Override
+        TrainSchedule.TrainRoute newInstance() {
+            return new TrainSchedule.TrainRoute();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.TrainRoute t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "name": t.name = readString(in); return true;
+                case "startStationId": t.startStationId = readInt(in, t.startStationId); return true;
+                case "endStationId": t.endStationId = readInt(in, t.endStationId); return true;
+                case "startStation": t.startStation = SIMPLE_STATION.read(in); return true;
+                case "endStation": t.endStation = SIMPLE_STATION.read(in); return true;
+                case "routeStations": t.routeStations = readList(in, ROUTE_STATION); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.TrainRoute v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("name").value(v.name);
+            out.name("startStationId").value(v.startStationId);
+            out.name("endStationId").value(v.endStationId);
+            out.name("startStation");
+            SIMPLE_STATION.write(out, v.startStation);
+            out.name("endStation");
+            SIMPLE_STATION.write(out, v.endStation);
+            out.name("routeStations");
+            writeList(out, v.routeStations, ROUTE_STATION);
+            out.name("createdAt").value(v.createdAt);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule.Compartment> COMPARTMENT =
+            new ObjectAdapter<TrainSchedule.Compartment>(TrainSchedule.Compartment.class) {
+        @Override
+        TrainSchedule.Compartment newInstance() {
+            return new TrainSchedule.Compartment();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.Compartment t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "name": t.name = readString(in); return true;
+                case "class": t.clazz = readString(in); return true;
+                case "type": t.type = readString(in); return true;
+                case "price": t.price = readDouble(in, t.price); return true;
+                case "totalSeats": t.totalSeats = readInt(in, t.totalSeats); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.Compartment v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("name").value(v.name);
+            out.name("class").value(v.clazz);
+            out.name("type").value(v.type);
+            out.name("price").value(v.price);
+            out.name("totalSeats").value(v.totalSeats);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule.CompartmentAssignment> COMPARTMENT_ASSIGNMENT =
+            new ObjectAdapter<TrainSchedule.CompartmentAssignment>(TrainSchedule.CompartmentAssignment.class) {
+        @Override
+        TrainSchedule.CompartmentAssignment newInstance() {
+            return new TrainSchedule.CompartmentAssignment();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.CompartmentAssignment t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "trainId": t.trainId = readInt(in, t.trainId); return true;
+                case "compartmentId": t.compartmentId = readInt(in, t.compartmentId); return true;
+                case "quantity": t.quantity = readInt(in, t.quantity); return true;
+                case "compartment": t.compartment = COMPARTMENT.read(in); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.CompartmentAssignment v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("trainId").value(v.trainId);
+            out.name("compartmentId").value(v.compartmentId);
+            out.name("quantity").value(v.quantity);
+            out.name("compartment");
+            COMPARTMENT.write(out, v.compartment);
+            out.name("createdAt").value(v.createdAt);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule.Train> TRAIN =
+            new ObjectAdapter<TrainSchedule.Train>(TrainSchedule.Train.class) {
+        @Override
+        TrainSchedule.Train newInstance() {
+            return new TrainSchedule.Train();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.Train t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "name": t.name = readString(in); return true;
+                case "number": t.number = readString(in); return true;
+                case "trainRouteId": t.trainRouteId = readInt(in, t.trainRouteId); return true;
+                case "trainRoute": t.trainRoute = TRAIN_ROUTE.read(in); return true;
+                case "compartments": t.compartments = readList(in, COMPARTMENT_ASSIGNMENT); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.Train v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("name").value(v.name);
+            out.name("number").value(v.number);
+            out.name("trainRouteId").value(v.trainRouteId);
+            out.name("trainRoute");
+            TRAIN_ROUTE.write(out, v.trainRoute);
+            out.name("compartments");
+            writeList(out, v.compartments, COMPARTMENT_ASSIGNMENT);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule.StationTime> STATION_TIME =
+            new ObjectAdapter<TrainSchedule.StationTime>(TrainSchedule.StationTime.class) {
+        @Override
+        TrainSchedule.StationTime newInstance() {
+            return new TrainSchedule.StationTime();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule.StationTime t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "trainScheduleId": t.trainScheduleId = readInt(in, t.trainScheduleId); return true;
+                case "stationId": t.stationId = readInt(in, t.stationId); return true;
+                case "station": t.station = SIMPLE_STATION.read(in); return true;
+                case "arrivalTime": t.arrivalTime = readString(in); return true;
+                case "departureTime": t.departureTime = readString(in); return true;
+                case "sequence": t.sequence = readInt(in, t.sequence); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule.StationTime v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("trainScheduleId").value(v.trainScheduleId);
+            out.name("stationId").value(v.stationId);
+            out.name("station");
+            SIMPLE_STATION.write(out, v.station);
+            out.name("arrivalTime").value(v.arrivalTime);
+            out.name("departureTime").value(v.departureTime);
+            out.name("sequence").value(v.sequence);
+        }
+    };
+
+    static final ObjectAdapter<TrainSchedule> TRAIN_SCHEDULE = new ObjectAdapter<TrainSchedule>(TrainSchedule.class) {
+        @Override
+        TrainSchedule newInstance() {
+            return new TrainSchedule();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainSchedule t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "trainId": t.trainId = readInt(in, t.trainId); return true;
+                case "trainRouteId": t.trainRouteId = readInt(in, t.trainRouteId); return true;
+                case "train": t.train = TRAIN.read(in); return true;
+                case "trainRoute": t.trainRoute = TRAIN_ROUTE.read(in); return true;
+                case "date": t.date = readString(in); return true;
+                case "time": t.time = readString(in); return true;
+                case "stationTimes": t.stationTimes = readList(in, STATION_TIME); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainSchedule v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("trainId").value(v.trainId);
+            out.name("trainRouteId").value(v.trainRouteId);
+            out.name("train");
+            TRAIN.write(out, v.train);
+            out.name("trainRoute");
+            TRAIN_ROUTE.write(out, v.trainRoute);
+            out.name("date").value(v.date);
+            out.name("time").value(v.time);
+            out.name("stationTimes");
+            writeList(out, v.stationTimes, STATION_TIME);
+            out.name("createdAt").value(v.createdAt);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<TrainScheduleSummary> TRAIN_SCHEDULE_SUMMARY =
+            new ObjectAdapter<TrainScheduleSummary>(TrainScheduleSummary.class) {
+        @Override
+        TrainScheduleSummary newInstance() {
+            return new TrainScheduleSummary();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TrainScheduleSummary t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "trainId": t.trainId = readInt(in, t.trainId); return true;
+                case "trainRouteId": t.trainRouteId = readInt(in, t.trainRouteId); return true;
+                case "date": t.date = readString(in); return true;
+                case "time": t.time = readString(in); return true;
+                case "trainName": t.trainName = readString(in); return true;
+                case "trainNumber": t.trainNumber = readString(in); return true;
+                case "startStationName": t.startStationName = readString(in); return true;
+                case "endStationName": t.endStationName = readString(in); return true;
+                case "departureTime": t.departureTime = readString(in); return true;
+                case "arrivalTime": t.arrivalTime = readString(in); return true;
+                case "durationMinutes": t.durationMinutes = readInt(in, t.durationMinutes); return true;
+                case "minFare": t.minFare = readDouble(in, t.minFare); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TrainScheduleSummary v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("trainId").value(v.trainId);
+            out.name("trainRouteId").value(v.trainRouteId);
+            out.name("date").value(v.date);
+            out.name("time").value(v.time);
+            out.name("trainName").value(v.trainName);
+            out.name("trainNumber").value(v.trainNumber);
+            out.name("startStationName").value(v.startStationName);
+            out.name("endStationName").value(v.endStationName);
+            out.name("departureTime").value(v.departureTime);
+            out.name("arrivalTime").value(v.arrivalTime);
+            out.name("durationMinutes").value(v.durationMinutes);
+            out.name("minFare").value(v.minFare);
+        }
+    };
+
+    // ---- Tickets ----
+
+    static final ObjectAdapter<UserTicket.Ticket> USER_TICKET_TICKET =
+            new ObjectAdapter<UserTicket.Ticket>(UserTicket.Ticket.class) {
+        @Override
+        UserTicket.Ticket newInstance() {
+            return new UserTicket.Ticket();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Ticket t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "ticketId": t.ticketId = readString(in); return true;
+                case "status": t.status = readString(in); return true;
+                case "paymentStatus": t.paymentStatus = readString(in); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Ticket v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("ticketId").value(v.ticketId);
+            out.name("status").value(v.status);
+            out.name("paymentStatus").value(v.paymentStatus);
+            out.name("createdAt").value(v.createdAt);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket.Journey.Train> USER_TICKET_TRAIN =
+            new ObjectAdapter<UserTicket.Journey.Train>(UserTicket.Journey.Train.class) {
+        @Override
+        UserTicket.Journey.Train newInstance() {
+            return new UserTicket.Journey.Train();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Journey.Train t) throws IOException {
+            switch (name) {
+                case "name": t.name = readString(in); return true;
+                case "number": t.number = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Journey.Train v) throws IOException {
+            out.name("name").value(v.name);
+            out.name("number").value(v.number);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket.Journey.Route> USER_TICKET_ROUTE =
+            new ObjectAdapter<UserTicket.Journey.Route>(UserTicket.Journey.Route.class) {
+        @Override
+        UserTicket.Journey.Route newInstance() {
+            return new UserTicket.Journey.Route();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Journey.Route t) throws IOException {
+            switch (name) {
+                case "from": t.from = readString(in); return true;
+                case "to": t.to = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Journey.Route v) throws IOException {
+            out.name("from").value(v.from);
+            out.name("to").value(v.to);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket.Journey.Schedule> USER_TICKET_SCHEDULE =
+            new ObjectAdapter<UserTicket.Journey.Schedule>(UserTicket.Journey.Schedule.class) {
+        @Override
+        UserTicket.Journey.Schedule newInstance() {
+            return new UserTicket.Journey.Schedule();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Journey.Schedule t) throws IOException {
+            switch (name) {
+                case "date": t.date = readString(in); return true;
+                case "departureTime": t.departureTime = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Journey.Schedule v) throws IOException {
+            out.name("date").value(v.date);
+            out.name("departureTime").value(v.departureTime);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket.Journey> USER_TICKET_JOURNEY =
+            new ObjectAdapter<UserTicket.Journey>(UserTicket.Journey.class) {
+        @Override
+        UserTicket.Journey newInstance() {
+            return new UserTicket.Journey();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Journey t) throws IOException {
+            switch (name) {
+                case "train": t.train = USER_TICKET_TRAIN.read(in); return true;
+                case "route": t.route = USER_TICKET_ROUTE.read(in); return true;
+                case "schedule": t.schedule = USER_TICKET_SCHEDULE.read(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Journey v) throws IOException {
+            out.name("train");
+            USER_TICKET_TRAIN.write(out, v.train);
+            out.name("route");
+            USER_TICKET_ROUTE.write(out, v.route);
+            out.name("schedule");
+            USER_TICKET_SCHEDULE.write(out, v.schedule);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket.Seat> USER_TICKET_SEAT =
+            new ObjectAdapter<UserTicket.Seat>(UserTicket.Seat.class) {
+        @Override
+        UserTicket.Seat newInstance() {
+            return new UserTicket.Seat();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Seat t) throws IOException {
+            switch (name) {
+                case "number": t.number = readString(in); return true;
+                case "compartment": t.compartment = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Seat v) throws IOException {
+            out.name("number").value(v.number);
+            out.name("compartment").value(v.compartment);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket.Pricing> USER_TICKET_PRICING =
+            new ObjectAdapter<UserTicket.Pricing>(UserTicket.Pricing.class) {
+        @Override
+        UserTicket.Pricing newInstance() {
+            return new UserTicket.Pricing();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket.Pricing t) throws IOException {
+            switch (name) {
+                case "amount": t.amount = readDouble(in, t.amount); return true;
+                case "currency": t.currency = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket.Pricing v) throws IOException {
+            out.name("amount").value(v.amount);
+            out.name("currency").value(v.currency);
+        }
+    };
+
+    static final ObjectAdapter<UserTicket> USER_TICKET = new ObjectAdapter<UserTicket>(UserTicket.class) {
+        @Override
+        UserTicket newInstance() {
+            return new UserTicket();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserTicket t) throws IOException {
+            switch (name) {
+                case "ticket": t.ticket = USER_TICKET_TICKET.read(in); return true;
+                case "journey": t.journey = USER_TICKET_JOURNEY.read(in); return true;
+                case "seat": t.seat = USER_TICKET_SEAT.read(in); return true;
+                case "pricing": t.pricing = USER_TICKET_PRICING.read(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserTicket v) throws IOException {
+            out.name("ticket");
+            USER_TICKET_TICKET.write(out, v.ticket);
+            out.name("journey");
+            USER_TICKET_JOURNEY.write(out, v.journey);
+            out.name("seat");
+            USER_TICKET_SEAT.write(out, v.seat);
+            out.name("pricing");
+            USER_TICKET_PRICING.write(out, v.pricing);
+        }
+    };
+
+    static final ObjectAdapter<TicketHistoryPage> TICKET_HISTORY_PAGE =
+            new ObjectAdapter<TicketHistoryPage>(TicketHistoryPage.class) {
+        @Override
+        TicketHistoryPage newInstance() {
+            return new TicketHistoryPage();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TicketHistoryPage t) throws IOException {
+            switch (name) {
+                case "items": t.items = readList(in, USER_TICKET); return true;
+                case "nextCursor": t.nextCursor = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TicketHistoryPage v) throws IOException {
+            out.name("items");
+            writeList(out, v.items, USER_TICKET);
+            out.name("nextCursor").value(v.nextCursor);
+        }
+    };
+
+    // ---- Booking and payment ----
+
+    static final ObjectAdapter<TicketRequest> TICKET_REQUEST = new ObjectAdapter<TicketRequest>(TicketRequest.class) {
+        @Override
+        TicketRequest newInstance() {
+            return new TicketRequest(0, 0, 0, 0, null, null, 0, null);
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, TicketRequest t) throws IOException {
+            switch (name) {
+                case "trainScheduleId": t.trainScheduleId = readInt(in, t.trainScheduleId); return true;
+                case "fromStationId": t.fromStationId = readInt(in, t.fromStationId); return true;
+                case "toStationId": t.toStationId = readInt(in, t.toStationId); return true;
+                case "compartmentId": t.compartmentId = readInt(in, t.compartmentId); return true;
+                case "seatNumber": t.seatNumber = readString(in); return true;
+                case "passengerName": t.passengerName = readString(in); return true;
+                case "passengerAge": t.passengerAge = readInt(in, t.passengerAge); return true;
+                case "passengerGender": t.passengerGender = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TicketRequest v) throws IOException {
+            out.name("trainScheduleId").value(v.trainScheduleId);
+            out.name("fromStationId").value(v.fromStationId);
+            out.name("toStationId").value(v.toStationId);
+            out.name("compartmentId").value(v.compartmentId);
+            out.name("seatNumber").value(v.seatNumber);
+            out.name("passengerName").value(v.passengerName);
+            out.name("passengerAge").value(v.passengerAge);
+            out.name("passengerGender").value(v.passengerGender);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.Ticket> BOOKING_TICKET =
+            new ObjectAdapter<BookingResponse.Ticket>(BookingResponse.Ticket.class) {
+        @Override
+        BookingResponse.Ticket newInstance() {
+            return new BookingResponse.Ticket();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.Ticket t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "ticketId": t.ticketId = readString(in); return true;
+                case "status": t.status = readString(in); return true;
+                case "paymentStatus": t.paymentStatus = readString(in); return true;
+                case "expiresAt": t.expiresAt = readString(in); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.Ticket v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("ticketId").value(v.ticketId);
+            out.name("status").value(v.status);
+            out.name("paymentStatus").value(v.paymentStatus);
+            out.name("expiresAt").value(v.expiresAt);
+            out.name("createdAt").value(v.createdAt);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.Passenger> BOOKING_PASSENGER =
+            new ObjectAdapter<BookingResponse.Passenger>(BookingResponse.Passenger.class) {
+        @Override
+        BookingResponse.Passenger newInstance() {
+            return new BookingResponse.Passenger();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.Passenger t) throws IOException {
+            switch (name) {
+                case "name": t.name = readString(in); return true;
+                case "age": t.age = readInt(in, t.age); return true;
+                case "gender": t.gender = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.Passenger v) throws IOException {
+            out.name("name").value(v.name);
+            out.name("age").value(v.age);
+            out.name("gender").value(v.gender);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.TrainShort> BOOKING_TRAIN =
+            new ObjectAdapter<BookingResponse.TrainShort>(BookingResponse.TrainShort.class) {
+        @Override
+        BookingResponse.TrainShort newInstance() {
+            return new BookingResponse.TrainShort();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.TrainShort t) throws IOException {
+            switch (name) {
+                case "name": t.name = readString(in); return true;
+                case "number": t.number = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.TrainShort v) throws IOException {
+            out.name("name").value(v.name);
+            out.name("number").value(v.number);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.RouteShort> BOOKING_ROUTE =
+            new ObjectAdapter<BookingResponse.RouteShort>(BookingResponse.RouteShort.class) {
+        @Override
+        BookingResponse.RouteShort newInstance() {
+            return new BookingResponse.RouteShort();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.RouteShort t) throws IOException {
+            switch (name) {
+                case "from": t.from = readString(in); return true;
+                case "to": t.to = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.RouteShort v) throws IOException {
+            out.name("from").value(v.from);
+            out.name("to").value(v.to);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.Schedule> BOOKING_SCHEDULE =
+            new ObjectAdapter<BookingResponse.Schedule>(BookingResponse.Schedule.class) {
+        @Override
+        BookingResponse.Schedule newInstance() {
+            return new BookingResponse.Schedule();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.Schedule t) throws IOException {
+            switch (name) {
+                case "date": t.date = readString(in); return true;
+                case "departureTime": t.departureTime = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.Schedule v) throws IOException {
+            out.name("date").value(v.date);
+            out.name("departureTime").value(v.departureTime);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.Journey> BOOKING_JOURNEY =
+            new ObjectAdapter<BookingResponse.Journey>(BookingResponse.Journey.class) {
+        @Override
+        BookingResponse.Journey newInstance() {
+            return new BookingResponse.Journey();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.Journey t) throws IOException {
+            switch (name) {
+                case "train": t.train = BOOKING_TRAIN.read(in); return true;
+                case "route": t.route = BOOKING_ROUTE.read(in); return true;
+                case "schedule": t.schedule = BOOKING_SCHEDULE.read(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.Journey v) throws IOException {
+            out.name("train");
+            BOOKING_TRAIN.write(out, v.train);
+            out.name("route");
+            BOOKING_ROUTE.write(out, v.route);
+            out.name("schedule");
+            BOOKING_SCHEDULE.write(out, v.schedule);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.Seat> BOOKING_SEAT =
+            new ObjectAdapter<BookingResponse.Seat>(BookingResponse.Seat.class) {
+        @Override
+        BookingResponse.Seat newInstance() {
+            return new BookingResponse.Seat();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.Seat t) throws IOException {
+            switch (name) {
+                case "number": t.number = readString(in); return true;
+                case "compartment": t.compartment = readString(in); return true;
+                case "class": t.clazz = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.Seat v) throws IOException {
+            out.name("number").value(v.number);
+            out.name("compartment").value(v.compartment);
+            out.name("class").value(v.clazz);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse.Pricing> BOOKING_PRICING =
+            new ObjectAdapter<BookingResponse.Pricing>(BookingResponse.Pricing.class) {
+        @Override
+        BookingResponse.Pricing newInstance() {
+            return new BookingResponse.Pricing();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse.Pricing t) throws IOException {
+            switch (name) {
+                case "amount": t.amount = readDouble(in, t.amount); return true;
+                case "currency": t.currency = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse.Pricing v) throws IOException {
+            out.name("amount").value(v.amount);
+            out.name("currency").value(v.currency);
+        }
+    };
+
+    static final ObjectAdapter<BookingResponse> BOOKING_RESPONSE =
+            new ObjectAdapter<BookingResponse>(BookingResponse.class) {
+        @Override
+        BookingResponse newInstance() {
+            return new BookingResponse();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, BookingResponse t) throws IOException {
+            switch (name) {
+                case "ticket": t.ticket = BOOKING_TICKET.read(in); return true;
+                case "passenger": t.passenger = BOOKING_PASSENGER.read(in); return true;
+                case "journey": t.journey = BOOKING_JOURNEY.read(in); return true;
+                case "seat": t.seat = BOOKING_SEAT.read(in); return true;
+                case "pricing": t.pricing = BOOKING_PRICING.read(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BookingResponse v) throws IOException {
+            out.name("ticket");
+            BOOKING_TICKET.write(out, v.ticket);
+            out.name("passenger");
+            BOOKING_PASSENGER.write(out, v.passenger);
+            out.name("journey");
+            BOOKING_JOURNEY.write(out, v.journey);
+            out.name("seat");
+            BOOKING_SEAT.write(out, v.seat);
+            out.name("pricing");
+            BOOKING_PRICING.write(out, v.pricing);
+        }
+    };
+
+    static final ObjectAdapter<PaymentInitiateResponse> PAYMENT_INITIATE =
+            new ObjectAdapter<PaymentInitiateResponse>(PaymentInitiateResponse.class) {
+        @Override
+        PaymentInitiateResponse newInstance() {
+            return new PaymentInitiateResponse();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, PaymentInitiateResponse t) throws IOException {
+            switch (name) {
+                case "paymentUrl": t.paymentUrl = readString(in); return true;
+                case "transactionId": t.transactionId = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, PaymentInitiateResponse v) throws IOException {
+            out.name("paymentUrl").value(v.paymentUrl);
+            out.name("transactionId").value(v.transactionId);
+        }
+    };
+
+    // ---- Users and errors ----
+
+    static final ObjectAdapter<User> USER = new ObjectAdapter<User>(User.class) {
+        @Override
+        User newInstance() {
+            return new User();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, User t) throws IOException {
+            switch (name) {
+                case "id": t.id = readInt(in, t.id); return true;
+                case "email": t.email = readString(in); return true;
+                case "firstName": t.firstName = readString(in); return true;
+                case "lastName": t.lastName = readString(in); return true;
+                case "phone": t.phone = readString(in); return true;
+                case "address": t.address = readString(in); return true;
+                case "role": t.role = readString(in); return true;
+                case "createdAt": t.createdAt = readString(in); return true;
+                case "updatedAt": t.updatedAt = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, User v) throws IOException {
+            out.name("id").value(v.id);
+            out.name("email").value(v.email);
+            out.name("firstName").value(v.firstName);
+            out.name("lastName").value(v.lastName);
+            out.name("phone").value(v.phone);
+            out.name("address").value(v.address);
+            out.name("role").value(v.role);
+            out.name("createdAt").value(v.createdAt);
+            out.name("updatedAt").value(v.updatedAt);
+        }
+    };
+
+    static final ObjectAdapter<AuthResponse> AUTH_RESPONSE = new ObjectAdapter<AuthResponse>(AuthResponse.class) {
+        @Override
+        AuthResponse newInstance() {
+            return new AuthResponse();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, AuthResponse t) throws IOException {
+            switch (name) {
+                case "user": t.user = USER.read(in); return true;
+                case "token": t.token = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AuthResponse v) throws IOException {
+            out.name("user");
+            USER.write(out, v.user);
+            out.name("token").value(v.token);
+        }
+    };
+
+    static final ObjectAdapter<ErrorResponse> ERROR_RESPONSE = new ObjectAdapter<ErrorResponse>(ErrorResponse.class) {
+        @Override
+        ErrorResponse newInstance() {
+            return new ErrorResponse();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, ErrorResponse t) throws IOException {
+            switch (name) {
+                case "error": t.error = readString(in); return true;
+                case "message": t.message = readString(in); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, ErrorResponse v) throws IOException {
+            out.name("error").value(v.error);
+            out.name("message").value(v.message);
+        }
+    };
+
+    // ---- Value helpers, matching Gson's built-in adapters ----
+
+    // null leaves the field untouched, like reflective binding does for primitives
+    private static int readInt(JsonReader in, int current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static double readDouble(JsonReader in, double current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        return in.nextDouble();
+    }
+
+    private static boolean readBoolean(JsonReader in, boolean current) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        if (token == JsonToken.STRING) return Boolean.parseBoolean(in.nextString());
+        return in.nextBoolean();
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) return Boolean.toString(in.nextBoolean());
+        return in.nextString();
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> element) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) list.add(element.read(in));
+        in.endArray();
+        return list;
+    }
+
+    private static List<Integer> readIntegerList(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<Integer> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                list.add(null);
+            } else {
+                list.add(readInt(in, 0));
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> element) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T item : list) element.write(out, item);
+        out.endArray();
+    }
+
+    private static void writeIntegerList(JsonWriter out, List<Integer> list) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (Integer item : list) out.value(item);
+        out.endArray();
+    }
+}
@@ -0,0 +1,146 @@
+package com.mojahid2021.railnet.network;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+
+/**
+ * Process-wide counters for traffic the network stack saved, with an optional listener
+ * (e.g. for logging or analytics). Listener callbacks run on OkHttp threads and must be cheap.
+ *
+ * Revalidations of cached responses are counted per endpoint, named by method and path with id
+ * segments replaced, e.g. "GET /tickets/:id".
+ */
+public final class NetworkMetrics {
+
+    /**
+     * Receives an event for every request that did not need its own round-trip.
+     */
+    public interface Listener {
+        /**
+         * @param method   HTTP method
+         * @param path     encoded URL path
+         * @param replayed true if served from a recently completed call, false if it joined one in flight
+         */
+        void onRequestDeduplicated(String method, String path, boolean replayed);
+
+        /**
+         * @param endpoint    method and path template, e.g. "GET /tickets/:id"
+         * @param notModified true if the server answered 304 and the cached body was used
+         */
+        default void onConditionalRequest(String endpoint, boolean notModified) {
+        }
+    }
+
+    /**
+     * Conditional requests (If-None-Match / If-Modified-Since) sent for one endpoint.
+     */
+    public static final class ConditionalStats {
+        public final long requests;
+        public final long notModified;
+
+        ConditionalStats(long requests, long notModified) {
+            this.requests = requests;
+            this.notModified = notModified;
+        }
+
+        /**
+         * Share of conditional requests answered with 304, 0 if none were sent.
+         */
+        public double notModifiedRatio() {
+            return requests == 0 ? 0 : (double) notModified / requests;
+        }
+    }
+
+    private static final class ConditionalCounter {
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong notModified = new AtomicLong();
+    }
+
+    private static final AtomicLong joinedInFlight = new AtomicLong();
+    private static final AtomicLong replayedRecent = new AtomicLong();
+    private static final Map<String, ConditionalCounter> conditional = new ConcurrentHashMap<>();
+    private static volatile Listener listener;
+
+    private NetworkMetrics() {
+    }
+
+    public static void setListener(Listener newListener) {
+        listener = newListener;
+    }
+
+    /**
+     * Requests that shared the response of an identical call already in flight.
+     */
+    public static long getJoinedInFlightCount() {
+        return joinedInFlight.get();
+    }
+
+    /**
+     * Requests answered from a recently completed identical call.
+     */
+    public static long getReplayedCount() {
+        return replayedRecent.get();
+    }
+
+    /**
+     * Conditional requests and 304s for one endpoint, e.g. "GET /stations".
+     */
+    public static ConditionalStats getConditionalStats(String endpoint) {
+        ConditionalCounter counter = conditional.get(endpoint);
+        if (counter == null) return new ConditionalStats(0, 0);
+        // 304s are counted after their request, so reading them first never yields a ratio above 1
+        long notModified = counter.notModified.get();
+        return new ConditionalStats(counter.requests.get(), notModified);
+    }
+
+    /**
+     * Conditional requests and 304s of every endpoint that sent one, by endpoint name.
+     */
+    public static Map<String, ConditionalStats> getConditionalStats() {
+        Map<String, ConditionalStats> stats = new TreeMap<>();
+        for (String endpoint : conditional.keySet()) stats.put(endpoint, getConditionalStats(endpoint));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    static void onDeduplicated(Request request, boolean replayed) {
+        (replayed ? replayedRecent : joinedInFlight).incrementAndGet();
+        Listener l = listener;
+        if (l != null) {
+            l.onRequestDeduplicated(request.method(), request.url().encodedPath(), replayed);
+        }
+    }
+
+    static void onConditionalRequest(Request request, boolean notModified) {
+        String endpoint = endpoint(request);
+        ConditionalCounter counter = conditional.computeIfAbsent(endpoint, e -> new ConditionalCounter());
+        counter.requests.incrementAndGet();
+        if (notModified) counter.notModified.incrementAndGet();
+        Listener l = listener;
+        if (l != null) {
+            l.onConditionalRequest(endpoint, notModified);
+        }
+    }
+
+    // "GET /tickets/TKT-12" -> "GET /tickets/:id": path segments with a digit are ids
+    static String endpoint(Request request) {
+        StringBuilder sb = new StringBuilder(request.method()).append(' ');
+        for (String segment : request.url().pathSegments()) {
+            if (segment.isEmpty()) continue;
+            sb.append('/').append(hasDigit(segment) ? ":id" : segment);
+        }
+        if (sb.charAt(sb.length() - 1) == ' ') sb.append('/');
+        return sb.toString();
+    }
+
+    private static boolean hasDigit(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) return true;
+        }
+        return false;
+    }
+}
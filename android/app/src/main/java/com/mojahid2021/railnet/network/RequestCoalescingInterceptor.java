@@ -0,0 +1,214 @@
+package com.mojahid2021.railnet.network;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Application interceptor that collapses identical GET requests into one round-trip.
+ *
+ * - Requests are keyed by method + URL + Authorization header, so different users never share
+ * - A request that arrives while an identical one is in flight waits for it and gets a copy of
+ *   its response (e.g. the search fired again after rotating TrainsActivity)
+ * - A response body is read into memory only when it will be shared: another caller joined before
+ *   the response headers came back, or the request has a replay window. Otherwise it streams to
+ *   its caller, and identical requests that arrive later make their own round-trip
+ * - Requests carrying {@link #HEADER_REPLAY_WINDOW_MS} are also answered from a result completed
+ *   within that many milliseconds. Endpoints with a Cache-Control lifetime (stations, search)
+ *   don't need it; the HTTP cache already serves their repeats
+ * - Any non-GET request drops all held results, since it may have changed them
+ *
+ * Must run after {@link AuthInterceptor}. Bodies larger than {@link #MAX_SHARED_BODY_BYTES} are
+ * not shared; waiters then make their own request. If the shared call fails, waiters retry
+ * on their own instead of inheriting the failure (the first caller may simply have been cancelled).
+ */
+public class RequestCoalescingInterceptor implements Interceptor {
+
+    /** Request header (stripped before sending): how long a completed result may be replayed. */
+    public static final String HEADER_REPLAY_WINDOW_MS = "X-Coalesce-Replay-Ms";
+
+    static final long MAX_SHARED_BODY_BYTES = 2L * 1024 * 1024;
+    private static final long WAIT_POLL_MS = 100;
+
+    // A response whose body has been read into memory, so it can be handed out many times
+    private static final class SharedResponse {
+        final Response response;      // body already consumed; only metadata is used
+        final byte[] body;
+        final MediaType contentType;
+        final long expiresAtMillis;
+
+        SharedResponse(Response response, byte[] body, MediaType contentType, long expiresAtMillis) {
+            this.response = response;
+            this.body = body;
+            this.contentType = contentType;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        Response copyFor(Request request) {
+            return response.newBuilder()
+                    .request(request)
+                    .body(ResponseBody.create(body, contentType))
+                    .build();
+        }
+    }
+
+    private static final class InFlight {
+        final CountDownLatch done = new CountDownLatch(1);
+        int waiters;                      // guarded by the interceptor
+        volatile SharedResponse result;   // null if the call failed or its body was too large
+
+        void complete(SharedResponse shared) {
+            result = shared;
+            done.countDown();
+        }
+    }
+
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+    private final Map<String, SharedResponse> recent = new HashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            clearRecent();
+            return chain.proceed(request);
+        }
+
+        long replayWindowMs = 0;
+        String windowHeader = request.header(HEADER_REPLAY_WINDOW_MS);
+        if (windowHeader != null) {
+            replayWindowMs = parseWindow(windowHeader);
+            request = request.newBuilder().removeHeader(HEADER_REPLAY_WINDOW_MS).build();
+        }
+
+        String key = key(request);
+        SharedResponse held;
+        InFlight call = null;
+        boolean leader = false;
+        synchronized (this) {
+            held = recent.get(key);
+            if (held != null && held.expiresAtMillis <= System.currentTimeMillis()) {
+                recent.remove(key);
+                held = null;
+            }
+            if (held == null) {
+                call = inFlight.get(key);
+                if (call == null) {
+                    call = new InFlight();
+                    inFlight.put(key, call);
+                    leader = true;
+                } else {
+                    call.waiters++;
+                }
+            }
+        }
+        if (held != null) {
+            NetworkMetrics.onDeduplicated(request, true);
+            return held.copyFor(request);
+        }
+
+        if (!leader) {
+            SharedResponse shared = await(chain, call);
+            if (shared != null) {
+                NetworkMetrics.onDeduplicated(request, false);
+                return shared.copyFor(request);
+            }
+            return chain.proceed(request);
+        }
+
+        SharedResponse shared = null;
+        try {
+            Response response = chain.proceed(request);
+            ResponseBody body = response.body();
+            long expiresAt = replayWindowMs > 0 && isReplayable(response)
+                    ? System.currentTimeMillis() + replayWindowMs : 0;
+            if (body == null || !willShare(key, call, expiresAt)) {
+                return response;
+            }
+            BufferedSource source = body.source();
+            if (source.request(MAX_SHARED_BODY_BYTES + 1)) {
+                return response; // Too large to hold in memory; stream it to this caller only
+            }
+            shared = new SharedResponse(response, source.readByteArray(), body.contentType(), expiresAt);
+            body.close();
+            return shared.copyFor(request);
+        } finally {
+            synchronized (this) {
+                inFlight.remove(key, call);
+                if (shared != null && shared.expiresAtMillis > 0) {
+                    pruneExpired();
+                    recent.put(key, shared);
+                }
+            }
+            call.complete(shared);
+        }
+    }
+
+    // Whether anyone will use a copy of the leader's response. If not, the call stops accepting
+    // waiters here, so none can join after the body has started streaming to the leader
+    private synchronized boolean willShare(String key, InFlight call, long expiresAt) {
+        if (call.waiters > 0 || expiresAt > 0) return true;
+        inFlight.remove(key, call);
+        return false;
+    }
+
+    /**
+     * Drops all held results. Called for writes and when the signed-in user changes.
+     */
+    synchronized void clearRecent() {
+        recent.clear();
+    }
+
+    // Removes expired held results before adding one, to keep the map small. Call with the lock held
+    private void pruneExpired() {
+        long now = System.currentTimeMillis();
+        for (Iterator<SharedResponse> it = recent.values().iterator(); it.hasNext(); ) {
+            if (it.next().expiresAtMillis <= now) it.remove();
+        }
+    }
+
+    // Waits for the shared call, giving up early if this caller is cancelled
+    private static SharedResponse await(Chain chain, InFlight call) throws IOException {
+        try {
+            while (!call.done.await(WAIT_POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a coalesced request", e);
+        }
+        return call.result;
+    }
+
+    private static boolean isReplayable(Response response) {
+        if (!response.isSuccessful()) return false;
+        CacheControl cacheControl = response.cacheControl();
+        return !cacheControl.noStore() && !cacheControl.noCache();
+    }
+
+    private static long parseWindow(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String key(Request request) {
+        String auth = request.header("Authorization");
+        return request.method() + ' ' + request.url() + (auth != null ? ' ' + auth : "");
+    }
+}
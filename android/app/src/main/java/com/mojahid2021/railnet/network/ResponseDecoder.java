@@ -0,0 +1,142 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decodes one response body into the type an endpoint declares, reading straight from the stream.
+ *
+ * - List targets: a bare array. Null elements are dropped.
+ * - Other targets (models, JsonObject, maps): the value, read by its type adapter.
+ * - Enveloped decoders (see {@link Enveloped}) also accept an object with the value under "data",
+ *   in any position among its keys. Reading stops once the value is read. An envelope without
+ *   "data" (or, for lists, without a "data" array) decodes to an empty list or null.
+ *
+ * An empty body decodes to null; a body of the wrong shape throws {@link JsonSyntaxException}.
+ * Instances are immutable and thread-safe.
+ */
+final class ResponseDecoder<T> {
+
+    static final String DATA_KEY = "data";
+
+    private final TypeAdapter<T> adapter;
+    private final TypeAdapter<?> elementAdapter; // non-null for list targets
+    private final boolean enveloped;
+
+    private ResponseDecoder(TypeAdapter<T> adapter, TypeAdapter<?> elementAdapter, boolean enveloped) {
+        this.adapter = adapter;
+        this.elementAdapter = elementAdapter;
+        this.enveloped = enveloped;
+    }
+
+    /**
+     * Decoder for endpoints that answer with the bare value.
+     */
+    static <T> ResponseDecoder<T> of(Gson gson, Type type) {
+        return of(gson, type, false);
+    }
+
+    /**
+     * @param enveloped whether the value may come under "data" in an object envelope
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ResponseDecoder<T> of(Gson gson, Type type, boolean enveloped) {
+        TypeAdapter<T> adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(type));
+        Type element = listElementType(type);
+        return new ResponseDecoder<>(adapter,
+                element != null ? gson.getAdapter(TypeToken.get(element)) : null, enveloped);
+    }
+
+    T decode(Reader source) throws IOException {
+        JsonReader reader = new JsonReader(source);
+        reader.setLenient(true);
+        return decode(reader);
+    }
+
+    /**
+     * Decodes from any JsonReader, e.g. a {@link CborReader} for binary responses.
+     */
+    T decode(JsonReader reader) throws IOException {
+        JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (EOFException e) {
+            return null; // No content
+        }
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        try {
+            if (enveloped && token == JsonToken.BEGIN_OBJECT) return decodeEnvelope(reader);
+            return decodeValue(reader, token);
+        } catch (IllegalStateException e) {
+            // Unexpected token; reported like Gson.fromJson does
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private T decodeValue(JsonReader reader, JsonToken token) throws IOException {
+        if (elementAdapter == null) return adapter.read(reader);
+        if (token != JsonToken.BEGIN_ARRAY) {
+            throw new JsonSyntaxException("Expected BEGIN_ARRAY but was " + token + " at path " + reader.getPath());
+        }
+        return readElements(reader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T decodeEnvelope(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (DATA_KEY.equals(name) && token == JsonToken.NULL) {
+                reader.nextNull();
+                break;
+            }
+            if (DATA_KEY.equals(name) && (elementAdapter == null || token == JsonToken.BEGIN_ARRAY)) {
+                // Nothing after the value is needed; stop reading here
+                return decodeValue(reader, token);
+            }
+            reader.skipValue();
+        }
+        return elementAdapter != null ? (T) new ArrayList<>() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T readElements(JsonReader reader) throws IOException {
+        List<Object> out = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            out.add(elementAdapter.read(reader));
+        }
+        reader.endArray();
+        return (T) out;
+    }
+
+    // Element type of List<E> / Collection<E> targets, or null
+    private static Type listElementType(Type type) {
+        if (!(type instanceof ParameterizedType)) return null;
+        ParameterizedType parameterized = (ParameterizedType) type;
+        Type raw = parameterized.getRawType();
+        if (raw != List.class && raw != Collection.class) return null;
+        return parameterized.getActualTypeArguments()[0];
+    }
+}
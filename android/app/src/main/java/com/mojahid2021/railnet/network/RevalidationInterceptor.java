@@ -0,0 +1,29 @@
+package com.mojahid2021.railnet.network;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that counts revalidations of cached responses in {@link NetworkMetrics}.
+ *
+ * The HTTP cache keeps the ETag and Last-Modified of every stored response and, once the entry is
+ * stale, sends them back as If-None-Match / If-Modified-Since. A 304 answer is completed from the
+ * cached body, so callers still see a 200. Being a network interceptor, this one sees the
+ * conditional request and the raw 304 before the cache merges them.
+ */
+public class RevalidationInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (request.header("If-None-Match") != null || request.header("If-Modified-Since") != null) {
+            NetworkMetrics.onConditionalRequest(request, response.code() == 304);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mojahid2021.railnet.network;
+
+/**
+ * Body of POST /tickets.
+ */
+public class TicketRequest {
+    public int trainScheduleId;
+    public int fromStationId;
+    public int toStationId;
+    public int compartmentId;
+    public String seatNumber;
+    public String passengerName;
+    public int passengerAge;
+    public String passengerGender;
+
+    public TicketRequest(int trainScheduleId, int fromStationId, int toStationId, int compartmentId,
+                         String seatNumber, String passengerName, int passengerAge, String passengerGender) {
+        this.trainScheduleId = trainScheduleId;
+        this.fromStationId = fromStationId;
+        this.toStationId = toStationId;
+        this.compartmentId = compartmentId;
+        this.seatNumber = seatNumber;
+        this.passengerName = passengerName;
+        this.passengerAge = passengerAge;
+        this.passengerGender = passengerGender;
+    }
+}
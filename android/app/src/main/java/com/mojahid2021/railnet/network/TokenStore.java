@@ -0,0 +1,107 @@
+package com.mojahid2021.railnet.network;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.nio.charset.StandardCharsets;
+
+import okio.ByteString;
+
+/**
+ * In-memory holder for the auth token, backed by SharedPreferences.
+ *
+ * The token is read from disk once and then served from memory, so the network stack
+ * does not hit SharedPreferences on every request. Login must go through
+ * {@link #saveToken(Context, String)} so the cached value and any user-specific HTTP
+ * cache entries are invalidated together.
+ */
+public final class TokenStore {
+
+    private static final String PREFS_NAME = "UserPreferences";
+    private static final String TOKEN_KEY = "token";
+
+    private static volatile String token;
+    private static volatile boolean loaded;
+
+    private TokenStore() {
+    }
+
+    /**
+     * Returns the current token, loading it from preferences on first use.
+     */
+    public static String getToken(Context context) {
+        if (!loaded) {
+            synchronized (TokenStore.class) {
+                if (!loaded) {
+                    token = prefs(context).getString(TOKEN_KEY, null);
+                    loaded = true;
+                }
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Persists a new token after login and drops responses cached for the previous user.
+     */
+    public static void saveToken(Context context, String newToken) {
+        synchronized (TokenStore.class) {
+            prefs(context).edit().putString(TOKEN_KEY, newToken).apply();
+            token = newToken;
+            loaded = true;
+        }
+        ApiClient.evictCache();
+    }
+
+    /**
+     * Id of the signed-in user, or null if nobody is signed in or the token carries no readable id.
+     */
+    public static String getUserId(Context context) {
+        return userId(getToken(context));
+    }
+
+    /**
+     * The "id" claim the backend signs into the JWT payload (or "sub" if there is none). The
+     * signature is not checked; the value only tells local data of different users apart.
+     */
+    static String userId(String token) {
+        if (token == null) return null;
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) return null;
+        ByteString payload = ByteString.decodeBase64(parts[1]);
+        if (payload == null) return null;
+        try {
+            JsonElement claims = new JsonParser().parse(payload.string(StandardCharsets.UTF_8));
+            if (!claims.isJsonObject()) return null;
+            JsonObject object = claims.getAsJsonObject();
+            JsonElement id = object.has("id") ? object.get("id") : object.get("sub");
+            return id != null && id.isJsonPrimitive() ? id.getAsString() : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the in-memory token without touching preferences (null if not loaded yet).
+     */
+    static String peek() {
+        return token;
+    }
+
+    /**
+     * Replaces the in-memory token only. Used by local unit tests that have no Context.
+     */
+    static void setInMemory(String newToken) {
+        token = newToken;
+        loaded = true;
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
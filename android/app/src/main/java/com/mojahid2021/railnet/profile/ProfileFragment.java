@@ -19,12 +19,10 @@ import android.widget.Toast;
 
 import com.mojahid2021.railnet.R;
 import com.mojahid2021.railnet.activity.MyTicketsActivity;
+import com.mojahid2021.railnet.model.User;
 import com.mojahid2021.railnet.network.ApiService;
 import com.mojahid2021.railnet.network.ApiClient;
 
-import org.json.JSONObject;
-
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -87,33 +85,19 @@ public class ProfileFragment extends Fragment {
      */
     private void loadUserData() {
         ApiService apiService = ApiClient.getRetrofit(requireActivity()).create(ApiService.class);
-        Call<ResponseBody> call = apiService.getProfile();
-        // Implement API call and populate UI with user data
+        Call<User> call = apiService.getProfile();
 
-        call.enqueue(new Callback<ResponseBody>() {
+        call.enqueue(new Callback<User>() {
             @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+            public void onResponse(Call<User> call, Response<User> response) {
 
                 if (response.isSuccessful() && response.body() != null) {
-                    try {
-                        String responseBody = response.body().string();
-                        JSONObject jsonObject = new JSONObject(responseBody);
-                        String firstName = jsonObject.getString("firstName");
-                        String lastName = jsonObject.getString("lastName");
-                        String email = jsonObject.getString("email");
-                        String phone = jsonObject.getString("phone");
-                        String location = jsonObject.getString("address");
-                        String memberSince = jsonObject.getString("createdAt");
-
-                        tvUserName.setText(firstName + " " + lastName);
-                        tvUserEmail.setText(email);
-                        tvMemberDate.setText("Member since: " + memberSince);
-                        tvUserPhone.setText(phone);
-                        tvUserLocation.setText(location);
-
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
+                    User user = response.body();
+                    tvUserName.setText(user.firstName + " " + user.lastName);
+                    tvUserEmail.setText(user.email);
+                    tvMemberDate.setText("Member since: " + user.createdAt);
+                    tvUserPhone.setText(user.phone);
+                    tvUserLocation.setText(user.address);
                 } else {
                     showToast("Failed to load user data");
 
@@ -122,7 +106,7 @@ public class ProfileFragment extends Fragment {
             }
 
             @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            public void onFailure(Call<User> call, Throwable t) {
 
                 showToast("Error loading user data");
                 Log.e(TAG, "onFailure: ", t);
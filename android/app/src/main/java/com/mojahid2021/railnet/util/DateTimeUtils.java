@@ -2,9 +2,7 @@ package com.mojahid2021.railnet.util;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -15,8 +13,10 @@ import java.util.TimeZone;
  * - Formats dates for display (e.g. "Sat, Dec 6, 2025") and for API queries (yyyy-MM-dd).
  * - Formats time strings (hh:mm a) for display.
  *
- * Note: SimpleDateFormat is used for broad Android compatibility. Methods create new
- * formatter instances per-call because SimpleDateFormat is not thread-safe.
+ * The canonical backend shapes ("yyyy-MM-dd'T'HH:mm:ss[.SSS]'Z'", "HH:mm[:ss]") are parsed by hand
+ * without allocating. Anything else falls back to lenient SimpleDateFormat parsing so results stay
+ * identical to the original per-call formatters. SimpleDateFormat is not thread-safe, so each thread
+ * keeps its own instances; display labels for a time of day are cached per minute and locale.
  */
 public final class DateTimeUtils {
 
@@ -34,21 +34,23 @@ public final class DateTimeUtils {
     private static final String ISO_S_Z = "yyyy-MM-dd'T'HH:mm:ss'Z'"; // without milliseconds + Z
     private static final String ISO_DATE_ONLY = "yyyy-MM-dd";
 
-    private static List<SimpleDateFormat> buildIsoParsers() {
-        List<SimpleDateFormat> list = new ArrayList<>();
-        SimpleDateFormat sdf1 = new SimpleDateFormat(ISO_MS_Z, Locale.getDefault());
-        sdf1.setTimeZone(TimeZone.getTimeZone("UTC"));
-        list.add(sdf1);
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
 
-        SimpleDateFormat sdf2 = new SimpleDateFormat(ISO_S_Z, Locale.getDefault());
-        sdf2.setTimeZone(TimeZone.getTimeZone("UTC"));
-        list.add(sdf2);
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
 
-        SimpleDateFormat sdf3 = new SimpleDateFormat(ISO_DATE_ONLY, Locale.getDefault());
-        sdf3.setTimeZone(TimeZone.getDefault());
-        list.add(sdf3);
-        return list;
-    }
+    // Marker for "not a canonical string, use the fallback parser"
+    private static final long NOT_CANONICAL = Long.MIN_VALUE;
+
+    // Years outside this range go through SimpleDateFormat (calendar cutover, lenient quirks)
+    private static final int MIN_FAST_YEAR = 1900;
+    private static final int MAX_FAST_YEAR = 9999;
+
+    private static final ThreadLocal<Formatters> FORMATTERS = new ThreadLocal<>();
+
+    // Display labels for each minute of the day in the current locale
+    private static volatile TimeLabels timeLabels;
 
     /**
      * Parse an ISO date/time string into {@link Date}.
@@ -58,14 +60,9 @@ public final class DateTimeUtils {
     public static Date parseIsoToDate(String iso) {
         if (iso == null) return null;
         String s = iso.trim();
-        List<SimpleDateFormat> parsers = buildIsoParsers();
-        for (SimpleDateFormat p : parsers) {
-            try {
-                return p.parse(s);
-            } catch (ParseException ignored) {
-            }
-        }
-        return null;
+        long millis = parseCanonicalIsoUtc(s);
+        if (millis != NOT_CANONICAL) return new Date(millis);
+        return formatters().parseIsoLenient(s);
     }
 
     /**
@@ -74,7 +71,8 @@ public final class DateTimeUtils {
      */
     public static String formatDisplayDate(Date date) {
         if (date == null) return "";
-        SimpleDateFormat sdf = new SimpleDateFormat(DISPLAY_DATE_PATTERN, Locale.getDefault());
+        SimpleDateFormat sdf = formatters().displayDate;
+        sdf.setTimeZone(TimeZone.getDefault());
         return sdf.format(date);
     }
 
@@ -83,7 +81,7 @@ public final class DateTimeUtils {
      */
     public static String formatApiDate(Date date) {
         if (date == null) return "";
-        SimpleDateFormat sdf = new SimpleDateFormat(API_DATE_PATTERN, Locale.getDefault());
+        SimpleDateFormat sdf = formatters().apiDate;
         sdf.setTimeZone(TimeZone.getDefault());
         return sdf.format(date);
     }
@@ -103,30 +101,81 @@ public final class DateTimeUtils {
     public static String formatTimeForDisplay(String timeStr) {
         if (timeStr == null) return "";
         String s = timeStr.trim();
-        // Try patterns HH:mm:ss and HH:mm
-        String[] patterns = {"HH:mm:ss", "HH:mm"};
-        for (String p : patterns) {
-            try {
-                SimpleDateFormat parser = new SimpleDateFormat(p, Locale.getDefault());
-                Date d = parser.parse(s);
-                if (d != null) {
-                    SimpleDateFormat out = new SimpleDateFormat(DISPLAY_TIME_PATTERN, Locale.getDefault());
-                    return out.format(d);
-                }
-            } catch (ParseException ignored) {}
-        }
+        int minuteOfDay = parseCanonicalTime(s);
+        if (minuteOfDay >= 0) return timeLabel(minuteOfDay);
+        String formatted = formatters().formatTimeLenient(s);
         // fallback
-        return s;
+        return formatted != null ? formatted : s;
     }
 
     /**
      * Format ISO datetime string to a display time (e.g. "08:00 AM"). Returns empty string on error.
      */
     public static String formatTimeFromIso(String iso) {
-        Date d = parseIsoToDate(iso);
-        if (d == null) return "";
-        SimpleDateFormat out = new SimpleDateFormat(DISPLAY_TIME_PATTERN, Locale.getDefault());
-        return out.format(d);
+        if (iso == null) return "";
+        int minuteOfDay = isoToLocalMinuteOfDay(iso.trim());
+        return minuteOfDay < 0 ? "" : timeLabel(minuteOfDay);
+    }
+
+    /**
+     * Parse a time ("08:00", "08:00:00") or ISO datetime string into minutes since local midnight.
+     * Returns -1 if the string cannot be parsed.
+     */
+    public static int parseMinuteOfDay(String timeStr) {
+        if (timeStr == null) return -1;
+        String s = timeStr.trim();
+        int minuteOfDay = parseCanonicalTime(s);
+        return minuteOfDay >= 0 ? minuteOfDay : isoToLocalMinuteOfDay(s);
+    }
+
+    /**
+     * Format minutes since midnight as a display time ("08:00 AM"). Returns empty string if out of range.
+     */
+    public static String formatMinuteOfDay(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY) return "";
+        return timeLabel(minuteOfDay);
+    }
+
+    /**
+     * Shift an API date ("yyyy-MM-dd") by a number of days, e.g. to the previous or next day.
+     * Returns null if the input is not a valid API date.
+     */
+    public static String addDaysToApiDate(String apiDate, int days) {
+        if (apiDate == null || apiDate.length() != 10 || apiDate.charAt(4) != '-' || apiDate.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(apiDate, 0, 4);
+        int month = digits(apiDate, 5, 2);
+        int day = digits(apiDate, 8, 2);
+        if (year < MIN_FAST_YEAR || year > MAX_FAST_YEAR || month < 1 || month > 12
+                || day < 1 || day > daysInMonth(year, month)) {
+            return null;
+        }
+        for (; days > 0; days--) {
+            if (++day > daysInMonth(year, month)) {
+                day = 1;
+                if (++month > 12) {
+                    month = 1;
+                    year++;
+                }
+            }
+        }
+        for (; days < 0; days++) {
+            if (--day < 1) {
+                if (--month < 1) {
+                    month = 12;
+                    year--;
+                }
+                day = daysInMonth(year, month);
+            }
+        }
+        char[] out = {
+                (char) ('0' + year / 1000 % 10), (char) ('0' + year / 100 % 10),
+                (char) ('0' + year / 10 % 10), (char) ('0' + year % 10), '-',
+                (char) ('0' + month / 10), (char) ('0' + month % 10), '-',
+                (char) ('0' + day / 10), (char) ('0' + day % 10)
+        };
+        return new String(out);
     }
 
     /**
@@ -142,5 +191,218 @@ public final class DateTimeUtils {
     public static long toMillis(Date date) {
         return date == null ? 0L : date.getTime();
     }
-}
 
+    /**
+     * Parse "yyyy-MM-ddTHH:mm:ssZ" or "yyyy-MM-ddTHH:mm:ss.SSSZ" as UTC epoch millis.
+     * Returns {@link #NOT_CANONICAL} for any other shape or an out-of-range field.
+     */
+    static long parseCanonicalIsoUtc(String s) {
+        int len = s.length();
+        if (len != 20 && len != 24) return NOT_CANONICAL;
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':' || s.charAt(len - 1) != 'Z') {
+            return NOT_CANONICAL;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        int millis = 0;
+        if (len == 24) {
+            if (s.charAt(19) != '.') return NOT_CANONICAL;
+            millis = digits(s, 20, 3);
+        }
+        if (year < MIN_FAST_YEAR || year > MAX_FAST_YEAR
+                || month < 1 || month > 12
+                || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23
+                || minute < 0 || minute > 59
+                || second < 0 || second > 59
+                || millis < 0) {
+            return NOT_CANONICAL;
+        }
+        long days = epochDay(year, month, day);
+        return days * MILLIS_PER_DAY
+                + hour * 3_600_000L
+                + minute * MILLIS_PER_MINUTE
+                + second * 1_000L
+                + millis;
+    }
+
+    /**
+     * Parse "H:mm", "HH:mm" or "HH:mm:ss" into a minute of the day.
+     * Returns -1 for any other shape or an out-of-range field.
+     */
+    static int parseCanonicalTime(String s) {
+        int len = s.length();
+        int hourDigits = len > 1 && s.charAt(1) == ':' ? 1 : 2;
+        if (len != hourDigits + 3 && len != hourDigits + 6) return -1;
+        if (s.charAt(hourDigits) != ':') return -1;
+        int hour = digits(s, 0, hourDigits);
+        int minute = digits(s, hourDigits + 1, 2);
+        if (len == hourDigits + 6) {
+            if (s.charAt(hourDigits + 3) != ':') return -1;
+            int second = digits(s, hourDigits + 4, 2);
+            if (second < 0 || second > 59) return -1;
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) return -1;
+        return hour * 60 + minute;
+    }
+
+    // Minute of the local day for an ISO string, or -1 if it cannot be parsed
+    private static int isoToLocalMinuteOfDay(String s) {
+        long millis = parseCanonicalIsoUtc(s);
+        if (millis == NOT_CANONICAL) {
+            Date d = formatters().parseIsoLenient(s);
+            if (d == null) return -1;
+            millis = d.getTime();
+        }
+        long local = millis + TimeZone.getDefault().getOffset(millis);
+        return (int) (Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+    }
+
+    // ASCII digits at [start, start + count), or -1 if any is not a digit
+    private static int digits(String s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int mp = (month + 9) % 12;
+        int doy = (153 * mp + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097L + doe - 719_468L;
+    }
+
+    private static String timeLabel(int minuteOfDay) {
+        Locale locale = Locale.getDefault();
+        TimeLabels labels = timeLabels;
+        if (labels == null || !labels.locale.equals(locale)) {
+            labels = new TimeLabels(locale);
+            timeLabels = labels;
+        }
+        String label = labels.labels[minuteOfDay];
+        if (label == null) {
+            // Benign race: concurrent misses format the same immutable string
+            label = formatters().timeOfDayUtc.format(new Date(minuteOfDay * MILLIS_PER_MINUTE));
+            labels.labels[minuteOfDay] = label;
+        }
+        return label;
+    }
+
+    private static Formatters formatters() {
+        Locale locale = Locale.getDefault();
+        Formatters f = FORMATTERS.get();
+        if (f == null || !f.locale.equals(locale)) {
+            f = new Formatters(locale);
+            FORMATTERS.set(f);
+        }
+        return f;
+    }
+
+    /**
+     * Per-thread SimpleDateFormat instances for one locale.
+     */
+    private static final class Formatters {
+        final Locale locale;
+        final SimpleDateFormat displayDate;
+        final SimpleDateFormat apiDate;
+        final SimpleDateFormat timeOfDayUtc;
+        final SimpleDateFormat displayTime;
+        final SimpleDateFormat isoMsZ;
+        final SimpleDateFormat isoSZ;
+        final SimpleDateFormat isoDateOnly;
+        final SimpleDateFormat[] timeParsers;
+
+        Formatters(Locale locale) {
+            this.locale = locale;
+            displayDate = new SimpleDateFormat(DISPLAY_DATE_PATTERN, locale);
+            apiDate = new SimpleDateFormat(API_DATE_PATTERN, locale);
+            timeOfDayUtc = new SimpleDateFormat(DISPLAY_TIME_PATTERN, locale);
+            timeOfDayUtc.setTimeZone(UTC);
+            displayTime = new SimpleDateFormat(DISPLAY_TIME_PATTERN, locale);
+            isoMsZ = new SimpleDateFormat(ISO_MS_Z, locale);
+            isoMsZ.setTimeZone(UTC);
+            isoSZ = new SimpleDateFormat(ISO_S_Z, locale);
+            isoSZ.setTimeZone(UTC);
+            isoDateOnly = new SimpleDateFormat(ISO_DATE_ONLY, locale);
+            timeParsers = new SimpleDateFormat[]{
+                    new SimpleDateFormat("HH:mm:ss", locale),
+                    new SimpleDateFormat("HH:mm", locale)
+            };
+        }
+
+        // Lenient fallback in the original pattern order; date-only values are local midnight
+        Date parseIsoLenient(String s) {
+            try {
+                return isoMsZ.parse(s);
+            } catch (ParseException ignored) {
+            }
+            try {
+                return isoSZ.parse(s);
+            } catch (ParseException ignored) {
+            }
+            try {
+                isoDateOnly.setTimeZone(TimeZone.getDefault());
+                return isoDateOnly.parse(s);
+            } catch (ParseException ignored) {
+            }
+            return null;
+        }
+
+        // Lenient fallback for non-canonical time strings; null if nothing parses
+        String formatTimeLenient(String s) {
+            TimeZone tz = TimeZone.getDefault();
+            for (SimpleDateFormat parser : timeParsers) {
+                try {
+                    parser.setTimeZone(tz);
+                    Date d = parser.parse(s);
+                    if (d != null) {
+                        displayTime.setTimeZone(tz);
+                        return displayTime.format(d);
+                    }
+                } catch (ParseException ignored) {
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Lazily filled display labels for every minute of the day in one locale.
+     */
+    private static final class TimeLabels {
+        final Locale locale;
+        final String[] labels = new String[MINUTES_PER_DAY];
+
+        TimeLabels(Locale locale) {
+            this.locale = locale;
+        }
+    }
+}
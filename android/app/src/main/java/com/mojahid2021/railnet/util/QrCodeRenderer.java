@@ -0,0 +1,105 @@
+package com.mojahid2021.railnet.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Encodes QR codes and turns them into ARGB pixel buffers or vector runs.
+ *
+ * Encoding produces one bit per module, independent of the output size. Pixel rendering scales modules
+ * by a whole number of pixels (so every module has the same width) and centres the code; each pixel
+ * row is built once per module row and copied for the rest, so a size x size buffer costs one
+ * array fill per module row instead of a call per pixel.
+ */
+public final class QrCodeRenderer {
+
+    /** Quiet zone around the code, in modules */
+    public static final int QUIET_ZONE = 1;
+
+    private QrCodeRenderer() {}
+
+    /**
+     * Encodes {@code content} into a module matrix, quiet zone included.
+     */
+    public static BitMatrix encode(String content) throws WriterException {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.MARGIN, QUIET_ZONE);
+        // Size 0 asks for exactly one pixel per module
+        return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0, hints);
+    }
+
+    /**
+     * Renders a module matrix into a {@code size * size} row-major ARGB buffer, ready for
+     * {@code Bitmap.setPixels}. Sizes smaller than the matrix fall back to one pixel per module,
+     * clipped.
+     */
+    public static int[] toPixels(BitMatrix modules, int size, int dark, int light) {
+        int count = modules.getWidth();
+        int scale = Math.max(1, size / count);
+        int offset = (size - count * scale) / 2;
+
+        int[] pixels = new int[size * size];
+        Arrays.fill(pixels, light);
+
+        // Module column for every pixel column, or -1 in the padding
+        int[] columnModule = new int[size];
+        for (int x = 0; x < size; x++) {
+            int module = x - offset;
+            columnModule[x] = module >= 0 && module < count * scale ? module / scale : -1;
+        }
+
+        int previousRow = -1;
+        for (int y = 0; y < size; y++) {
+            int module = y - offset;
+            if (module < 0 || module >= count * scale) continue;
+            int moduleRow = module / scale;
+            int start = y * size;
+            if (moduleRow == previousRow) {
+                System.arraycopy(pixels, start - size, pixels, start, size);
+                continue;
+            }
+            for (int x = 0; x < size; x++) {
+                int moduleColumn = columnModule[x];
+                if (moduleColumn >= 0 && modules.get(moduleColumn, moduleRow)) {
+                    pixels[start + x] = dark;
+                }
+            }
+            previousRow = moduleRow;
+        }
+        return pixels;
+    }
+
+    /**
+     * Horizontal runs of dark modules as packed {@code (x, y, length)} triples in module units, row
+     * by row. Drawing one rectangle per run instead of per module keeps vector output small.
+     */
+    public static int[] darkRuns(BitMatrix modules) {
+        int width = modules.getWidth();
+        int height = modules.getHeight();
+        int[] runs = new int[3 * 64];
+        int size = 0;
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!modules.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && modules.get(x, y)) x++;
+                if (size + 3 > runs.length) runs = Arrays.copyOf(runs, runs.length * 2);
+                runs[size++] = start;
+                runs[size++] = y;
+                runs[size++] = x - start;
+            }
+        }
+        return Arrays.copyOf(runs, size);
+    }
+}
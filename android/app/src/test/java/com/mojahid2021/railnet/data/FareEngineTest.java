@@ -0,0 +1,90 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.TrainSchedule;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FareEngineTest {
+
+    @Test
+    public void fare_roundsLikeTheBackend() {
+        assertEquals(50.0, FareEngine.fare(1.5, 33.333), 0.0);   // 49.9995 rounds half up
+        assertEquals(12.35, FareEngine.fare(0.5, 24.7), 0.0);
+        assertEquals(-1.0, FareEngine.fare(0, 100.0), 0.0);
+        assertEquals(-1.0, FareEngine.fare(1.5, 0), 0.0);
+    }
+
+    @Test
+    public void quote_pricesEveryCompartmentForTheSegment() {
+        TrainSchedule schedule = schedule(101);
+
+        FareEngine.SegmentFares fares = FareEngine.getInstance().quote(schedule, 2, 3);
+
+        assertEquals(87.5, fares.distanceKm, 0.0);
+        assertEquals(218.75, fares.fareFor(7), 0.0);
+        assertEquals(105.0, fares.fareFor(8), 0.0);
+        assertEquals(105.0, fares.minFare, 0.0);
+        assertEquals(-1.0, fares.fareFor(99), 0.0);
+    }
+
+    @Test
+    public void quote_unknownForReversedOrForeignStations() {
+        TrainSchedule schedule = schedule(102);
+
+        assertEquals(-1.0, FareEngine.getInstance().quote(schedule, 3, 1).minFare, 0.0);
+        assertEquals(-1.0, FareEngine.getInstance().quote(schedule, 1, 42).minFare, 0.0);
+        // Non-positive ids stand for the route ends
+        assertEquals(200.0, FareEngine.getInstance().journeyDistanceKm(schedule.trainRoute, 0, 0), 0.0);
+    }
+
+    @Test
+    public void verifyQuote_dropsCachedDistanceOnMismatch() {
+        TrainSchedule schedule = schedule(103);
+        FareEngine engine = FareEngine.getInstance();
+        double local = engine.quote(schedule, 1, 3).fareFor(8);
+
+        assertTrue(engine.verifyQuote(schedule.trainRoute, 1, 3, local, 240.0));
+
+        // Route data changed on the server; the cached distance must not survive a mismatch
+        schedule.trainRoute.routeStations.get(2).distanceFromStart = 250;
+        assertEquals(200.0, engine.journeyDistanceKm(schedule.trainRoute, 1, 3), 0.0);
+        assertFalse(engine.verifyQuote(schedule.trainRoute, 1, 3, local, 300.0));
+        assertEquals(250.0, engine.journeyDistanceKm(schedule.trainRoute, 1, 3), 0.0);
+    }
+
+    private static TrainSchedule schedule(int routeId) {
+        TrainSchedule ts = new TrainSchedule();
+        ts.train = new TrainSchedule.Train();
+        ts.train.compartments = new ArrayList<>();
+        ts.train.compartments.add(compartment(7, 2.5));
+        ts.train.compartments.add(compartment(8, 1.2));
+        ts.trainRoute = new TrainSchedule.TrainRoute();
+        ts.trainRoute.id = routeId;
+        // Listed out of order on purpose; distances define the order
+        ts.trainRoute.routeStations = new ArrayList<>(Arrays.asList(
+                routeStation(2, 112.5), routeStation(1, 0), routeStation(3, 200)));
+        return ts;
+    }
+
+    private static TrainSchedule.CompartmentAssignment compartment(int id, double pricePerKm) {
+        TrainSchedule.CompartmentAssignment ca = new TrainSchedule.CompartmentAssignment();
+        ca.compartment = new TrainSchedule.Compartment();
+        ca.compartment.id = id;
+        ca.compartment.price = pricePerKm;
+        return ca;
+    }
+
+    private static TrainSchedule.RouteStation routeStation(int stationId, double distanceFromStart) {
+        TrainSchedule.RouteStation rs = new TrainSchedule.RouteStation();
+        rs.currentStationId = stationId;
+        rs.distanceFromStart = distanceFromStart;
+        return rs;
+    }
+}
@@ -0,0 +1,150 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.RouteLine;
+import com.mojahid2021.railnet.model.Station;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RouteGeometryTest {
+
+    @Test
+    public void simplify_dropsPointsWithinTolerance() {
+        double[] xs = {0, 1, 2, 3, 4};
+        double[] ys = {0, 0.05, -0.05, 2, 0};
+
+        assertArrayEquals(new int[]{0, 2, 3, 4}, RouteSimplifier.simplify(xs, ys, 0.1));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, RouteSimplifier.simplify(xs, ys, 0));
+        assertArrayEquals(new int[]{0, 4}, RouteSimplifier.simplify(xs, ys, 5));
+    }
+
+    @Test
+    public void simplify_keepsSpikesBeyondTheEndPoints() {
+        // The middle point lies on the line through the ends but far outside the segment
+        double[] xs = {0, 10, 1};
+        double[] ys = {0, 0, 0};
+
+        assertArrayEquals(new int[]{0, 1, 2}, RouteSimplifier.simplify(xs, ys, 0.5));
+    }
+
+    @Test
+    public void simplify_everyDroppedPointIsWithinTolerance() {
+        Random random = new Random(7);
+        int n = 5_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 1; i < n; i++) {
+            xs[i] = xs[i - 1] + random.nextDouble();
+            ys[i] = ys[i - 1] + random.nextGaussian();
+        }
+        double tolerance = 3;
+
+        int[] keep = RouteSimplifier.simplify(xs, ys, tolerance);
+        for (int k = 0; k + 1 < keep.length; k++) {
+            int a = keep[k], b = keep[k + 1];
+            for (int i = a + 1; i < b; i++) {
+                double d = Math.sqrt(RouteSimplifier.segmentDistanceSq(xs[i], ys[i], xs[a], ys[a], xs[b], ys[b]));
+                assertTrue("point " + i + " is " + d + " away", d <= tolerance);
+            }
+        }
+    }
+
+    @Test
+    public void build_skipsUnknownStationsAndCoarserLevelsHaveFewerPoints() {
+        Map<Integer, Station> stations = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            stations.put(i, station(i, 23.0 + i * 0.01, 90.0 + Math.sin(i / 3.0) * 0.02));
+        }
+        RouteLine route = route(1, 0, 1, 99, 2, 3);
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < 50; i++) all.add(i);
+        RouteLine longRoute = route(2);
+        longRoute.stationIds = all;
+
+        RouteGeometry geometry = RouteGeometry.build(Arrays.asList(route, longRoute, route(3, 99)), stations);
+
+        assertEquals(2, geometry.lines.size());
+        int full = RouteGeometry.LEVEL_COUNT - 1;
+        assertEquals(4, geometry.lines.get(0).latitudes(full).length);
+        assertEquals(50, geometry.lines.get(1).latitudes(full).length);
+        for (int level = 1; level < RouteGeometry.LEVEL_COUNT; level++) {
+            assertTrue(geometry.pointCount(level - 1) <= geometry.pointCount(level));
+        }
+        assertTrue(geometry.lines.get(1).latitudes(0).length < 50);
+    }
+
+    @Test
+    public void levelFor_usesTheFirstLevelAtLeastAsDetailedAsTheZoom() {
+        assertEquals(0, RouteGeometry.levelFor(3f));
+        assertEquals(0, RouteGeometry.levelFor(5f));
+        assertEquals(1, RouteGeometry.levelFor(5.5f));
+        assertEquals(RouteGeometry.LEVEL_COUNT - 1, RouteGeometry.levelFor(16f));
+    }
+
+    @Test
+    public void signature_changesWithStationCoordinates() {
+        Map<Integer, Station> stations = new HashMap<>();
+        stations.put(1, station(1, 23.7, 90.4));
+        stations.put(2, station(2, 22.3, 91.8));
+        List<RouteLine> routes = Arrays.asList(route(1, 1, 2));
+
+        long before = RouteGeometry.signatureOf(routes, stations);
+        assertEquals(before, RouteGeometry.signatureOf(routes, stations));
+        stations.put(2, station(2, 22.3, 91.9));
+        assertNotEquals(before, RouteGeometry.signatureOf(routes, stations));
+    }
+
+    @Test
+    public void store_roundTripsRoutesAndGeometry() throws Exception {
+        Map<Integer, Station> stations = new HashMap<>();
+        for (int i = 0; i < 20; i++) stations.put(i, station(i, 24 + i * 0.05, 89 + (i % 4) * 0.03));
+        List<RouteLine> routes = Arrays.asList(route(1, 0, 3, 5, 7, 9, 11), route(2, 19, 18, 2));
+        RouteGeometry geometry = RouteGeometry.build(routes, stations);
+
+        File file = File.createTempFile("route_lines", ".bin");
+        try {
+            new RouteGeometryStore(file).write(routes, geometry);
+            RouteGeometryStore.Snapshot snapshot = new RouteGeometryStore(file).read();
+
+            assertEquals(2, snapshot.routes.size());
+            assertEquals(Arrays.asList(19, 18, 2), snapshot.routes.get(1).stationIds);
+            assertEquals(geometry.signature, snapshot.geometry.signature);
+            assertEquals(geometry.lines.size(), snapshot.geometry.lines.size());
+            for (int level = 0; level < RouteGeometry.LEVEL_COUNT; level++) {
+                assertArrayEquals(geometry.lines.get(0).latitudes(level), snapshot.geometry.lines.get(0).latitudes(level), 0);
+                assertArrayEquals(geometry.lines.get(0).longitudes(level), snapshot.geometry.lines.get(0).longitudes(level), 0);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    static Station station(int id, double latitude, double longitude) {
+        Station station = new Station();
+        station.id = id;
+        station.name = "S" + id;
+        station.latitude = latitude;
+        station.longitude = longitude;
+        return station;
+    }
+
+    static RouteLine route(int id, Integer... stationIds) {
+        RouteLine route = new RouteLine();
+        route.id = id;
+        route.name = "Route " + id;
+        route.stationIds = new ArrayList<>(Arrays.asList(stationIds));
+        return route;
+    }
+}
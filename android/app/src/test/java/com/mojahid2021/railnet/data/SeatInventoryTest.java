@@ -0,0 +1,107 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.TrainSchedule;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SeatInventoryTest {
+
+    @Test
+    public void hold_blocksOnlyOverlappingSegments() {
+        SeatInventory inventory = new SeatInventory(new int[]{10, 20, 30, 40}, 2);
+
+        assertTrue(inventory.hold(0, 10, 30));
+        assertFalse(inventory.isFree(0, 20, 40));
+        assertTrue(inventory.isFree(0, 30, 40));   // touches at station 30 but does not overlap
+        assertFalse(inventory.hold(0, 10, 20));
+        assertTrue(inventory.hold(0, 30, 40));
+        assertEquals(1, inventory.countFree(10, 40));
+
+        inventory.release(0, 10, 30);
+        assertTrue(inventory.isFree(0, 10, 30));
+        assertFalse(inventory.isFree(0, 20, 40));
+    }
+
+    @Test
+    public void forRoute_ordersStationsByDistance() {
+        List<TrainSchedule.RouteStation> stations = new ArrayList<>();
+        stations.add(routeStation(7, 120));
+        stations.add(routeStation(3, 0));
+        stations.add(routeStation(5, 45));
+
+        SeatInventory inventory = SeatInventory.forRoute(stations, 4);
+
+        assertEquals(0, inventory.stopIndex(3));
+        assertEquals(1, inventory.stopIndex(5));
+        assertEquals(2, inventory.stopIndex(7));
+        assertEquals(-1, inventory.stopIndex(9));
+        assertEquals(2, inventory.getSegmentCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void query_rejectsReversedSegment() {
+        new SeatInventory(new int[]{1, 2, 3}, 4).countFree(3, 1);
+    }
+
+    @Test
+    public void matchesNaiveModel_acrossWordBoundaries() {
+        // 150 stops -> 149 segments spread over three words per seat
+        for (int stops : new int[]{2, 40, 65, 66, 150}) {
+            int seats = 30;
+            int[] ids = new int[stops];
+            for (int i = 0; i < stops; i++) ids[i] = 1000 - i * 3;
+            SeatInventory inventory = new SeatInventory(ids, seats);
+            boolean[][] naive = new boolean[seats][stops - 1];
+
+            Random random = new Random(stops);
+            for (int op = 0; op < 5000; op++) {
+                int a = random.nextInt(stops - 1);
+                int b = a + 1 + random.nextInt(stops - 1 - a);
+                int seat = random.nextInt(seats);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        boolean expected = naiveFree(naive[seat], a, b);
+                        assertEquals(expected, inventory.holdBetweenStops(seat, a, b));
+                        if (expected) for (int k = a; k < b; k++) naive[seat][k] = true;
+                        break;
+                    case 1:
+                        inventory.releaseBetweenStops(seat, a, b);
+                        for (int k = a; k < b; k++) naive[seat][k] = false;
+                        break;
+                    case 2:
+                        BitSet free = inventory.freeSeatsBetweenStops(a, b);
+                        for (int s = 0; s < seats; s++) {
+                            assertEquals(naiveFree(naive[s], a, b), free.get(s));
+                        }
+                        break;
+                    default:
+                        assertEquals(naiveFree(naive[seat], a, b), inventory.isFreeBetweenStops(seat, a, b));
+                        break;
+                }
+            }
+        }
+    }
+
+    private static boolean naiveFree(boolean[] segments, int from, int to) {
+        for (int k = from; k < to; k++) {
+            if (segments[k]) return false;
+        }
+        return true;
+    }
+
+    private static TrainSchedule.RouteStation routeStation(int stationId, double distanceFromStart) {
+        TrainSchedule.RouteStation rs = new TrainSchedule.RouteStation();
+        rs.currentStationId = stationId;
+        rs.distanceFromStart = distanceFromStart;
+        return rs;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.Station;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link StationSearchIndex}.
+ */
+public class StationSearchIndexTest {
+
+    private static Station station(int id, String name, String city) {
+        Station s = new Station();
+        s.id = id;
+        s.name = name;
+        s.city = city;
+        return s;
+    }
+
+    private static final List<Station> CATALOG = Arrays.asList(
+            station(1, "Kamalapur", "Dhaka"),
+            station(2, "Dhaka Airport", "Dhaka"),
+            station(3, "Chattogram", "Chattogram"),
+            station(4, "Jessore Junction", "Jessore"),
+            station(5, "Sylhet", "Sylhet"),
+            station(6, "Rajshahi", "Rajshahi"),
+            station(7, "Khulna", "Khulna"));
+
+    private static List<Integer> ids(List<Station> stations) {
+        List<Integer> ids = new ArrayList<>();
+        for (Station s : stations) ids.add(s.id);
+        return ids;
+    }
+
+    @Test
+    public void matchesNamePrefixFirst() {
+        StationSearchIndex index = StationSearchIndex.build(CATALOG);
+        List<Station> result = index.search("dha", 5);
+        assertEquals(2, (int) ids(result).get(0));
+        // Kamalapur matches through its city
+        assertTrue(ids(result).contains(1));
+    }
+
+    @Test
+    public void matchesCity() {
+        StationSearchIndex index = StationSearchIndex.build(CATALOG);
+        assertEquals(Arrays.asList(4), ids(index.search("jessore", 5)).subList(0, 1));
+    }
+
+    @Test
+    public void toleratesTransliterationVariants() {
+        StationSearchIndex index = StationSearchIndex.build(CATALOG);
+        assertEquals(3, index.search("Chottogram", 5).get(0).id);
+        assertEquals(5, index.search("silhet", 5).get(0).id);
+        assertEquals(4, index.search("Jashore", 5).get(0).id);
+    }
+
+    @Test
+    public void toleratesTypos() {
+        StationSearchIndex index = StationSearchIndex.build(CATALOG);
+        assertEquals(6, index.search("rajsahi", 5).get(0).id);
+        assertEquals(7, index.search("khluna", 5).get(0).id);
+    }
+
+    @Test
+    public void emptyQueryReturnsCatalogOrder() {
+        StationSearchIndex index = StationSearchIndex.build(CATALOG);
+        assertEquals(Arrays.asList(1, 2, 3), ids(index.search("", 3)));
+    }
+}
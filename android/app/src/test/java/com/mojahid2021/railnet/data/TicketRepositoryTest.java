@@ -0,0 +1,101 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.UserTicket;
+import com.mojahid2021.railnet.network.BookingResponse;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mojahid2021.railnet.data.TicketStoreTest.ticket;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TicketRepositoryTest {
+
+    @Test
+    public void reconcile_keepsUnchangedInstancesAndTheirDetails() {
+        UserTicket first = ticket(1, "confirmed");
+        UserTicket second = ticket(2, "pending");
+        Map<String, BookingResponse> details = details("TKT-1", "TKT-2");
+
+        List<UserTicket> merged = TicketRepository.reconcile(Arrays.asList(first, second),
+                Arrays.asList(ticket(1, "confirmed"), ticket(2, "pending")), details);
+
+        assertSame(first, merged.get(0));
+        assertSame(second, merged.get(1));
+        assertEquals(details("TKT-1", "TKT-2").keySet(), details.keySet());
+    }
+
+    @Test
+    public void reconcile_replacesTicketsWhoseVersionChanged() {
+        UserTicket stale = ticket(1, "pending");
+        UserTicket repaid = ticket(2, "confirmed");
+        UserTicket touched = ticket(3, "confirmed");
+        Map<String, BookingResponse> details = details("TKT-1", "TKT-2", "TKT-3");
+
+        UserTicket confirmed = ticket(1, "confirmed");
+        UserTicket refunded = ticket(2, "confirmed");
+        refunded.ticket.paymentStatus = "refunded";
+        UserTicket updated = ticket(3, "confirmed");
+        updated.ticket.updatedAt = "2026-10-02T09:00:00.000Z";
+        List<UserTicket> merged = TicketRepository.reconcile(Arrays.asList(stale, repaid, touched),
+                Arrays.asList(confirmed, refunded, updated), details);
+
+        assertSame(confirmed, merged.get(0));
+        assertSame(refunded, merged.get(1));
+        assertSame(updated, merged.get(2));
+        assertTrue(details.isEmpty());
+    }
+
+    @Test
+    public void reconcile_keepsDetailsOfRemovedTicketsAndAddsNewOnes() {
+        UserTicket kept = ticket(1, "confirmed");
+        Map<String, BookingResponse> details = details("TKT-1", "TKT-2");
+
+        UserTicket added = ticket(3, "pending");
+        List<UserTicket> merged = TicketRepository.reconcile(Arrays.asList(kept, ticket(2, "confirmed")),
+                Arrays.asList(added, ticket(1, "confirmed")), details);
+
+        assertEquals(2, merged.size());
+        assertSame(added, merged.get(0));
+        assertSame(kept, merged.get(1));
+        // TKT-2 may have moved to an older page; retainDetails decides
+        assertEquals(details("TKT-1", "TKT-2").keySet(), details.keySet());
+    }
+
+    @Test
+    public void retainDetails_keepsTicketsOnTheFirstOrAStoredPage() {
+        Map<String, BookingResponse> details = details("TKT-1", "TKT-2", "TKT-3", "TKT-4");
+
+        TicketRepository.retainDetails(details, Collections.singletonList(ticket(1, "confirmed")),
+                Collections.singletonList(new TicketStore.Page("c1", null, Arrays.asList(ticket(3, "confirmed")))));
+
+        assertEquals(details("TKT-1", "TKT-3").keySet(), details.keySet());
+    }
+
+    @Test
+    public void reconcile_neverKeepsTicketsWithoutAnId() {
+        UserTicket anonymous = ticket(1, "confirmed");
+        anonymous.ticket.ticketId = null;
+        UserTicket fetched = ticket(1, "confirmed");
+        fetched.ticket.ticketId = null;
+
+        List<UserTicket> merged = TicketRepository.reconcile(Collections.singletonList(anonymous),
+                Collections.singletonList(fetched), new HashMap<>());
+
+        assertNotSame(anonymous, merged.get(0));
+    }
+
+    private static Map<String, BookingResponse> details(String... ticketIds) {
+        Map<String, BookingResponse> details = new HashMap<>();
+        for (String id : ticketIds) details.put(id, new BookingResponse());
+        return details;
+    }
+}
@@ -0,0 +1,121 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.UserTicket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TicketStoreTest {
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("tickets").toFile();
+        file = new File(dir, "tickets.bin");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    @Test
+    public void readFor_returnsWhatTheSameOwnerWrote() throws Exception {
+        Map<String, String> details = new HashMap<>();
+        details.put("TKT-1", "{\"ticket\":{\"ticketId\":\"TKT-1\"}}");
+        List<TicketStore.Page> pages = Arrays.asList(
+                new TicketStore.Page("c1", "c2", Collections.singletonList(ticket(3, "confirmed"))),
+                new TicketStore.Page("c2", null, Collections.emptyList()));
+        new TicketStore(file).write("user:1", "c1", Arrays.asList(ticket(1, "confirmed"), ticket(2, null)), pages, details);
+
+        TicketStore.Snapshot snapshot = new TicketStore(file).readFor("user:1");
+
+        assertEquals("user:1", snapshot.owner);
+        assertEquals("c1", snapshot.nextCursor);
+        assertEquals(2, snapshot.tickets.size());
+        assertEquals("TKT-1", snapshot.tickets.get(0).ticket.ticketId);
+        assertEquals("confirmed", snapshot.tickets.get(0).ticket.status);
+        assertNull(snapshot.tickets.get(1).ticket.status);
+        assertEquals("Dhaka", snapshot.tickets.get(0).journey.route.from);
+        assertEquals(2, snapshot.pages.size());
+        assertEquals("c1", snapshot.pages.get(0).cursor);
+        assertEquals("c2", snapshot.pages.get(0).nextCursor);
+        assertEquals("TKT-3", snapshot.pages.get(0).tickets.get(0).ticket.ticketId);
+        assertEquals("c2", snapshot.pages.get(1).cursor);
+        assertNull(snapshot.pages.get(1).nextCursor);
+        assertTrue(snapshot.pages.get(1).tickets.isEmpty());
+        assertEquals(details, snapshot.details);
+    }
+
+    @Test
+    public void readFor_discardsAnotherOwnersFile() throws Exception {
+        new TicketStore(file).write("user:1", "c1", Collections.singletonList(ticket(1, "confirmed")),
+                Collections.singletonList(new TicketStore.Page("c1", null, Collections.singletonList(ticket(2, "confirmed")))),
+                Collections.singletonMap("TKT-1", "{}"));
+
+        TicketStore.Snapshot snapshot = new TicketStore(file).readFor("user:2");
+
+        assertEquals("user:2", snapshot.owner);
+        assertTrue(snapshot.tickets.isEmpty());
+        assertTrue(snapshot.pages.isEmpty());
+        assertTrue(snapshot.details.isEmpty());
+        assertNull(snapshot.nextCursor);
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void readFor_discardsTheFileWhenNobodyIsSignedIn() throws Exception {
+        new TicketStore(file).write("user:1", null, Collections.singletonList(ticket(1, "confirmed")),
+                Collections.emptyList(), Collections.emptyMap());
+
+        assertTrue(new TicketStore(file).readFor(null).tickets.isEmpty());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void read_isEmptyForAMissingOrCorruptFile() throws Exception {
+        assertTrue(new TicketStore(file).read().tickets.isEmpty());
+
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{0x52, 0x54, 0x4B, 0x31, 0, 0, 0, 3, 1});
+        }
+        TicketStore.Snapshot snapshot = new TicketStore(file).read();
+
+        assertNull(snapshot.owner);
+        assertTrue(snapshot.tickets.isEmpty());
+    }
+
+    static UserTicket ticket(int id, String status) {
+        UserTicket ut = new UserTicket();
+        ut.ticket = new UserTicket.Ticket();
+        ut.ticket.id = id;
+        ut.ticket.ticketId = "TKT-" + id;
+        ut.ticket.status = status;
+        ut.ticket.paymentStatus = "paid";
+        ut.ticket.updatedAt = "2026-10-01T08:00:00.000Z";
+        ut.journey = new UserTicket.Journey();
+        ut.journey.route = new UserTicket.Journey.Route();
+        ut.journey.route.from = "Dhaka";
+        ut.journey.route.to = "Chattogram";
+        return ut;
+    }
+}
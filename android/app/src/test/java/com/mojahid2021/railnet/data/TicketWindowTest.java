@@ -0,0 +1,113 @@
+package com.mojahid2021.railnet.data;
+
+import com.mojahid2021.railnet.model.UserTicket;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TicketWindowTest {
+
+    private static final int PAGE = 3;
+
+    @Test
+    public void appendOlder_dropsNewestPageWhenFull() {
+        TicketWindow window = new TicketWindow(2);
+        window.setFirstPage(page(0), "c1");
+
+        assertTrue(window.appendOlder("c1", page(1), "c2"));
+        assertEquals(6, window.getItems().size());
+        assertFalse(window.hasNewer());
+
+        assertTrue(window.appendOlder("c2", page(2), "c3"));
+        assertEquals(6, window.getItems().size());
+        assertEquals(idOf(1, 0), window.getItems().get(0).ticket.id);
+        assertTrue(window.hasNewer());
+        assertNull(window.newerCursor()); // the dropped page is the first one
+        assertEquals("c3", window.olderCursor());
+    }
+
+    @Test
+    public void prependNewer_restoresDroppedPagesUpToTheFirst() {
+        TicketWindow window = new TicketWindow(2);
+        window.setFirstPage(page(0), "c1");
+        window.appendOlder("c1", page(1), "c2");
+        window.appendOlder("c2", page(2), "c3");
+        window.appendOlder("c3", page(3), null);
+
+        assertEquals("c1", window.newerCursor());
+        assertTrue(window.prependNewer("c1", page(1), "c2"));
+        assertEquals(idOf(1, 0), window.getItems().get(0).ticket.id);
+        assertEquals("c3", window.olderCursor());
+
+        // The first page was fetched without a cursor
+        assertTrue(window.hasNewer());
+        assertNull(window.newerCursor());
+        assertTrue(window.prependNewer(null, page(0), "c1"));
+        assertFalse(window.hasNewer());
+        assertEquals(idOf(0, 0), window.getItems().get(0).ticket.id);
+        assertEquals("c2", window.olderCursor());
+        assertEquals(6, window.getItems().size());
+    }
+
+    @Test
+    public void staleResultsAreIgnored() {
+        TicketWindow window = new TicketWindow(2);
+        window.setFirstPage(page(0), "c1");
+
+        assertFalse(window.appendOlder("other", page(1), "c2"));
+        assertFalse(window.prependNewer(null, page(0), "c1"));
+        assertEquals(3, window.getItems().size());
+
+        window.setFirstPage(page(0), null);
+        assertFalse(window.hasOlder());
+        assertNull(window.olderCursor());
+    }
+
+    @Test
+    public void updateFirstPage_keepsOlderPagesOnlyWhenTheyStillLineUp() {
+        TicketWindow window = new TicketWindow(4);
+        window.setFirstPage(page(0), "c1");
+        window.appendOlder("c1", page(1), "c2");
+
+        assertTrue(window.updateFirstPage(page(0), "c1"));
+        assertEquals(6, window.getItems().size());
+
+        // A new ticket shifted the first page; the next page would skip one
+        assertTrue(window.updateFirstPage(page(0), "c0"));
+        assertEquals(3, window.getItems().size());
+        assertEquals("c0", window.olderCursor());
+    }
+
+    @Test
+    public void updateFirstPage_ignoredOnceScrolledPastIt() {
+        TicketWindow window = new TicketWindow(2);
+        window.setFirstPage(page(0), "c1");
+        window.appendOlder("c1", page(1), "c2");
+        window.appendOlder("c2", page(2), "c3");
+
+        assertFalse(window.updateFirstPage(page(0), "c1"));
+        assertEquals(idOf(1, 0), window.getItems().get(0).ticket.id);
+    }
+
+    private static List<UserTicket> page(int index) {
+        List<UserTicket> items = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            UserTicket ut = new UserTicket();
+            ut.ticket = new UserTicket.Ticket();
+            ut.ticket.id = idOf(index, i);
+            items.add(ut);
+        }
+        return items;
+    }
+
+    private static int idOf(int page, int row) {
+        return 1000 - page * PAGE - row;
+    }
+}
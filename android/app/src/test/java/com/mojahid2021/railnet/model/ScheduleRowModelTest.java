@@ -0,0 +1,97 @@
+package com.mojahid2021.railnet.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ScheduleRowModelTest {
+
+    @Test
+    public void from_computesLabelsAndFare() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        try {
+            ScheduleRowModel row = ScheduleRowModel.from(summary(1, "08:00", "14:15", 375, 350.0));
+
+            assertEquals(1, row.scheduleId);
+            assertEquals("Subarna Express (701)", row.trainLabel);
+            assertEquals("08:00 AM", row.departure);
+            assertEquals("02:15 PM", row.arrival);
+            assertEquals("Dhaka → Chattogram", row.routeLabel);
+            assertEquals(375, row.durationMinutes);
+            assertEquals("08:00 AM → 02:15 PM · 6h 15m  (Dhaka → Chattogram)", row.timesLabel);
+            assertEquals(350.0, row.minFare, 0.0);
+            assertEquals("৳350.00", row.priceLabel);
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    public void unknownDuration_isLeftOutOfTheTimes() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        try {
+            ScheduleRowModel row = ScheduleRowModel.from(summary(2, "22:30", "06:00", -1, 350.0));
+            assertEquals("10:30 PM → 06:00 AM  (Dhaka → Chattogram)", row.timesLabel);
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    public void missingTimesAndFare_useDashes() {
+        ScheduleRowModel row = ScheduleRowModel.from(new TrainScheduleSummary());
+
+        assertEquals("-", row.trainLabel);
+        assertEquals("-", row.departure);
+        assertEquals("-", row.arrival);
+        assertEquals("-", row.routeLabel);
+        assertEquals(-1, row.durationMinutes);
+        assertEquals(-1.0, row.minFare, 0.0);
+        assertEquals("৳-", row.priceLabel);
+    }
+
+    @Test
+    public void fromSummaries_skipsNullEntries() {
+        List<ScheduleRowModel> rows = ScheduleRowModel.fromSummaries(
+                Arrays.asList(summary(1, "08:00", "14:15", 375, 350.0), null, summary(2, "09:00", "15:15", 375, 210.0)));
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).scheduleId);
+        assertEquals(2, rows.get(1).scheduleId);
+        assertEquals(0, ScheduleRowModel.fromSummaries(null).size());
+    }
+
+    @Test
+    public void equality_followsDisplayedValues() {
+        ScheduleRowModel a = ScheduleRowModel.from(summary(1, "08:00", "14:15", 375, 350.0));
+        ScheduleRowModel same = ScheduleRowModel.from(summary(1, "08:00", "14:15", 375, 350.0));
+        ScheduleRowModel retimed = ScheduleRowModel.from(summary(1, "08:05", "14:15", 370, 350.0));
+        ScheduleRowModel repriced = ScheduleRowModel.from(summary(1, "08:00", "14:15", 375, 210.0));
+
+        assertEquals(a, same);
+        assertEquals(a.hashCode(), same.hashCode());
+        assertNotEquals(a, retimed);
+        assertNotEquals(a, repriced);
+    }
+
+    private static TrainScheduleSummary summary(int id, String dep, String arr, int durationMinutes, double minFare) {
+        TrainScheduleSummary summary = new TrainScheduleSummary();
+        summary.id = id;
+        summary.trainName = "Subarna Express";
+        summary.trainNumber = "701";
+        summary.startStationName = "Dhaka";
+        summary.endStationName = "Chattogram";
+        summary.departureTime = dep;
+        summary.arrivalTime = arr;
+        summary.durationMinutes = durationMinutes;
+        summary.minFare = minFare;
+        return summary;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mojahid2021.railnet.model;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SeatAvailabilityTest {
+
+    @Test
+    public void fromHex_decodesLeastSignificantBitFirst() {
+        // byte 0 = 0b0000_0101 -> S1, S3 occupied; byte 1 = 0b0000_0010 -> S10 held
+        SeatAvailability a = SeatAvailability.fromHex(12, "0500", "0002");
+
+        assertEquals(SeatAvailability.STATE_OCCUPIED, a.getState("S1"));
+        assertEquals(SeatAvailability.STATE_FREE, a.getState("S2"));
+        assertEquals(SeatAvailability.STATE_OCCUPIED, a.getState("S3"));
+        assertEquals(SeatAvailability.STATE_HELD, a.getState("S10"));
+        assertEquals(9, a.getFreeCount());
+    }
+
+    @Test
+    public void fromHex_occupiedWinsOverHeld_andIgnoresBitsPastTotal() {
+        SeatAvailability a = SeatAvailability.fromHex(4, "01", "ff");
+
+        assertEquals(SeatAvailability.STATE_OCCUPIED, a.getState(0));
+        assertEquals(SeatAvailability.STATE_HELD, a.getState(3));
+        assertEquals(SeatAvailability.STATE_OCCUPIED, a.getState(4)); // outside the compartment
+        assertEquals(0, a.getFreeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromHex_rejectsInvalidHex() {
+        SeatAvailability.fromHex(8, "zz", null);
+    }
+
+    @Test
+    public void changedSince_reportsOnlyDifferingSeats() {
+        SeatAvailability before = SeatAvailability.fromHex(16, "0100", "0000");
+        SeatAvailability after = SeatAvailability.fromHex(16, "0100", "0080");
+
+        BitSet changed = after.changedSince(before);
+        assertEquals(1, changed.cardinality());
+        assertTrue(changed.get(15));
+    }
+
+    @Test
+    public void withOccupied_leavesTheOriginalUnchanged() {
+        SeatAvailability before = SeatAvailability.fromHex(16, "0100", "0080");
+        SeatAvailability after = before.withOccupied(15).withOccupied(2).withOccupied(40);
+
+        assertEquals(SeatAvailability.STATE_OCCUPIED, after.getState("S16"));
+        assertEquals(SeatAvailability.STATE_OCCUPIED, after.getState("S3"));
+        assertEquals(13, after.getFreeCount());
+        assertEquals(SeatAvailability.STATE_HELD, before.getState("S16"));
+        assertEquals(14, before.getFreeCount());
+    }
+
+    @Test
+    public void seatIndex_roundTripsLabels() {
+        assertEquals("S1", SeatAvailability.seatLabel(0));
+        assertEquals(23, SeatAvailability.seatIndex("S24"));
+        assertEquals(-1, SeatAvailability.seatIndex("S0"));
+        assertEquals(-1, SeatAvailability.seatIndex("A1"));
+        assertFalse(SeatAvailability.allFree(2).isFree("S3"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.mojahid2021.railnet.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.mojahid2021.railnet.network.BookingResponse;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TicketPrintDataTest {
+
+    static final String DETAIL_JSON = "{"
+            + "\"ticket\":{\"id\":1,\"ticketId\":\"EXPR-20241205-1-042\",\"status\":\"confirmed\","
+            + "\"paymentStatus\":\"paid\",\"expiresAt\":\"2025-11-29T10:10:00.000Z\"},"
+            + "\"passenger\":{\"name\":\"Rahim\",\"age\":34,\"gender\":\"Male\"},"
+            + "\"journey\":{\"train\":{\"name\":\"Express Train 101\",\"number\":\"EXP101\"},"
+            + "\"route\":{\"from\":\"Central Station\",\"to\":\"South Station\"},"
+            + "\"schedule\":{\"date\":\"2025-11-30\",\"departureTime\":\"08:00\"}},"
+            + "\"seat\":{\"number\":\"S1\",\"compartment\":\"First Class AC\",\"class\":\"AC\"},"
+            + "\"pricing\":{\"amount\":150.5,\"currency\":\"BDT\"}}";
+
+    @Test
+    public void fromJson_extractsEveryPrintedField() {
+        TicketPrintData data = TicketPrintData.from(new Gson().fromJson(DETAIL_JSON, JsonObject.class));
+
+        assertEquals("EXPR-20241205-1-042", data.ticketId);
+        assertEquals("confirmed", data.status);
+        assertEquals("paid", data.paymentStatus);
+        assertEquals("2025-11-29T10:10:00.000Z", data.expiresAt);
+        assertEquals("Rahim", data.passengerName);
+        assertEquals("34", data.passengerAge);
+        assertEquals("Male", data.passengerGender);
+        assertEquals("Express Train 101", data.trainName);
+        assertEquals("EXP101", data.trainNumber);
+        assertEquals("Central Station", data.from);
+        assertEquals("South Station", data.to);
+        assertEquals("2025-11-30", data.date);
+        assertEquals("08:00", data.departureTime);
+        assertEquals("S1", data.seatNumber);
+        assertEquals("First Class AC", data.compartment);
+        assertEquals("AC", data.seatClass);
+        assertEquals(150.5, data.amount, 0.0);
+        assertEquals("BDT", data.currency);
+    }
+
+    @Test
+    public void fromJson_missingAndMalformedValuesAreNull() {
+        TicketPrintData data = TicketPrintData.from(new Gson().fromJson(
+                "{\"ticket\":\"oops\",\"seat\":{\"number\":null},\"pricing\":{\"amount\":\"n/a\"}}",
+                JsonObject.class));
+
+        assertNull(data.ticketId);
+        assertNull(data.seatNumber);
+        assertNull(data.amount);
+        assertNull(data.trainName);
+    }
+
+    @Test
+    public void fromBookingResponse_matchesJson() throws Exception {
+        TicketPrintData expected = TicketPrintData.from(new Gson().fromJson(DETAIL_JSON, JsonObject.class));
+        TicketPrintData actual = TicketPrintData.from(new Gson().fromJson(DETAIL_JSON, BookingResponse.class));
+
+        for (Field field : TicketPrintData.class.getDeclaredFields()) {
+            assertEquals(field.getName(), field.get(expected), field.get(actual));
+        }
+        assertNull(TicketPrintData.from(new BookingResponse()).passengerAge);
+    }
+
+    @Test
+    public void fromUserTicket_matchesListData() {
+        UserTicket ut = userTicket();
+
+        TicketPrintData data = TicketPrintData.from(ut);
+
+        assertEquals("EXPR-20241205-1-042", data.ticketId);
+        assertEquals("Express Train 101", data.trainName);
+        assertEquals("South Station", data.to);
+        assertEquals("S1", data.seatNumber);
+        assertEquals(150.5, data.amount, 0.0);
+        assertNull(data.passengerName);
+        assertNull(data.expiresAt);
+    }
+
+    static UserTicket userTicket() {
+        UserTicket ut = new UserTicket();
+        ut.ticket = new UserTicket.Ticket();
+        ut.ticket.ticketId = "EXPR-20241205-1-042";
+        ut.ticket.status = "confirmed";
+        ut.ticket.paymentStatus = "paid";
+        ut.journey = new UserTicket.Journey();
+        ut.journey.train = new UserTicket.Journey.Train();
+        ut.journey.train.name = "Express Train 101";
+        ut.journey.train.number = "EXP101";
+        ut.journey.route = new UserTicket.Journey.Route();
+        ut.journey.route.from = "Central Station";
+        ut.journey.route.to = "South Station";
+        ut.journey.schedule = new UserTicket.Journey.Schedule();
+        ut.journey.schedule.date = "2025-11-30";
+        ut.journey.schedule.departureTime = "08:00";
+        ut.seat = new UserTicket.Seat();
+        ut.seat.number = "S1";
+        ut.seat.compartment = "First Class AC";
+        ut.pricing = new UserTicket.Pricing();
+        ut.pricing.amount = 150.5;
+        ut.pricing.currency = "BDT";
+        return ut;
+    }
+}
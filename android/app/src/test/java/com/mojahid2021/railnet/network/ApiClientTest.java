@@ -0,0 +1,235 @@
+package com.mojahid2021.railnet.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+import com.mojahid2021.railnet.model.User;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for the shared network stack built by {@link ApiClient}, run against MockWebServer.
+ * Checks request count and cache hit ratio for the stations, search and tickets endpoints,
+ * that typed endpoints decode bodies, envelopes and error messages, and that stored responses are
+ * revalidated with their ETag / Last-Modified. Latency is measured by ApiClientBenchmark.
+ */
+public class ApiClientTest {
+
+    private static final int REPEATS = 5;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ApiService api;
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cacheDir = Files.createTempDirectory("http_cache").toFile();
+        client = ApiClient.buildClient(cacheDir);
+        api = ApiClient.buildRetrofit(client, server.url("/").toString()).create(ApiService.class);
+        TokenStore.setInMemory("test-token");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TokenStore.setInMemory(null);
+        client.cache().delete();
+        server.shutdown();
+    }
+
+    @Test
+    public void stationsAreServedFromCacheAfterFirstRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody("[{\"id\":1,\"name\":\"Dhaka\"}]"));
+
+        for (int i = 0; i < REPEATS; i++) {
+            Response<?> response = api.getStations().execute();
+            assertTrue(response.isSuccessful());
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(REPEATS - 1, client.cache().hitCount());
+        assertEquals((REPEATS - 1) / (double) REPEATS, hitRatio(), 1e-9);
+    }
+
+    @Test
+    public void searchIsServedFromCacheForSameQuery() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"data\":[]}"));
+        server.enqueue(new MockResponse().setBody("{\"data\":[]}"));
+
+        for (int i = 0; i < REPEATS; i++) {
+            readFully(api.searchTrainScheduleSummaries("1", "2", "2025-12-06").execute());
+        }
+        readFully(api.searchTrainScheduleSummaries("1", "2", "2025-12-07").execute());
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(REPEATS - 1, client.cache().hitCount());
+        assertEquals((REPEATS - 1) / (double) (REPEATS + 1), hitRatio(), 1e-9);
+    }
+
+    @Test
+    public void ticketsAreNotCachedAndCarryAuthHeader() throws Exception {
+        for (int i = 0; i < REPEATS; i++) {
+            server.enqueue(new MockResponse().setBody("[]"));
+        }
+
+        for (int i = 0; i < REPEATS; i++) {
+            readFully(api.getTickets().execute());
+        }
+
+        assertEquals(REPEATS, server.getRequestCount());
+        assertEquals(0, client.cache().hitCount());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("Bearer test-token", request.getHeader("Authorization"));
+    }
+
+    @Test
+    public void serverCacheControlIsRespected() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]").setHeader("Cache-Control", "no-store"));
+        server.enqueue(new MockResponse().setBody("[]").setHeader("Cache-Control", "no-store"));
+
+        api.getStations().execute();
+        api.getStations().execute();
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void evictCacheDropsStoredResponses() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        api.getStations().execute();
+        client.cache().evictAll();
+        api.getStations().execute();
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void typedEndpointsDecodeBodiesEnvelopesAndErrors() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"data\":[{\"id\":7,\"trainName\":\"Turna\"},null]}"));
+        server.enqueue(new MockResponse().setBody("{\"id\":3,\"firstName\":\"Rahim\"}"));
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\":\"Ticket not found\"}"));
+
+        List<TrainScheduleSummary> schedules = api.searchTrainScheduleSummaries("1", "2", "2025-12-08").execute().body();
+        assertEquals(1, schedules.size());
+        assertEquals("Turna", schedules.get(0).trainName);
+
+        User user = api.getProfile().execute().body();
+        assertEquals("Rahim", user.firstName);
+
+        Response<BookingResponse> missing = api.getTicketById("TKT-1").execute();
+        assertFalse(missing.isSuccessful());
+        assertEquals("Ticket not found", ApiError.message(missing, "fallback"));
+    }
+
+    @Test
+    public void summarySearchAsksForTheSummaryView() throws Exception {
+        server.enqueue(new MockResponse().setBody("[{\"id\":7,\"trainName\":\"Turna\",\"minFare\":null}]"));
+
+        List<TrainScheduleSummary> rows = api.searchTrainScheduleSummaries("1", "2", "2025-12-08").execute().body();
+
+        assertEquals("Turna", rows.get(0).trainName);
+        assertEquals(-1, rows.get(0).minFare, 0.0);
+        assertEquals("/train-schedules/search?view=summary&fromStationId=1&toStationId=2&date=2025-12-08",
+                server.takeRequest().getPath());
+    }
+
+    @Test
+    public void hotEndpointsAskForCborAndFallBackToJson() throws Exception {
+        String stations = "[{\"id\":1,\"name\":\"Dhaka\",\"latitude\":23.73}]";
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/cbor")
+                .setBody(new Buffer().write(CborReaderTest.encode(new JsonParser().parse(stations)))));
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody(stations));
+
+        List<Station> binary = api.getStationsUpdatedSince("a").execute().body();
+        List<Station> json = api.getStationsUpdatedSince("b").execute().body();
+
+        assertEquals("Dhaka", binary.get(0).name);
+        assertEquals(23.73, binary.get(0).latitude, 0.0);
+        assertEquals(new Gson().toJson(json), new Gson().toJson(binary));
+        assertEquals("application/cbor, application/json;q=0.5", server.takeRequest().getHeader("Accept"));
+    }
+
+    @Test
+    public void profileAndTicketDetailsAreRevalidatedWithTheirValidators() throws Exception {
+        NetworkMetrics.ConditionalStats profileBefore = NetworkMetrics.getConditionalStats("GET /profile");
+        NetworkMetrics.ConditionalStats ticketBefore = NetworkMetrics.getConditionalStats("GET /tickets/:id");
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setHeader("Cache-Control", "private, no-cache")
+                .setBody("{\"id\":3,\"firstName\":\"Rahim\"}"));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setHeader("Cache-Control", "private, no-cache")
+                .setBody("{\"id\":3,\"firstName\":\"Karim\"}"));
+        server.enqueue(new MockResponse().setHeader("Last-Modified", "Fri, 16 Oct 2026 10:00:00 GMT")
+                .setHeader("Cache-Control", "private, no-cache").setBody("{\"ticket\":{\"ticketId\":\"TKT-1\"}}"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        assertEquals("Rahim", api.getProfile().execute().body().firstName);
+        Response<User> revalidated = api.getProfile().execute();
+        assertEquals("Karim", api.getProfile().execute().body().firstName);
+        api.getTicketById("TKT-1").execute();
+        Response<BookingResponse> ticket = api.getTicketById("TKT-1").execute();
+
+        assertEquals(200, revalidated.code());
+        assertEquals("Rahim", revalidated.body().firstName);
+        assertEquals(304, revalidated.raw().networkResponse().code());
+        assertEquals("TKT-1", ticket.body().ticket.ticketId);
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match"));
+        server.takeRequest();
+        assertEquals("Fri, 16 Oct 2026 10:00:00 GMT", server.takeRequest().getHeader("If-Modified-Since"));
+
+        NetworkMetrics.ConditionalStats profile = NetworkMetrics.getConditionalStats("GET /profile");
+        NetworkMetrics.ConditionalStats tickets = NetworkMetrics.getConditionalStats("GET /tickets/:id");
+        assertEquals(2, profile.requests - profileBefore.requests);
+        assertEquals(1, profile.notModified - profileBefore.notModified);
+        assertEquals(1, tickets.requests - ticketBefore.requests);
+        assertEquals(1, tickets.notModified - ticketBefore.notModified);
+    }
+
+    @Test
+    public void requestBodiesAreWrittenWithTheSharedAdapters() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(201)
+                .setBody("{\"ticket\":{\"ticketId\":\"TKT-9\"},\"seat\":{\"class\":\"AC\"}}"));
+
+        BookingResponse booked = api.bookTicket(new TicketRequest(1, 2, 3, 4, "S5", "Rahim", 30, "Male")).execute().body();
+
+        assertEquals("TKT-9", booked.ticket.ticketId);
+        assertEquals("AC", booked.seat.clazz);
+        RecordedRequest request = server.takeRequest();
+        assertEquals("{\"trainScheduleId\":1,\"fromStationId\":2,\"toStationId\":3,\"compartmentId\":4,"
+                + "\"seatNumber\":\"S5\",\"passengerName\":\"Rahim\",\"passengerAge\":30,\"passengerGender\":\"Male\"}",
+                request.getBody().readUtf8());
+        assertTrue(request.getHeader("Content-Type").startsWith("application/json"));
+    }
+
+    private double hitRatio() {
+        int total = client.cache().requestCount();
+        return total == 0 ? 0 : (double) client.cache().hitCount() / total;
+    }
+
+    // Typed calls are decoded before execute() returns
+    private static void readFully(Response<?> response) {
+        assertTrue(response.isSuccessful());
+        assertNotNull(response.body());
+    }
+}
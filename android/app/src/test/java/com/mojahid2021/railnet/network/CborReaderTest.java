@@ -0,0 +1,259 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.model.TicketHistoryPage;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+import com.mojahid2021.railnet.model.User;
+import com.mojahid2021.railnet.model.UserTicket;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CborReader}.
+ * Payloads are encoded the way backend/src/utils/cbor.ts encodes them and must decode exactly like
+ * their JSON form. Decode time is measured by CborReaderBenchmark.
+ */
+public class CborReaderTest {
+
+    static final Type SCHEDULES = new TypeToken<List<TrainSchedule>>() {}.getType();
+    static final Type SUMMARIES = new TypeToken<List<TrainScheduleSummary>>() {}.getType();
+    static final Type TICKETS = new TypeToken<List<UserTicket>>() {}.getType();
+    static final Type STATIONS = new TypeToken<List<Station>>() {}.getType();
+
+    private final Gson gson = ModelAdapters.gson();
+
+    @Test
+    public void recordedPayloadsDecodeLikeJson() throws IOException {
+        assertSameAsJson(ModelAdaptersTest.searchPayload(20), SCHEDULES);
+        assertSameAsJson(ModelAdaptersTest.summaryPayload(50), SUMMARIES);
+        assertSameAsJson(ModelAdaptersTest.ticketsPayload(40), TICKETS);
+        assertSameAsJson(ModelAdaptersTest.stationsPayload(300), STATIONS);
+        assertSameAsJson("{\"items\":[" + ModelAdaptersTest.ticketsPayload(3).substring(1) + ",\"nextCursor\":\"abc\"}",
+                TicketHistoryPage.class);
+        assertSameAsJson("{\"id\":3,\"firstName\":\"Rahim\",\"email\":\"r@example.com\"}", User.class);
+    }
+
+    @Test
+    public void envelopesUnwrapLikeJson() throws IOException {
+        String json = "{\"success\":true,\"data\":" + ModelAdaptersTest.searchPayload(3) + "}";
+        ResponseDecoder<List<TrainSchedule>> decoder = ResponseDecoder.of(gson, SCHEDULES, true);
+
+        List<TrainSchedule> expected = decoder.decode(new InputStreamReader(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+        List<TrainSchedule> actual = decoder.decode(cbor(json));
+
+        assertEquals(3, actual.size());
+        assertEquals(new Gson().toJson(expected), new Gson().toJson(actual));
+    }
+
+    @Test
+    public void treesMatchJson() throws IOException {
+        String json = "{\"a\":[1,-1,0,23,24,255,256,65535,65536,4294967296,-4294967297,9007199254740991],"
+                + "\"b\":[1.5,0.1,-2.75,1.0E300,null,true,false],\"c\":{\"\":\"\",\"é\":\"ঢাকা\"},\"d\":[]}";
+        ResponseDecoder<JsonObject> decoder = ResponseDecoder.of(gson, JsonObject.class);
+
+        JsonObject expected = decoder.decode(new InputStreamReader(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+        JsonObject actual = decoder.decode(cbor(json));
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void readsEveryNumberEncoding() throws IOException {
+        // [half 1.5, half -0.0, half 65504, float 0.5, double 0.1, uint64 max, -2^64, 1000000, -1000]
+        CborReader reader = reader("89" + "f93e00" + "f98000" + "f97bff" + "fa3f000000" + "fb3fb999999999999a"
+                + "1bffffffffffffffff" + "3bffffffffffffffff" + "1a000f4240" + "3903e7");
+        reader.beginArray();
+        assertEquals(1.5, reader.nextDouble(), 0.0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(reader.nextDouble()));
+        assertEquals(65504.0, reader.nextDouble(), 0.0);
+        assertEquals("0.5", reader.nextString());
+        assertEquals(0.1, reader.nextDouble(), 0.0);
+        assertEquals("18446744073709551615", reader.nextString());
+        assertEquals("-18446744073709551616", reader.nextString());
+        assertEquals(1000000, reader.nextInt());
+        assertEquals(-1000L, reader.nextLong());
+        reader.endArray();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void readsIndefiniteContainersAndSkipsTags() throws IOException {
+        // {_ "a": [_ 1, tag(1) 2], "b": {}} with an indefinite outer map
+        CborReader reader = reader("bf" + "6161" + "9f" + "01" + "c102" + "ff" + "6162" + "a0" + "ff");
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        reader.beginArray();
+        assertEquals(1, reader.nextInt());
+        assertEquals(2, reader.nextInt());
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals("b", reader.nextName());
+        reader.beginObject();
+        reader.endObject();
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void skipsNestedUnknownValues() throws IOException {
+        String json = "{\"extra\":{\"a\":[1,{\"b\":\"long text that is skipped\"},[],null]},\"id\":5,\"name\":\"Dhaka\"}";
+        ResponseDecoder<Station> decoder = ResponseDecoder.of(gson, Station.class);
+        Station station = decoder.decode(cbor(json));
+        assertEquals(5, station.id);
+        assertEquals("Dhaka", station.name);
+    }
+
+    @Test
+    public void emptyAndNullBodiesDecodeToNull() throws IOException {
+        assertNull(ResponseDecoder.of(gson, User.class).decode(reader("")));
+        assertNull(ResponseDecoder.of(gson, User.class).decode(reader("f6")));
+        assertNull(ResponseDecoder.of(gson, STATIONS).decode(reader("")));
+    }
+
+    @Test(expected = MalformedJsonException.class)
+    public void rejectsByteStrings() throws IOException {
+        reader("4101").peek();
+    }
+
+    @Test(expected = MalformedJsonException.class)
+    public void rejectsNonTextMapKeys() throws IOException {
+        CborReader reader = reader("a10102");
+        reader.beginObject();
+        reader.peek();
+    }
+
+    @Test
+    public void recordedPayloadsAreSmallerThanJson() {
+        String[] bodies = {ModelAdaptersTest.searchPayload(50), ModelAdaptersTest.summaryPayload(50),
+                ModelAdaptersTest.ticketsPayload(40), ModelAdaptersTest.stationsPayload(300)};
+        for (String body : bodies) {
+            int json = body.getBytes(StandardCharsets.UTF_8).length;
+            assertTrue(encode(new JsonParser().parse(body)).length < json);
+        }
+    }
+
+    private void assertSameAsJson(String json, Type type) throws IOException {
+        ResponseDecoder<?> decoder = ResponseDecoder.of(gson, type);
+        Object expected = decoder.decode(new InputStreamReader(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+        Object actual = decoder.decode(cbor(json));
+        assertEquals(new Gson().toJson(expected), new Gson().toJson(actual));
+    }
+
+    private static CborReader cbor(String json) {
+        return new CborReader(new ByteArrayInputStream(encode(new JsonParser().parse(json))));
+    }
+
+    private static CborReader reader(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return new CborReader(new ByteArrayInputStream(bytes));
+    }
+
+    // ---- Encoder, same rules as encodeCbor in backend/src/utils/cbor.ts ----
+
+    static byte[] encode(JsonElement element) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, element);
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            out.write(0xf6);
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            head(out, 4, array.size());
+            for (JsonElement item : array) write(out, item);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            head(out, 5, object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                text(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.write(primitive.getAsBoolean() ? 0xf5 : 0xf4);
+            } else if (primitive.isString()) {
+                text(out, primitive.getAsString());
+            } else {
+                number(out, primitive.getAsDouble());
+            }
+        }
+    }
+
+    private static void number(ByteArrayOutputStream out, double value) {
+        if (value == Math.rint(value) && Math.abs(value) <= 9007199254740991.0 && !isNegativeZero(value)) {
+            long integer = (long) value;
+            if (integer >= 0) head(out, 0, integer);
+            else head(out, 1, -1 - integer);
+        } else if ((float) value == value || Double.isNaN(value)) {
+            out.write(0xfa);
+            bigEndian(out, Float.floatToIntBits((float) value), 4);
+        } else {
+            out.write(0xfb);
+            bigEndian(out, Double.doubleToLongBits(value), 8);
+        }
+    }
+
+    private static boolean isNegativeZero(double value) {
+        return value == 0 && Double.doubleToRawLongBits(value) != 0;
+    }
+
+    private static void text(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        head(out, 3, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void head(ByteArrayOutputStream out, int major, long argument) {
+        int type = major << 5;
+        if (argument < 24) {
+            out.write(type | (int) argument);
+        } else if (argument < 0x100) {
+            out.write(type | 24);
+            bigEndian(out, argument, 1);
+        } else if (argument < 0x10000) {
+            out.write(type | 25);
+            bigEndian(out, argument, 2);
+        } else if (argument < 0x100000000L) {
+            out.write(type | 26);
+            bigEndian(out, argument, 4);
+        } else {
+            out.write(type | 27);
+            bigEndian(out, argument, 8);
+        }
+    }
+
+    private static void bigEndian(ByteArrayOutputStream out, long value, int size) {
+        for (int shift = (size - 1) * 8; shift >= 0; shift -= 8) out.write((int) (value >>> shift) & 0xff);
+    }
+}
@@ -0,0 +1,227 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.mojahid2021.railnet.model.Station;
+import com.mojahid2021.railnet.model.TicketHistoryPage;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.model.TrainScheduleSummary;
+import com.mojahid2021.railnet.model.UserTicket;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link ModelAdapters}.
+ * Every adapter must produce exactly what Gson's reflective binding produces.
+ */
+public class ModelAdaptersTest {
+
+    private final Gson reflective = new Gson();
+    private final Gson adapters = ModelAdapters.gson();
+
+    @Test
+    public void everyAdapterMatchesReflectionWithAllFieldsSet() throws Exception {
+        for (Class<?> type : ModelAdapters.ADAPTERS.keySet()) {
+            Object value = populate(type, new Random(type.getName().hashCode()), 0);
+            String expected = reflective.toJson(value);
+
+            assertEquals(type.getName(), expected, adapters.toJson(value));
+            Object decoded = adapters.fromJson(expected, type);
+            assertEquals(type.getName(), expected, reflective.toJson(decoded));
+        }
+    }
+
+    @Test
+    public void everyAdapterMatchesReflectionOnEmptyAndNullObjects() {
+        for (Class<?> type : ModelAdapters.ADAPTERS.keySet()) {
+            Object empty = adapters.fromJson("{}", type);
+            assertEquals(type.getName(), reflective.toJson(reflective.fromJson("{}", type)), reflective.toJson(empty));
+            assertNull(adapters.fromJson("null", type));
+        }
+    }
+
+    @Test
+    public void nullsUnknownNamesAndLooseTypesDecodeLikeReflection() {
+        String json = "{\"id\":null,\"name\":true,\"city\":12,\"latitude\":\"23.5\",\"extra\":{\"a\":[1,{}]},"
+                + "\"longitude\":90,\"createdAt\":null}";
+        assertEquals(reflective.toJson(reflective.fromJson(json, Station.class)),
+                reflective.toJson(adapters.fromJson(json, Station.class)));
+
+        String page = "{\"items\":[null,{\"ticket\":{\"id\":\"5\"},\"seat\":null}],\"nextCursor\":null}";
+        assertEquals(reflective.toJson(reflective.fromJson(page, TicketHistoryPage.class)),
+                reflective.toJson(adapters.fromJson(page, TicketHistoryPage.class)));
+    }
+
+    @Test
+    public void recordedPayloadsDecodeIdentically() {
+        Type schedules = new TypeToken<List<TrainSchedule>>() {}.getType();
+        Type tickets = new TypeToken<List<UserTicket>>() {}.getType();
+        Type stations = new TypeToken<List<Station>>() {}.getType();
+
+        assertSameDecoding(searchPayload(50), schedules);
+        assertSameDecoding(summaryPayload(50), new TypeToken<List<TrainScheduleSummary>>() {}.getType());
+        assertSameDecoding(ticketsPayload(40), tickets);
+        assertSameDecoding(stationsPayload(300), stations);
+        assertSameDecoding(BOOKING_RESPONSE, BookingResponse.class);
+        assertEquals("AC_B", adapters.fromJson(BOOKING_RESPONSE, BookingResponse.class).seat.clazz);
+    }
+
+    @Test
+    public void summarySearchIsAFractionOfTheFullSearch() {
+        int fullBytes = searchPayload(50).getBytes(StandardCharsets.UTF_8).length;
+        int summaryBytes = summaryPayload(50).getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(summaryBytes * 10 < fullBytes);
+    }
+
+    private void assertSameDecoding(String json, Type type) {
+        Object expected = reflective.fromJson(json, type);
+        Object actual = adapters.fromJson(json, type);
+        assertEquals(reflective.toJson(expected), reflective.toJson(actual));
+        assertEquals(reflective.toJson(expected), adapters.toJson(actual));
+    }
+
+    // Fills every instance field with a distinct non-default value, recursing into models and lists
+    private static Object populate(Class<?> type, Random random, int depth) throws Exception {
+        Object instance;
+        if (type == TicketRequest.class) {
+            instance = new TicketRequest(0, 0, 0, 0, null, null, 0, null);
+        } else {
+            instance = type.getDeclaredConstructor().newInstance();
+        }
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) continue;
+            field.setAccessible(true);
+            Class<?> ft = field.getType();
+            if (ft == int.class) {
+                field.setInt(instance, 1 + random.nextInt(100_000));
+            } else if (ft == double.class) {
+                field.setDouble(instance, random.nextInt(100_000) / 8.0 + 0.5);
+            } else if (ft == boolean.class) {
+                field.setBoolean(instance, true);
+            } else if (ft == String.class) {
+                field.set(instance, field.getName() + "-ঢ\"" + random.nextInt(1000));
+            } else if (ft == List.class) {
+                Type element = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+                List<Object> list = new ArrayList<>();
+                if (element == Integer.class) {
+                    list.add(random.nextInt(1000));
+                    list.add(null);
+                    list.add(random.nextInt(1000));
+                } else if (depth < 3) {
+                    list.add(populate((Class<?>) element, random, depth + 1));
+                    list.add(populate((Class<?>) element, random, depth + 1));
+                }
+                field.set(instance, list);
+            } else if (depth < 3) {
+                field.set(instance, populate(ft, random, depth + 1));
+            }
+        }
+        return instance;
+    }
+
+    // ---- Recorded payloads, shaped like the backend responses ----
+
+    static String searchPayload(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int s = 0; s < count; s++) {
+            if (s > 0) sb.append(',');
+            int stops = 12;
+            sb.append("{\"id\":").append(100 + s).append(",\"trainId\":").append(s)
+                    .append(",\"trainRouteId\":3,\"date\":\"2026-10-20T00:00:00.000Z\",\"time\":\"08:")
+                    .append(10 + s % 50).append("\",\"train\":{\"id\":").append(s)
+                    .append(",\"name\":\"Subarna Express\",\"number\":\"7").append(s)
+                    .append("\",\"trainRouteId\":3,\"compartments\":[");
+            for (int c = 0; c < 4; c++) {
+                if (c > 0) sb.append(',');
+                sb.append("{\"id\":").append(c).append(",\"trainId\":").append(s)
+                        .append(",\"compartmentId\":").append(c).append(",\"quantity\":2,\"compartment\":{\"id\":")
+                        .append(c).append(",\"name\":\"Coach ").append(c).append("\",\"class\":\"S_CHAIR\",\"type\":\"seat\",\"price\":")
+                        .append(1.25 + c).append(",\"totalSeats\":60},\"createdAt\":\"2026-01-01T00:00:00.000Z\"}");
+            }
+            sb.append("]},\"trainRoute\":{\"id\":3,\"name\":\"Dhaka - Chattogram\",\"startStationId\":1,\"endStationId\":")
+                    .append(stops).append(",\"startStation\":{\"id\":1,\"name\":\"Dhaka\",\"city\":\"Dhaka\",\"latitude\":23.73,\"longitude\":90.42},")
+                    .append("\"endStation\":{\"id\":").append(stops)
+                    .append(",\"name\":\"Chattogram\",\"city\":\"Chattogram\",\"latitude\":22.33,\"longitude\":91.83},\"routeStations\":[");
+            for (int r = 0; r < stops; r++) {
+                if (r > 0) sb.append(',');
+                sb.append("{\"id\":").append(r).append(",\"previousStationId\":").append(r == 0 ? "null" : String.valueOf(r))
+                        .append(",\"currentStationId\":").append(r + 1).append(",\"nextStationId\":").append(r + 2)
+                        .append(",\"distance\":").append(24.5).append(",\"distanceFromStart\":").append(24.5 * r).append('}');
+            }
+            sb.append("]},\"stationTimes\":[");
+            for (int r = 0; r < stops; r++) {
+                if (r > 0) sb.append(',');
+                sb.append("{\"id\":").append(r).append(",\"trainScheduleId\":").append(100 + s)
+                        .append(",\"stationId\":").append(r + 1).append(",\"station\":{\"id\":").append(r + 1)
+                        .append(",\"name\":\"Station ").append(r + 1).append("\",\"city\":\"City\",\"latitude\":")
+                        .append(23.7 - r * 0.1).append(",\"longitude\":").append(90.4 + r * 0.1)
+                        .append("},\"arrivalTime\":\"").append(8 + r / 2).append(":15\",\"departureTime\":\"")
+                        .append(8 + r / 2).append(":20\",\"sequence\":").append(r + 1).append('}');
+            }
+            sb.append("],\"createdAt\":\"2026-01-01T00:00:00.000Z\",\"updatedAt\":\"2026-01-02T00:00:00.000Z\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    // The summary view of searchPayload(count): same schedules, list fields only
+    static String summaryPayload(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int s = 0; s < count; s++) {
+            if (s > 0) sb.append(',');
+            sb.append("{\"id\":").append(100 + s).append(",\"trainId\":").append(s)
+                    .append(",\"trainRouteId\":3,\"date\":\"2026-10-20T00:00:00.000Z\",\"time\":\"08:")
+                    .append(10 + s % 50).append("\",\"trainName\":\"Subarna Express\",\"trainNumber\":\"7").append(s)
+                    .append("\",\"startStationName\":\"Dhaka\",\"endStationName\":\"Chattogram\",")
+                    .append("\"departureTime\":\"8:20\",\"arrivalTime\":\"13:15\",\"durationMinutes\":295,")
+                    .append("\"minFare\":").append(s % 9 == 0 ? "null" : String.valueOf(336.88)).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    static String ticketsPayload(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"ticket\":{\"id\":").append(i).append(",\"ticketId\":\"TKT-").append(1000 + i)
+                    .append("\",\"status\":\"").append(i % 3 == 0 ? "pending" : "confirmed")
+                    .append("\",\"paymentStatus\":\"paid\",\"createdAt\":\"2026-10-01T10:00:00.000Z\"},")
+                    .append("\"passenger\":{\"name\":\"Rahim\",\"age\":30,\"gender\":\"Male\"},")
+                    .append("\"journey\":{\"train\":{\"name\":\"Turna\",\"number\":\"741\"},\"route\":{\"from\":\"Dhaka\",\"to\":\"Sylhet\"},")
+                    .append("\"schedule\":{\"date\":\"2026-10-20\",\"departureTime\":\"21:00\"}},")
+                    .append("\"seat\":{\"number\":\"S").append(i + 1).append("\",\"compartment\":\"Coach A\",\"class\":\"AC_B\"},")
+                    .append("\"pricing\":{\"amount\":").append(450 + i).append(",\"currency\":\"BDT\"}}");
+        }
+        return sb.append(']').toString();
+    }
+
+    static String stationsPayload(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(i).append(",\"name\":\"Station ").append(i).append("\",\"city\":\"City ")
+                    .append(i % 20).append("\",\"latitude\":").append(20.5 + i * 0.01).append(",\"longitude\":")
+                    .append(88.0 + i * 0.01).append(",\"createdAt\":\"2026-01-01T00:00:00.000Z\",\"updatedAt\":")
+                    .append(i % 7 == 0 ? "null" : "\"2026-02-01T00:00:00.000Z\"").append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static final String BOOKING_RESPONSE = "{\"ticket\":{\"id\":91,\"ticketId\":\"TKT-91\",\"status\":\"pending\","
+            + "\"paymentStatus\":\"pending\",\"expiresAt\":\"2026-10-16T10:10:00.000Z\",\"createdAt\":\"2026-10-16T10:00:00.000Z\"},"
+            + "\"passenger\":{\"name\":\"Karim\",\"age\":41,\"gender\":\"Male\"},"
+            + "\"journey\":{\"train\":{\"name\":\"Turna\",\"number\":\"741\"},\"route\":{\"from\":\"Dhaka\",\"to\":\"Sylhet\"},"
+            + "\"schedule\":{\"date\":\"2026-10-20\",\"departureTime\":\"21:00\"}},"
+            + "\"seat\":{\"number\":\"S4\",\"compartment\":\"Coach A\",\"class\":\"AC_B\"},"
+            + "\"pricing\":{\"amount\":450.0,\"currency\":\"BDT\"}}";
+}
@@ -0,0 +1,157 @@
+package com.mojahid2021.railnet.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local tests for {@link RequestCoalescingInterceptor}, run against MockWebServer without an HTTP cache.
+ */
+public class RequestCoalescingInterceptorTest {
+
+    private static final int CALLERS = 4;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = ApiClient.buildClient(null);
+        executor = Executors.newFixedThreadPool(CALLERS);
+        TokenStore.setInMemory("test-token");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TokenStore.setInMemory(null);
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalGetsShareOneRequest() throws Exception {
+        // Callers can only join until the response headers arrive
+        server.enqueue(new MockResponse().setBody("{\"data\":[]}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        long joinedBefore = NetworkMetrics.getJoinedInFlightCount();
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(get("/train-schedules/search?from=1&to=2&date=2025-12-06")));
+        }
+        for (Future<String> result : results) {
+            assertEquals("{\"data\":[]}", result.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CALLERS - 1, NetworkMetrics.getJoinedInFlightCount() - joinedBefore);
+    }
+
+    @Test
+    public void unsharedResponsesStreamToTheirCaller() throws Exception {
+        // Cut off half way through the body: buffering would fail inside execute(), streaming
+        // only fails once the caller reads past what arrived
+        server.enqueue(new MockResponse().setBody(new String(new char[64 * 1024]).replace('\0', 'x'))
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        try (Response response = client.newCall(new Request.Builder()
+                .url(server.url("/train-schedules/search?from=1&to=2&date=2025-12-06")).build()).execute()) {
+            assertEquals(200, response.code());
+            try {
+                response.body().string();
+                fail("Expected the truncated body to fail while reading");
+            } catch (IOException expected) {
+                // Reached the caller rather than the interceptor
+            }
+        }
+        assertEquals("[]", get("/train-schedules/search?from=1&to=2&date=2025-12-06").call());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void sequentialGetsWithoutReplayWindowAreNotShared() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        get("/tickets").call();
+        get("/tickets").call();
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void replayWindowServesRecentResultUntilAWrite() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":7}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{\"id\":7}"));
+        long replayedBefore = NetworkMetrics.getReplayedCount();
+
+        Request withWindow = new Request.Builder()
+                .url(server.url("/train-schedules/7"))
+                .header(RequestCoalescingInterceptor.HEADER_REPLAY_WINDOW_MS, "5000")
+                .build();
+        execute(withWindow);
+        assertEquals("{\"id\":7}", execute(withWindow));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, NetworkMetrics.getReplayedCount() - replayedBefore);
+        assertNull(server.takeRequest().getHeader(RequestCoalescingInterceptor.HEADER_REPLAY_WINDOW_MS));
+
+        // A write invalidates held results
+        execute(new Request.Builder()
+                .url(server.url("/tickets"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build());
+        execute(withWindow);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void differentUsersAreNotCoalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("[]").setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        Future<String> first = executor.submit(get("/tickets"));
+        Thread.sleep(50);
+        // Signed in as someone else while the first call is still in flight
+        TokenStore.setInMemory("other-token");
+        Future<String> second = executor.submit(get("/tickets"));
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private Callable<String> get(String path) {
+        return () -> execute(new Request.Builder().url(server.url(path)).build());
+    }
+
+    private String execute(Request request) throws Exception {
+        try (Response response = client.newCall(request).execute()) {
+            assertTrue(response.isSuccessful());
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.mojahid2021.railnet.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import com.mojahid2021.railnet.model.TrainSchedule;
+import com.mojahid2021.railnet.model.User;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link ResponseDecoder}.
+ * Schedule results are compared against the previous String + JsonElement tree path.
+ */
+public class ResponseDecoderTest {
+
+    private static final Type SCHEDULES = new TypeToken<List<TrainSchedule>>() {}.getType();
+
+    private static final String SCHEDULE =
+            "{\"id\":7,\"trainId\":2,\"train\":{\"name\":\"Subarna\",\"number\":\"701\","
+                    + "\"compartments\":[{\"compartment\":{\"id\":1,\"class\":\"AC\",\"price\":2.5,\"totalSeats\":40}}]},"
+                    + "\"trainRoute\":{\"id\":3,\"routeStations\":[{\"currentStationId\":1,\"distanceFromStart\":0},"
+                    + "{\"currentStationId\":2,\"distanceFromStart\":120.5}]},"
+                    + "\"stationTimes\":[{\"stationId\":1,\"departureTime\":\"08:00\"},{\"stationId\":2,\"arrivalTime\":\"11:30\"}]}";
+
+    @Test
+    public void list_parsesBareArray() throws IOException {
+        List<TrainSchedule> result = schedules("[" + SCHEDULE + ",null," + SCHEDULE + "]");
+        assertEquals(2, result.size());
+        assertEquals(7, result.get(0).id);
+        assertEquals("AC", result.get(0).train.compartments.get(0).compartment.clazz);
+        assertEquals(120.5, result.get(1).trainRoute.routeStations.get(1).distanceFromStart, 0.0);
+    }
+
+    @Test
+    public void envelopedList_parsesDataAnywhereAndBareArrays() throws IOException {
+        String body = "{\"success\":true,\"meta\":{\"count\":1},\"data\":[" + SCHEDULE + "],\"extra\":[1,2]}";
+        List<TrainSchedule> result = envelopedSchedules(body);
+        assertEquals(1, result.size());
+        assertEquals("11:30", result.get(0).stationTimes.get(1).arrivalTime);
+        assertEquals(2, envelopedSchedules("[" + SCHEDULE + "," + SCHEDULE + "]").size());
+    }
+
+    @Test
+    public void envelopedList_isEmptyWhenNoDataArray() throws IOException {
+        assertTrue(envelopedSchedules("{\"data\":{}}").isEmpty());
+        assertTrue(envelopedSchedules("{\"data\":null,\"more\":[1]}").isEmpty());
+        assertTrue(envelopedSchedules("{\"message\":\"none\"}").isEmpty());
+        assertTrue(envelopedSchedules("[]").isEmpty());
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void bareList_rejectsObjects() throws IOException {
+        schedules("{\"data\":[" + SCHEDULE + "]}");
+    }
+
+    @Test
+    public void list_matchesTreeBasedParsing() throws IOException {
+        String body = "{\"data\":[" + SCHEDULE + "," + SCHEDULE + "]}";
+        Gson gson = new Gson();
+
+        JsonArray array = new JsonParser().parse(body).getAsJsonObject().getAsJsonArray("data");
+        TrainSchedule[] expected = gson.fromJson(array, TrainSchedule[].class);
+        List<TrainSchedule> actual = envelopedSchedules(body);
+
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(gson.toJson(expected[i]), gson.toJson(actual.get(i)));
+        }
+    }
+
+    @Test
+    public void model_parsesBareObject() throws IOException {
+        ResponseDecoder<User> decoder = ResponseDecoder.of(ModelAdapters.gson(), User.class);
+        String user = "{\"id\":3,\"firstName\":\"Rahim\",\"unknown\":[1],\"email\":\"r@example.com\"}";
+
+        User bare = decoder.decode(new StringReader(user));
+
+        assertEquals(3, bare.id);
+        assertEquals("r@example.com", bare.email);
+        assertEquals(new Gson().toJson(new Gson().fromJson(user, User.class)), new Gson().toJson(bare));
+        assertNotNull(decoder.decode(new StringReader("{}")));
+        // A model that happens to have a "data" field is never mistaken for an envelope
+        assertEquals(0, decoder.decode(new StringReader("{\"data\":" + user + "}")).id);
+    }
+
+    @Test
+    public void envelopedModel_ignoresKeyOrder() throws IOException {
+        ResponseDecoder<User> decoder = ResponseDecoder.of(ModelAdapters.gson(), User.class, true);
+        String user = "{\"id\":3,\"firstName\":\"Rahim\"}";
+
+        User first = decoder.decode(new StringReader("{\"data\":" + user + ",\"success\":true}"));
+        User later = decoder.decode(new StringReader("{\"success\":true,\"meta\":{\"data\":1},\"data\":" + user + "}"));
+        User bare = decoder.decode(new StringReader(user));
+
+        assertEquals("Rahim", later.firstName);
+        assertEquals(new Gson().toJson(first), new Gson().toJson(later));
+        assertNull(decoder.decode(new StringReader("{\"success\":true}")));
+        // An object without "data" is an envelope without a value, not the model
+        assertNull(bare);
+    }
+
+    @Test
+    public void emptyAndNullBodiesDecodeToNull() throws IOException {
+        assertNull(ResponseDecoder.of(ModelAdapters.gson(), User.class).decode(new StringReader("")));
+        assertNull(ResponseDecoder.of(ModelAdapters.gson(), User.class).decode(new StringReader("null")));
+        assertNull(ResponseDecoder.of(ModelAdapters.gson(), SCHEDULES).decode(new StringReader("")));
+    }
+
+    @Test
+    public void tree_isUnwrappedOnlyWhenEnveloped() throws IOException {
+        ResponseDecoder<JsonObject> bare = ResponseDecoder.of(ModelAdapters.gson(), JsonObject.class);
+        ResponseDecoder<JsonObject> enveloped = ResponseDecoder.of(ModelAdapters.gson(), JsonObject.class, true);
+
+        assertTrue(bare.decode(new StringReader("{\"data\":{\"a\":1}}")).has("data"));
+        assertEquals(2, enveloped.decode(new StringReader("{\"a\":1,\"data\":{\"b\":2}}")).get("b").getAsInt());
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void model_rejectsNonObjects() throws IOException {
+        ResponseDecoder.of(ModelAdapters.gson(), User.class).decode(new StringReader("[1]"));
+    }
+
+    private static List<TrainSchedule> schedules(String body) throws IOException {
+        ResponseDecoder<List<TrainSchedule>> decoder = ResponseDecoder.of(ModelAdapters.gson(), SCHEDULES);
+        return decoder.decode(new StringReader(body));
+    }
+
+    private static List<TrainSchedule> envelopedSchedules(String body) throws IOException {
+        ResponseDecoder<List<TrainSchedule>> decoder = ResponseDecoder.of(ModelAdapters.gson(), SCHEDULES, true);
+        return decoder.decode(new StringReader(body));
+    }
+}
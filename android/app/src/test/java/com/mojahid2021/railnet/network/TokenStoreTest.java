@@ -0,0 +1,42 @@
+package com.mojahid2021.railnet.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Local unit tests for reading the user id out of a token with {@link TokenStore#userId}.
+ */
+public class TokenStoreTest {
+
+    // Payloads are base64url without padding, as jsonwebtoken and fastify-jwt write them
+    private static String token(String payloadBase64Url) {
+        return "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." + payloadBase64Url + ".c2lnbmF0dXJl";
+    }
+
+    @Test
+    public void readsTheIdClaim() {
+        // {"id":42,"email":"r@example.com","role":"user","iat":1760000000}
+        assertEquals("42", TokenStore.userId(token(
+                "eyJpZCI6NDIsImVtYWlsIjoickBleGFtcGxlLmNvbSIsInJvbGUiOiJ1c2VyIiwiaWF0IjoxNzYwMDAwMDAwfQ")));
+        // {"sub":"u-7"}
+        assertEquals("u-7", TokenStore.userId(token("eyJzdWIiOiJ1LTcifQ")));
+    }
+
+    @Test
+    public void differentTokensOfOneUserShareTheId() {
+        // {"id":42,"iat":1} and {"id":42,"iat":2}
+        assertEquals(TokenStore.userId(token("eyJpZCI6NDIsImlhdCI6MX0")),
+                TokenStore.userId(token("eyJpZCI6NDIsImlhdCI6Mn0")));
+    }
+
+    @Test
+    public void unreadableTokensHaveNoId() {
+        assertNull(TokenStore.userId(null));
+        assertNull(TokenStore.userId("opaque-token"));
+        assertNull(TokenStore.userId(token("not*base64")));
+        assertNull(TokenStore.userId(token("WzQyXQ")));          // [42]
+        assertNull(TokenStore.userId(token("eyJpZCI6e319")));    // {"id":{}}
+    }
+}
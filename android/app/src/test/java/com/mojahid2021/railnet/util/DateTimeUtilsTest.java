@@ -0,0 +1,190 @@
+package com.mojahid2021.railnet.util;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks the cached/hand-rolled DateTimeUtils against the original per-call SimpleDateFormat
+ * implementation over randomly generated inputs, in several time zones and locales.
+ */
+public class DateTimeUtilsTest {
+
+    private static final String[] ZONES = {"Asia/Dhaka", "UTC", "America/New_York", "Asia/Kolkata"};
+    private static final Locale[] LOCALES = {Locale.US, Locale.UK, new Locale("bn", "BD")};
+    private static final int SAMPLES = 3000;
+
+    @Test
+    public void canonicalIso_parsesToUtcMillis() {
+        assertEquals(1765008000000L, DateTimeUtils.parseIsoToDate("2025-12-06T08:00:00.000Z").getTime());
+        assertEquals(1765008000000L, DateTimeUtils.parseIsoToDate(" 2025-12-06T08:00:00Z ").getTime());
+        assertEquals(951782400123L, DateTimeUtils.parseIsoToDate("2000-02-29T00:00:00.123Z").getTime());
+        assertNull(DateTimeUtils.parseIsoToDate("not a date"));
+        assertNull(DateTimeUtils.parseIsoToDate(null));
+    }
+
+    @Test
+    public void addDaysToApiDate_crossesMonthAndYearBoundaries() {
+        assertEquals("2025-12-07", DateTimeUtils.addDaysToApiDate("2025-12-06", 1));
+        assertEquals("2026-01-01", DateTimeUtils.addDaysToApiDate("2025-12-31", 1));
+        assertEquals("2024-02-29", DateTimeUtils.addDaysToApiDate("2024-03-01", -1));
+        assertEquals("2025-02-28", DateTimeUtils.addDaysToApiDate("2025-03-01", -1));
+        assertNull(DateTimeUtils.addDaysToApiDate("2025-02-30", 1));
+        assertNull(DateTimeUtils.addDaysToApiDate("06/12/2025", 1));
+    }
+
+    @Test
+    public void matchesLegacyImplementation_randomInputs() {
+        TimeZone originalZone = TimeZone.getDefault();
+        Locale originalLocale = Locale.getDefault();
+        try {
+            Random random = new Random(42);
+            for (String zone : ZONES) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (Locale locale : LOCALES) {
+                    Locale.setDefault(locale);
+                    for (int i = 0; i < SAMPLES; i++) {
+                        String iso = randomIso(random);
+                        String time = randomTime(random);
+                        String context = zone + " " + locale + " ";
+
+                        assertEquals(context + iso, String.valueOf(Legacy.parseIsoToDate(iso)),
+                                String.valueOf(DateTimeUtils.parseIsoToDate(iso)));
+                        assertEquals(context + iso, Legacy.formatTimeFromIso(iso), DateTimeUtils.formatTimeFromIso(iso));
+                        assertEquals(context + iso, Legacy.formatDisplayDateFromIso(iso),
+                                DateTimeUtils.formatDisplayDateFromIso(iso));
+                        assertEquals(context + time, Legacy.formatTimeForDisplay(time),
+                                DateTimeUtils.formatTimeForDisplay(time));
+
+                        Date date = new Date(random.nextLong() % 4_000_000_000_000L);
+                        assertEquals(context + date.getTime(), Legacy.formatApiDate(date), DateTimeUtils.formatApiDate(date));
+                        assertEquals(context + date.getTime(), Legacy.formatDisplayDate(date),
+                                DateTimeUtils.formatDisplayDate(date));
+                    }
+                }
+            }
+        } finally {
+            TimeZone.setDefault(originalZone);
+            Locale.setDefault(originalLocale);
+        }
+    }
+
+    // Mostly canonical strings, plus out-of-range fields and malformed variants for the fallback path
+    private static String randomIso(Random r) {
+        switch (r.nextInt(8)) {
+            case 0:
+                return String.format(Locale.US, "%04d-%02d-%02d", 1970 + r.nextInt(80), 1 + r.nextInt(12), 1 + r.nextInt(28));
+            case 1:
+                return String.format(Locale.US, "%04d-%02d-%02dT%02d:%02d:%02dZ", 1890 + r.nextInt(200),
+                        r.nextInt(14), r.nextInt(33), r.nextInt(26), r.nextInt(62), r.nextInt(62));
+            case 2:
+                return randomCanonicalIso(r) + "junk";
+            case 3:
+                return String.format(Locale.US, "%d-%d-%dT%d:%d:%dZ", 2000 + r.nextInt(50),
+                        1 + r.nextInt(12), 1 + r.nextInt(28), r.nextInt(24), r.nextInt(60), r.nextInt(60));
+            case 4:
+                return String.format(Locale.US, "%04d-%02d-%02dT%02d:%02d:%02d.%03d+06:00", 2000 + r.nextInt(50),
+                        1 + r.nextInt(12), 1 + r.nextInt(28), r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000));
+            case 5:
+                return r.nextBoolean() ? "" : "  ";
+            default:
+                return randomCanonicalIso(r);
+        }
+    }
+
+    static String randomCanonicalIso(Random r) {
+        boolean withMillis = r.nextBoolean();
+        String base = String.format(Locale.US, "%04d-%02d-%02dT%02d:%02d:%02d", 1970 + r.nextInt(80),
+                1 + r.nextInt(12), 1 + r.nextInt(31), r.nextInt(24), r.nextInt(60), r.nextInt(60));
+        return withMillis ? base + String.format(Locale.US, ".%03dZ", r.nextInt(1000)) : base + "Z";
+    }
+
+    private static String randomTime(Random r) {
+        switch (r.nextInt(6)) {
+            case 0:
+                return String.format(Locale.US, "%d:%d", r.nextInt(30), r.nextInt(70));
+            case 1:
+                return String.format(Locale.US, "%02d:%02d:%02d.000", r.nextInt(24), r.nextInt(60), r.nextInt(60));
+            case 2:
+                return r.nextBoolean() ? "-" : "later";
+            default:
+                return randomCanonicalTime(r);
+        }
+    }
+
+    static String randomCanonicalTime(Random r) {
+        return r.nextBoolean()
+                ? String.format(Locale.US, "%02d:%02d", r.nextInt(24), r.nextInt(60))
+                : String.format(Locale.US, "%02d:%02d:%02d", r.nextInt(24), r.nextInt(60), r.nextInt(60));
+    }
+
+    /**
+     * The original DateTimeUtils implementation, kept as the reference for behaviour.
+     */
+    static final class Legacy {
+
+        static Date parseIsoToDate(String iso) {
+            if (iso == null) return null;
+            String s = iso.trim();
+            SimpleDateFormat sdf1 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.getDefault());
+            sdf1.setTimeZone(TimeZone.getTimeZone("UTC"));
+            SimpleDateFormat sdf2 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.getDefault());
+            sdf2.setTimeZone(TimeZone.getTimeZone("UTC"));
+            SimpleDateFormat sdf3 = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+            sdf3.setTimeZone(TimeZone.getDefault());
+            for (SimpleDateFormat p : new SimpleDateFormat[]{sdf1, sdf2, sdf3}) {
+                try {
+                    return p.parse(s);
+                } catch (ParseException ignored) {
+                }
+            }
+            return null;
+        }
+
+        static String formatDisplayDate(Date date) {
+            if (date == null) return "";
+            return new SimpleDateFormat("EEE, MMM d, yyyy", Locale.getDefault()).format(date);
+        }
+
+        static String formatApiDate(Date date) {
+            if (date == null) return "";
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+            sdf.setTimeZone(TimeZone.getDefault());
+            return sdf.format(date);
+        }
+
+        static String formatDisplayDateFromIso(String iso) {
+            Date d = parseIsoToDate(iso);
+            return d == null ? "" : formatDisplayDate(d);
+        }
+
+        static String formatTimeForDisplay(String timeStr) {
+            if (timeStr == null) return "";
+            String s = timeStr.trim();
+            for (String p : new String[]{"HH:mm:ss", "HH:mm"}) {
+                try {
+                    Date d = new SimpleDateFormat(p, Locale.getDefault()).parse(s);
+                    if (d != null) {
+                        return new SimpleDateFormat("hh:mm a", Locale.getDefault()).format(d);
+                    }
+                } catch (ParseException ignored) {
+                }
+            }
+            return s;
+        }
+
+        static String formatTimeFromIso(String iso) {
+            Date d = parseIsoToDate(iso);
+            if (d == null) return "";
+            return new SimpleDateFormat("hh:mm a", Locale.getDefault()).format(d);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.mojahid2021.railnet.util;
+
+import com.google.zxing.common.BitMatrix;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class QrCodeRendererTest {
+
+    static final int DARK = 0xFF000000;
+    static final int LIGHT = 0xFFFFFFFF;
+
+    @Test
+    public void toPixels_scalesModulesByWholePixelsAndCentres() {
+        BitMatrix modules = new BitMatrix(3);
+        modules.set(0, 0);
+        modules.set(2, 1);
+
+        // 3 modules in 8 px: scale 2, one pixel of padding on each side
+        int[] pixels = QrCodeRenderer.toPixels(modules, 8, DARK, LIGHT);
+
+        assertEquals(64, pixels.length);
+        assertEquals(LIGHT, pixels[0]);
+        assertEquals(DARK, pixels[8 + 1]);
+        assertEquals(DARK, pixels[8 + 2]);
+        assertEquals(DARK, pixels[2 * 8 + 1]);
+        assertEquals(LIGHT, pixels[2 * 8 + 3]);
+        assertEquals(DARK, pixels[3 * 8 + 5]);
+        assertEquals(DARK, pixels[4 * 8 + 6]);
+        assertEquals(LIGHT, pixels[4 * 8 + 7]);
+        assertEquals(LIGHT, pixels[7 * 8 + 1]);
+    }
+
+    @Test
+    public void toPixels_matchesPerPixelLookup() {
+        BitMatrix modules = pattern(29);
+        for (int size : new int[]{29, 76, 240, 304}) {
+            assertArrayEquals(perPixel(modules, size), QrCodeRenderer.toPixels(modules, size, DARK, LIGHT));
+        }
+    }
+
+    @Test
+    public void darkRuns_mergesAdjacentModulesInARow() {
+        BitMatrix modules = new BitMatrix(5);
+        modules.set(0, 0);
+        modules.set(1, 0);
+        modules.set(3, 0);
+        modules.set(4, 2);
+
+        assertArrayEquals(new int[]{0, 0, 2, 3, 0, 1, 4, 2, 1}, QrCodeRenderer.darkRuns(modules));
+    }
+
+    @Test
+    public void darkRuns_coverEveryDarkModuleOnce() {
+        BitMatrix modules = pattern(29);
+        int[] runs = QrCodeRenderer.darkRuns(modules);
+
+        BitMatrix painted = new BitMatrix(29);
+        for (int i = 0; i < runs.length; i += 3) {
+            for (int x = runs[i]; x < runs[i] + runs[i + 2]; x++) painted.set(x, runs[i + 1]);
+        }
+        assertArrayEquals(perPixel(modules, 29), perPixel(painted, 29));
+    }
+
+    // A deterministic, QR-like mix of dark and light modules
+    static BitMatrix pattern(int count) {
+        BitMatrix modules = new BitMatrix(count);
+        for (int y = 0; y < count; y++) {
+            for (int x = 0; x < count; x++) {
+                if (((x * 7 + y * 13) ^ (x * y)) % 3 == 0) modules.set(x, y);
+            }
+        }
+        return modules;
+    }
+
+    // One lookup per output pixel, like the old Bitmap.setPixel loop
+    static int[] perPixel(BitMatrix modules, int size) {
+        int count = modules.getWidth();
+        int scale = Math.max(1, size / count);
+        int offset = (size - count * scale) / 2;
+        int[] pixels = new int[size * size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                int mx = x - offset, my = y - offset;
+                boolean inside = mx >= 0 && my >= 0 && mx < count * scale && my < count * scale;
+                pixels[y * size + x] = inside && modules.get(mx / scale, my / scale) ? DARK : LIGHT;
+            }
+        }
+        return pixels;
+    }
+}
@@ -0,0 +1,2 @@
+-- CreateIndex
+CREATE INDEX "Ticket_userId_createdAt_id_idx" ON "Ticket"("userId", "createdAt", "id");
@@ -1,6 +1,7 @@
 import { FastifyInstance } from 'fastify';
 import bcrypt from 'bcrypt';
 import prisma from '../lib/prisma';
+import { conditionalGet } from '../utils/conditionalGet';
 import {
   errorResponseSchema,
   authResponseSchema,
@@ -133,6 +134,7 @@ export default async function authRoutes(fastify: FastifyInstance) {
     '/profile',
     {
       preHandler: fastify.authenticate,
+      onSend: conditionalGet({ cacheControl: 'private, no-cache' }),
       schema: {
         description: 'Get authenticated user profile',
         tags: ['Authentication'],
@@ -167,6 +169,8 @@ export default async function authRoutes(fastify: FastifyInstance) {
         return reply.code(404).send({ error: 'User not found' });
       }
 
+      // Every field of the profile is a column of the user row, so updatedAt covers the whole body
+      reply.header('Last-Modified', user.updatedAt.toUTCString());
       reply.send(user);
     },
   );
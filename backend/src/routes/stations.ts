@@ -1,5 +1,7 @@
 import { FastifyInstance } from 'fastify';
 import prisma from '../lib/prisma';
+import { negotiateCbor } from '../utils/cbor';
+import { conditionalGet } from '../utils/conditionalGet';
 import {
   errorResponseSchema,
   stationWithTimestampsSchema,
@@ -59,17 +61,39 @@ export default async function stationRoutes(fastify: FastifyInstance) {
     '/stations',
     {
       preHandler: (fastify as any).authenticate,
+      // CBOR first, so the ETag is that of the bytes sent
+      onSend: [negotiateCbor, conditionalGet()],
       schema: {
-        description: 'Get all stations',
+        description:
+          'Get all stations. Pass updatedSince (ISO date-time) to receive only stations changed after that instant.',
         tags: ['Stations'],
         security: [{ bearerAuth: [] }],
+        querystring: {
+          type: 'object',
+          properties: {
+            updatedSince: { type: 'string', format: 'date-time' },
+          },
+        },
         response: {
           200: stationsListResponseSchema,
+          400: errorResponseSchema,
         },
       },
     },
     async (request, reply) => {
+      const { updatedSince } = request.query as { updatedSince?: string };
+
+      let where = {};
+      if (updatedSince) {
+        const since = new Date(updatedSince);
+        if (isNaN(since.getTime())) {
+          return reply.code(400).send({ error: 'Invalid updatedSince timestamp' });
+        }
+        where = { updatedAt: { gt: since } };
+      }
+
       const stations = await prisma.station.findMany({
+        where,
         orderBy: { createdAt: 'desc' },
       });
 
@@ -1,5 +1,6 @@
 import { FastifyInstance } from 'fastify';
 import { addMinutes } from 'date-fns';
+import { Prisma } from '@prisma/client';
 import prisma from '../lib/prisma';
 import {
   errorResponseSchema,
@@ -7,7 +8,12 @@ import {
   ticketBookingResponseSchema,
   bookTicketBodySchema,
   ticketsListResponseSchema,
+  ticketHistoryQuerySchema,
+  ticketHistoryResponseSchema,
 } from '../schemas/index.js';
+import { decodeTicketCursor, encodeTicketCursor } from '../utils/ticketCursor';
+import { negotiateCbor } from '../utils/cbor';
+import { conditionalGet } from '../utils/conditionalGet';
 
 // Generate a unique ticket ID
 function generateTicketId(trainName: string, date: Date, seatNumber: string): string {
@@ -31,6 +37,64 @@ function generateTicketId(trainName: string, date: Date, seatNumber: string): st
   return `${cleanTrainName}-${dateStr}-${cleanSeatNumber}-${randomSuffix}`;
 }
 
+// Relations needed to build a ticket list item (only what toTicketListItem reads)
+const ticketListInclude = {
+  trainSchedule: {
+    include: {
+      train: true,
+    },
+  },
+  fromStation: true,
+  toStation: true,
+  seat: {
+    include: {
+      trainCompartment: {
+        include: {
+          compartment: true,
+        },
+      },
+    },
+  },
+} satisfies Prisma.TicketInclude;
+
+type TicketWithListRelations = Prisma.TicketGetPayload<{ include: typeof ticketListInclude }>;
+
+// Transform a ticket to the clean list item format
+function toTicketListItem(ticket: TicketWithListRelations) {
+  return {
+    ticket: {
+      id: ticket.id,
+      ticketId: ticket.ticketId,
+      status: ticket.status,
+      paymentStatus: ticket.paymentStatus,
+      createdAt: ticket.createdAt,
+      updatedAt: ticket.updatedAt,
+    },
+    journey: {
+      train: {
+        name: ticket.trainSchedule.train.name,
+        number: ticket.trainSchedule.train.number,
+      },
+      route: {
+        from: ticket.fromStation.name,
+        to: ticket.toStation.name,
+      },
+      schedule: {
+        date: ticket.trainSchedule.date.toISOString().split('T')[0], // YYYY-MM-DD format
+        departureTime: ticket.trainSchedule.time,
+      },
+    },
+    seat: {
+      number: ticket.seatNumber,
+      compartment: ticket.seat.trainCompartment.compartment.name,
+    },
+    pricing: {
+      amount: ticket.price,
+      currency: 'BDT',
+    },
+  };
+}
+
 export default async function ticketRoutes(fastify: FastifyInstance) {
   // Book a ticket - Authenticated users
   fastify.post(
@@ -409,6 +473,7 @@ export default async function ticketRoutes(fastify: FastifyInstance) {
     '/tickets',
     {
       preHandler: (fastify as any).authenticate,
+      onSend: negotiateCbor,
       schema: {
         description: 'Get current user tickets',
         tags: ['Tickets'],
@@ -423,77 +488,63 @@ export default async function ticketRoutes(fastify: FastifyInstance) {
 
       const tickets = await prisma.ticket.findMany({
         where: { userId },
-        include: {
-          user: true,
-          trainSchedule: {
-            include: {
-              train: {
-                include: {
-                  trainRoute: {
-                    include: {
-                      startStation: true,
-                      endStation: true,
-                    },
-                  },
-                },
-              },
-              stationTimes: {
-                include: {
-                  station: true,
-                },
-                orderBy: { sequence: 'asc' },
-              },
-            },
-          },
-          fromStation: true,
-          toStation: true,
-          seat: {
-            include: {
-              trainCompartment: {
-                include: {
-                  compartment: true,
-                },
-              },
-            },
-          },
-        },
+        include: ticketListInclude,
         orderBy: [{ createdAt: 'desc' }],
       });
 
-      // Transform to clean response format
-      const ticketList = tickets.map((ticket) => ({
-        ticket: {
-          id: ticket.id,
-          ticketId: ticket.ticketId,
-          status: ticket.status,
-          paymentStatus: ticket.paymentStatus,
-          createdAt: ticket.createdAt,
-        },
-        journey: {
-          train: {
-            name: ticket.trainSchedule.train.name,
-            number: ticket.trainSchedule.train.number,
-          },
-          route: {
-            from: ticket.fromStation.name,
-            to: ticket.toStation.name,
-          },
-          schedule: {
-            date: ticket.trainSchedule.date.toISOString().split('T')[0], // YYYY-MM-DD format
-            departureTime: ticket.trainSchedule.time,
-          },
-        },
-        seat: {
-          number: ticket.seatNumber,
-          compartment: ticket.seat.trainCompartment.compartment.name,
-        },
-        pricing: {
-          amount: ticket.price,
-          currency: 'BDT',
+      reply.send(tickets.map(toTicketListItem));
+    },
+  );
+
+  // Get current user tickets one page at a time, newest first - Authenticated users
+  fastify.get(
+    '/tickets/history',
+    {
+      preHandler: (fastify as any).authenticate,
+      onSend: negotiateCbor,
+      schema: {
+        description: 'Get current user tickets, paginated with a cursor (newest first)',
+        tags: ['Tickets'],
+        security: [{ bearerAuth: [] }],
+        querystring: ticketHistoryQuerySchema,
+        response: {
+          200: ticketHistoryResponseSchema,
+          400: errorResponseSchema,
         },
-      }));
+      },
+    },
+    async (request, reply) => {
+      const userId = (request.user as { id: number }).id;
+      const query = request.query as { limit?: number; cursor?: string };
+      const limit = Math.min(query.limit || 20, 100);
+
+      const where: Prisma.TicketWhereInput = { userId };
+      if (query.cursor) {
+        const cursor = decodeTicketCursor(query.cursor);
+        if (!cursor) {
+          return reply.code(400).send({ error: 'Invalid cursor' });
+        }
+        // Keyset: everything strictly after the last ticket of the previous page
+        where.OR = [
+          { createdAt: { lt: cursor.createdAt } },
+          { createdAt: cursor.createdAt, id: { lt: cursor.id } },
+        ];
+      }
+
+      // One extra row tells whether another page exists
+      const tickets = await prisma.ticket.findMany({
+        where,
+        include: ticketListInclude,
+        orderBy: [{ createdAt: 'desc' }, { id: 'desc' }],
+        take: limit + 1,
+      });
+
+      const page = tickets.slice(0, limit);
+      const last = page[page.length - 1];
+      const nextCursor =
+        tickets.length > limit && last ? encodeTicketCursor(last.createdAt, last.id) : null;
 
-      reply.send(ticketList);
+      reply.send({ items: page.map(toTicketListItem), nextCursor });
     },
   );
 
@@ -502,6 +553,7 @@ export default async function ticketRoutes(fastify: FastifyInstance) {
     '/tickets/:id',
     {
       preHandler: (fastify as any).authenticate,
+      onSend: conditionalGet({ cacheControl: 'private, no-cache' }),
       schema: {
         description: 'Get ticket by ID',
         tags: ['Tickets'],
@@ -5,6 +5,7 @@ import {
   trainRouteSchema,
   trainRouteWithDetailsSchema,
   createTrainRouteBodySchema,
+  trainRouteLinesResponseSchema,
 } from '../schemas/index.js';
 export default async function trainRouteRoutes(fastify: FastifyInstance) {
   // Create train route - Admin only
@@ -130,6 +131,46 @@ export default async function trainRouteRoutes(fastify: FastifyInstance) {
     },
   );
 
+  // Get route lines for map overlays - Authenticated users
+  fastify.get(
+    '/train-routes/lines',
+    {
+      preHandler: (fastify as any).authenticate,
+      schema: {
+        description:
+          'Get every train route as an ordered list of station ids, for drawing rail lines on a map',
+        tags: ['Train Routes'],
+        security: [{ bearerAuth: [] }],
+        response: {
+          200: trainRouteLinesResponseSchema,
+        },
+      },
+    },
+    async (request, reply) => {
+      const trainRoutes = await prisma.trainRoute.findMany({
+        select: {
+          id: true,
+          name: true,
+          updatedAt: true,
+          routeStations: {
+            select: { currentStationId: true },
+            orderBy: { distanceFromStart: 'asc' },
+          },
+        },
+        orderBy: { id: 'asc' },
+      });
+
+      reply.send(
+        trainRoutes.map((route) => ({
+          id: route.id,
+          name: route.name,
+          stationIds: route.routeStations.map((rs) => rs.currentStationId),
+          updatedAt: route.updatedAt,
+        })),
+      );
+    },
+  );
+
   // Get train route by ID - Admin only
   fastify.get(
     '/train-routes/:id',
@@ -1,11 +1,19 @@
 import { FastifyInstance } from 'fastify';
+import { Prisma } from '@prisma/client';
 import prisma from '../lib/prisma';
 import {
   errorResponseSchema,
   trainScheduleWithTimestampsSchema,
   createTrainScheduleBodySchema,
   trainSchedulesListResponseSchema,
+  trainScheduleSearchQuerySchema,
+  trainScheduleSearchResponseSchema,
+  seatMapQuerySchema,
+  seatMapResponseSchema,
 } from '../schemas/index.js';
+import { encodeBitset, seatIndex, segmentsOverlap } from '../utils/seatMap';
+import { toScheduleSummary } from '../utils/scheduleSummary';
+import { negotiateCbor } from '../utils/cbor';
 
 export default async function trainScheduleRoutes(fastify: FastifyInstance) {
   // Create train schedule - Admin only
@@ -512,33 +520,25 @@ export default async function trainScheduleRoutes(fastify: FastifyInstance) {
     '/train-schedules/search',
     {
       preHandler: (fastify as any).authenticate,
+      onSend: negotiateCbor,
       schema: {
-        description: 'Search trains between two stations on a specific date',
+        description:
+          'Search trains between two stations on a specific date. view=summary returns only the fields of a list row',
         tags: ['Train Schedules'],
         security: [{ bearerAuth: [] }],
-        querystring: {
-          type: 'object',
-          required: ['fromStationId', 'toStationId', 'date'],
-          properties: {
-            fromStationId: { type: 'string' },
-            toStationId: { type: 'string' },
-            date: { type: 'string', format: 'date' },
-          },
-        },
+        querystring: trainScheduleSearchQuerySchema,
         response: {
-          200: {
-            type: 'array',
-            items: trainScheduleWithTimestampsSchema,
-          },
+          200: trainScheduleSearchResponseSchema,
           400: errorResponseSchema,
         },
       },
     },
     async (request, reply) => {
-      const { fromStationId, toStationId, date } = request.query as {
+      const { fromStationId, toStationId, date, view } = request.query as {
         fromStationId: string;
         toStationId: string;
         date: string;
+        view: 'full' | 'summary';
       };
 
       const fromStationIdNum = parseInt(fromStationId);
@@ -612,24 +612,70 @@ export default async function trainScheduleRoutes(fastify: FastifyInstance) {
       }
 
       const routeIds = filteredRoutes.map((route) => route.id);
+      const where: Prisma.TrainScheduleWhereInput = {
+        AND: [
+          {
+            trainRouteId: {
+              in: routeIds,
+            },
+          },
+          {
+            date: {
+              gte: startOfDay,
+              lte: endOfDay,
+            },
+          },
+        ],
+      };
 
-      // Find schedules for these routes on the given date
-      const trainSchedules = await prisma.trainSchedule.findMany({
-        where: {
-          AND: [
-            {
-              trainRouteId: {
-                in: routeIds,
+      if (view === 'summary') {
+        // Journey distance per route, priced like POST /tickets
+        const distances = new Map<number, number>();
+        for (const route of filteredRoutes) {
+          const from = route.routeStations.find((rs) => rs.currentStationId === fromStationIdNum)!;
+          const to = route.routeStations.find((rs) => rs.currentStationId === toStationIdNum)!;
+          distances.set(route.id, to.distanceFromStart - from.distanceFromStart);
+        }
+
+        const summaries = await prisma.trainSchedule.findMany({
+          where,
+          select: {
+            id: true,
+            trainId: true,
+            trainRouteId: true,
+            date: true,
+            time: true,
+            train: {
+              select: {
+                name: true,
+                number: true,
+                compartments: { select: { compartment: { select: { price: true } } } },
               },
             },
-            {
-              date: {
-                gte: startOfDay,
-                lte: endOfDay,
+            trainRoute: {
+              select: {
+                startStation: { select: { name: true } },
+                endStation: { select: { name: true } },
               },
             },
-          ],
-        },
+            stationTimes: {
+              select: { arrivalTime: true, departureTime: true },
+              orderBy: { sequence: 'asc' },
+            },
+          },
+          orderBy: [{ date: 'asc' }, { time: 'asc' }],
+        });
+
+        return reply.send(
+          summaries.map((schedule) =>
+            toScheduleSummary(schedule, distances.get(schedule.trainRouteId) ?? 0),
+          ),
+        );
+      }
+
+      // Find schedules for these routes on the given date
+      const trainSchedules = await prisma.trainSchedule.findMany({
+        where,
         include: {
           train: {
             include: {
@@ -1026,4 +1072,176 @@ export default async function trainScheduleRoutes(fastify: FastifyInstance) {
       reply.send(response);
     },
   );
+
+  // Get a compact seat map for one compartment and journey segment - Authenticated users
+  fastify.get(
+    '/train-schedules/:id/seat-map',
+    {
+      preHandler: (fastify as any).authenticate,
+      schema: {
+        description:
+          'Get occupied and held seats of one compartment for a journey segment as hex bitsets. ' +
+          'Pass since (the asOf of a previous response) to get { unchanged: true } when nothing changed.',
+        tags: ['Train Schedules'],
+        security: [{ bearerAuth: [] }],
+        params: {
+          type: 'object',
+          properties: {
+            id: { type: 'string' },
+          },
+        },
+        querystring: seatMapQuerySchema,
+        response: {
+          200: seatMapResponseSchema,
+          400: errorResponseSchema,
+          401: errorResponseSchema,
+          404: errorResponseSchema,
+        },
+      },
+    },
+    async (request, reply) => {
+      const { id } = request.params as { id: string };
+      const { compartmentId, fromStationId, toStationId, since } = request.query as {
+        compartmentId: number;
+        fromStationId: number;
+        toStationId: number;
+        since?: string;
+      };
+      const scheduleId = parseInt(id);
+
+      if (isNaN(scheduleId)) {
+        return reply.code(400).send({ error: 'Invalid schedule ID' });
+      }
+
+      let sinceDate: Date | null = null;
+      if (since !== undefined) {
+        sinceDate = new Date(since);
+        if (isNaN(sinceDate.getTime())) {
+          return reply.code(400).send({ error: 'Invalid since timestamp' });
+        }
+      }
+
+      const trainSchedule = await prisma.trainSchedule.findUnique({
+        where: { id: scheduleId },
+        include: {
+          train: {
+            include: {
+              compartments: {
+                where: { compartmentId },
+                include: {
+                  compartment: true,
+                },
+              },
+            },
+          },
+          trainRoute: {
+            include: {
+              routeStations: true,
+            },
+          },
+        },
+      });
+
+      if (!trainSchedule) {
+        return reply.code(404).send({ error: 'Train schedule not found' });
+      }
+
+      const trainCompartment = trainSchedule.train.compartments[0];
+      if (!trainCompartment) {
+        return reply.code(404).send({ error: 'Compartment not available for this train' });
+      }
+
+      // Distance from route start for every station, to compare journey segments
+      const distanceByStation = new Map<number, number>();
+      trainSchedule.trainRoute.routeStations.forEach((rs) => {
+        distanceByStation.set(rs.currentStationId, rs.distanceFromStart);
+      });
+
+      const from = distanceByStation.get(fromStationId);
+      const to = distanceByStation.get(toStationId);
+      if (from === undefined || to === undefined) {
+        return reply.code(400).send({ error: 'Invalid from or to station for this route' });
+      }
+      if (to <= from) {
+        return reply
+          .code(400)
+          .send({ error: 'To station must come after from station in the route' });
+      }
+
+      // Taken before the query, so a ticket written while it runs is newer than asOf and shows up
+      // as a change on the next refresh instead of being missed
+      const now = new Date();
+
+      // All tickets of this compartment; inactive ones still matter for change detection.
+      // The API never deletes tickets (cancellation and expiry are status changes), so a row
+      // removed directly from the database is not seen as a change until a request without since.
+      const tickets = await prisma.ticket.findMany({
+        where: {
+          trainScheduleId: scheduleId,
+          trainCompartmentId: trainCompartment.id,
+        },
+        select: {
+          seatNumber: true,
+          status: true,
+          fromStationId: true,
+          toStationId: true,
+          expiresAt: true,
+          updatedAt: true,
+        },
+      });
+
+      const totalSeats = trainCompartment.compartment.totalSeats;
+      const occupied: number[] = [];
+      const held: number[] = [];
+      let changed = sinceDate === null;
+
+      for (const ticket of tickets) {
+        const ticketFrom = distanceByStation.get(ticket.fromStationId);
+        const ticketTo = distanceByStation.get(ticket.toStationId);
+        // Unknown stations: assume the ticket blocks the whole route
+        const overlaps =
+          ticketFrom === undefined ||
+          ticketTo === undefined ||
+          segmentsOverlap(from, to, ticketFrom, ticketTo);
+        if (!overlaps) continue;
+
+        if (sinceDate !== null) {
+          const expiredSince =
+            ticket.expiresAt !== null && ticket.expiresAt > sinceDate && ticket.expiresAt <= now;
+          if (ticket.updatedAt > sinceDate || expiredSince) changed = true;
+        }
+
+        const index = seatIndex(ticket.seatNumber);
+        if (index < 0) continue;
+        if (ticket.status === 'confirmed' || ticket.status === 'booked') {
+          occupied.push(index);
+        } else if (
+          ticket.status === 'pending' &&
+          (ticket.expiresAt === null || ticket.expiresAt > now)
+        ) {
+          held.push(index);
+        }
+      }
+
+      if (!changed) {
+        return reply.send({
+          scheduleId,
+          compartmentId,
+          totalSeats,
+          unchanged: true,
+          asOf: now.toISOString(),
+        });
+      }
+
+      reply.send({
+        scheduleId,
+        compartmentId,
+        totalSeats,
+        occupied: encodeBitset(occupied, totalSeats),
+        held: encodeBitset(held, totalSeats),
+        unchanged: false,
+        asOf: now.toISOString(),
+      });
+    },
+  );
 }
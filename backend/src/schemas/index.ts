@@ -10,6 +10,8 @@ export {
   trainRouteSchema,
   trainRouteWithDetailsSchema,
   createTrainRouteBodySchema,
+  trainRouteLineSchema,
+  trainRouteLinesResponseSchema,
 } from './trainRoute.js';
 export { userSchema, authResponseSchema, registerBodySchema, loginBodySchema } from './auth.js';
 export {
@@ -31,6 +33,11 @@ export {
   createTrainScheduleBodySchema,
   scheduleStationSchema,
   trainSchedulesListResponseSchema,
+  trainScheduleSummarySchema,
+  trainScheduleSearchQuerySchema,
+  trainScheduleSearchResponseSchema,
+  seatMapQuerySchema,
+  seatMapResponseSchema,
 } from './trainSchedule.js';
 export {
   ticketSchema,
@@ -39,6 +46,8 @@ export {
   ticketListItemSchema,
   bookTicketBodySchema,
   ticketsListResponseSchema,
+  ticketHistoryQuerySchema,
+  ticketHistoryResponseSchema,
 } from './ticket.js';
 export {
   initiatePaymentBodySchema,
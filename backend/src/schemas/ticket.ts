@@ -191,6 +191,7 @@ export const ticketListItemSchema = {
           enum: ['pending', 'paid', 'failed', 'cancelled', 'expired'],
         },
         createdAt: { type: 'string', format: 'date-time' },
+        updatedAt: { type: 'string', format: 'date-time' },
       },
       required: ['id', 'ticketId', 'status', 'paymentStatus', 'createdAt'],
     },
@@ -249,6 +250,24 @@ export const ticketsListResponseSchema = {
   items: ticketListItemSchema,
 };
 
+export const ticketHistoryQuerySchema = {
+  type: 'object',
+  properties: {
+    limit: { type: 'integer', minimum: 1, maximum: 100, default: 20 },
+    cursor: { type: 'string' },
+  },
+};
+
+// One page of the ticket history, newest first. nextCursor is null on the last page
+export const ticketHistoryResponseSchema = {
+  type: 'object',
+  properties: {
+    items: ticketsListResponseSchema,
+    nextCursor: { type: ['string', 'null'] },
+  },
+  required: ['items', 'nextCursor'],
+};
+
 export const bookTicketBodySchema = {
   type: 'object',
   required: [
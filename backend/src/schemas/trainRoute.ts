@@ -37,6 +37,22 @@ export const trainRouteWithDetailsSchema = {
   },
 };
 
+// Route topology for map overlays: station ids in travel order, coordinates come from /stations
+export const trainRouteLineSchema = {
+  type: 'object',
+  properties: {
+    id: { type: 'number' },
+    name: { type: 'string' },
+    stationIds: { type: 'array', items: { type: 'number' } },
+    updatedAt: { type: 'string' },
+  },
+};
+
+export const trainRouteLinesResponseSchema = {
+  type: 'array',
+  items: trainRouteLineSchema,
+};
+
 export const createTrainRouteBodySchema = {
   type: 'object',
   required: ['name', 'stations'],
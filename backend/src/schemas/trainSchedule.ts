@@ -78,3 +78,70 @@ export const trainSchedulesListResponseSchema = {
   type: 'array',
   items: trainScheduleWithTimestampsSchema,
 };
+
+// One list row of GET /train-schedules/search?view=summary. The required keys tell it apart from a
+// full schedule in the search response.
+export const trainScheduleSummarySchema = {
+  type: 'object',
+  required: ['id', 'trainName', 'minFare'],
+  properties: {
+    id: { type: 'number' },
+    trainId: { type: 'number' },
+    trainRouteId: { type: 'number' },
+    date: { type: 'string', format: 'date-time' },
+    time: { type: 'string' },
+    trainName: { type: 'string' },
+    trainNumber: { type: 'string' },
+    startStationName: { type: 'string', nullable: true },
+    endStationName: { type: 'string', nullable: true },
+    departureTime: { type: 'string', nullable: true },
+    arrivalTime: { type: 'string', nullable: true },
+    durationMinutes: { type: 'number', nullable: true },
+    minFare: { type: 'number', nullable: true },
+  },
+};
+
+export const trainScheduleSearchQuerySchema = {
+  type: 'object',
+  required: ['fromStationId', 'toStationId', 'date'],
+  properties: {
+    fromStationId: { type: 'string' },
+    toStationId: { type: 'string' },
+    date: { type: 'string', format: 'date' },
+    view: { type: 'string', enum: ['full', 'summary'], default: 'full' },
+  },
+};
+
+// Summary rows first: a full schedule never has the summary's required keys
+export const trainScheduleSearchResponseSchema = {
+  anyOf: [
+    { type: 'array', items: trainScheduleSummarySchema },
+    { type: 'array', items: trainScheduleWithTimestampsSchema },
+  ],
+};
+
+// Compact per-seat availability for one compartment and journey segment.
+// Bitsets are hex strings, least significant bit first: bit i of byte i / 8 is seat index i ("S{i+1}").
+export const seatMapQuerySchema = {
+  type: 'object',
+  required: ['compartmentId', 'fromStationId', 'toStationId'],
+  properties: {
+    compartmentId: { type: 'number' },
+    fromStationId: { type: 'number' },
+    toStationId: { type: 'number' },
+    since: { type: 'string', format: 'date-time' },
+  },
+};
+
+export const seatMapResponseSchema = {
+  type: 'object',
+  properties: {
+    scheduleId: { type: 'number' },
+    compartmentId: { type: 'number' },
+    totalSeats: { type: 'number' },
+    occupied: { type: 'string' },
+    held: { type: 'string' },
+    unchanged: { type: 'boolean' },
+    asOf: { type: 'string' },
+  },
+};
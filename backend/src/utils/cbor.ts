@@ -0,0 +1,158 @@
+// CBOR (RFC 8949) responses for clients that ask for them with Accept: application/cbor
+
+import { FastifyReply, FastifyRequest } from 'fastify';
+
+export const CBOR_CONTENT_TYPE = 'application/cbor';
+
+/**
+ * Encode a JSON value as CBOR. Integers use the shortest head, other numbers a 32-bit float when
+ * that is exact and a 64-bit float otherwise. Object entries with undefined values are left out,
+ * like JSON.stringify does.
+ */
+export function encodeCbor(value: unknown): Buffer {
+  const writer = new CborWriter();
+  writer.write(value);
+  return writer.toBuffer();
+}
+
+/**
+ * Whether the Accept header prefers CBOR to JSON. Media ranges are compared by q-value;
+ * JSON wins a tie, so clients that list both without weights keep getting JSON.
+ */
+export function acceptsCbor(accept: string | undefined): boolean {
+  if (!accept) return false;
+  let cbor = 0;
+  let json = 0;
+  for (const range of accept.split(',')) {
+    const [type, ...params] = range.split(';').map((part) => part.trim().toLowerCase());
+    let q = 1;
+    for (const param of params) {
+      if (param.startsWith('q=')) {
+        const parsed = Number(param.slice(2));
+        q = Number.isNaN(parsed) ? 0 : parsed;
+      }
+    }
+    if (type === CBOR_CONTENT_TYPE) cbor = Math.max(cbor, q);
+    else if (type === 'application/json' || type === 'application/*' || type === '*/*') json = Math.max(json, q);
+  }
+  return cbor > 0 && cbor > json;
+}
+
+/**
+ * Route onSend hook: re-encodes a successful JSON body as CBOR when the client prefers it.
+ * Errors stay JSON so every client can read them.
+ */
+export async function negotiateCbor(request: FastifyRequest, reply: FastifyReply, payload: unknown) {
+  reply.header('Vary', appendVary(reply.getHeader('Vary'), 'Accept'));
+  if (typeof payload !== 'string' || reply.statusCode < 200 || reply.statusCode >= 300) return payload;
+  if (!acceptsCbor(request.headers.accept)) return payload;
+  reply.header('Content-Type', CBOR_CONTENT_TYPE);
+  return encodeCbor(JSON.parse(payload));
+}
+
+function appendVary(current: unknown, field: string): string {
+  const existing = Array.isArray(current) ? current.join(', ') : current ? String(current) : '';
+  if (!existing) return field;
+  const fields = existing.split(',').map((f) => f.trim().toLowerCase());
+  return fields.includes(field.toLowerCase()) || fields.includes('*') ? existing : `${existing}, ${field}`;
+}
+
+const MAJOR_UNSIGNED = 0;
+const MAJOR_NEGATIVE = 1;
+const MAJOR_TEXT = 3;
+const MAJOR_ARRAY = 4;
+const MAJOR_MAP = 5;
+
+class CborWriter {
+  private buffer = Buffer.allocUnsafe(4096);
+  private length = 0;
+
+  write(value: unknown): void {
+    if (value === null || value === undefined) {
+      this.byte(0xf6);
+    } else if (typeof value === 'boolean') {
+      this.byte(value ? 0xf5 : 0xf4);
+    } else if (typeof value === 'number') {
+      this.number(value);
+    } else if (typeof value === 'string') {
+      this.text(value);
+    } else if (value instanceof Date) {
+      this.text(value.toISOString());
+    } else if (Array.isArray(value)) {
+      this.head(MAJOR_ARRAY, value.length);
+      for (const item of value) this.write(item);
+    } else if (typeof value === 'object') {
+      const entries = Object.entries(value as Record<string, unknown>).filter(([, v]) => v !== undefined);
+      this.head(MAJOR_MAP, entries.length);
+      for (const [key, item] of entries) {
+        this.text(key);
+        this.write(item);
+      }
+    } else {
+      throw new TypeError(`Cannot encode ${typeof value} as CBOR`);
+    }
+  }
+
+  toBuffer(): Buffer {
+    return this.buffer.subarray(0, this.length);
+  }
+
+  private number(value: number): void {
+    if (Number.isSafeInteger(value)) {
+      if (value >= 0) this.head(MAJOR_UNSIGNED, value);
+      else this.head(MAJOR_NEGATIVE, -1 - value);
+    } else if (Math.fround(value) === value || Number.isNaN(value)) {
+      this.ensure(5);
+      this.buffer[this.length++] = 0xfa;
+      this.buffer.writeFloatBE(value, this.length);
+      this.length += 4;
+    } else {
+      this.ensure(9);
+      this.buffer[this.length++] = 0xfb;
+      this.buffer.writeDoubleBE(value, this.length);
+      this.length += 8;
+    }
+  }
+
+  private text(value: string): void {
+    const size = Buffer.byteLength(value, 'utf8');
+    this.head(MAJOR_TEXT, size);
+    this.ensure(size);
+    this.length += this.buffer.write(value, this.length, 'utf8');
+  }
+
+  private head(major: number, argument: number): void {
+    const type = major << 5;
+    this.ensure(9);
+    if (argument < 24) {
+      this.buffer[this.length++] = type | argument;
+    } else if (argument < 0x100) {
+      this.buffer[this.length++] = type | 24;
+      this.buffer[this.length++] = argument;
+    } else if (argument < 0x10000) {
+      this.buffer[this.length++] = type | 25;
+      this.buffer.writeUInt16BE(argument, this.length);
+      this.length += 2;
+    } else if (argument < 0x100000000) {
+      this.buffer[this.length++] = type | 26;
+      this.buffer.writeUInt32BE(argument, this.length);
+      this.length += 4;
+    } else {
+      this.buffer[this.length++] = type | 27;
+      this.buffer.writeBigUInt64BE(BigInt(argument), this.length);
+      this.length += 8;
+    }
+  }
+
+  private byte(value: number): void {
+    this.ensure(1);
+    this.buffer[this.length++] = value;
+  }
+
+  private ensure(size: number): void {
+    if (this.length + size <= this.buffer.length) return;
+    const grown = Buffer.allocUnsafe(Math.max(this.buffer.length * 2, this.length + size));
+    this.buffer.copy(grown, 0, 0, this.length);
+    this.buffer = grown;
+  }
+}
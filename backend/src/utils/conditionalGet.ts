@@ -0,0 +1,75 @@
+// Validators and 304 Not Modified answers for conditional GETs (If-None-Match / If-Modified-Since)
+
+import { createHash } from 'crypto';
+import { FastifyReply, FastifyRequest } from 'fastify';
+
+export interface ConditionalGetOptions {
+  /** Cache-Control sent with 200 and 304 responses, e.g. 'private, no-cache' for per-user data. */
+  cacheControl?: string;
+}
+
+/**
+ * Strong entity tag of a serialized body. Computed on the bytes actually sent, so the JSON and
+ * CBOR representations of the same data get different tags.
+ */
+export function entityTag(payload: string | Buffer): string {
+  return `"${createHash('sha1').update(payload).digest('base64url')}"`;
+}
+
+/**
+ * Whether an If-None-Match header matches the current tag (weak comparison, as RFC 9110 requires
+ * for GET).
+ */
+export function etagMatches(ifNoneMatch: string, etag: string): boolean {
+  const current = etag.replace(/^W\//, '');
+  return ifNoneMatch
+    .split(',')
+    .map((tag) => tag.trim())
+    .some((tag) => tag === '*' || tag.replace(/^W\//, '') === current);
+}
+
+/**
+ * Whether a resource last modified at lastModified (an HTTP date) is unchanged since ifModifiedSince.
+ * Unparseable dates count as modified.
+ */
+export function notModifiedSince(ifModifiedSince: string, lastModified: string): boolean {
+  const since = Date.parse(ifModifiedSince);
+  const modified = Date.parse(lastModified);
+  if (Number.isNaN(since) || Number.isNaN(modified)) return false;
+  return modified <= since;
+}
+
+/**
+ * Route onSend hook for GET endpoints: tags 200 responses with an ETag and answers 304 with no body
+ * when the client already holds the same representation. The handler may set Last-Modified, which
+ * is then checked against If-Modified-Since for clients that send no If-None-Match; routes only do
+ * that when the timestamp covers everything in the body.
+ *
+ * Runs after any hook that changes the payload (e.g. negotiateCbor).
+ */
+export function conditionalGet(options: ConditionalGetOptions = {}) {
+  return async function (request: FastifyRequest, reply: FastifyReply, payload: unknown) {
+    if (request.method !== 'GET' && request.method !== 'HEAD') return payload;
+    if (reply.statusCode !== 200) return payload;
+    if (typeof payload !== 'string' && !Buffer.isBuffer(payload)) return payload;
+
+    const etag = entityTag(payload);
+    reply.header('ETag', etag);
+    if (options.cacheControl) reply.header('Cache-Control', options.cacheControl);
+
+    const ifNoneMatch = request.headers['if-none-match'];
+    const ifModifiedSince = request.headers['if-modified-since'];
+    const lastModified = reply.getHeader('Last-Modified');
+    const unchanged = ifNoneMatch
+      ? etagMatches(ifNoneMatch, etag)
+      : typeof ifModifiedSince === 'string' && typeof lastModified === 'string'
+        ? notModifiedSince(ifModifiedSince, lastModified)
+        : false;
+    if (!unchanged) return payload;
+
+    reply.code(304);
+    reply.removeHeader('Content-Type');
+    reply.removeHeader('Content-Length');
+    return '';
+  };
+}
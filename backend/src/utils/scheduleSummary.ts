@@ -0,0 +1,107 @@
+// List-row projection of a train schedule for GET /train-schedules/search?view=summary
+
+const MINUTES_PER_DAY = 24 * 60;
+
+export interface SummarySource {
+  id: number;
+  trainId: number;
+  trainRouteId: number;
+  date: Date;
+  time: string;
+  train: {
+    name: string;
+    number: string;
+    compartments: Array<{ compartment: { price: number } }>;
+  };
+  trainRoute: {
+    startStation: { name: string } | null;
+    endStation: { name: string } | null;
+  };
+  stationTimes: Array<{ arrivalTime: string | null; departureTime: string | null }>;
+}
+
+export interface ScheduleSummary {
+  id: number;
+  trainId: number;
+  trainRouteId: number;
+  date: Date;
+  time: string;
+  trainName: string;
+  trainNumber: string;
+  startStationName: string | null;
+  endStationName: string | null;
+  departureTime: string | null;
+  arrivalTime: string | null;
+  durationMinutes: number | null;
+  minFare: number | null;
+}
+
+/**
+ * Build the summary of one schedule. The fare is the cheapest compartment over journeyDistanceKm,
+ * rounded to 2 decimals like a booked ticket's price.
+ */
+export function toScheduleSummary(schedule: SummarySource, journeyDistanceKm: number): ScheduleSummary {
+  const times = schedule.stationTimes;
+  const first = times.length > 0 ? times[0] : null;
+  const last = times.length > 0 ? times[times.length - 1] : null;
+
+  let minPrice = Infinity;
+  for (const tc of schedule.train.compartments) {
+    if (tc.compartment.price > 0 && tc.compartment.price < minPrice) minPrice = tc.compartment.price;
+  }
+  const minFare =
+    journeyDistanceKm > 0 && minPrice !== Infinity
+      ? Math.round(journeyDistanceKm * minPrice * 100) / 100
+      : null;
+
+  return {
+    id: schedule.id,
+    trainId: schedule.trainId,
+    trainRouteId: schedule.trainRouteId,
+    date: schedule.date,
+    time: schedule.time,
+    trainName: schedule.train.name,
+    trainNumber: schedule.train.number,
+    startStationName: schedule.trainRoute.startStation?.name ?? null,
+    endStationName: schedule.trainRoute.endStation?.name ?? null,
+    departureTime: first ? (first.departureTime ?? first.arrivalTime) : null,
+    arrivalTime: last ? (last.arrivalTime ?? last.departureTime) : null,
+    durationMinutes: tripDurationMinutes(times),
+    minFare,
+  };
+}
+
+/**
+ * Minutes from the first departure to the last arrival, or null with fewer than two known times.
+ * Times are "HH:MM" clock times, so each hop is taken forward modulo one day (overnight trains).
+ */
+export function tripDurationMinutes(
+  times: Array<{ arrivalTime: string | null; departureTime: string | null }>,
+): number | null {
+  const lastIndex = times.length - 1;
+  let total = 0;
+  let previous = -1;
+  let events = 0;
+  for (let i = 0; i <= lastIndex; i++) {
+    let arrival = minuteOfDay(times[i].arrivalTime);
+    let departure = minuteOfDay(times[i].departureTime);
+    // The trip starts at the first departure and ends at the last arrival
+    if (i === 0 && departure >= 0) arrival = -1;
+    if (i === lastIndex && arrival >= 0) departure = -1;
+    for (const minute of [arrival, departure]) {
+      if (minute < 0) continue;
+      if (previous >= 0) total += (((minute - previous) % MINUTES_PER_DAY) + MINUTES_PER_DAY) % MINUTES_PER_DAY;
+      previous = minute;
+      events++;
+    }
+  }
+  return events >= 2 ? total : null;
+}
+
+function minuteOfDay(value: string | null): number {
+  const match = value ? /^(\d{1,2}):(\d{2})/.exec(value.trim()) : null;
+  if (!match) return -1;
+  const hours = Number(match[1]);
+  const minutes = Number(match[2]);
+  return hours < 24 && minutes < 60 ? hours * 60 + minutes : -1;
+}
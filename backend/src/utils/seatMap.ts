@@ -0,0 +1,32 @@
+// Helpers for the compact seat map returned by GET /train-schedules/:id/seat-map
+
+/**
+ * Seat index for a seat number generated by the app ("S1" -> 0, "S12" -> 11).
+ * Plain numbers ("12") are accepted too. Returns -1 for any other format.
+ */
+export function seatIndex(seatNumber: string): number {
+  const match = /^S?(\d+)$/i.exec(seatNumber.trim());
+  if (!match) return -1;
+  const n = parseInt(match[1], 10);
+  return n >= 1 ? n - 1 : -1;
+}
+
+/**
+ * Encode a set of seat indices as a hex bitset, least significant bit first.
+ * Bit (i % 8) of byte (i / 8) is set for seat index i. Indices outside [0, size) are ignored.
+ */
+export function encodeBitset(indices: Iterable<number>, size: number): string {
+  const bytes = new Uint8Array(Math.ceil(size / 8));
+  for (const i of indices) {
+    if (i >= 0 && i < size) bytes[i >> 3] |= 1 << (i & 7);
+  }
+  return Buffer.from(bytes).toString('hex');
+}
+
+/**
+ * True when the journey segments [fromA, toA) and [fromB, toB) share any track,
+ * given as distances from the route start.
+ */
+export function segmentsOverlap(fromA: number, toA: number, fromB: number, toB: number): boolean {
+  return fromA < toB && fromB < toA;
+}
@@ -0,0 +1,24 @@
+// Opaque cursor for keyset pagination of GET /tickets/history
+
+export interface TicketCursor {
+  createdAt: Date;
+  id: number;
+}
+
+/**
+ * Encode the position of the last ticket on a page as "<createdAt millis>_<id>" in base64url.
+ */
+export function encodeTicketCursor(createdAt: Date, id: number): string {
+  return Buffer.from(`${createdAt.getTime()}_${id}`).toString('base64url');
+}
+
+/**
+ * Decode a cursor from encodeTicketCursor. Returns null for anything malformed.
+ */
+export function decodeTicketCursor(cursor: string): TicketCursor | null {
+  const match = /^(\d+)_(\d+)$/.exec(Buffer.from(cursor, 'base64url').toString('utf8'));
+  if (!match) return null;
+  const createdAt = new Date(Number(match[1]));
+  if (Number.isNaN(createdAt.getTime())) return null;
+  return { createdAt, id: Number(match[2]) };
+}